@@ -0,0 +1,33 @@
+package com.codeborne.selenide.fullscreenshot;
+
+import com.codeborne.selenide.PropertiesReader;
+
+/**
+ * Settings of full-size screenshots.
+ * Can be set by system properties or in "selenide.properties" file.
+ */
+public class FullScreenshotConfiguration {
+  private final PropertiesReader properties = new PropertiesReader("selenide.properties");
+
+  /**
+   * Whether tall pages should be captured by tiles (in Chromium-based browsers).
+   * Tiles are captured one by one and written to a PNG file, so the whole page image is never kept in memory.
+   */
+  public boolean tiled() {
+    return properties.getBoolean("selenide.fullScreenshot.tiled", false);
+  }
+
+  /**
+   * Height of one tile (in CSS pixels)
+   */
+  public int tileHeight() {
+    return properties.getInt("selenide.fullScreenshot.tileHeight", 2048);
+  }
+
+  /**
+   * Max height of full-size screenshot (in CSS pixels). 0 means unlimited.
+   */
+  public int maxHeight() {
+    return properties.getInt("selenide.fullScreenshot.maxHeight", 0);
+  }
+}
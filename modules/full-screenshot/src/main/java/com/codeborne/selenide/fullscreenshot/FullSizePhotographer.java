@@ -17,6 +17,10 @@ import org.openqa.selenium.firefox.HasFullPageScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.Map;
 import java.util.Optional;
 
@@ -31,13 +35,27 @@ public class FullSizePhotographer implements Photographer {
   private static final JavaScript js = new JavaScript("get-screen-size.js");
 
   private final WebdriverPhotographer defaultImplementation;
+  private final FullScreenshotConfiguration config;
 
   public FullSizePhotographer() {
     this(new WebdriverPhotographer());
   }
 
   protected FullSizePhotographer(WebdriverPhotographer defaultImplementation) {
+    this(defaultImplementation, new FullScreenshotConfiguration());
+  }
+
+  protected FullSizePhotographer(WebdriverPhotographer defaultImplementation, FullScreenshotConfiguration config) {
     this.defaultImplementation = defaultImplementation;
+    this.config = config;
+  }
+
+  /**
+   * Tiled screenshot is stitched into a file anyway
+   */
+  @Override
+  public boolean prefersFileOutput() {
+    return config.tiled();
   }
 
   @Override
@@ -47,7 +65,7 @@ public class FullSizePhotographer implements Photographer {
       return result.isPresent() ? result :
         defaultImplementation.takeScreenshot(driver, outputType);
     }
-    catch (WebDriverException e) {
+    catch (WebDriverException | UncheckedIOException e) {
       log.error("Failed to take full-size screenshot", e);
       return defaultImplementation.takeScreenshot(driver, outputType);
     }
@@ -75,46 +93,108 @@ public class FullSizePhotographer implements Photographer {
     devTools.createSessionIfThereIsNotOne(devtoolsDriver.getWindowHandle());
 
     Options options = getOptions(devtoolsDriver);
+    if (isEmpty(options)) {
+      return Optional.empty();
+    }
+    if (config.tiled()) {
+      return takeTiledScreenshot(options, outputType, (x, y, width, height) ->
+        captureScreenshot(devTools, new Viewport(x, y, width, height, 1), true));
+    }
     Viewport viewport = new Viewport(0, 0, options.fullWidth(), options.fullHeight(), 1);
+    String base64 = captureScreenshot(devTools, viewport, options.exceedViewport());
+
+    ResultType screenshot = outputType.convertFromBase64Png(base64);
+    return Optional.of(screenshot);
+  }
 
-    String base64 = devTools.send(Page.captureScreenshot(
+  private String captureScreenshot(DevTools devTools, Viewport viewport, boolean captureBeyondViewport) {
+    return devTools.send(Page.captureScreenshot(
         Optional.empty(),
         Optional.empty(),
         Optional.of(viewport),
         Optional.empty(),
-        Optional.of(options.exceedViewport()),
+        Optional.of(captureBeyondViewport),
         Optional.of(true)
       )
     );
-
-    ResultType screenshot = outputType.convertFromBase64Png(base64);
-    return Optional.of(screenshot);
   }
 
   private <WD extends WebDriver & HasCdp, ResultType> Optional<ResultType> takeScreenshotWithCDP(
     WD cdpDriver, OutputType<ResultType> outputType
   ) {
     Options options = getOptions(cdpDriver);
+    if (isEmpty(options)) {
+      return Optional.empty();
+    }
+    if (config.tiled()) {
+      return takeTiledScreenshot(options, outputType, (x, y, width, height) ->
+        captureScreenshot(cdpDriver, x, y, width, height, true));
+    }
+    String base64 = captureScreenshot(cdpDriver, 0, 0, options.fullWidth(), options.fullHeight(), options.exceedViewport());
+    ResultType screenshot = outputType.convertFromBase64Png(base64);
+    return Optional.of(screenshot);
+  }
+
+  private String captureScreenshot(HasCdp cdpDriver, long x, long y, long width, long height, boolean captureBeyondViewport) {
     Map<String, Object> captureScreenshotOptions = ImmutableMap.of(
       "clip", ImmutableMap.of(
-        "x", 0,
-        "y", 0,
-        "width", options.fullWidth(),
-        "height", options.fullHeight(),
+        "x", x,
+        "y", y,
+        "width", width,
+        "height", height,
         "scale", 1),
-      "captureBeyondViewport", options.exceedViewport()
+      "captureBeyondViewport", captureBeyondViewport
     );
 
     Map<String, Object> result = cdpDriver.executeCdpCommand("Page.captureScreenshot", captureScreenshotOptions);
+    return (String) result.get("data");
+  }
 
-    String base64 = (String) result.get("data");
-    ResultType screenshot = outputType.convertFromBase64Png(base64);
-    return Optional.of(screenshot);
+  /**
+   * Captures the page by tiles and writes them directly to PNG file, so that
+   * neither the whole base64 string nor the whole decoded image is kept in memory.
+   */
+  @SuppressWarnings("unchecked")
+  private <ResultType> Optional<ResultType> takeTiledScreenshot(
+    Options options, OutputType<ResultType> outputType, TiledScreenshot.TileCapturer capturer
+  ) {
+    try {
+      File png = new TiledScreenshot(config.tileHeight()).capture(options.fullWidth(), options.fullHeight(), capturer);
+      if (outputType == OutputType.FILE) {
+        return Optional.of((ResultType) png);
+      }
+      try {
+        return Optional.of(outputType.convertFromPngBytes(Files.readAllBytes(png.toPath())));
+      }
+      finally {
+        Files.deleteIfExists(png.toPath());
+      }
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Failed to take tiled screenshot", e);
+    }
   }
 
   private Options getOptions(WebDriver webDriver) {
     Map<String, Object> size = requireNonNull(js.execute(webDriver));
-    return new Options((long) size.get("fullWidth"), (long) size.get("fullHeight"), (boolean) size.get("exceedViewport"));
+    long fullHeight = (long) size.get("fullHeight");
+    int maxHeight = config.maxHeight();
+    if (maxHeight > 0 && fullHeight > maxHeight) {
+      log.info("Page height {} exceeds max screenshot height {}, the screenshot will be cut", fullHeight, maxHeight);
+      fullHeight = maxHeight;
+    }
+    return new Options((long) size.get("fullWidth"), fullHeight, (boolean) size.get("exceedViewport"));
+  }
+
+  /**
+   * E.g. the page is not rendered yet, or the whole content is in a scrollable container
+   */
+  private static boolean isEmpty(Options options) {
+    if (options.fullWidth() <= 0 || options.fullHeight() <= 0) {
+      log.info("Page size is {}x{}, taking a usual screenshot instead of full-size", options.fullWidth(), options.fullHeight());
+      return true;
+    }
+    return false;
   }
 
   private record Options(long fullWidth, long fullHeight, boolean exceedViewport) {
@@ -0,0 +1,163 @@
+package com.codeborne.selenide.fullscreenshot;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.fill;
+
+/**
+ * Minimal PNG encoder which writes image row by row (8-bit RGB, no filtering).
+ * <p>
+ * Unlike {@link javax.imageio.ImageIO}, it doesn't need the whole image in memory:
+ * the caller can add image parts (e.g. screenshot tiles) one by one.
+ */
+class StreamingPngWriter implements Closeable {
+  private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final int WHITE = 0xFFFFFF;
+
+  private final DataOutputStream out;
+  private final int width;
+  private final int height;
+  private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+  private final DeflaterOutputStream pixels;
+  private final int[] rgbRow;
+  private final byte[] pngRow;
+  private int rowsWritten;
+
+  StreamingPngWriter(OutputStream out, int width, int height) throws IOException {
+    this.out = new DataOutputStream(out);
+    this.width = width;
+    this.height = height;
+    this.rgbRow = new int[width];
+    this.pngRow = new byte[1 + 3 * width];
+    this.pixels = new DeflaterOutputStream(new IdatOutputStream(), deflater, CHUNK_SIZE);
+    writeHeader();
+  }
+
+  private void writeHeader() throws IOException {
+    out.write(SIGNATURE);
+    ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+    DataOutputStream data = new DataOutputStream(header);
+    data.writeInt(width);
+    data.writeInt(height);
+    data.writeByte(8); // bit depth
+    data.writeByte(2); // color type: RGB
+    data.writeByte(0); // compression: deflate
+    data.writeByte(0); // filter method
+    data.writeByte(0); // interlace: none
+    writeChunk("IHDR", header.toByteArray(), header.size());
+  }
+
+  int rowsWritten() {
+    return rowsWritten;
+  }
+
+  /**
+   * Appends first {@code rows} rows of given image.
+   * If the image is narrower than the PNG, the rest of row is filled with white color.
+   */
+  void writeRows(BufferedImage image, int rows) throws IOException {
+    int count = Math.min(Math.min(rows, image.getHeight()), height - rowsWritten);
+    int imageWidth = Math.min(width, image.getWidth());
+    for (int y = 0; y < count; y++) {
+      fill(rgbRow, imageWidth, width, WHITE);
+      image.getRGB(0, y, imageWidth, 1, rgbRow, 0, width);
+      writeRow();
+    }
+  }
+
+  void writeBlankRows(int rows) throws IOException {
+    fill(rgbRow, WHITE);
+    int count = Math.min(rows, height - rowsWritten);
+    for (int y = 0; y < count; y++) {
+      writeRow();
+    }
+  }
+
+  private void writeRow() throws IOException {
+    pngRow[0] = 0; // filter type: none
+    for (int x = 0; x < width; x++) {
+      int rgb = rgbRow[x];
+      pngRow[1 + 3 * x] = (byte) (rgb >> 16);
+      pngRow[2 + 3 * x] = (byte) (rgb >> 8);
+      pngRow[3 + 3 * x] = (byte) rgb;
+    }
+    pixels.write(pngRow);
+    rowsWritten++;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      writeBlankRows(height - rowsWritten);
+      pixels.close();
+      writeChunk("IEND", new byte[0], 0);
+      out.flush();
+    }
+    finally {
+      deflater.end();
+      out.close();
+    }
+  }
+
+  private void writeChunk(String type, byte[] data, int length) throws IOException {
+    byte[] typeBytes = type.getBytes(US_ASCII);
+    CRC32 crc = new CRC32();
+    crc.update(typeBytes);
+    crc.update(data, 0, length);
+
+    out.writeInt(length);
+    out.write(typeBytes);
+    out.write(data, 0, length);
+    out.writeInt((int) crc.getValue());
+  }
+
+  /**
+   * Splits compressed pixels into IDAT chunks
+   */
+  private class IdatOutputStream extends OutputStream {
+    private final byte[] buffer = new byte[CHUNK_SIZE];
+    private int size;
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+      while (length > 0) {
+        int count = Math.min(length, buffer.length - size);
+        System.arraycopy(bytes, offset, buffer, size, count);
+        size += count;
+        offset += count;
+        length -= count;
+        if (size == buffer.length) {
+          flush();
+        }
+      }
+    }
+
+    @Override
+    public void flush() throws IOException {
+      if (size > 0) {
+        writeChunk("IDAT", buffer, size);
+        size = 0;
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package com.codeborne.selenide.fullscreenshot;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Base64;
+
+/**
+ * Captures a tall page by tiles and stitches them into one PNG file.
+ * Only one decoded tile is kept in memory at once.
+ */
+class TiledScreenshot {
+  private static final Logger log = LoggerFactory.getLogger(TiledScreenshot.class);
+
+  private final int tileHeight;
+  @Nullable
+  private final File tempFolder;
+
+  TiledScreenshot(int tileHeight) {
+    this(tileHeight, null);
+  }
+
+  /**
+   * @param tempFolder folder for the resulting file (null means the default temporary folder)
+   */
+  TiledScreenshot(int tileHeight, @Nullable File tempFolder) {
+    this.tileHeight = tileHeight;
+    this.tempFolder = tempFolder;
+  }
+
+  /**
+   * @return temporary PNG file. The caller is responsible for deleting it.
+   */
+  File capture(long fullWidth, long fullHeight, TileCapturer capturer) throws IOException {
+    File file = File.createTempFile("screenshot", ".png", tempFolder);
+    try {
+      write(file, fullWidth, fullHeight, capturer);
+      return file;
+    }
+    catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(file.toPath());
+      throw e;
+    }
+  }
+
+  private void write(File file, long fullWidth, long fullHeight, TileCapturer capturer) throws IOException {
+    BufferedImage firstTile = capture(capturer, fullWidth, 0, Math.min(tileHeight, fullHeight));
+    double scale = (double) firstTile.getWidth() / fullWidth;
+    int width = firstTile.getWidth();
+    int height = (int) Math.round(fullHeight * scale);
+    log.debug("Capturing {}x{} screenshot by tiles of height {}", width, height, tileHeight);
+
+    try (StreamingPngWriter png = new StreamingPngWriter(new BufferedOutputStream(new FileOutputStream(file)), width, height)) {
+      png.writeRows(firstTile, firstTile.getHeight());
+      for (long y = tileHeight; y < fullHeight; y += tileHeight) {
+        long clipHeight = Math.min(tileHeight, fullHeight - y);
+        BufferedImage tile = capture(capturer, fullWidth, y, clipHeight);
+        int expectedRows = (int) Math.round((y + clipHeight) * scale) - png.rowsWritten();
+        png.writeRows(tile, expectedRows);
+      }
+    }
+  }
+
+  private BufferedImage capture(TileCapturer capturer, long width, long y, long height) throws IOException {
+    byte[] png = Base64.getDecoder().decode(capturer.captureBase64Png(0, y, width, height));
+    BufferedImage tile = ImageIO.read(new ByteArrayInputStream(png));
+    if (tile == null) {
+      throw new IOException("Failed to decode screenshot tile at y=" + y);
+    }
+    return tile;
+  }
+
+  @FunctionalInterface
+  interface TileCapturer {
+    String captureBase64Png(long x, long y, long width, long height);
+  }
+}
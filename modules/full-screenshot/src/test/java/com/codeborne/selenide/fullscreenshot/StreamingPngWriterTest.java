@@ -0,0 +1,66 @@
+package com.codeborne.selenide.fullscreenshot;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class StreamingPngWriterTest {
+  @Test
+  void writesImageRowByRow() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (StreamingPngWriter png = new StreamingPngWriter(out, 3, 4)) {
+      png.writeRows(image(3, 2, 0xFF0000), 2);
+      png.writeRows(image(3, 2, 0x00FF00), 2);
+    }
+
+    BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(result.getWidth()).isEqualTo(3);
+    assertThat(result.getHeight()).isEqualTo(4);
+    assertThat(result.getRGB(0, 0) & 0xFFFFFF).isEqualTo(0xFF0000);
+    assertThat(result.getRGB(2, 1) & 0xFFFFFF).isEqualTo(0xFF0000);
+    assertThat(result.getRGB(0, 2) & 0xFFFFFF).isEqualTo(0x00FF00);
+    assertThat(result.getRGB(2, 3) & 0xFFFFFF).isEqualTo(0x00FF00);
+  }
+
+  @Test
+  void fillsMissingPixelsWithWhiteColor() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (StreamingPngWriter png = new StreamingPngWriter(out, 3, 4)) {
+      png.writeRows(image(2, 1, 0x0000FF), 1);
+    }
+
+    BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(result.getRGB(0, 0) & 0xFFFFFF).isEqualTo(0x0000FF);
+    assertThat(result.getRGB(2, 0) & 0xFFFFFF).isEqualTo(0xFFFFFF);
+    assertThat(result.getRGB(1, 3) & 0xFFFFFF).isEqualTo(0xFFFFFF);
+  }
+
+  @Test
+  void ignoresRowsExceedingImageHeight() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (StreamingPngWriter png = new StreamingPngWriter(out, 2, 2)) {
+      png.writeRows(image(2, 5, 0x0000FF), 5);
+      assertThat(png.rowsWritten()).isEqualTo(2);
+    }
+
+    BufferedImage result = ImageIO.read(new ByteArrayInputStream(out.toByteArray()));
+    assertThat(result.getHeight()).isEqualTo(2);
+  }
+
+  private static BufferedImage image(int width, int height, int rgb) {
+    BufferedImage image = new BufferedImage(width, height, TYPE_INT_RGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, rgb);
+      }
+    }
+    return image;
+  }
+}
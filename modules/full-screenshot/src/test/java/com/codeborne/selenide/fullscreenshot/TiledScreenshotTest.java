@@ -0,0 +1,64 @@
+package com.codeborne.selenide.fullscreenshot;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+final class TiledScreenshotTest {
+  private final List<String> clips = new ArrayList<>();
+
+  @Test
+  void capturesPageByTiles() throws IOException {
+    File screenshot = new TiledScreenshot(100).capture(50, 250, this::tile);
+
+    assertThat(clips).containsExactly("0,0,50x100", "0,100,50x100", "0,200,50x50");
+    BufferedImage result = ImageIO.read(screenshot);
+    assertThat(result.getWidth()).isEqualTo(50);
+    assertThat(result.getHeight()).isEqualTo(250);
+    assertThat(result.getRGB(10, 0) & 0xFFFFFF).isEqualTo(0);
+    assertThat(result.getRGB(10, 100) & 0xFFFFFF).isEqualTo(100);
+    assertThat(result.getRGB(10, 249) & 0xFFFFFF).isEqualTo(200);
+    assertThat(screenshot.delete()).isTrue();
+  }
+
+  @Test
+  void deletesTemporaryFile_ifFailedToCaptureTile(@TempDir File tempFolder) {
+    assertThatThrownBy(() -> new TiledScreenshot(100, tempFolder).capture(50, 250, (x, y, width, height) -> {
+      if (y > 0) throw new IllegalStateException("Browser has died");
+      return tile(x, y, width, height);
+    })).isInstanceOf(IllegalStateException.class);
+
+    assertThat(tempFolder).isEmptyDirectory();
+  }
+
+  private String tile(long x, long y, long width, long height) {
+    clips.add(String.format("%s,%s,%sx%s", x, y, width, height));
+    BufferedImage image = new BufferedImage((int) width, (int) height, TYPE_INT_RGB);
+    for (int i = 0; i < width; i++) {
+      for (int j = 0; j < height; j++) {
+        image.setRGB(i, j, (int) y);
+      }
+    }
+    try {
+      ByteArrayOutputStream png = new ByteArrayOutputStream();
+      ImageIO.write(image, "png", png);
+      return Base64.getEncoder().encodeToString(png.toByteArray());
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -1,19 +1,15 @@
 package org.selenide.grid;
 
 import com.codeborne.selenide.Config;
-import com.codeborne.selenide.DownloadsFolder;
 import com.codeborne.selenide.Driver;
-import com.codeborne.selenide.files.DownloadedFile;
+import com.codeborne.selenide.impl.RemoteDownloadsFolder;
 import org.openqa.selenium.remote.RemoteWebDriver;
 
-import java.io.File;
 import java.util.List;
 
 import static com.codeborne.selenide.impl.WebdriverUnwrapper.unwrapRemoteWebDriver;
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.toList;
 
-public class GridDownloadsFolder implements DownloadsFolder {
+public class GridDownloadsFolder extends RemoteDownloadsFolder {
   private final RemoteWebDriver webDriver;
   private final Config config;
 
@@ -23,26 +19,13 @@ public class GridDownloadsFolder implements DownloadsFolder {
   }
 
   @Override
-  public void cleanupBeforeDownload() {
-    webDriver.deleteDownloadableFiles();
-  }
-
-  @Override
-  public void deleteIfEmpty() {
+  protected List<String> listFileNames() {
+    return webDriver.getDownloadableFiles();
   }
 
   @Override
-  public List<File> files() {
-    return webDriver.getDownloadableFiles().stream()
-      .map(name -> new File(name))
-      .toList();
-  }
-
-  @Override
-  public List<DownloadedFile> filesNewerThan(long modifiedAfterTs) {
-    return files().stream()
-      .map(file -> new DownloadedFile(file, emptyMap()))
-      .collect(toList());
+  protected void deleteFiles(List<String> fileNames) {
+    webDriver.deleteDownloadableFiles();
   }
 
   @Override
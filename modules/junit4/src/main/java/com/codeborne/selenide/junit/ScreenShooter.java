@@ -53,6 +53,7 @@ public class ScreenShooter extends TestWatcher {
 
   @Override
   protected void succeeded(Description test) {
+    UIAssertionError.discardDeferredScreenshots();
     if (captureSuccessfulTests) {
       log.info(Screenshots.saveScreenshotAndPageSource());
     }
@@ -60,6 +61,7 @@ public class ScreenShooter extends TestWatcher {
 
   @Override
   protected void failed(Throwable e, Description description) {
+    UIAssertionError.captureDeferredScreenshots();
     if (!(e instanceof UIAssertionError)) {
       log.info(Screenshots.saveScreenshotAndPageSource());
     }
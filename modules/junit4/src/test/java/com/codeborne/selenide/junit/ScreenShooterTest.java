@@ -0,0 +1,34 @@
+package com.codeborne.selenide.junit;
+
+import com.codeborne.selenide.ex.UIAssertionError;
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.mockito.MockedStatic;
+
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+
+public final class ScreenShooterTest {
+  private final ScreenShooter screenShooter = ScreenShooter.failedTests();
+  private final Description test = Description.createTestDescription(ScreenShooterTest.class, "someTest");
+
+  @Test
+  public void capturesDeferredScreenshotsIfTestHasFailed() {
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      screenShooter.failed(new UIAssertionError("oops", null, null), test);
+
+      errors.verify(UIAssertionError::captureDeferredScreenshots);
+      errors.verify(UIAssertionError::discardDeferredScreenshots, never());
+    }
+  }
+
+  @Test
+  public void discardsDeferredScreenshotsIfTestHasPassed() {
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      screenShooter.succeeded(test);
+
+      errors.verify(UIAssertionError::discardDeferredScreenshots);
+      errors.verify(UIAssertionError::captureDeferredScreenshots, never());
+    }
+  }
+}
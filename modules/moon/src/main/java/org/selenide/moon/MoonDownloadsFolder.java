@@ -1,43 +1,31 @@
 package org.selenide.moon;
 
-import com.codeborne.selenide.DownloadsFolder;
 import com.codeborne.selenide.Driver;
-import com.codeborne.selenide.files.DownloadedFile;
+import com.codeborne.selenide.impl.RemoteDownloadsFolder;
 
-import java.io.File;
 import java.util.List;
 
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.toList;
 import static org.selenide.moon.MoonClient.clientFor;
 
-public class MoonDownloadsFolder implements DownloadsFolder {
+public class MoonDownloadsFolder extends RemoteDownloadsFolder {
   private final MoonClient moonClient;
 
   public MoonDownloadsFolder(Driver driver) {
-    this.moonClient = clientFor(driver);
+    this(clientFor(driver));
   }
 
-  @Override
-  public void cleanupBeforeDownload() {
-    moonClient.deleteDownloadedFiles();
-  }
-
-  @Override
-  public void deleteIfEmpty() {
+  MoonDownloadsFolder(MoonClient moonClient) {
+    this.moonClient = moonClient;
   }
 
   @Override
-  public List<File> files() {
-    List<String> files = moonClient.downloads();
-    return files.stream().map(name -> new File(name)).collect(toList());
+  protected List<String> listFileNames() {
+    return moonClient.downloads();
   }
 
   @Override
-  public List<DownloadedFile> filesNewerThan(long modifiedAfterTs) {
-    return files().stream()
-      .map(file -> new DownloadedFile(file, emptyMap()))
-      .collect(toList());
+  protected void deleteFiles(List<String> fileNames) {
+    moonClient.deleteDownloadedFiles(fileNames);
   }
 
   @Override
@@ -0,0 +1,120 @@
+package benchmark;
+
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.proxy.MockResponseFilter;
+import com.codeborne.selenide.proxy.RequestMatcher;
+import com.codeborne.selenide.proxy.SelenideProxyServer;
+import integration.server.LocalHttpServer;
+import io.netty.handler.codec.http.HttpRequest;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.UnaryOperator;
+
+import static com.codeborne.selenide.proxy.RequestMatcher.HttpMethod.GET;
+import static com.codeborne.selenide.proxy.RequestMatcher.HttpMethod.POST;
+import static com.codeborne.selenide.proxy.RequestMatchers.urlEquals;
+import static com.codeborne.selenide.proxy.RequestMatchers.urlMatches;
+import static com.codeborne.selenide.proxy.RequestMatchers.urlStartsWith;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Measures throughput of Selenide proxy with 1000 registered mocks.
+ * <p>
+ * Runs the same requests in two modes (twice each, the first round being a warm-up):
+ * <ol>
+ *   <li>"indexed": mocks are registered with standard url matchers (indexed by {@link MockResponseFilter})</li>
+ *   <li>"linear": the same matchers are wrapped into custom matchers, so every request checks all mocks one by one</li>
+ * </ol>
+ * Run with {@code ./gradlew :modules:proxy:mockResponseBenchmark}
+ */
+public class MockResponseFilterBenchmark {
+  private static final int MOCKS = 1000;
+  private static final int REQUESTS = 20_000;
+  private static final int THREADS = 8;
+
+  public static void main(String[] args) throws Exception {
+    LocalHttpServer server = LocalHttpServer.startWithRetry(false, "http://localhost", emptyMap());
+    SelenideProxyServer proxy = new SelenideProxyServer(new SelenideConfig(), null);
+    proxy.start();
+    try {
+      String baseUrl = "http://localhost:" + server.getPort();
+      HttpClient client = HttpClient.newBuilder()
+        .proxy(ProxySelector.of(new InetSocketAddress("localhost", proxy.getProxy().getPort())))
+        .build();
+
+      for (String mode : List.of("indexed", "linear", "indexed", "linear")) {
+        MockResponseFilter mocker = proxy.responseMocker();
+        mocker.resetAll();
+        registerMocks(mocker, baseUrl, mode.equals("indexed") ? UnaryOperator.identity() : MockResponseFilterBenchmark::linear);
+        run(mode, client, baseUrl);
+      }
+    }
+    finally {
+      proxy.shutdown();
+      server.stop();
+    }
+  }
+
+  private static void registerMocks(MockResponseFilter mocker, String baseUrl, UnaryOperator<RequestMatcher> wrapper) {
+    for (int i = 0; i < MOCKS; i++) {
+      RequestMatcher matcher = switch (i % 10) {
+        case 0 -> urlMatches(POST, ".*/legacy/" + i + "$");
+        case 1, 2, 3 -> urlStartsWith(GET, baseUrl + "/api/" + i + "/");
+        default -> urlEquals(GET, baseUrl + "/mocked/" + i);
+      };
+      mocker.mockText("mock-" + i, wrapper.apply(matcher), () -> "mocked");
+    }
+  }
+
+  private static RequestMatcher linear(RequestMatcher matcher) {
+    return new RequestMatcher() {
+      @Override
+      public boolean match(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+        return matcher.match(request, contents, messageInfo);
+      }
+
+      @Override
+      public boolean needsBody() {
+        return false;
+      }
+    };
+  }
+
+  private static void run(String mode, HttpClient client, String baseUrl) throws Exception {
+    List<URI> urls = List.of(
+      URI.create(baseUrl + "/hello_world.txt"),
+      URI.create(baseUrl + "/mocked/" + (MOCKS - 1)),
+      URI.create(baseUrl + "/api/" + (MOCKS - 7) + "/users/42")
+    );
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      long start = System.nanoTime();
+      List<Future<Integer>> responses = new ArrayList<>(REQUESTS);
+      for (int i = 0; i < REQUESTS; i++) {
+        URI url = urls.get(i % urls.size());
+        responses.add(executor.submit(() ->
+          client.send(java.net.http.HttpRequest.newBuilder(url).GET().build(), BodyHandlers.discarding()).statusCode()));
+      }
+      for (Future<Integer> response : responses) {
+        if (response.get() != 200) throw new IllegalStateException("Unexpected response: " + response.get());
+      }
+      long durationMs = (System.nanoTime() - start) / 1_000_000;
+      System.out.printf("%-8s %d mocks: %d requests in %d ms (%d requests/s)%n",
+        mode, MOCKS, REQUESTS, durationMs, REQUESTS * 1000L / Math.max(durationMs, 1));
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+}
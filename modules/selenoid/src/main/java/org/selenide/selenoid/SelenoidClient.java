@@ -1,6 +1,7 @@
 package org.selenide.selenoid;
 
 import com.codeborne.selenide.Driver;
+import com.codeborne.selenide.impl.RemoteDownloadsClient;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.io.IOUtils;
@@ -11,13 +12,12 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
+import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
-import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Base64;
 import java.util.List;
@@ -32,6 +32,7 @@ public class SelenoidClient {
   private static final ObjectMapper json = new ObjectMapper();
   final String baseUrl;
   private final String sessionId;
+  private final RemoteDownloadsClient remoteDownloads = RemoteDownloadsClient.getInstance();
 
   public static SelenoidClient clientFor(Driver driver) {
     String hubUrl = requireNonNull(driver.config().remote(), "Remote browser URL is not configured");
@@ -45,8 +46,7 @@ public class SelenoidClient {
 
   public List<String> downloads() {
     URL url = url(baseUrl + "/download/" + sessionId + "/?json");
-    String fileNamesJson = readToString(url);
-    List<String> fileNames = parseJson(fileNamesJson);
+    List<String> fileNames = remoteDownloads.list(uri(url), this::parseJson);
     log.debug("Retrieved files from {}: {}", url, fileNames);
     return fileNames;
   }
@@ -61,43 +61,22 @@ public class SelenoidClient {
   }
 
   public File download(String fileName, File targetFolder) {
-    URL url = urlOfDownloadedFile(fileName);
-    try (InputStream in = connectionFromUrl(url).getInputStream()) {
-      File file = new File(targetFolder, fileName);
-      try (OutputStream out = Files.newOutputStream(file.toPath())) {
-        IOUtils.copyLarge(in, out);
-      }
-      log.debug("Downloaded file from {} to {}", url, file.getAbsolutePath());
-      return file;
-    }
-    catch (IOException e) {
-      throw new RuntimeException("Failed to download file " + url, e);
-    }
+    File file = new File(targetFolder, fileName);
+    return remoteDownloads.download(uri(urlOfDownloadedFile(fileName)), file);
   }
 
   public void deleteDownloadedFiles() {
+    deleteDownloadedFiles(downloads());
+  }
+
+  void deleteDownloadedFiles(List<String> fileNames) {
     log.debug("Deleting downloaded files...");
-    List<String> downloadedFiles = downloads();
-    downloadedFiles.forEach(this::deleteDownloadedFile);
-    log.debug("Deleted {} downloaded files", downloadedFiles.size());
+    remoteDownloads.delete(fileNames.stream().map(fileName -> uri(urlOfDownloadedFile(fileName))).toList());
+    log.debug("Deleted {} downloaded files", fileNames.size());
   }
 
   public void deleteDownloadedFile(String fileName) {
-    URL url = urlOfDownloadedFile(fileName);
-
-    try {
-      HttpURLConnection connection = connectionFromUrl(url);
-      connection.setRequestMethod("DELETE");
-      int responseCode = connection.getResponseCode();
-      if (responseCode != 200) {
-        throw new RuntimeException("Failed to delete downloaded file " + fileName +
-                                   ", received http status " + responseCode);
-      }
-      log.debug("Deleted downloaded file {}", url);
-    }
-    catch (IOException e) {
-      throw new RuntimeException("Failed to delete downloaded file " + url, e);
-    }
+    remoteDownloads.delete(uri(urlOfDownloadedFile(fileName)));
   }
 
   public String getClipboardText() {
@@ -163,12 +142,12 @@ public class SelenoidClient {
     }
   }
 
-  private String readToString(URL url) {
-    try (InputStream in = connectionFromUrl(url).getInputStream()) {
-      return IOUtils.toString(in, UTF_8);
+  private URI uri(URL url) {
+    try {
+      return url.toURI();
     }
-    catch (IOException e) {
-      throw new RuntimeException("Failed to fetch data from " + url, e);
+    catch (URISyntaxException e) {
+      throw new RuntimeException("Invalid URL: " + url, e);
     }
   }
 
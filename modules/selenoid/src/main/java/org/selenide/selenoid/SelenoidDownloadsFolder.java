@@ -1,43 +1,31 @@
 package org.selenide.selenoid;
 
-import com.codeborne.selenide.DownloadsFolder;
 import com.codeborne.selenide.Driver;
-import com.codeborne.selenide.files.DownloadedFile;
+import com.codeborne.selenide.impl.RemoteDownloadsFolder;
 
-import java.io.File;
 import java.util.List;
 
-import static java.util.Collections.emptyMap;
-import static java.util.stream.Collectors.toList;
 import static org.selenide.selenoid.SelenoidClient.clientFor;
 
-public class SelenoidDownloadsFolder implements DownloadsFolder {
+public class SelenoidDownloadsFolder extends RemoteDownloadsFolder {
   private final SelenoidClient selenoidClient;
 
   public SelenoidDownloadsFolder(Driver driver) {
-    this.selenoidClient = clientFor(driver);
+    this(clientFor(driver));
   }
 
-  @Override
-  public void cleanupBeforeDownload() {
-    selenoidClient.deleteDownloadedFiles();
-  }
-
-  @Override
-  public void deleteIfEmpty() {
+  SelenoidDownloadsFolder(SelenoidClient selenoidClient) {
+    this.selenoidClient = selenoidClient;
   }
 
   @Override
-  public List<File> files() {
-    List<String> files = selenoidClient.downloads();
-    return files.stream().map(name -> new File(name)).collect(toList());
+  protected List<String> listFileNames() {
+    return selenoidClient.downloads();
   }
 
   @Override
-  public List<DownloadedFile> filesNewerThan(long modifiedAfterTs) {
-    return files().stream()
-      .map(file -> new DownloadedFile(file, emptyMap()))
-      .collect(toList());
+  protected void deleteFiles(List<String> fileNames) {
+    selenoidClient.deleteDownloadedFiles(fileNames);
   }
 
   @Override
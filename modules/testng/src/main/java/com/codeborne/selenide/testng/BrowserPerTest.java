@@ -1,15 +1,26 @@
 package com.codeborne.selenide.testng;
 
+import org.testng.ITestContext;
 import org.testng.ITestResult;
 import org.testng.reporters.ExitCodeListener;
 
 import static com.codeborne.selenide.Selenide.closeWebDriver;
+import static com.codeborne.selenide.WebDriverRunner.warmUpBrowserPool;
 
 /**
  * Annotate your test class with {@code @Listeners({ BrowserPerTest.class})}
+ * <p>
+ * If browser pool is enabled (see {@link com.codeborne.selenide.drivercommands.BrowserPoolConfiguration}),
+ * browsers are launched in background before the tests, and returned to the pool after each test instead of closing.
  */
 public class BrowserPerTest extends ExitCodeListener {
 
+  @Override
+  public void onStart(ITestContext context) {
+    super.onStart(context);
+    warmUpBrowserPool();
+  }
+
   @Override
   public void onTestFailure(ITestResult result) {
     super.onTestFailure(result);
@@ -37,6 +37,7 @@ public class ScreenShooter extends ExitCodeListener {
   @Override
   public void onTestFailure(ITestResult result) {
     super.onTestFailure(result);
+    UIAssertionError.captureDeferredScreenshots();
     if (!(result.getThrowable() instanceof UIAssertionError)) {
       log.info(Screenshots.saveScreenshotAndPageSource());
     }
@@ -47,6 +48,7 @@ public class ScreenShooter extends ExitCodeListener {
   @Override
   public void onTestSuccess(ITestResult result) {
     super.onTestSuccess(result);
+    UIAssertionError.discardDeferredScreenshots();
     if (captureSuccessfulTests) {
       log.info(Screenshots.saveScreenshotAndPageSource());
     }
@@ -0,0 +1,38 @@
+package com.codeborne.selenide.testng;
+
+import com.codeborne.selenide.ex.UIAssertionError;
+import org.mockito.MockedStatic;
+import org.testng.ITestResult;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.when;
+
+public final class ScreenShooterTest {
+  private final ScreenShooter screenShooter = new ScreenShooter();
+  private final ITestResult result = mock();
+
+  @Test
+  void capturesDeferredScreenshotsIfTestHasFailed() {
+    when(result.getThrowable()).thenReturn(new UIAssertionError("oops", null, null));
+
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      screenShooter.onTestFailure(result);
+
+      errors.verify(UIAssertionError::captureDeferredScreenshots);
+      errors.verify(UIAssertionError::discardDeferredScreenshots, never());
+    }
+  }
+
+  @Test
+  void discardsDeferredScreenshotsIfTestHasPassed() {
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      screenShooter.onTestSuccess(result);
+
+      errors.verify(UIAssertionError::discardDeferredScreenshots);
+      errors.verify(UIAssertionError::captureDeferredScreenshots, never());
+    }
+  }
+}
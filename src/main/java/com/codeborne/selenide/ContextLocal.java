@@ -0,0 +1,74 @@
+package com.codeborne.selenide;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link ThreadLocal} which keeps its value in the current {@link SelenideContext} (if any).
+ * <p>
+ * Outside of a context, it works as a usual thread local variable.
+ */
+public class ContextLocal<T extends @Nullable Object> extends ThreadLocal<T> {
+  @Nullable
+  private final Supplier<? extends T> initialValue;
+
+  public ContextLocal() {
+    this.initialValue = null;
+  }
+
+  private ContextLocal(Supplier<? extends T> initialValue) {
+    this.initialValue = initialValue;
+  }
+
+  public static <S extends @Nullable Object> ContextLocal<S> contextLocal(Supplier<? extends S> initialValue) {
+    return new ContextLocal<>(initialValue);
+  }
+
+  @Override
+  @SuppressWarnings("DataFlowIssue")
+  protected T initialValue() {
+    return initialValue == null ? null : initialValue.get();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T get() {
+    SelenideContext context = SelenideContext.current();
+    if (context == null) return super.get();
+
+    Object value = context.values.get(this);
+    if (value == null) {
+      value = initialValue();
+      if (value != null) {
+        context.values.put(this, value);
+      }
+    }
+    return (T) value;
+  }
+
+  @Override
+  public void set(T value) {
+    SelenideContext context = SelenideContext.current();
+    if (context == null) {
+      super.set(value);
+    }
+    else if (value == null) {
+      context.values.remove(this);
+    }
+    else {
+      context.values.put(this, value);
+    }
+  }
+
+  @Override
+  public void remove() {
+    SelenideContext context = SelenideContext.current();
+    if (context == null) {
+      super.remove();
+    }
+    else {
+      context.values.remove(this);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package com.codeborne.selenide;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A handle of Selenide state which is not bound to a thread: webdriver opened by the static API,
+ * per-test config, log listeners, screenshots etc.
+ * <p>
+ * By default, Selenide keeps this state per thread.
+ * Inside {@link #run(Runnable)}, it's taken from the context instead - no matter which thread runs the code.
+ * It allows running tests in virtual threads, or moving a test between threads of a pool:
+ * <pre>{@code
+ *   SelenideContext context = SelenideContext.create();
+ *   executor.submit(() -> context.run(() -> open("/login"))).get();
+ *   executor.submit(() -> context.run(() -> $("#username").setValue("bob"))).get();
+ *   context.close();
+ * }</pre>
+ * <p>
+ * NB! The context must not be used by multiple threads simultaneously.
+ * Webdriver opened in the context is not closed automatically when the thread is finished:
+ * close it with {@link #close()} (or {@code closeWebDriver()} inside the context).
+ *
+ * @see ContextLocal
+ */
+public final class SelenideContext implements AutoCloseable {
+  private static final ThreadLocal<@Nullable SelenideContext> current = new ThreadLocal<>();
+
+  final Map<ContextLocal<?>, Object> values = new ConcurrentHashMap<>();
+  private final Map<Object, Runnable> closeActions = new LinkedHashMap<>();
+
+  private SelenideContext() {
+  }
+
+  public static SelenideContext create() {
+    return new SelenideContext();
+  }
+
+  /**
+   * @return the context bound to the current thread (by {@link #run(Runnable)}), or null if there is no context
+   */
+  @Nullable
+  public static SelenideContext current() {
+    return current.get();
+  }
+
+  /**
+   * Run given code in this context
+   */
+  public void run(Runnable lambda) {
+    call(() -> {
+      lambda.run();
+      return true;
+    });
+  }
+
+  /**
+   * Run given code in this context
+   *
+   * @return the result of given code
+   */
+  public <T> T call(Supplier<T> lambda) {
+    SelenideContext previous = current.get();
+    current.set(this);
+    try {
+      return lambda.get();
+    }
+    finally {
+      if (previous == null) {
+        current.remove();
+      }
+      else {
+        current.set(previous);
+      }
+    }
+  }
+
+  /**
+   * Register an action to be executed (inside this context) when the context is closed.
+   *
+   * @param owner the same owner can register only one action
+   */
+  public synchronized void onClose(Object owner, Runnable action) {
+    closeActions.putIfAbsent(owner, action);
+  }
+
+  /**
+   * Close the webdriver opened in this context, and forget all its state
+   */
+  @Override
+  public void close() {
+    List<Runnable> actions;
+    synchronized (this) {
+      actions = List.copyOf(closeActions.values());
+      closeActions.clear();
+    }
+    run(() -> actions.forEach(Runnable::run));
+    values.clear();
+  }
+}
@@ -394,6 +394,14 @@ public class SelenideDriver {
     return downloadFileWithHttpRequest().download(driver(), url, timeoutMs, none());
   }
 
+  public List<File> download(List<String> urls) {
+    return download(urls, config.timeout());
+  }
+
+  public List<File> download(List<String> urls, long timeoutMs) {
+    return downloadFileWithHttpRequest().download(driver(), urls, timeoutMs, none(), DOWNLOAD_PARALLELISM);
+  }
+
   public LocalStorage getLocalStorage() {
     return new LocalStorage(driver());
   }
@@ -407,6 +415,7 @@ public class SelenideDriver {
   }
 
   private static final PageObjectFactory pageFactory = inject(PageObjectFactory.class);
+  private static final int DOWNLOAD_PARALLELISM = 8;
   private static final Lazy<DownloadFileWithHttpRequest> downloadFileWithHttpRequest = lazyEvaluated(DownloadFileWithHttpRequest::new);
 
   private static synchronized DownloadFileWithHttpRequest downloadFileWithHttpRequest() {
@@ -5,6 +5,7 @@ import com.codeborne.selenide.conditions.webdriver.CookieWithNameAndValue;
 import com.codeborne.selenide.conditions.webdriver.CurrentFrameUrl;
 import com.codeborne.selenide.conditions.webdriver.CurrentFrameUrlContaining;
 import com.codeborne.selenide.conditions.webdriver.CurrentFrameUrlStartingWith;
+import com.codeborne.selenide.conditions.webdriver.NoPendingRequests;
 import com.codeborne.selenide.conditions.webdriver.NumberOfWindows;
 import com.codeborne.selenide.conditions.webdriver.Title;
 import com.codeborne.selenide.conditions.webdriver.Url;
@@ -59,4 +60,16 @@ public class WebDriverConditions {
   public static ObjectCondition<WebDriver> cookie(String name, String value) {
     return new CookieWithNameAndValue(name, value);
   }
+
+  /**
+   * Check that the browser has no network requests in progress.
+   * Example:
+   * <pre>
+   * {@code webdriver().shouldHave(noPendingRequests()) }
+   * </pre>
+   * Requires browser events to be enabled (see {@link com.codeborne.selenide.impl.BrowserEvents}).
+   */
+  public static ObjectCondition<WebDriver> noPendingRequests() {
+    return new NoPendingRequests();
+  }
 }
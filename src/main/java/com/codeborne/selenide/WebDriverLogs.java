@@ -1,7 +1,12 @@
 package com.codeborne.selenide;
 
+import com.codeborne.selenide.impl.BrowserEvents;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.logging.LogEntries;
 import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
 
 import java.util.List;
 import java.util.logging.Level;
@@ -25,6 +30,10 @@ public class WebDriverLogs {
   }
 
   private List<LogEntry> getLogEntries(String logType, Level logLevel) {
+    BrowserEvents events = LogType.BROWSER.equals(logType) ? eventsOfCurrentWindow() : null;
+    if (events != null) {
+      return filter(events.takeLogs(), logLevel);
+    }
     try {
       return filter(driver.getWebDriver().manage().logs().get(logType), logLevel);
     }
@@ -33,8 +42,32 @@ public class WebDriverLogs {
     }
   }
 
+  /**
+   * Browser events are collected only in the tab which DevTools session is attached to.
+   * Logs of other tabs are read using webdriver API.
+   */
+  @Nullable
+  private BrowserEvents eventsOfCurrentWindow() {
+    WebDriver webDriver = driver.getWebDriver();
+    BrowserEvents events = BrowserEvents.of(webDriver);
+    String trackedWindow = events == null ? null : events.windowHandle();
+    if (trackedWindow == null) {
+      return events;
+    }
+    try {
+      return trackedWindow.equals(webDriver.getWindowHandle()) ? events : null;
+    }
+    catch (NoSuchWindowException currentWindowIsClosed) {
+      return null;
+    }
+  }
+
   private List<LogEntry> filter(LogEntries entries, Level level) {
-    return entries.getAll().stream()
+    return filter(entries.getAll(), level);
+  }
+
+  private List<LogEntry> filter(List<LogEntry> entries, Level level) {
+    return entries.stream()
       .filter(entry -> entry.getLevel().intValue() >= level.intValue())
       .toList();
   }
@@ -0,0 +1,48 @@
+package com.codeborne.selenide.conditions.webdriver;
+
+import com.codeborne.selenide.CheckResult;
+import com.codeborne.selenide.ObjectCondition;
+import com.codeborne.selenide.impl.BrowserEvents;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+
+public class NoPendingRequests implements ObjectCondition<WebDriver> {
+  @Override
+  public String description() {
+    return "should have no pending requests";
+  }
+
+  @Override
+  public String negativeDescription() {
+    return "should have pending requests";
+  }
+
+  @Override
+  public CheckResult check(WebDriver webDriver) {
+    BrowserEvents events = BrowserEvents.of(webDriver);
+    if (events == null) {
+      throw new IllegalStateException("Browser events are not collected. " +
+        "Set \"selenide.browserEvents=true\" in \"selenide.properties\" (Chromium browsers only).");
+    }
+    List<String> pendingRequests = events.pendingRequests();
+    int untrackedRequests = events.untrackedRequests();
+    if (untrackedRequests > 0) {
+      return result(webDriver, false, pendingRequests + " and " + untrackedRequests + " untracked requests " +
+        "(increase \"selenide.browserEvents.capacity\")");
+    }
+    return result(webDriver, pendingRequests.isEmpty(), pendingRequests);
+  }
+
+  @Override
+  @Nullable
+  public String expectedValue() {
+    return null;
+  }
+
+  @Override
+  public String describe(WebDriver webDriver) {
+    return "webdriver";
+  }
+}
@@ -0,0 +1,44 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.PropertiesReader;
+
+/**
+ * Settings of closing webdrivers in background.
+ * Can be set by system properties or in "selenide.properties" file.
+ *
+ * @see AsyncDisposer
+ */
+public class AsyncDisposalConfiguration {
+  private final PropertiesReader properties = new PropertiesReader("selenide.properties");
+
+  /**
+   * If true, webdriver, proxy and downloads folder are closed in background threads,
+   * and {@code closeWebDriver()} returns immediately.
+   * By default (false), they are closed in the test thread.
+   */
+  public boolean enabled() {
+    return properties.getBoolean("selenide.dispose.async", false);
+  }
+
+  /**
+   * Number of background threads closing webdrivers
+   */
+  public int threads() {
+    return properties.getInt("selenide.dispose.threads", 2);
+  }
+
+  /**
+   * How many webdrivers can wait for closing.
+   * If the queue is full, the next webdriver is closed in the test thread.
+   */
+  public int queueSize() {
+    return properties.getInt("selenide.dispose.queueSize", 32);
+  }
+
+  /**
+   * How long (in milliseconds) JVM shutdown waits for webdrivers being closed in background
+   */
+  public long shutdownTimeout() {
+    return properties.getLong("selenide.dispose.shutdownTimeout", 30_000);
+  }
+}
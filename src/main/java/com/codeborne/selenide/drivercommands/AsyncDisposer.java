@@ -0,0 +1,190 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.impl.Disposable;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.codeborne.selenide.impl.ThreadNamer.named;
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Closes webdrivers (with their proxies and downloads folders) in background.
+ * <p>
+ * Closing a browser takes 0.5-2 seconds, and the test thread doesn't need to wait for it:
+ * the caller unbinds the webdriver from the thread and unregisters it from {@link WebdriversRegistry},
+ * and the next test can start immediately.
+ * <p>
+ * Webdrivers which are still being closed on JVM exit are awaited
+ * (at most {@link AsyncDisposalConfiguration#shutdownTimeout()}).
+ * <p>
+ * Disabled by default: webdrivers are closed in the caller thread.
+ */
+public class AsyncDisposer {
+  private static final Logger log = LoggerFactory.getLogger(AsyncDisposer.class);
+  private static final AsyncDisposer instance = new AsyncDisposer(new AsyncDisposalConfiguration());
+
+  public static AsyncDisposer instance() {
+    return instance;
+  }
+
+  @Nullable
+  private final ThreadPoolExecutor executor;
+  private final long shutdownTimeoutMs;
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicLong completed = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong totalDurationMs = new AtomicLong();
+  private boolean shutdownHookRegistered;
+
+  AsyncDisposer(AsyncDisposalConfiguration configuration) {
+    this(configuration.enabled() ? configuration.threads() : 0, configuration.queueSize(), configuration.shutdownTimeout());
+  }
+
+  AsyncDisposer(int threads, int queueSize, long shutdownTimeoutMs) {
+    this.executor = threads <= 0 ? null : createExecutor(threads, queueSize);
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+  }
+
+  private static ThreadPoolExecutor createExecutor(int threads, int queueSize) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 10, SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+      Thread thread = named("selenide-dispose-").newThread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  public boolean isEnabled() {
+    return executor != null;
+  }
+
+  /**
+   * Close given webdriver in background (or in the current thread if async disposal is disabled or the queue is full).
+   * <p>
+   * Resources which the next webdriver may need right away (like a proxy on a fixed port)
+   * are released in the current thread, see {@link Disposable#releaseUrgentResources()}.
+   * <p>
+   * NB! The caller is responsible for unbinding the webdriver from the thread and unregistering it
+   * from {@link WebdriversRegistry} - before calling this method.
+   */
+  public void dispose(Disposable disposable) {
+    if (executor == null) {
+      disposeNow(disposable);
+      return;
+    }
+
+    releaseUrgentResources(disposable);
+    registerShutdownHook();
+    pending.incrementAndGet();
+    try {
+      executor.execute(() -> {
+        try {
+          disposeNow(disposable);
+        }
+        finally {
+          pending.decrementAndGet();
+        }
+      });
+    }
+    catch (RejectedExecutionException queueIsFull) {
+      pending.decrementAndGet();
+      log.debug("Too many webdrivers are being closed ({}), close {} in current thread", pending.get(), disposable);
+      disposeNow(disposable);
+    }
+  }
+
+  private void releaseUrgentResources(Disposable disposable) {
+    try {
+      disposable.releaseUrgentResources();
+    }
+    catch (RuntimeException e) {
+      log.warn("Failed to release resources of {}", disposable, e);
+    }
+  }
+
+  private void disposeNow(Disposable disposable) {
+    long start = currentTimeMillis();
+    try {
+      disposable.dispose();
+      completed.incrementAndGet();
+    }
+    catch (RuntimeException e) {
+      failed.incrementAndGet();
+      log.warn("Failed to close {}", disposable, e);
+    }
+    finally {
+      totalDurationMs.addAndGet(currentTimeMillis() - start);
+    }
+  }
+
+  /**
+   * Wait until all webdrivers queued for closing are closed
+   *
+   * @return true if all webdrivers are closed, false if timeout has been reached
+   */
+  public boolean flush(long timeoutMs) {
+    long deadline = currentTimeMillis() + timeoutMs;
+    while (pending.get() > 0 && currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(50);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    return pending.get() == 0;
+  }
+
+  /**
+   * Number of webdrivers queued or being closed right now
+   */
+  public int pending() {
+    return pending.get();
+  }
+
+  /**
+   * Number of closed webdrivers (including those closed in the caller thread)
+   */
+  public long completed() {
+    return completed.get();
+  }
+
+  /**
+   * Number of webdrivers which failed to close
+   */
+  public long failed() {
+    return failed.get();
+  }
+
+  /**
+   * Average time (in milliseconds) of closing a webdriver
+   */
+  public long averageDuration() {
+    long count = completed.get() + failed.get();
+    return count == 0 ? 0 : totalDurationMs.get() / count;
+  }
+
+  private synchronized void registerShutdownHook() {
+    if (!shutdownHookRegistered) {
+      Runtime.getRuntime().addShutdownHook(new Thread(this::flushOnExit, "selenide-dispose-shutdown"));
+      shutdownHookRegistered = true;
+    }
+  }
+
+  private void flushOnExit() {
+    if (!flush(shutdownTimeoutMs)) {
+      log.warn("{} webdrivers have not been closed in {} ms", pending.get(), shutdownTimeoutMs);
+    }
+    log.debug("Closed {} webdrivers (failed: {}, average time: {} ms)", completed.get(), failed.get(), averageDuration());
+  }
+}
@@ -0,0 +1,49 @@
+package com.codeborne.selenide.drivercommands;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.synchronizedMap;
+
+/**
+ * Remembers the outcome of the latest webdriver commands.
+ * <p>
+ * Any successful command proves that the browser is alive, and some exceptions prove that it's dead.
+ * It allows {@link BrowserHealthChecker} to skip an extra call to the browser.
+ */
+public class BrowserHealth {
+  private static final long DEAD = Long.MIN_VALUE;
+  private static final Map<WebDriver, Long> lastSuccess = synchronizedMap(new WeakHashMap<>());
+
+  public enum Status {ALIVE, DEAD, UNKNOWN}
+
+  public static void succeeded(WebDriver webDriver) {
+    lastSuccess.compute(webDriver, (wd, previous) -> previous != null && previous == DEAD ? DEAD : currentTimeMillis());
+  }
+
+  public static void failed(WebDriver webDriver, Throwable error) {
+    if (error instanceof UnreachableBrowserException || error instanceof NoSuchSessionException) {
+      lastSuccess.put(webDriver, DEAD);
+    }
+    else if (error instanceof NoSuchWindowException) {
+      // the session is alive, but the current window has been closed: let the checker decide
+      lastSuccess.remove(webDriver);
+    }
+  }
+
+  /**
+   * @param ttlMs how long (in milliseconds) a successful command proves that browser is alive
+   */
+  public static Status status(WebDriver webDriver, long ttlMs) {
+    Long time = lastSuccess.get(webDriver);
+    if (time == null) return Status.UNKNOWN;
+    if (time == DEAD) return Status.DEAD;
+    return currentTimeMillis() - time < ttlMs ? Status.ALIVE : Status.UNKNOWN;
+  }
+}
@@ -1,5 +1,6 @@
 package com.codeborne.selenide.drivercommands;
 
+import com.codeborne.selenide.PropertiesReader;
 import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.NoSuchWindowException;
 import org.openqa.selenium.UnsupportedCommandException;
@@ -8,12 +9,40 @@ import org.openqa.selenium.remote.UnreachableBrowserException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Checks if the browser is still open.
+ * <p>
+ * If the latest webdriver command succeeded less than "selenide.browserHealth.ttl" milliseconds ago
+ * (or failed because the browser has been closed), its outcome is used without calling the browser.
+ * Otherwise, the browser is probed with {@code getTitle()}.
+ *
+ * @see BrowserHealth
+ */
 public class BrowserHealthChecker {
   private static final Logger log = LoggerFactory.getLogger(BrowserHealthChecker.class);
 
+  private final long ttlMs;
+
+  public BrowserHealthChecker() {
+    this(new PropertiesReader("selenide.properties").getLong("selenide.browserHealth.ttl", 3000));
+  }
+
+  BrowserHealthChecker(long ttlMs) {
+    this.ttlMs = ttlMs;
+  }
+
   public boolean isBrowserStillOpen(WebDriver webDriver) {
+    return switch (BrowserHealth.status(webDriver, ttlMs)) {
+      case ALIVE -> true;
+      case DEAD -> false;
+      case UNKNOWN -> probe(webDriver);
+    };
+  }
+
+  private boolean probe(WebDriver webDriver) {
     try {
       webDriver.getTitle();
+      BrowserHealth.succeeded(webDriver);
       return true;
     }
     catch (UnsupportedCommandException notSupportedButAlive) {
@@ -22,14 +51,17 @@ public class BrowserHealthChecker {
     }
     catch (UnreachableBrowserException e) {
       log.debug("Browser is unreachable", e);
+      BrowserHealth.failed(webDriver, e);
       return false;
     }
     catch (NoSuchWindowException e) {
       log.debug("Browser window is not found", e);
+      BrowserHealth.failed(webDriver, e);
       return false;
     }
     catch (NoSuchSessionException e) {
       log.debug("Browser session is not found", e);
+      BrowserHealth.failed(webDriver, e);
       return false;
     }
   }
@@ -0,0 +1,299 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.Browser;
+import com.codeborne.selenide.Config;
+import com.codeborne.selenide.impl.WebDriverInstance;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static com.codeborne.selenide.impl.ThreadNamer.named;
+import static java.lang.System.currentTimeMillis;
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Pool of browsers launched in background, so that tests don't wait 1-3 seconds for a browser start.
+ * <p>
+ * The pool keeps {@link BrowserPoolConfiguration#size()} browsers ready (or being launched).
+ * A test leases one of them when it opens the first page. When the test closes the webdriver,
+ * the browser goes back to the pool: it's cleaned up by {@link ResetBrowserStateCommand} in background
+ * and then reused by the next test. After {@link BrowserPoolConfiguration#maxUses()} tests the browser is closed.
+ * <p>
+ * Browser is leased only if it has been launched with the same settings (browser, headless, remote, proxy etc.)
+ * as the current config. Browsers with outdated settings are closed.
+ * <p>
+ * Only local Chromium browsers are pooled: other browsers cannot be fully reset
+ * (e.g. webdriver deletes cookies only of the current domain), so they are launched for every test as usual.
+ * <p>
+ * Disabled by default.
+ */
+public class BrowserPool {
+  private static final Logger log = LoggerFactory.getLogger(BrowserPool.class);
+  private static final int MAX_FAILURES_IN_A_ROW = 3;
+
+  private final int size;
+  private final int maxUses;
+  private final long leaseTimeoutMs;
+  private final Function<Config, WebDriverInstance> launcher;
+  private final BrowserHealthChecker healthChecker;
+  private final ResetBrowserStateCommand resetCommand;
+
+  private final BlockingQueue<PooledBrowser> idle = new LinkedBlockingQueue<>();
+  private final Map<WebDriver, PooledBrowser> leased = new IdentityHashMap<>();
+  private final AtomicInteger preparing = new AtomicInteger();
+  private final AtomicInteger failuresInARow = new AtomicInteger();
+  private final AtomicBoolean unsupportedBrowserReported = new AtomicBoolean();
+  @Nullable
+  private final ThreadPoolExecutor executor;
+  @Nullable
+  private volatile Config config;
+
+  /**
+   * @param launcher function which launches a new browser with the given config
+   */
+  public BrowserPool(Function<Config, WebDriverInstance> launcher) {
+    this(new BrowserPoolConfiguration(), launcher, new BrowserHealthChecker(), new ResetBrowserStateCommand());
+  }
+
+  BrowserPool(BrowserPoolConfiguration configuration, Function<Config, WebDriverInstance> launcher,
+              BrowserHealthChecker healthChecker, ResetBrowserStateCommand resetCommand) {
+    this(configuration.size(), configuration.maxUses(), configuration.leaseTimeout(), launcher, healthChecker, resetCommand);
+  }
+
+  BrowserPool(int size, int maxUses, long leaseTimeoutMs, Function<Config, WebDriverInstance> launcher,
+              BrowserHealthChecker healthChecker, ResetBrowserStateCommand resetCommand) {
+    this.size = size;
+    this.maxUses = maxUses;
+    this.leaseTimeoutMs = leaseTimeoutMs;
+    this.launcher = launcher;
+    this.healthChecker = healthChecker;
+    this.resetCommand = resetCommand;
+    this.executor = size <= 0 ? null : createExecutor(size);
+  }
+
+  private static ThreadPoolExecutor createExecutor(int size) {
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 10, SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+      Thread thread = named("selenide-browser-pool-").newThread(runnable);
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  public boolean isEnabled() {
+    return executor != null && failuresInARow.get() < MAX_FAILURES_IN_A_ROW;
+  }
+
+  /**
+   * Start launching browsers in background (unless they are already launched)
+   */
+  public void warmUp(Config config) {
+    if (isEnabled() && canReset(config)) {
+      this.config = config;
+      refill();
+    }
+  }
+
+  /**
+   * Take a browser from the pool.
+   * If all browsers are still being launched, wait for one of them (at most {@link BrowserPoolConfiguration#leaseTimeout()}).
+   *
+   * @return a browser bound to the current thread, or null if the pool is disabled or has no browsers
+   * launched with the same settings as given config.
+   */
+  @Nullable
+  public WebDriverInstance lease(Config config) {
+    if (!isEnabled() || !canReset(config)) return null;
+
+    this.config = config;
+    List<Object> settings = settings(config);
+    long deadline = nanoTime() + MILLISECONDS.toNanos(leaseTimeoutMs);
+    try {
+      while (true) {
+        PooledBrowser browser = idle.poll();
+        if (browser == null) {
+          refill();
+          if (preparing.get() == 0 || nanoTime() > deadline || !isEnabled()) return null;
+          browser = idle.poll(100, MILLISECONDS);
+          if (browser == null) continue;
+        }
+        refill();
+
+        if (!browser.settings().equals(settings)) {
+          discard(browser, "launched with other settings");
+        }
+        else if (!healthChecker.isBrowserStillOpen(browser.instance().webDriver())) {
+          discard(browser, "not alive anymore");
+        }
+        else {
+          return use(browser);
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private WebDriverInstance use(PooledBrowser browser) {
+    WebDriverInstance instance = bindToCurrentThread(browser.instance());
+    synchronized (leased) {
+      leased.put(instance.webDriver(), new PooledBrowser(instance, browser.settings(), browser.uses() + 1));
+    }
+    log.info("Leased browser from pool: {} -> {} (used {} times before)", instance.threadId(), instance.webDriver(), browser.uses());
+    return instance;
+  }
+
+  /**
+   * Return the browser to the pool.
+   * The browser is cleaned up in background, or closed if it has been used too many times.
+   * <p>
+   * Must be called whenever a leased browser is not used anymore (also when its thread has died),
+   * otherwise the pool keeps it as leased forever.
+   *
+   * @return false if the browser doesn't belong to the pool (and caller should close it)
+   */
+  public boolean release(WebDriverInstance instance) {
+    PooledBrowser browser;
+    synchronized (leased) {
+      browser = leased.remove(instance.webDriver());
+    }
+    if (browser == null || executor == null) return false;
+
+    if (browser.uses() >= maxUses) {
+      discard(browser, "used " + browser.uses() + " times");
+      refill();
+      return true;
+    }
+
+    preparing.incrementAndGet();
+    executor.execute(() -> {
+      try {
+        WebDriverInstance pooled = bindToCurrentThread(browser.instance());
+        resetCommand.reset(pooled);
+        idle.add(new PooledBrowser(pooled, browser.settings(), browser.uses()));
+        log.debug("Returned browser to pool: {}", pooled.webDriver());
+      }
+      catch (RuntimeException e) {
+        log.warn("Failed to reset browser {}: {}", browser.instance().webDriver(), e.toString());
+        dispose(browser.instance());
+      }
+      finally {
+        preparing.decrementAndGet();
+      }
+    });
+    return true;
+  }
+
+  private boolean canReset(Config config) {
+    boolean supported = config.remote() == null && new Browser(config.browser(), config.headless()).isChromium();
+    if (!supported && unsupportedBrowserReported.compareAndSet(false, true)) {
+      log.warn("Browser pool supports only local Chromium browsers, but {} is used. Browsers will not be pooled.",
+        config.remote() == null ? config.browser() : "remote " + config.browser());
+    }
+    return supported;
+  }
+
+  /**
+   * Close all idle browsers in the pool. Leased browsers are not affected.
+   */
+  public void clear() {
+    PooledBrowser browser;
+    while ((browser = idle.poll()) != null) {
+      dispose(browser.instance());
+    }
+  }
+
+  private void refill() {
+    Config currentConfig = config;
+    if (executor == null || currentConfig == null) return;
+
+    while (isEnabled()) {
+      int count = preparing.get();
+      if (idle.size() + count >= size) return;
+      if (preparing.compareAndSet(count, count + 1)) {
+        executor.execute(() -> launch(currentConfig));
+      }
+    }
+  }
+
+  private void launch(Config config) {
+    try {
+      long start = currentTimeMillis();
+      WebDriverInstance instance = launcher.apply(config);
+      idle.add(new PooledBrowser(instance, settings(config), 0));
+      failuresInARow.set(0);
+      log.info("Launched browser in background in {} ms: {}", currentTimeMillis() - start, instance.webDriver());
+    }
+    catch (RuntimeException e) {
+      if (failuresInARow.incrementAndGet() >= MAX_FAILURES_IN_A_ROW) {
+        log.error("Failed to launch browser in background {} times in a row, browser pool is disabled", MAX_FAILURES_IN_A_ROW, e);
+      }
+      else {
+        log.warn("Failed to launch browser in background: {}", e.toString());
+      }
+    }
+    finally {
+      preparing.decrementAndGet();
+    }
+  }
+
+  private void discard(PooledBrowser browser, String reason) {
+    log.info("Close browser {}: {}", browser.instance().webDriver(), reason);
+    if (executor != null) {
+      executor.execute(() -> dispose(browser.instance()));
+    }
+  }
+
+  private static void dispose(WebDriverInstance instance) {
+    instance.dispose();
+    WebdriversRegistry.unregister(instance);
+  }
+
+  /**
+   * {@link WebDriverInstance} remembers the thread which uses it
+   * (e.g. to find the webdriver of a test thread in {@link WebdriversRegistry}).
+   */
+  private static WebDriverInstance bindToCurrentThread(WebDriverInstance instance) {
+    long threadId = currentThread().getId();
+    if (instance.threadId() == threadId) return instance;
+
+    WebDriverInstance bound = new WebDriverInstance(threadId, instance.config(), instance.webDriver(),
+      instance.config().proxyEnabled() ? instance.proxy() : null, instance.downloadsFolder());
+    WebdriversRegistry.unregister(instance);
+    WebdriversRegistry.register(bound);
+    return bound;
+  }
+
+  /**
+   * Settings which cannot be changed after the browser is launched
+   */
+  static List<Object> settings(Config config) {
+    return List.of(
+      config.browser(), config.headless(), Objects.toString(config.remote()), Objects.toString(config.browserSize()),
+      Objects.toString(config.browserVersion()), Objects.toString(config.browserPosition()), config.browserBinary(),
+      config.pageLoadStrategy(), config.browserCapabilities().asMap(), config.proxyEnabled(), config.downloadsFolder(),
+      config.fileDownload(), config.webdriverLogsEnabled()
+    );
+  }
+
+  private record PooledBrowser(WebDriverInstance instance, List<Object> settings, int uses) {
+  }
+}
@@ -0,0 +1,36 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.PropertiesReader;
+
+/**
+ * Settings of the pool of pre-launched browsers.
+ * Can be set by system properties or in "selenide.properties" file.
+ *
+ * @see BrowserPool
+ */
+public class BrowserPoolConfiguration {
+  private final PropertiesReader properties = new PropertiesReader("selenide.properties");
+
+  /**
+   * Number of browsers launched in background and waiting for the next test.
+   * By default (0), the pool is disabled: browser is launched when the test opens the first page.
+   */
+  public int size() {
+    return properties.getInt("selenide.browserPool.size", 0);
+  }
+
+  /**
+   * After how many tests the browser is closed and replaced by a fresh one
+   */
+  public int maxUses() {
+    return properties.getInt("selenide.browserPool.maxUses", 20);
+  }
+
+  /**
+   * How long (in milliseconds) a test waits for a browser that is being launched by the pool,
+   * before launching its own browser.
+   */
+  public long leaseTimeout() {
+    return properties.getLong("selenide.browserPool.leaseTimeout", 30_000);
+  }
+}
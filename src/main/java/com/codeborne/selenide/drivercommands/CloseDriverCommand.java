@@ -19,7 +19,7 @@ public class CloseDriverCommand {
   public void close(WebDriverInstance wd) {
     WebDriver webDriver = wd.webDriver();
     DownloadsFolder downloadsFolder = wd.downloadsFolder();
-    long threadId = Thread.currentThread().getId();
+    long threadId = wd.threadId();
     if (wd.config().holdBrowserOpen()) {
       log.info("Hold browser open: {} -> {}", threadId, webDriver);
       return;
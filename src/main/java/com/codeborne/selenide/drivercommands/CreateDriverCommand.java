@@ -2,9 +2,11 @@ package com.codeborne.selenide.drivercommands;
 
 import com.codeborne.selenide.BrowserDownloadsFolder;
 import com.codeborne.selenide.Config;
+import com.codeborne.selenide.impl.BrowserEvents;
 import com.codeborne.selenide.impl.FileNamer;
 import com.codeborne.selenide.impl.Plugins;
 import com.codeborne.selenide.impl.WebDriverInstance;
+import com.codeborne.selenide.logevents.SelenideLog;
 import com.codeborne.selenide.logevents.SelenideLogger;
 import com.codeborne.selenide.proxy.SelenideProxyServer;
 import com.codeborne.selenide.proxy.SelenideProxyServerFactory;
@@ -20,13 +22,38 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 import static com.codeborne.selenide.impl.FileHelper.ensureFolderExists;
+import static com.codeborne.selenide.impl.ThreadNamer.named;
+import static com.codeborne.selenide.logevents.LogEvent.EventStatus.PASS;
 import static com.codeborne.selenide.logevents.SelenideLogger.getReadableSubject;
+import static java.lang.System.nanoTime;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
+/**
+ * Creates a new webdriver with its proxy server and downloads folder.
+ * <p>
+ * Proxy server and webdriver service (e.g. chromedriver, see {@link WebDriverFactory#startDriverService})
+ * are started in background while the downloads folder is prepared.
+ * Durations of all phases ("proxy", "driverService", "downloadsFolder", "browser", "listeners" and optional "events")
+ * are recorded in the "webdriver create" step - see {@link SelenideLog#getPhases()}.
+ */
 public class CreateDriverCommand {
   private static final Logger log = LoggerFactory.getLogger(CreateDriverCommand.class);
+  private static final ExecutorService startupExecutor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = named("selenide-startup-").newThread(runnable);
+    thread.setDaemon(true);
+    return thread;
+  });
+
   private final FileNamer fileNamer;
 
   public CreateDriverCommand() {
@@ -41,40 +68,140 @@ public class CreateDriverCommand {
                                         WebDriverFactory factory,
                                         @Nullable Proxy userProvidedProxy,
                                         List<WebDriverListener> listeners) {
-    return SelenideLogger.get("webdriver", getReadableSubject("create"), () -> {
+    SelenideLog step = SelenideLogger.beginStep("webdriver", getReadableSubject("create"));
+    try {
+      WebDriverInstance result = createDriver(step, config, factory, userProvidedProxy, listeners);
+      SelenideLogger.commitStep(step, PASS);
+      return result;
+    }
+    catch (RuntimeException | Error e) {
+      SelenideLogger.commitStep(step, e);
+      throw e;
+    }
+  }
+
+  private WebDriverInstance createDriver(SelenideLog step,
+                                         Config config,
+                                         WebDriverFactory factory,
+                                         @Nullable Proxy userProvidedProxy,
+                                         List<WebDriverListener> listeners) {
+    if (log.isDebugEnabled()) {
       log.debug("Creating webdriver in thread {} (ip: {}, host: {})...",
         currentThread().getId(), HostIdentifier.getHostAddress(), HostIdentifier.getHostName());
+    }
 
-      SelenideProxyServer selenideProxyServer = null;
-      Proxy browserProxy = userProvidedProxy;
-
-      if (config.proxyEnabled()) {
-        SelenideProxyServerFactory selenideProxyServerFactory = Plugins.inject(SelenideProxyServerFactory.class);
-        try {
-          selenideProxyServer = selenideProxyServerFactory.create(config, userProvidedProxy);
-          browserProxy = selenideProxyServer.getSeleniumProxy();
-        }
-        catch (NoClassDefFoundError e) {
-          throw new IllegalStateException("Cannot initialize proxy. " +
-            "Probably you should add \"selenide-proxy\" dependency to your project " +
-            "- see https://central.sonatype.com/search?q=selenide-proxy&namespace=com.codeborne", e);
-        }
-      }
+    CompletableFuture<@Nullable SelenideProxyServer> proxyStart = config.proxyEnabled() ?
+      supplyAsync(() -> timed(step, "proxy", () -> startProxy(config, userProvidedProxy)), startupExecutor) :
+      completedFuture(null);
+    CompletableFuture<?> driverServiceStart = supplyAsync(() -> timed(step, "driverService", () -> startDriverService(config, factory)),
+      startupExecutor);
+
+    File browserDownloadsFolder;
+    try {
+      browserDownloadsFolder = timed(step, "downloadsFolder", () -> prepareDownloadsFolder(config));
+    }
+    catch (RuntimeException e) {
+      proxyStart.thenAccept(CreateDriverCommand::shutdownSafely);
+      throw e;
+    }
+    BrowserDownloadsFolder downloadsFolder = BrowserDownloadsFolder.from(browserDownloadsFolder);
 
-      File browserDownloadsFolder = config.remote() != null ? null :
-        ensureFolderExists(new File(config.downloadsFolder(), fileNamer.generateFileName()).getAbsoluteFile());
-      BrowserDownloadsFolder downloadsFolder = BrowserDownloadsFolder.from(browserDownloadsFolder);
+    SelenideProxyServer selenideProxyServer;
+    try {
+      selenideProxyServer = await(proxyStart);
+    }
+    finally {
+      driverServiceStart.join();
+    }
+    Proxy browserProxy = selenideProxyServer != null ? selenideProxyServer.getSeleniumProxy() : userProvidedProxy;
+
+    WebDriver webdriver;
+    try {
+      webdriver = timed(step, "browser", () -> factory.createWebDriver(config, browserProxy, browserDownloadsFolder));
+    }
+    catch (RuntimeException | Error e) {
+      shutdownSafely(selenideProxyServer);
+      throw e;
+    }
 
-      WebDriver webdriver = factory.createWebDriver(config, browserProxy, browserDownloadsFolder);
+    log.debug("Created webdriver in thread {}: {} -> {}, downloadsFolder: {}",
+      currentThread().getId(), webdriver.getClass().getSimpleName(), webdriver, downloadsFolder);
 
-      log.debug("Created webdriver in thread {}: {} -> {}, downloadsFolder: {}",
-        currentThread().getId(), webdriver.getClass().getSimpleName(), webdriver, downloadsFolder);
+    WebDriver webDriver = timed(step, "listeners", () -> addListeners(webdriver, listeners));
+    if (BrowserEvents.enabled()) {
+      timed(step, "events", () -> BrowserEvents.subscribe(webDriver));
+    }
+    WebDriverInstance result = new WebDriverInstance(config, webDriver, selenideProxyServer, downloadsFolder);
+    WebdriversRegistry.register(result);
+    log.debug("Webdriver creation phases: {}", step.getPhases());
+    return result;
+  }
 
-      WebDriver webDriver = addListeners(webdriver, listeners);
-      WebDriverInstance result = new WebDriverInstance(config, webDriver, selenideProxyServer, downloadsFolder);
-      WebdriversRegistry.register(result);
-      return result;
-    });
+  private SelenideProxyServer startProxy(Config config, @Nullable Proxy userProvidedProxy) {
+    SelenideProxyServerFactory selenideProxyServerFactory = Plugins.inject(SelenideProxyServerFactory.class);
+    try {
+      SelenideProxyServer selenideProxyServer = selenideProxyServerFactory.create(config, userProvidedProxy);
+      // resolving proxy host name may take a while, so let's do it in background too
+      selenideProxyServer.getSeleniumProxy();
+      return selenideProxyServer;
+    }
+    catch (NoClassDefFoundError e) {
+      throw new IllegalStateException("Cannot initialize proxy. " +
+        "Probably you should add \"selenide-proxy\" dependency to your project " +
+        "- see https://central.sonatype.com/search?q=selenide-proxy&namespace=com.codeborne", e);
+    }
+  }
+
+  /**
+   * Failure is not fatal: the browser will start its own driver service.
+   */
+  @Nullable
+  private Void startDriverService(Config config, WebDriverFactory factory) {
+    try {
+      factory.startDriverService(config);
+    }
+    catch (RuntimeException e) {
+      log.warn("Failed to start driver service in advance: {}", e.toString());
+    }
+    return null;
+  }
+
+  @Nullable
+  private File prepareDownloadsFolder(Config config) {
+    return config.remote() != null ? null :
+      ensureFolderExists(new File(config.downloadsFolder(), fileNamer.generateFileName()).getAbsoluteFile());
+  }
+
+  private static <T> T timed(SelenideLog step, String phase, Supplier<T> supplier) {
+    long start = nanoTime();
+    try {
+      return supplier.get();
+    }
+    finally {
+      step.addPhase(phase, NANOSECONDS.toMillis(nanoTime() - start));
+    }
+  }
+
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    }
+    catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      if (e.getCause() instanceof Error error) throw error;
+      throw e;
+    }
+  }
+
+  private static void shutdownSafely(@Nullable SelenideProxyServer selenideProxyServer) {
+    if (selenideProxyServer != null) {
+      try {
+        selenideProxyServer.shutdown();
+      }
+      catch (RuntimeException e) {
+        log.warn("Failed to shutdown proxy server: {}", e.toString());
+      }
+    }
   }
 
   private WebDriver addListeners(WebDriver webdriver, List<WebDriverListener> listeners) {
@@ -9,8 +9,11 @@ import com.codeborne.selenide.SelenideDriver;
 import com.codeborne.selenide.logevents.SelenideLogger;
 import com.codeborne.selenide.proxy.AuthenticationFilter;
 import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NoSuchWindowException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
 
 import java.net.URL;
 import java.util.regex.Pattern;
@@ -65,8 +68,14 @@ public class Navigator {
     SelenideLogger.run("open", absoluteUrl, () -> {
       try {
         WebDriver webDriver = driver.getAndCheckWebDriver();
-        String url = prepareAuthentication(driver, absoluteUrl, authenticationType, credentials);
-        webDriver.navigate().to(url);
+        try {
+          navigate(webDriver, prepareAuthentication(driver, absoluteUrl, authenticationType, credentials));
+        }
+        catch (UnreachableBrowserException | NoSuchSessionException | NoSuchWindowException browserClosed) {
+          if (!driver.config().reopenBrowserOnFail()) throw browserClosed;
+          // health status of the browser could be outdated: check it again (and reopen the browser)
+          navigate(driver.getAndCheckWebDriver(), prepareAuthentication(driver, absoluteUrl, authenticationType, credentials));
+        }
       }
       catch (WebDriverException e) {
         e.addInfo("selenide.url", absoluteUrl);
@@ -79,6 +88,17 @@ public class Navigator {
     });
   }
 
+  private void navigate(WebDriver webDriver, String url) {
+    try {
+      webDriver.navigate().to(url);
+      BrowserHealth.succeeded(webDriver);
+    }
+    catch (WebDriverException e) {
+      BrowserHealth.failed(webDriver, e);
+      throw e;
+    }
+  }
+
   public void open(SelenideDriver driver) {
     checkThatProxyIsEnabled(driver.config());
     SelenideLogger.run("open", "", driver::getAndCheckWebDriver);
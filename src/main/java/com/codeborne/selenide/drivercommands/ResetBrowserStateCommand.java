@@ -0,0 +1,133 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.DownloadsFolder;
+import com.codeborne.selenide.impl.BrowserEvents;
+import com.codeborne.selenide.impl.WebDriverInstance;
+import com.codeborne.selenide.proxy.AuthenticationFilter;
+import com.codeborne.selenide.proxy.SelenideProxyServer;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.codeborne.selenide.impl.WebdriverUnwrapper.cast;
+
+/**
+ * Cleans up the browser after a test, so that it can be reused by the next test:
+ * closes all windows except one, opens "about:blank" in it and clears its history and session storage
+ * (the remaining tab is the one which DevTools session and browser events are attached to),
+ * deletes all cookies and browser cache, clears storages (local storage, IndexedDB, service workers etc.)
+ * of all origins visited by the test, resets permissions, deletes downloaded files,
+ * removes proxy mocks, restores proxy blocking rules and forgets collected browser events.
+ * <p>
+ * Browser whose proxy has custom request/response filters cannot be reset:
+ * the filters cannot be removed from the proxy and would affect the next test.
+ * <p>
+ * Chromium only: full reset requires Chrome DevTools Protocol.
+ * <p>
+ * NB! Storages of origins which were opened only in iframes are not cleared.
+ */
+public class ResetBrowserStateCommand {
+  /**
+   * @throws WebDriverException if browser could not be reset (and thus should not be reused)
+   */
+  public void reset(WebDriverInstance browser) {
+    WebDriver webDriver = browser.webDriver();
+    HasCdp cdp = cast(webDriver, HasCdp.class).orElseThrow(() ->
+      new WebDriverException("Cannot reset browser without CDP support: " + webDriver));
+    if (browser.config().proxyEnabled()) {
+      resetProxy(browser.proxy());
+    }
+
+    BrowserEvents events = BrowserEvents.of(webDriver);
+    Set<String> origins = leaveSingleBlankTab(webDriver, cdp, events == null ? null : events.windowHandle());
+    if (events != null) {
+      events.navigations().forEach(url -> origin(url).ifPresent(origins::add));
+    }
+    for (String origin : origins) {
+      cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", origin, "storageTypes", "all"));
+      cdp.executeCdpCommand("DOMStorage.clear", Map.of("storageId", Map.of("securityOrigin", origin, "isLocalStorage", false)));
+    }
+    cdp.executeCdpCommand("Storage.clearCookies", Map.of());
+    cdp.executeCdpCommand("Network.clearBrowserCache", Map.of());
+    cdp.executeCdpCommand("Browser.resetPermissions", Map.of());
+
+    DownloadsFolder downloadsFolder = browser.downloadsFolder();
+    if (downloadsFolder != null) {
+      downloadsFolder.cleanupBeforeDownload();
+    }
+    if (events != null) {
+      events.clear();
+    }
+  }
+
+  /**
+   * Closes all windows except one and opens "about:blank" in it.
+   * The tab which DevTools session is attached to is kept: otherwise, the session would be bound to a closed target.
+   *
+   * @param tabToKeep the tab to keep (if it's still open), or null to keep any of them
+   * @return origins found in navigation history of all the windows
+   */
+  private Set<String> leaveSingleBlankTab(WebDriver webDriver, HasCdp cdp, @Nullable String tabToKeep) {
+    Set<String> origins = new LinkedHashSet<>();
+    Set<String> windows = webDriver.getWindowHandles();
+    for (String window : windows) {
+      webDriver.switchTo().window(window);
+      origins.addAll(visitedOrigins(cdp));
+    }
+
+    String keptTab = tabToKeep != null && windows.contains(tabToKeep) ? tabToKeep : windows.iterator().next();
+    for (String window : windows) {
+      if (!window.equals(keptTab)) {
+        webDriver.switchTo().window(window).close();
+      }
+    }
+    webDriver.switchTo().window(keptTab).get("about:blank");
+    cdp.executeCdpCommand("Page.resetNavigationHistory", Map.of());
+    return origins;
+  }
+
+  private Set<String> visitedOrigins(HasCdp cdp) {
+    Set<String> origins = new LinkedHashSet<>();
+    List<?> entries = (List<?>) cdp.executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+    if (entries != null) {
+      for (Object entry : entries) {
+        origin(String.valueOf(((Map<?, ?>) entry).get("url"))).ifPresent(origins::add);
+      }
+    }
+    return origins;
+  }
+
+  static Optional<String> origin(String url) {
+    try {
+      URI uri = new URI(url);
+      if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme()) || uri.getHost() == null) {
+        return Optional.empty();
+      }
+      return Optional.of(uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort()));
+    }
+    catch (URISyntaxException e) {
+      return Optional.empty();
+    }
+  }
+
+  private void resetProxy(SelenideProxyServer proxy) {
+    if (proxy.hasCustomFilters()) {
+      throw new WebDriverException("Cannot reset browser with custom proxy filters: " + proxy);
+    }
+    proxy.responseMocker().resetAll();
+    proxy.requestBlocker().restoreInitialRules();
+    AuthenticationFilter authentication = proxy.requestFilter("authentication");
+    if (authentication != null) {
+      authentication.removeAuthentication();
+    }
+  }
+}
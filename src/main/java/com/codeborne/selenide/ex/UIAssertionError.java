@@ -3,6 +3,7 @@ package com.codeborne.selenide.ex;
 import com.codeborne.selenide.Config;
 import com.codeborne.selenide.Driver;
 import com.codeborne.selenide.impl.Cleanup;
+import com.codeborne.selenide.impl.ReportsConfiguration;
 import com.codeborne.selenide.impl.ScreenShotLaboratory;
 import com.codeborne.selenide.impl.Screenshot;
 import org.jspecify.annotations.Nullable;
@@ -11,6 +12,12 @@ import org.opentest4j.AssertionFailedError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static com.codeborne.selenide.ContextLocal.contextLocal;
 import static com.codeborne.selenide.ex.Strings.join;
 import static com.codeborne.selenide.impl.Plugins.inject;
 import static java.util.Objects.requireNonNullElseGet;
@@ -18,12 +25,17 @@ import static java.util.Objects.requireNonNullElseGet;
 public class UIAssertionError extends AssertionFailedError {
   private static final Logger log = LoggerFactory.getLogger(UIAssertionError.class);
   protected static final ErrorFormatter errorFormatter = inject(ErrorFormatter.class);
+  private static final boolean deferredScreenshots = new ReportsConfiguration().deferredScreenshots();
+  private static final int MAX_DEFERRED_ERRORS = 100;
+  private static final ThreadLocal<Deque<UIAssertionError>> deferredErrors = contextLocal(ArrayDeque::new);
 
   private Screenshot screenshot = Screenshot.none();
   private long timeoutMs;
   private final String initialErrorMessage;
   @Nullable
   private String detailedErrorMessage;
+  @Nullable
+  private DeferredCapture deferredCapture;
 
   protected UIAssertionError(String message) {
     super(message);
@@ -70,6 +82,7 @@ public class UIAssertionError extends AssertionFailedError {
 
   @Override
   public final String getMessage() {
+    captureDeferredArtifacts();
     return requireNonNullElseGet(detailedErrorMessage,
       // if e.getMessage() was occasionally called before wrapThrowable()
       () -> join(initialErrorMessage, errorFormatter.causedBy(getCause()))
@@ -87,6 +100,7 @@ public class UIAssertionError extends AssertionFailedError {
    * @return empty string if screenshots are disabled
    */
   public Screenshot getScreenshot() {
+    captureDeferredArtifacts();
     return screenshot;
   }
 
@@ -99,6 +113,10 @@ public class UIAssertionError extends AssertionFailedError {
   }
 
   private static UIAssertionError wrapThrowable(Driver driver, Throwable error, long timeoutMs) {
+    return wrapThrowable(driver, error, timeoutMs, deferredScreenshots);
+  }
+
+  static UIAssertionError wrapThrowable(Driver driver, Throwable error, long timeoutMs, boolean deferred) {
     UIAssertionError uiError = error instanceof UIAssertionError uiAssertionError ?
       uiAssertionError : wrapToUIAssertionError(error);
     uiError.timeoutMs = timeoutMs;
@@ -106,16 +124,112 @@ public class UIAssertionError extends AssertionFailedError {
       log.warn("UIAssertionError already has screenshot: {} {} -> {}",
         uiError.getClass().getName(), uiError.getMessage(), uiError.screenshot);
     }
+    else if (deferred) {
+      uiError.defer(driver);
+    }
     else {
-      Config config = driver.config();
-      uiError.screenshot = ScreenShotLaboratory.getInstance()
-        .takeScreenshot(driver, config.screenshots(), config.savePageSource());
-      uiError.detailedErrorMessage = join(uiError.initialErrorMessage,
-        errorFormatter.generateErrorDetails(uiError, driver, uiError.screenshot, uiError.timeoutMs));
+      uiError.takeScreenshot(driver);
     }
     return uiError;
   }
 
+  private void takeScreenshot(Driver driver) {
+    Config config = driver.config();
+    screenshot = ScreenShotLaboratory.getInstance()
+      .takeScreenshot(driver, config.screenshots(), config.savePageSource());
+    detailedErrorMessage = join(initialErrorMessage,
+      errorFormatter.generateErrorDetails(this, driver, screenshot, timeoutMs));
+  }
+
+  /**
+   * Only remembers the page state at the moment of failure.
+   * Screenshot and page source will be taken later, when (and if) they are really needed.
+   */
+  private synchronized void defer(Driver driver) {
+    if (deferredCapture != null) {
+      return;
+    }
+    Deque<UIAssertionError> errors = deferredErrors.get();
+    deferredCapture = new DeferredCapture(driver, ScreenShotLaboratory.getInstance().pageEpoch(driver), errors);
+    UIAssertionError dropped = null;
+    synchronized (errors) {
+      errors.addLast(this);
+      if (errors.size() > MAX_DEFERRED_ERRORS) {
+        dropped = errors.removeFirst();
+      }
+    }
+    if (dropped != null) {
+      dropped.forgetDeferredCapture();
+    }
+  }
+
+  private synchronized void forgetDeferredCapture() {
+    deferredCapture = null;
+  }
+
+  private synchronized void captureDeferredArtifacts() {
+    DeferredCapture capture = deferredCapture;
+    if (capture == null) {
+      return;
+    }
+    deferredCapture = null;
+    // the error may be reported in another thread than the one where it happened
+    synchronized (capture.owner()) {
+      capture.owner().remove(this);
+    }
+
+    String failureEpoch = capture.pageEpoch();
+    if (failureEpoch != null && !failureEpoch.equals(ScreenShotLaboratory.getInstance().pageEpoch(capture.driver()))) {
+      log.warn("Page has changed since {} failed, the screenshot may not reflect the moment of failure",
+        getClass().getSimpleName());
+    }
+    try {
+      takeScreenshot(capture.driver());
+    }
+    catch (RuntimeException e) {
+      log.error("Failed to take deferred screenshot", e);
+    }
+  }
+
+  /**
+   * Takes screenshots and page sources for all errors of the current thread
+   * which were deferred (see {@code selenide.screenshots.deferred} setting).
+   * <p>
+   * Test framework extensions call this method when a test has failed.
+   */
+  public static void captureDeferredScreenshots() {
+    Deque<UIAssertionError> errors = deferredErrors.get();
+    List<UIAssertionError> pending;
+    synchronized (errors) {
+      pending = new ArrayList<>(errors);
+    }
+    for (UIAssertionError error : pending) {
+      error.captureDeferredArtifacts();
+    }
+  }
+
+  /**
+   * Forgets all deferred errors of the current thread (without taking their screenshots).
+   * <p>
+   * Test framework extensions call this method when a test has passed, so the errors have been handled.
+   */
+  public static void discardDeferredScreenshots() {
+    deferredErrors.remove();
+  }
+
+  static int deferredErrorsCount() {
+    Deque<UIAssertionError> errors = deferredErrors.get();
+    synchronized (errors) {
+      return errors.size();
+    }
+  }
+
+  /**
+   * @param owner pending errors of the thread (or Selenide context) where the error has happened
+   */
+  private record DeferredCapture(Driver driver, @Nullable String pageEpoch, Deque<UIAssertionError> owner) {
+  }
+
   private static UIAssertionError wrapToUIAssertionError(Throwable error) {
     String message = Cleanup.of.webdriverExceptionMessage(error);
     return new UIAssertionError(message, error);
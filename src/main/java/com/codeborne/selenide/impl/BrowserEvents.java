@@ -0,0 +1,302 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.PropertiesReader;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v133.log.Log;
+import org.openqa.selenium.devtools.v133.network.Network;
+import org.openqa.selenium.devtools.v133.network.model.LoadingFailed;
+import org.openqa.selenium.devtools.v133.network.model.LoadingFinished;
+import org.openqa.selenium.devtools.v133.network.model.RequestWillBeSent;
+import org.openqa.selenium.devtools.v133.page.Page;
+import org.openqa.selenium.devtools.v133.page.model.FrameNavigated;
+import org.openqa.selenium.devtools.v133.page.model.NavigatedWithinDocument;
+import org.openqa.selenium.devtools.v133.runtime.model.ConsoleAPICalled;
+import org.openqa.selenium.devtools.v133.runtime.model.ExceptionDetails;
+import org.openqa.selenium.devtools.v133.runtime.model.ExceptionThrown;
+import org.openqa.selenium.devtools.v133.runtime.model.RemoteObject;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+import static com.codeborne.selenide.impl.WebdriverUnwrapper.cast;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.synchronizedMap;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Collects events of a browser session using Chrome DevTools Protocol:
+ * console messages and JavaScript errors, navigations and network requests which are still in progress.
+ * <p>
+ * Subscribes to CDP events once per browser session (when the webdriver is created) and keeps
+ * the last {@link #capacity} console messages and navigations in memory. Thus, reading browser logs or waiting
+ * for a navigation doesn't require polling the browser:
+ * <ul>
+ *   <li>{@link com.codeborne.selenide.WebDriverLogs} reads "browser" logs from here (when the tracked tab is active),</li>
+ *   <li>{@link Waiter} re-checks conditions as soon as the page has navigated (instead of sleeping the polling interval),</li>
+ *   <li>{@link com.codeborne.selenide.WebDriverConditions#noPendingRequests()} checks the network requests.</li>
+ * </ul>
+ * Chromium browsers only. Other browsers work as before.
+ * <p>
+ * Disabled by default. Can be enabled by system property or setting "selenide.browserEvents=true"
+ * in "selenide.properties". The number of kept events can be changed by setting "selenide.browserEvents.capacity".
+ */
+public class BrowserEvents {
+  private static final Logger log = LoggerFactory.getLogger(BrowserEvents.class);
+  private static final Map<WebDriver, BrowserEvents> sessions = synchronizedMap(new WeakHashMap<>());
+
+  private final int capacity;
+  @Nullable
+  private final String windowHandle;
+  private final ArrayDeque<LogEntry> logs = new ArrayDeque<>();
+  private final ArrayDeque<String> navigations = new ArrayDeque<>();
+  private final ConcurrentMap<String, String> pendingRequests = new ConcurrentHashMap<>();
+  private final AtomicInteger untrackedRequests = new AtomicInteger();
+  private long navigationsCount;
+  @Nullable
+  private volatile String mainFrameId;
+
+  public static boolean enabled() {
+    return new PropertiesReader("selenide.properties").getBoolean("selenide.browserEvents", false);
+  }
+
+  /**
+   * @return events of the given browser session, or null if the events are not collected
+   * (disabled or not a Chromium browser)
+   */
+  @Nullable
+  public static BrowserEvents of(WebDriver webDriver) {
+    return sessions.get(webDriver);
+  }
+
+  /**
+   * Start collecting events of a new browser session.
+   * Doesn't fail if the browser doesn't support CDP.
+   *
+   * @param webDriver the key (browser session). The events are forgotten when the webdriver is garbage-collected.
+   * @return null if the browser doesn't support CDP
+   */
+  @Nullable
+  public static BrowserEvents subscribe(WebDriver webDriver) {
+    Optional<HasDevTools> cdpBrowser = cast(webDriver, HasDevTools.class);
+    if (cdpBrowser.isEmpty() || !isChromium(webDriver)) {
+      log.debug("Browser events are not collected: webdriver doesn't support CDP ({})", webDriver);
+      return null;
+    }
+
+    try {
+      String windowHandle = webDriver.getWindowHandle();
+      DevTools devTools = cdpBrowser.get().getDevTools();
+      devTools.createSessionIfThereIsNotOne(windowHandle);
+      BrowserEvents events = new BrowserEvents(devTools, capacity(), windowHandle);
+      sessions.put(webDriver, events);
+      return events;
+    }
+    catch (RuntimeException e) {
+      log.warn("Failed to subscribe to browser events: {}", e.toString());
+      return null;
+    }
+  }
+
+  private static int capacity() {
+    return new PropertiesReader("selenide.properties").getInt("selenide.browserEvents.capacity", 1000);
+  }
+
+  private static boolean isChromium(WebDriver webDriver) {
+    Optional<HasCapabilities> hasCapabilities = cast(webDriver, HasCapabilities.class);
+    return hasCapabilities.isPresent() &&
+           new com.codeborne.selenide.Browser(hasCapabilities.get().getCapabilities().getBrowserName(), false).isChromium();
+  }
+
+  private BrowserEvents(DevTools devTools, int capacity, String windowHandle) {
+    this(capacity, windowHandle);
+    devTools.send(org.openqa.selenium.devtools.v133.runtime.Runtime.enable());
+    devTools.send(Log.enable());
+    devTools.send(Page.enable());
+    devTools.send(new Command<>("Network.enable", Map.of()));
+    devTools.addListener(org.openqa.selenium.devtools.v133.runtime.Runtime.consoleAPICalled(), this::onConsoleApiCalled);
+    devTools.addListener(org.openqa.selenium.devtools.v133.runtime.Runtime.exceptionThrown(), this::onExceptionThrown);
+    devTools.addListener(Log.entryAdded(), this::onLogEntryAdded);
+    devTools.addListener(Page.frameNavigated(), this::onFrameNavigated);
+    devTools.addListener(Page.navigatedWithinDocument(), this::onNavigatedWithinDocument);
+    devTools.addListener(Network.requestWillBeSent(), this::onRequestWillBeSent);
+    devTools.addListener(Network.loadingFinished(), this::onLoadingFinished);
+    devTools.addListener(Network.loadingFailed(), this::onLoadingFailed);
+    log.debug("Started collecting browser events in CDP session {}", devTools.getCdpSession());
+  }
+
+  BrowserEvents(int capacity, @Nullable String windowHandle) {
+    this.capacity = capacity;
+    this.windowHandle = windowHandle;
+  }
+
+  /**
+   * @return handle of the browser window (tab) whose events are collected
+   */
+  @Nullable
+  public String windowHandle() {
+    return windowHandle;
+  }
+
+  void onConsoleApiCalled(ConsoleAPICalled e) {
+    String message = e.getArgs().stream().map(BrowserEvents::toText).collect(joining(" "));
+    addLog(level(e.getType()), message);
+  }
+
+  void onExceptionThrown(ExceptionThrown e) {
+    ExceptionDetails details = e.getExceptionDetails();
+    String message = details.getException().flatMap(RemoteObject::getDescription).orElse(details.getText());
+    addLog(Level.SEVERE, message);
+  }
+
+  void onLogEntryAdded(org.openqa.selenium.devtools.v133.log.model.LogEntry e) {
+    addLog(level(e.getLevel()), e.getUrl().map(url -> url + " - ").orElse("") + e.getText());
+  }
+
+  void onFrameNavigated(FrameNavigated e) {
+    if (e.getFrame().getParentId().isEmpty()) {
+      mainFrameId = e.getFrame().getId().toString();
+      // requests of the previous page won't finish (or their events might be lost)
+      pendingRequests.clear();
+      untrackedRequests.set(0);
+      navigated(e.getFrame().getUrl());
+    }
+  }
+
+  void onNavigatedWithinDocument(NavigatedWithinDocument e) {
+    if (e.getFrameId().toString().equals(mainFrameId)) {
+      navigated(e.getUrl());
+    }
+  }
+
+  void onRequestWillBeSent(RequestWillBeSent e) {
+    if (pendingRequests.size() < capacity) {
+      pendingRequests.put(e.getRequestId().toString(), e.getRequest().getUrl());
+    }
+    else {
+      untrackedRequests.incrementAndGet();
+    }
+  }
+
+  void onLoadingFinished(LoadingFinished e) {
+    pendingRequests.remove(e.getRequestId().toString());
+  }
+
+  void onLoadingFailed(LoadingFailed e) {
+    pendingRequests.remove(e.getRequestId().toString());
+  }
+
+  private synchronized void addLog(Level level, String message) {
+    if (logs.size() >= capacity) {
+      logs.removeFirst();
+    }
+    logs.addLast(new LogEntry(level, currentTimeMillis(), message));
+  }
+
+  private synchronized void navigated(String url) {
+    if (navigations.size() >= capacity) {
+      navigations.removeFirst();
+    }
+    navigations.addLast(url);
+    navigationsCount++;
+    notifyAll();
+  }
+
+  /**
+   * Returns collected console messages and JavaScript errors, and forgets them
+   * (the same way as webdriver does for "browser" logs).
+   */
+  public synchronized List<LogEntry> takeLogs() {
+    List<LogEntry> result = new ArrayList<>(logs);
+    logs.clear();
+    return result;
+  }
+
+  /**
+   * @return URLs of the last navigations of the main frame, starting from the oldest
+   */
+  public synchronized List<String> navigations() {
+    return new ArrayList<>(navigations);
+  }
+
+  /**
+   * @return number of navigations since the browser has been opened
+   */
+  public synchronized long navigationsCount() {
+    return navigationsCount;
+  }
+
+  /**
+   * Wait until the main frame navigates (or timeout expires).
+   *
+   * @param navigationsCount the number of navigations which the caller has already seen
+   */
+  public synchronized void awaitNavigation(long navigationsCount, long timeoutMs) throws InterruptedException {
+    long deadline = currentTimeMillis() + timeoutMs;
+    for (long now = currentTimeMillis(); this.navigationsCount == navigationsCount && now < deadline; now = currentTimeMillis()) {
+      wait(deadline - now);
+    }
+  }
+
+  /**
+   * @return URLs of network requests which have been sent, but not finished yet
+   */
+  public List<String> pendingRequests() {
+    return new ArrayList<>(pendingRequests.values());
+  }
+
+  /**
+   * @return number of requests which have been sent when {@link #capacity} requests were already pending.
+   * It's unknown when they finish, so they are counted as pending until the main frame navigates.
+   */
+  public int untrackedRequests() {
+    return untrackedRequests.get();
+  }
+
+  /**
+   * Forget all collected events (e.g. before the browser is reused by another test)
+   */
+  public synchronized void clear() {
+    logs.clear();
+    navigations.clear();
+    pendingRequests.clear();
+    untrackedRequests.set(0);
+  }
+
+  private static String toText(RemoteObject arg) {
+    return arg.getValue().map(String::valueOf).or(arg::getDescription).orElse(String.valueOf(arg.getType()));
+  }
+
+  private static Level level(ConsoleAPICalled.Type type) {
+    return switch (type) {
+      case ERROR, ASSERT -> Level.SEVERE;
+      case WARNING -> Level.WARNING;
+      case DEBUG -> Level.FINE;
+      default -> Level.INFO;
+    };
+  }
+
+  private static Level level(org.openqa.selenium.devtools.v133.log.model.LogEntry.Level level) {
+    return switch (level) {
+      case ERROR -> Level.SEVERE;
+      case WARNING -> Level.WARNING;
+      case VERBOSE -> Level.FINE;
+      default -> Level.INFO;
+    };
+  }
+}
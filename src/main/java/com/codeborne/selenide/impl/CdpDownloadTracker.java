@@ -0,0 +1,230 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.DownloadsFolder;
+import com.codeborne.selenide.ex.FileNotDownloadedError;
+import com.codeborne.selenide.files.FileFilter;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.SessionID;
+import org.openqa.selenium.devtools.v133.browser.Browser;
+import org.openqa.selenium.devtools.v133.browser.model.DownloadProgress;
+import org.openqa.selenium.devtools.v133.browser.model.DownloadWillBegin;
+import org.openqa.selenium.devtools.v133.page.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.synchronizedMap;
+import static java.util.Objects.requireNonNull;
+import static org.openqa.selenium.devtools.v133.browser.Browser.downloadProgress;
+import static org.openqa.selenium.devtools.v133.browser.Browser.downloadWillBegin;
+
+/**
+ * Tracks all downloads in a browser session using Chrome DevTools Protocol.
+ * <p>
+ * Subscribes to CDP events only once per browser session (instead of every download)
+ * and keeps an index of downloads by their guid.
+ * Callers don't poll the index, but wait for a {@link Expectation#file() future}
+ * which is completed as soon as the browser reports the matching download as completed.
+ */
+class CdpDownloadTracker {
+  private static final Logger log = LoggerFactory.getLogger(CdpDownloadTracker.class);
+  private static final Map<WebDriver, CdpDownloadTracker> trackers = synchronizedMap(new WeakHashMap<>());
+
+  private final SessionID cdpSession;
+  private final AtomicLong sequence = new AtomicLong();
+  private final ConcurrentMap<String, CdpDownload> downloads = new ConcurrentHashMap<>();
+  private final List<Expectation> expectations = new CopyOnWriteArrayList<>();
+  @Nullable
+  private volatile DownloadsFolder folder;
+
+  /**
+   * @param webDriver the key (browser session). The tracker is forgotten when the webdriver is garbage-collected.
+   * @param devTools  devtools of this webdriver with an opened CDP session
+   */
+  static CdpDownloadTracker of(WebDriver webDriver, DevTools devTools) {
+    synchronized (trackers) {
+      CdpDownloadTracker tracker = trackers.get(webDriver);
+      if (tracker == null || !Objects.equals(tracker.cdpSession, devTools.getCdpSession())) {
+        tracker = new CdpDownloadTracker(devTools);
+        trackers.put(webDriver, tracker);
+      }
+      return tracker;
+    }
+  }
+
+  private CdpDownloadTracker(DevTools devTools) {
+    this(devTools.getCdpSession());
+    devTools.send(Page.enable());
+    devTools.send(Browser.setDownloadBehavior(
+      Browser.SetDownloadBehaviorBehavior.DEFAULT,
+      Optional.empty(),
+      Optional.empty(),
+      Optional.of(true)));
+    devTools.addListener(downloadWillBegin(), this::onDownloadWillBegin);
+    devTools.addListener(downloadProgress(), this::onDownloadProgress);
+    log.debug("Started tracking downloads in CDP session {}", cdpSession);
+  }
+
+  CdpDownloadTracker(SessionID cdpSession) {
+    this.cdpSession = cdpSession;
+  }
+
+  /**
+   * Start waiting for a download. Must be called before the action that triggers the download.
+   * All downloads started after this moment are candidates - there may be several of them.
+   */
+  Expectation expect(DownloadsFolder folder, FileFilter fileFilter, long timeout) {
+    this.folder = folder;
+    Expectation expectation = new Expectation(this, sequence.get(), folder, fileFilter, timeout);
+    expectations.add(expectation);
+    return expectation;
+  }
+
+  void onDownloadWillBegin(DownloadWillBegin e) {
+    log.debug("Download will begin with suggested file name \"{}\" (url: \"{}\", frameId: {}, guid: {})",
+      e.getSuggestedFilename(), e.getUrl(), e.getFrameId(), e.getGuid());
+    download(e.getGuid()).fileName = e.getSuggestedFilename();
+  }
+
+  void onDownloadProgress(DownloadProgress e) {
+    log.debug("Download is {} (received bytes: {}, total bytes: {}, guid: {})",
+      e.getState(), e.getReceivedBytes(), e.getTotalBytes(), e.getGuid());
+
+    CdpDownload download = download(e.getGuid());
+    download.lastModifiedAt = currentTimeMillis();
+    switch (e.getState()) {
+      case CANCELED -> {
+        download.canceled = true;
+        expectations.forEach(expectation -> expectation.onCanceled(download, e));
+      }
+      case COMPLETED -> complete(download);
+      case INPROGRESS -> {
+        DownloadsFolder currentFolder = folder;
+        if (e.getReceivedBytes().longValue() >= e.getTotalBytes().longValue() &&
+          download.fileName != null && currentFolder != null && download.file(currentFolder).exists()) {
+          complete(download);
+        }
+      }
+    }
+  }
+
+  private void complete(CdpDownload download) {
+    download.completed = true;
+    expectations.forEach(expectation -> expectation.onCompleted(download));
+  }
+
+  private CdpDownload download(String guid) {
+    return downloads.computeIfAbsent(guid, id -> new CdpDownload(sequence.incrementAndGet()));
+  }
+
+  int size() {
+    return downloads.size();
+  }
+
+  private void finished(Expectation expectation) {
+    expectations.remove(expectation);
+    if (expectations.isEmpty()) {
+      downloads.values().removeIf(download -> download.completed || download.canceled);
+    }
+  }
+
+  private static class CdpDownload {
+    private final long sequenceNumber;
+    @Nullable
+    private volatile String fileName;
+    private volatile long lastModifiedAt = currentTimeMillis();
+    private volatile boolean completed;
+    private volatile boolean canceled;
+
+    private CdpDownload(long sequenceNumber) {
+      this.sequenceNumber = sequenceNumber;
+    }
+
+    private File file(DownloadsFolder folder) {
+      return new File(folder.getPath(), requireNonNull(fileName));
+    }
+  }
+
+  /**
+   * Waiting for a download (or several downloads) triggered by one action.
+   */
+  static class Expectation implements AutoCloseable {
+    private final CdpDownloadTracker tracker;
+    private final long startedAfter;
+    private final long startedAt = currentTimeMillis();
+    private final DownloadsFolder folder;
+    private final FileFilter fileFilter;
+    private final long timeout;
+    private final CompletableFuture<File> file = new CompletableFuture<>();
+
+    private Expectation(CdpDownloadTracker tracker, long startedAfter, DownloadsFolder folder, FileFilter fileFilter,
+                        long timeout) {
+      this.tracker = tracker;
+      this.startedAfter = startedAfter;
+      this.folder = folder;
+      this.fileFilter = fileFilter;
+      this.timeout = timeout;
+    }
+
+    /**
+     * @return the first completed download which matches the file filter
+     */
+    CompletableFuture<File> file() {
+      return file;
+    }
+
+    /**
+     * @return the latest time when any of expected downloads has made a progress
+     */
+    long lastModificationTime() {
+      return tracker.downloads.values().stream()
+        .filter(this::isExpected)
+        .map(download -> download.lastModifiedAt)
+        .max(Long::compare)
+        .orElse(startedAt);
+    }
+
+    private boolean isExpected(CdpDownload download) {
+      return download.sequenceNumber > startedAfter;
+    }
+
+    private void onCompleted(CdpDownload download) {
+      if (isExpected(download) && download.fileName != null) {
+        File downloadedFile = download.file(folder);
+        if (fileFilter.match(downloadedFile)) {
+          file.complete(downloadedFile);
+        }
+      }
+    }
+
+    private void onCanceled(CdpDownload download, DownloadProgress e) {
+      if (!isExpected(download)) return;
+      boolean allCanceled = tracker.downloads.values().stream().filter(this::isExpected).allMatch(d -> d.canceled);
+      if (allCanceled) {
+        String message = "File download is %s (received bytes: %s, total bytes: %s, guid: %s)".formatted(
+          e.getState(), e.getReceivedBytes(), e.getTotalBytes(), e.getGuid());
+        file.completeExceptionally(new FileNotDownloadedError(message, timeout));
+      }
+    }
+
+    @Override
+    public void close() {
+      file.cancel(false);
+      tracker.finished(this);
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.codeborne.selenide.impl;
 import com.codeborne.selenide.Driver;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.UnsupportedCommandException;
@@ -22,15 +23,56 @@ import static java.util.Objects.requireNonNull;
 public class Describe {
   private static final Logger log = LoggerFactory.getLogger(Describe.class);
 
+  private static final JavaScript describeElement = new JavaScript("describe-element.js");
   private final JavaScript js = new JavaScript("get-element-attributes.js");
   private final Driver driver;
   private final WebElement element;
   private final StringBuilder sb = new StringBuilder();
 
   public Describe(Driver driver, WebElement element) {
+    this(driver, element, element.getTagName());
+  }
+
+  private Describe(Driver driver, WebElement element, String tagName) {
     this.driver = driver;
     this.element = element;
-    sb.append('<').append(element.getTagName());
+    sb.append('<').append(tagName);
+  }
+
+  /**
+   * Describes the element with a single JS call: tag name, attributes, "selected" and "displayed" state, and text.
+   * The "displayed" state is checked by the same webdriver atom as {@link WebElement#isDisplayed()}.
+   *
+   * @return null if browser doesn't support JavaScript (e.g. mobile apps)
+   */
+  @Nullable
+  static String fully(Driver driver, WebElement element) {
+    if (!driver.supportsJavascript()) {
+      return null;
+    }
+    Map<String, Object> description;
+    try {
+      description = describeElement.execute(driver, element);
+    }
+    catch (UnsupportedOperationException | UnsupportedCommandException | JavascriptException browserDoesNotSupportJavaScript) {
+      log.debug("Failed to describe element via JS: {}", browserDoesNotSupportJavaScript.toString());
+      return null;
+    }
+    if (description == null) {
+      return null;
+    }
+
+    String tagName = String.valueOf(description.get("tagName"));
+    @SuppressWarnings("unchecked")
+    Map<String, String> attributes = (Map<String, String>) requireNonNull(description.get("attributes"));
+    Describe describe = new Describe(driver, element, tagName).appendAttributes(attributes);
+    if (Boolean.TRUE.equals(description.get("selected"))) {
+      describe.sb.append(' ').append("selected:true");
+    }
+    if (Boolean.FALSE.equals(description.get("displayed"))) {
+      describe.sb.append(' ').append("displayed:false");
+    }
+    return describe.sb.append('>').append(description.get("text")).append("</").append(tagName).append('>').toString();
   }
 
   public Describe appendAttributes() {
@@ -52,7 +94,10 @@ public class Describe {
   }
 
   private Describe appendAllAttributes() {
-    Map<String, String> map = requireNonNull(js.execute(driver, element));
+    return appendAttributes(requireNonNull(js.execute(driver, element)));
+  }
+
+  private Describe appendAttributes(Map<String, String> map) {
     SortedMap<String, String> sortedByName = new TreeMap<>(map);
 
     for (Map.Entry<String, String> entry : sortedByName.entrySet()) {
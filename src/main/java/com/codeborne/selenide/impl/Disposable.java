@@ -2,4 +2,12 @@ package com.codeborne.selenide.impl;
 
 public interface Disposable {
   void dispose();
+
+  /**
+   * Release resources which cannot wait until {@link #dispose()} runs in background
+   * (e.g. a fixed port which the next webdriver is going to listen on).
+   * Called in the caller thread before the asynchronous disposal is queued.
+   */
+  default void releaseUrgentResources() {
+  }
 }
@@ -63,10 +63,12 @@ public class DownloadFileToFolder {
     folder.cleanupBeforeDownload();
     long downloadStartedAt = currentTimeMillis();
 
-    action.perform(driver, clickable);
+    try (WatchedDownloadsFolder watchedFolder = WatchedDownloadsFolder.watch(folder)) {
+      action.perform(driver, clickable);
 
-    waitForNewFiles(driver, fileFilter, folder, downloadStartedAt, timeout, incrementTimeout, pollingInterval);
-    waitUntilDownloadsCompleted(driver, folder, fileFilter, timeout, incrementTimeout, pollingInterval);
+      waitForNewFiles(driver, fileFilter, watchedFolder, downloadStartedAt, timeout, incrementTimeout, pollingInterval);
+      waitUntilDownloadsCompleted(driver, watchedFolder, fileFilter, timeout, incrementTimeout, pollingInterval);
+    }
 
     Downloads newDownloads = new Downloads(folder.filesNewerThan(downloadStartedAt));
     if (log.isInfoEnabled()) {
@@ -99,7 +101,7 @@ public class DownloadFileToFolder {
 
   private void waitUntilFileDisappears(Driver driver, DownloadsFolder folder, Set<String> extension, FileFilter filter,
                                        long timeout, long incrementTimeout, long pollingInterval) {
-    for (long start = currentTimeMillis(); currentTimeMillis() - start <= timeout; pause(pollingInterval)) {
+    for (long start = currentTimeMillis(); currentTimeMillis() - start <= timeout; await(folder, pollingInterval)) {
       if (!folder.hasFiles(extension, filter)) {
         log.debug("No {} files found, conclude download is completed (filter: {})", extension, filter);
         return;
@@ -119,7 +121,7 @@ public class DownloadFileToFolder {
     Map<String, Long> times = folder.modificationTimes();
     long lastModifiedAt = currentTimeMillis();
 
-    for (long start = currentTimeMillis(); currentTimeMillis() - start < timeout; pause(pollingInterval)) {
+    for (long start = currentTimeMillis(); currentTimeMillis() - start < timeout; await(folder, pollingInterval)) {
       var newTimes = folder.modificationTimes();
       if (!newTimes.equals(times)) {
         log.debug("Files has been modified - old: {}, new: {}", times, newTimes);
@@ -143,16 +145,20 @@ public class DownloadFileToFolder {
     }
 
     long start = currentTimeMillis();
-    for (; currentTimeMillis() - start <= timeout; pause(pollingInterval)) {
+    for (; currentTimeMillis() - start <= timeout; await(folder, pollingInterval)) {
       Downloads downloads = new Downloads(folder.filesNewerThan(clickMoment));
       List<DownloadedFile> matchingFiles = downloads.files(fileFilter);
       if (!matchingFiles.isEmpty()) {
-        log.debug("Matching files found: {}, all new files: {}, all files: {}",
-          matchingFiles, downloads.filesAsString(), folder.filesAsString());
+        if (log.isDebugEnabled()) {
+          log.debug("Matching files found: {}, all new files: {}, all files: {}",
+            matchingFiles, downloads.filesAsString(), folder.filesAsString());
+        }
         return;
       }
-      log.debug("Matching files not found: {}, all new files: {}, all files: {}",
-        matchingFiles, downloads.filesAsString(), folder.filesAsString());
+      if (log.isDebugEnabled()) {
+        log.debug("Matching files not found: {}, all new files: {}, all files: {}",
+          matchingFiles, downloads.filesAsString(), folder.filesAsString());
+      }
       failFastIfNoChanges(driver, folder, fileFilter, start, timeout, incrementTimeout);
     }
 
@@ -181,6 +187,18 @@ public class DownloadFileToFolder {
     return now - Math.max(lastFileUpdate, downloadStartedAt);
   }
 
+  /**
+   * Wait for the next change in the folder (if it's being watched) or just sleep for the polling interval.
+   */
+  private void await(DownloadsFolder folder, long pollingInterval) {
+    if (folder instanceof WatchedDownloadsFolder watchedFolder) {
+      watchedFolder.await(pollingInterval);
+    }
+    else {
+      pause(pollingInterval);
+    }
+  }
+
   private void pause(long milliseconds) {
     try {
       sleep(milliseconds);
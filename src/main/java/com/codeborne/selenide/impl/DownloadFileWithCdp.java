@@ -2,7 +2,6 @@ package com.codeborne.selenide.impl;
 
 import com.codeborne.selenide.DownloadsFolder;
 import com.codeborne.selenide.Driver;
-import com.codeborne.selenide.Stopwatch;
 import com.codeborne.selenide.ex.FileNotDownloadedError;
 import com.codeborne.selenide.files.DownloadAction;
 import com.codeborne.selenide.files.DownloadedFile;
@@ -13,31 +12,23 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.devtools.DevTools;
 import org.openqa.selenium.devtools.HasDevTools;
-import org.openqa.selenium.devtools.v133.browser.Browser;
-import org.openqa.selenium.devtools.v133.browser.model.DownloadProgress;
-import org.openqa.selenium.devtools.v133.browser.model.DownloadWillBegin;
-import org.openqa.selenium.devtools.v133.page.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Consumer;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 
 import static com.codeborne.selenide.impl.FileHelper.moveFile;
 import static com.codeborne.selenide.impl.WebdriverUnwrapper.cast;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNull;
-import static org.openqa.selenium.devtools.v133.browser.Browser.downloadProgress;
-import static org.openqa.selenium.devtools.v133.browser.Browser.downloadWillBegin;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class DownloadFileWithCdp {
   private static final Logger log = LoggerFactory.getLogger(DownloadFileWithCdp.class);
-  private static final AtomicLong SEQUENCE = new AtomicLong();
 
   protected final Downloader downloader;
 
@@ -60,19 +51,15 @@ public class DownloadFileWithCdp {
                        DownloadAction action) {
 
     Driver driver = anyClickableElement.driver();
-    DevTools devTools = initDevTools(driver);
+    CdpDownloadTracker tracker = CdpDownloadTracker.of(driver.getWebDriver(), initDevTools(driver));
     DownloadsFolder downloadsFolder = requireNonNull(getDownloadsFolder(driver), "Webdriver downloads folder is not configured");
-    CdpDownloads downloads = new CdpDownloads(downloadsFolder, new ConcurrentHashMap<>(1));
 
-    // Init download behaviour and listeners
-    prepareDownloadWithCdp(driver, devTools, downloads, timeout);
+    try (CdpDownloadTracker.Expectation expectation = tracker.expect(downloadsFolder, fileFilter, timeout)) {
+      // Perform action an element that begins download process
+      action.perform(driver, clickable);
 
-    // Perform action an element that begins download process
-    action.perform(anyClickableElement.driver(), clickable);
-
-    try {
       // Wait until download
-      File file = waitUntilDownloadsCompleted(anyClickableElement.driver(), fileFilter, timeout, incrementTimeout, downloads);
+      File file = waitUntilDownloadsCompleted(downloadsFolder, fileFilter, timeout, incrementTimeout, expectation);
 
       //
       if (!fileFilter.match(new DownloadedFile(file, emptyMap()))) {
@@ -82,10 +69,7 @@ public class DownloadFileWithCdp {
       }
 
       // Move file to unique folder
-      return archiveFile(anyClickableElement.driver(), file);
-    }
-    finally {
-      devTools.clearListeners();
+      return archiveFile(driver, file);
     }
   }
 
@@ -97,26 +81,41 @@ public class DownloadFileWithCdp {
     return archivedFile;
   }
 
-  private File waitUntilDownloadsCompleted(Driver driver, FileFilter fileFilter,
-                                           long timeout, long incrementTimeout, CdpDownloads downloads) {
-    long pollingInterval = Math.max(driver.config().pollingInterval(), 100);
-    long downloadStartedAt = currentTimeMillis();
-    Stopwatch stopwatch = new Stopwatch(timeout);
-    do {
-      Optional<CdpDownload> downloadedFile = downloads.find(fileFilter);
-      if (downloadedFile.isPresent()) {
-        log.debug("File {} download is complete after {} ms.", downloadedFile.get().fileName, stopwatch.getElapsedTimeMs());
-        return downloadedFile.get().file();
+  /**
+   * Waits for the download future - it's completed by CDP event as soon as the download is completed.
+   * Wakes up only to check timeouts.
+   */
+  private File waitUntilDownloadsCompleted(DownloadsFolder folder, FileFilter fileFilter,
+                                           long timeout, long incrementTimeout, CdpDownloadTracker.Expectation expectation) {
+    long deadline = currentTimeMillis() + timeout;
+    while (true) {
+      long waitUntil = Math.min(deadline, expectation.lastModificationTime() + incrementTimeout);
+      long waitMs = waitUntil - currentTimeMillis() + 1;
+      if (waitMs <= 0) {
+        if (currentTimeMillis() > deadline) break;
+        failFastIfNoChanges(folder, expectation, fileFilter, timeout, incrementTimeout);
+        continue;
+      }
+      try {
+        File file = expectation.file().get(waitMs, MILLISECONDS);
+        log.debug("File {} download is complete after {} ms.", file.getName(), timeout - (deadline - currentTimeMillis()));
+        return file;
       }
-      else {
-        failFastIfNoChanges(downloads, fileFilter, downloadStartedAt, timeout, incrementTimeout);
+      catch (TimeoutException stillWaiting) {
+        // check timeouts
+      }
+      catch (ExecutionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+        throw new FileNotDownloadedError("Failed to download file" + fileFilter.description(), timeout, e.getCause());
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
       }
-      stopwatch.sleep(pollingInterval);
     }
-    while (!stopwatch.isTimeoutReached());
 
     String message = "Failed to download file%s in %d ms., found files: %s".formatted(
-      fileFilter.description(), timeout, downloads.folder().files());
+      fileFilter.description(), timeout, folder.files());
     throw new FileNotDownloadedError(message, timeout);
   }
 
@@ -127,7 +126,6 @@ public class DownloadFileWithCdp {
     if (cdpBrowser.isPresent() && isChromium(webDriver)) {
       DevTools devTools = cdpBrowser.get().getDevTools();
       devTools.createSessionIfThereIsNotOne();
-      devTools.send(Page.enable());
       return devTools;
     } else {
       throw new IllegalArgumentException(
@@ -141,131 +139,16 @@ public class DownloadFileWithCdp {
            new com.codeborne.selenide.Browser(hasCapabilities.get().getCapabilities().getBrowserName(), false).isChromium();
   }
 
-  private void prepareDownloadWithCdp(Driver driver, DevTools devTools,
-                                      CdpDownloads downloads,
-                                      long timeout) {
-    devTools.send(Browser.setDownloadBehavior(
-      Browser.SetDownloadBehaviorBehavior.DEFAULT,
-      Optional.empty(),
-      Optional.empty(),
-      Optional.of(true)));
-
-    log.debug("clear devtools listeners");
-    devTools.clearListeners();
-    log.debug("add devtools listener for 'downloadWillBegin'");
-    devTools.addListener(downloadWillBegin(), new DownloadWillBeginListener(id(), downloads));
-    log.debug("add devtools listener for 'downloadProgress'");
-    devTools.addListener(downloadProgress(), new DownloadProgressListener(id(), driver, downloads, timeout));
-  }
-
-  private record CdpDownloads(
-    DownloadsFolder folder,
-    ConcurrentMap<String, CdpDownload> downloads
-  ) {
-    private Optional<CdpDownload> find(FileFilter fileFilter) {
-      return downloads.values().stream()
-        .filter(download -> download.completed)
-        .filter(download -> fileFilter.match(download.file()))
-        .findAny();
-    }
-
-    private Optional<Long> lastModificationTime() {
-      return downloads.values().stream().map(download -> download.lastModifiedAt).max(Long::compare);
-    }
-
-    private void setName(String guid, String fileName) {
-      download(guid).fileName = fileName;
-    }
-
-    public void inProgress(DownloadProgress e) {
-      download(e.getGuid()).lastModifiedAt = currentTimeMillis();
-      if (e.getReceivedBytes().longValue() >= e.getTotalBytes().longValue()) {
-        if (download(e.getGuid()).file().exists()) {
-          finish(e.getGuid());
-        }
-      }
-    }
-
-    public void finish(String guid) {
-      download(guid).completed = true;
-    }
-
-    private synchronized CdpDownload download(String guid) {
-      if (!downloads.containsKey(guid)) {
-        downloads.put(guid, new CdpDownload(folder));
-      }
-      return downloads.get(guid);
-    }
-  }
-
-  private static class CdpDownload {
-    private final DownloadsFolder folder;
-    @Nullable
-    private String fileName;
-    private long lastModifiedAt = currentTimeMillis();
-    private boolean completed;
-
-    private CdpDownload(DownloadsFolder folder) {
-      this.folder = folder;
-    }
-
-    private File file() {
-      return new File(folder.getPath(), requireNonNull(fileName));
-    }
-  }
-
-  private static long id() {
-    return SEQUENCE.incrementAndGet();
-  }
-
-  private record DownloadWillBeginListener(long id, CdpDownloads downloads) implements Consumer<DownloadWillBegin> {
-    @Override
-    public void accept(DownloadWillBegin e) {
-      log.debug("[{}] Download will begin with suggested file name \"{}\" (url: \"{}\", frameId: {}, guid: {})",
-        id, e.getSuggestedFilename(), e.getUrl(), e.getFrameId(), e.getGuid());
-      downloads.setName(e.getGuid(), e.getSuggestedFilename());
-    }
-
-    @Override
-    public String toString() {
-      return getClass().getSimpleName() + "#" + id;
-    }
-  }
-
-  private record DownloadProgressListener(long id, Driver driver, CdpDownloads downloads, long timeout)
-    implements Consumer<DownloadProgress> {
-    @Override
-    public void accept(DownloadProgress e) {
-      log.debug("[{}] Download is {} (received bytes: {}, total bytes: {}, guid: {})",
-        id, e.getState(), e.getReceivedBytes(), e.getTotalBytes(), e.getGuid());
-
-      switch (e.getState()) {
-        case CANCELED -> {
-          String message = "File download is %s (received bytes: %s, total bytes: %s, guid: %s)".formatted(
-            e.getState(), e.getReceivedBytes(), e.getTotalBytes(), e.getGuid());
-          throw new FileNotDownloadedError(message, timeout);
-        }
-        case COMPLETED -> downloads.finish(e.getGuid());
-        case INPROGRESS -> downloads.inProgress(e);
-      }
-    }
-
-    @Override
-    public String toString() {
-      return getClass().getSimpleName() + "#" + id;
-    }
-  }
-
-  private void failFastIfNoChanges(CdpDownloads downloads, FileFilter filter,
-                                   long downloadStartedAt, long timeout, long incrementTimeout) {
+  private void failFastIfNoChanges(DownloadsFolder folder, CdpDownloadTracker.Expectation expectation, FileFilter filter,
+                                   long timeout, long incrementTimeout) {
     long now = currentTimeMillis();
-    long lastModifiedAt = downloads.lastModificationTime().orElse(downloadStartedAt);
+    long lastModifiedAt = expectation.lastModificationTime();
     long filesHasNotBeenUpdatedForMs = now - lastModifiedAt;
     if (filesHasNotBeenUpdatedForMs > incrementTimeout) {
       String message = String.format(
         "Failed to download file%s in %d ms: files in %s haven't been modified for %s ms. " +
         "(lastUpdate: %s, now: %s, incrementTimeout: %s)",
-        filter.description(), timeout, downloads.folder, filesHasNotBeenUpdatedForMs,
+        filter.description(), timeout, folder, filesHasNotBeenUpdatedForMs,
         lastModifiedAt, now, incrementTimeout);
       throw new FileNotDownloadedError(message, timeout);
     }
@@ -7,14 +7,15 @@ import com.codeborne.selenide.files.DownloadedFile;
 import com.codeborne.selenide.files.FileFilter;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.cookie.BasicCookieStore;
+import org.apache.hc.client5.http.cookie.CookieStore;
 import org.apache.hc.client5.http.impl.DefaultRedirectStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.apache.hc.client5.http.protocol.RedirectStrategy;
-import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
-import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
 import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
 import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
 import org.apache.hc.core5.http.ClassicHttpResponse;
@@ -23,12 +24,11 @@ import org.apache.hc.core5.http.HttpEntityContainer;
 import org.apache.hc.core5.http.HttpException;
 import org.apache.hc.core5.http.HttpRequest;
 import org.apache.hc.core5.http.HttpResponse;
-import org.apache.hc.core5.http.config.Registry;
-import org.apache.hc.core5.http.config.RegistryBuilder;
 import org.apache.hc.core5.http.protocol.BasicHttpContext;
 import org.apache.hc.core5.http.protocol.HttpContext;
 import org.apache.hc.core5.ssl.SSLContextBuilder;
 import org.apache.hc.core5.ssl.TrustStrategy;
+import org.apache.hc.core5.util.TimeValue;
 import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.WebElement;
 import org.slf4j.Logger;
@@ -42,12 +42,20 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.security.GeneralSecurityException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Stream;
 
 import static com.codeborne.selenide.impl.Plugins.inject;
+import static com.codeborne.selenide.impl.ThreadNamer.named;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Objects.requireNonNullElse;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -58,12 +66,17 @@ import static org.apache.hc.client5.http.protocol.HttpClientContext.COOKIE_STORE
 
 public class DownloadFileWithHttpRequest {
   private static final Logger log = LoggerFactory.getLogger(DownloadFileWithHttpRequest.class);
+  private static final int MAX_CONNECTIONS = 50;
+  private static final int MAX_CONNECTIONS_PER_ROUTE = 20;
+  private static final TimeValue IDLE_CONNECTION_TIMEOUT = TimeValue.ofSeconds(30);
   private final ElementDescriber describe = inject(ElementDescriber.class);
 
   protected boolean ignoreSelfSignedCerts = true;
 
   private final Downloader downloader;
   private final HttpHelper httpHelper = new HttpHelper();
+  @Nullable
+  private CloseableHttpClient httpClient;
 
   public DownloadFileWithHttpRequest() {
     this(new Downloader());
@@ -92,17 +105,76 @@ public class DownloadFileWithHttpRequest {
   }
 
   public File download(Driver driver, String relativeOrAbsoluteUrl, long timeout, FileFilter fileFilter) {
-    String url = makeAbsoluteUrl(driver.config(), relativeOrAbsoluteUrl);
+    return download(driver.config(), relativeOrAbsoluteUrl, userAgent(driver), cookies(driver), timeout, fileFilter);
+  }
+
+  /**
+   * Download multiple files concurrently.
+   * <p>
+   * Cookies and "User-Agent" header are read from the browser only once (before starting the downloads).
+   * Connections to the same host are reused.
+   *
+   * @param relativeOrAbsoluteUrls urls of files to download
+   * @param parallelism            max number of files downloaded at the same time
+   * @return downloaded files in the same order as {@code relativeOrAbsoluteUrls}
+   * @throws FileNotDownloadedError if failed to download any of the files
+   */
+  public List<File> download(Driver driver, List<String> relativeOrAbsoluteUrls, long timeout, FileFilter fileFilter,
+                             int parallelism) {
+    if (relativeOrAbsoluteUrls.isEmpty()) {
+      return emptyList();
+    }
+    Config config = driver.config();
+    String userAgent = userAgent(driver);
+    CookieStore cookies = cookies(driver);
 
-    MemorizingRedirectStrategy redirectStrategy = new MemorizingRedirectStrategy();
-    try (CloseableHttpClient httpClient = createHttpClient(redirectStrategy)) {
+    int threads = Math.max(1, Math.min(parallelism, relativeOrAbsoluteUrls.size()));
+    ExecutorService executor = Executors.newFixedThreadPool(threads, named("selenide-download-"));
+    try {
+      List<Future<File>> futures = new ArrayList<>(relativeOrAbsoluteUrls.size());
+      for (String url : relativeOrAbsoluteUrls) {
+        futures.add(executor.submit(() -> download(config, url, userAgent, cookies, timeout, fileFilter)));
+      }
+      List<File> files = new ArrayList<>(futures.size());
+      for (Future<File> future : futures) {
+        files.add(getResult(future, timeout));
+      }
+      return files;
+    }
+    finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private File getResult(Future<File> future, long timeout) {
+    try {
+      return future.get();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FileNotDownloadedError("Interrupted while downloading files", timeout, e);
+    }
+    catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+      if (e.getCause() instanceof Error error) throw error;
+      throw new FileNotDownloadedError("Failed to download files", timeout, e.getCause());
+    }
+  }
+
+  private File download(Config config, String relativeOrAbsoluteUrl, @Nullable String userAgent, CookieStore cookies,
+                        long timeout, FileFilter fileFilter) {
+    String url = makeAbsoluteUrl(config, relativeOrAbsoluteUrl);
+
+    try {
       Resource resource = parseUrl(url);
       HttpGet httpGet = new HttpGet(resource.uri());
       configureHttpGet(httpGet, timeout);
-      addHttpHeaders(driver, httpGet, resource.credentials());
-      return httpClient.execute(httpGet, createHttpContext(driver), response -> {
-          String responseUrl = requireNonNullElse(redirectStrategy.lastRedirectUrl, url);
-          return handleResponse(driver, timeout, fileFilter, responseUrl, response);
+      addHttpHeaders(httpGet, userAgent, resource.credentials());
+      HttpContext context = new BasicHttpContext();
+      context.setAttribute(COOKIE_STORE, cookies);
+      return httpClient().execute(httpGet, context, response -> {
+          String responseUrl = requireNonNullElse(MemorizingRedirectStrategy.lastRedirectUrl(context), url);
+          return handleResponse(config, timeout, fileFilter, responseUrl, response);
         }
       );
     }
@@ -111,11 +183,32 @@ public class DownloadFileWithHttpRequest {
     }
   }
 
+  @Nullable
+  private String userAgent(Driver driver) {
+    return driver.hasWebDriverStarted() ? driver.getUserAgent() : null;
+  }
+
+  private CookieStore cookies(Driver driver) {
+    Object cookies = createHttpContext(driver).getAttribute(COOKIE_STORE);
+    return cookies instanceof CookieStore cookieStore ? cookieStore : new BasicCookieStore();
+  }
+
+  /**
+   * The client is created once and reused for all downloads, so that connections (and TLS sessions)
+   * to the same host are kept alive between downloads.
+   */
+  private synchronized CloseableHttpClient httpClient() throws IOException {
+    if (httpClient == null) {
+      httpClient = createHttpClient(new MemorizingRedirectStrategy());
+    }
+    return httpClient;
+  }
+
   private CloseableHttpClient createHttpClient(MemorizingRedirectStrategy redirectStrategy) throws IOException {
     return ignoreSelfSignedCerts ? createTrustingHttpClient(redirectStrategy) : createDefaultHttpClient(redirectStrategy);
   }
 
-  private File handleResponse(Driver driver, long timeout, FileFilter fileFilter, String url,
+  private File handleResponse(Config config, long timeout, FileFilter fileFilter, String url,
                               ClassicHttpResponse response) throws IOException {
     if (response.getCode() >= 500) {
       throw new RuntimeException("Failed to download file " + url + ": " + response);
@@ -125,7 +218,7 @@ public class DownloadFileWithHttpRequest {
     }
 
     String fileName = getFileName(url, response);
-    File downloadedFile = downloader.prepareTargetFile(driver.config(), fileName);
+    File downloadedFile = downloader.prepareTargetFile(config, fileName);
     saveContentToFile(response, downloadedFile);
 
     if (!fileFilter.match(new DownloadedFile(downloadedFile, emptyMap()))) {
@@ -169,22 +262,42 @@ public class DownloadFileWithHttpRequest {
   protected CloseableHttpClient createDefaultHttpClient(RedirectStrategy redirectStrategy) {
     return HttpClients.custom()
       .setRedirectStrategy(redirectStrategy)
+      .setConnectionManager(createConnectionManager(null))
+      .evictIdleConnections(IDLE_CONNECTION_TIMEOUT)
       .build();
   }
 
+  private PoolingHttpClientConnectionManager createConnectionManager(@Nullable SSLConnectionSocketFactory sslSocketFactory) {
+    PoolingHttpClientConnectionManagerBuilder builder = PoolingHttpClientConnectionManagerBuilder.create()
+      .setMaxConnTotal(MAX_CONNECTIONS)
+      .setMaxConnPerRoute(MAX_CONNECTIONS_PER_ROUTE);
+    if (sslSocketFactory != null) {
+      builder.setSSLSocketFactory(sslSocketFactory);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Remembers the last redirect location in the http context
+   * (not in a field: the same strategy is used by concurrent downloads).
+   */
   static class MemorizingRedirectStrategy extends DefaultRedirectStrategy {
-    @Nullable
-    private String lastRedirectUrl;
+    private static final String LAST_REDIRECT_URL = "selenide.lastRedirectUrl";
 
     @Nullable
     @Override
     public URI getLocationURI(HttpRequest request, HttpResponse response, HttpContext context) throws HttpException {
       URI redirectUrl = super.getLocationURI(request, response, context);
       if (redirectUrl != null) {
-        lastRedirectUrl = redirectUrl.toString();
+        context.setAttribute(LAST_REDIRECT_URL, redirectUrl.toString());
       }
       return redirectUrl;
     }
+
+    @Nullable
+    static String lastRedirectUrl(HttpContext context) {
+      return (String) context.getAttribute(LAST_REDIRECT_URL);
+    }
   }
 
   private static class TrustAllStrategy implements TrustStrategy {
@@ -208,13 +321,8 @@ public class DownloadFileWithHttpRequest {
       HostnameVerifier hostnameVerifier = NoopHostnameVerifier.INSTANCE;
 
       SSLConnectionSocketFactory sslSocketFactory = new SSLConnectionSocketFactory(sslContext, hostnameVerifier);
-      Registry<ConnectionSocketFactory> socketFactoryRegistry = RegistryBuilder.<ConnectionSocketFactory>create()
-        .register("http", PlainConnectionSocketFactory.getSocketFactory())
-        .register("https", sslSocketFactory)
-        .build();
-
-      PoolingHttpClientConnectionManager connMgr = new PoolingHttpClientConnectionManager(socketFactoryRegistry);
-      builder.setConnectionManager(connMgr);
+      builder.setConnectionManager(createConnectionManager(sslSocketFactory));
+      builder.evictIdleConnections(IDLE_CONNECTION_TIMEOUT);
       return builder.build();
     }
     catch (GeneralSecurityException e) {
@@ -231,8 +339,12 @@ public class DownloadFileWithHttpRequest {
   }
 
   protected void addHttpHeaders(Driver driver, HttpGet httpGet, String credentials) {
-    if (driver.hasWebDriverStarted()) {
-      httpGet.setHeader("User-Agent", driver.getUserAgent());
+    addHttpHeaders(httpGet, userAgent(driver), credentials);
+  }
+
+  protected void addHttpHeaders(HttpGet httpGet, @Nullable String userAgent, String credentials) {
+    if (userAgent != null) {
+      httpGet.setHeader("User-Agent", userAgent);
     }
     if (!credentials.isEmpty()) {
       httpGet.setHeader("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(UTF_8)));
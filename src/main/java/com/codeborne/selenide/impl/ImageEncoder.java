@@ -0,0 +1,151 @@
+package com.codeborne.selenide.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import static com.codeborne.selenide.impl.ImageFormat.JPEG;
+import static com.codeborne.selenide.impl.ImageFormat.PNG;
+import static com.codeborne.selenide.impl.ImageFormat.WEBP;
+import static java.awt.Color.WHITE;
+import static java.awt.image.BufferedImage.TYPE_INT_RGB;
+
+/**
+ * Encodes screenshots (that webdriver returns in PNG format) to the format configured by {@link ReportsConfiguration}.
+ */
+public class ImageEncoder {
+  private static final Logger log = LoggerFactory.getLogger(ImageEncoder.class);
+
+  private final ImageFormat format;
+  private final int pngCompressionLevel;
+  private final int jpegQuality;
+
+  public ImageEncoder() {
+    this(new ReportsConfiguration());
+  }
+
+  ImageEncoder(ReportsConfiguration config) {
+    this(config.screenshotFormat(), config.pngCompressionLevel(), config.jpegQuality());
+  }
+
+  ImageEncoder(ImageFormat format, int pngCompressionLevel, int jpegQuality) {
+    this.format = supported(format);
+    this.pngCompressionLevel = pngCompressionLevel;
+    this.jpegQuality = jpegQuality;
+  }
+
+  private static ImageFormat supported(ImageFormat format) {
+    if (!canWrite(format)) {
+      log.warn("Cannot save screenshots in {} format: no ImageIO writer found in classpath. Using PNG instead.", format);
+      return PNG;
+    }
+    return format;
+  }
+
+  public String extension() {
+    return format.extension();
+  }
+
+  /**
+   * @return true if PNG returned by webdriver is saved as-is (without decoding and encoding)
+   */
+  public boolean keepsOriginalPng() {
+    return format == PNG && pngCompressionLevel < 0;
+  }
+
+  /**
+   * @param png screenshot in PNG format (as returned by webdriver)
+   * @return the same screenshot in configured format
+   */
+  public byte[] encode(byte[] png) {
+    if (keepsOriginalPng()) {
+      return png;
+    }
+    try {
+      BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+      if (image == null) {
+        log.warn("Failed to decode screenshot, saving it as-is");
+        return png;
+      }
+      return encode(image);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode screenshot to " + format, e);
+    }
+  }
+
+  public byte[] encode(BufferedImage image) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    ImageWriter writer = ImageIO.getImageWritersByFormatName(format.formatName()).next();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(result)) {
+      writer.setOutput(out);
+      writer.write(null, new IIOImage(format == JPEG ? withoutAlpha(image) : image, null, null), writeParams(writer));
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Failed to encode screenshot to " + format, e);
+    }
+    finally {
+      writer.dispose();
+    }
+    return result.toByteArray();
+  }
+
+  private ImageWriteParam writeParams(ImageWriter writer) {
+    ImageWriteParam params = writer.getDefaultWriteParam();
+    if (!params.canWriteCompressed()) {
+      return params;
+    }
+    if (format == PNG && pngCompressionLevel >= 0) {
+      params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      params.setCompressionQuality(1.0f - Math.min(pngCompressionLevel, 9) / 9.0f);
+    }
+    else if (format == JPEG) {
+      params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      params.setCompressionQuality(Math.max(1, Math.min(jpegQuality, 100)) / 100.0f);
+    }
+    else if (format == WEBP && hasCompressionType(params, "Lossless")) {
+      params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      params.setCompressionType("Lossless");
+    }
+    return params;
+  }
+
+  private static boolean hasCompressionType(ImageWriteParam params, String type) {
+    String[] types = params.getCompressionTypes();
+    return types != null && Arrays.asList(types).contains(type);
+  }
+
+  /**
+   * JPEG doesn't support transparency
+   */
+  private static BufferedImage withoutAlpha(BufferedImage image) {
+    if (!image.getColorModel().hasAlpha()) {
+      return image;
+    }
+    BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), TYPE_INT_RGB);
+    Graphics2D graphics = rgb.createGraphics();
+    try {
+      graphics.drawImage(image, 0, 0, WHITE, null);
+    }
+    finally {
+      graphics.dispose();
+    }
+    return rgb;
+  }
+
+  static boolean canWrite(ImageFormat format) {
+    return ImageIO.getImageWritersByFormatName(format.formatName()).hasNext();
+  }
+}
@@ -0,0 +1,40 @@
+package com.codeborne.selenide.impl;
+
+import java.util.Optional;
+
+import static java.util.Locale.ROOT;
+
+public enum ImageFormat {
+  PNG("png", "png"),
+  JPEG("jpeg", "jpg"),
+  WEBP("webp", "webp");
+
+  private final String formatName;
+  private final String extension;
+
+  ImageFormat(String formatName, String extension) {
+    this.formatName = formatName;
+    this.extension = extension;
+  }
+
+  public String formatName() {
+    return formatName;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  /**
+   * @param name format name or file extension (case-insensitive): "png", "jpeg", "jpg" or "webp"
+   */
+  public static Optional<ImageFormat> of(String name) {
+    String normalized = name.trim().toLowerCase(ROOT);
+    for (ImageFormat format : values()) {
+      if (format.formatName.equals(normalized) || format.extension.equals(normalized)) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+}
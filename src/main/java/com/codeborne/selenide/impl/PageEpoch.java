@@ -0,0 +1,39 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.Driver;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static com.codeborne.selenide.impl.JavaScript.asJsExecutor;
+
+/**
+ * Cheap "version" of the current page state.
+ * <p>
+ * On the first call, a MutationObserver is installed in the browser which counts all DOM changes (and user input).
+ * The epoch changes whenever DOM is modified, a new page is loaded, the page is scrolled or the window is resized.
+ * Thus, two equal epochs mean that screenshot and page source are (most likely) the same.
+ */
+class PageEpoch {
+  private static final Logger log = LoggerFactory.getLogger(PageEpoch.class);
+  private static final JavaScript js = new JavaScript("page-epoch.js");
+
+  /**
+   * @return null if the epoch cannot be detected (e.g. browser doesn't support JS, or an alert is open)
+   */
+  @Nullable
+  String read(Driver driver) {
+    if (asJsExecutor(driver.getWebDriver()).isEmpty()) {
+      return null;
+    }
+    try {
+      Object epoch = js.execute(driver);
+      return epoch instanceof String value ? value : null;
+    }
+    catch (WebDriverException | IllegalArgumentException e) {
+      log.debug("Failed to detect page epoch: {}", e.toString());
+      return null;
+    }
+  }
+}
@@ -7,4 +7,12 @@ import java.util.Optional;
 
 public interface Photographer {
   <T> Optional<T> takeScreenshot(Driver driver, OutputType<T> outputType);
+
+  /**
+   * @return true if this photographer creates a file anyway (e.g. stitches a big screenshot from tiles),
+   * so that {@link OutputType#FILE} is cheaper than reading the whole screenshot into memory.
+   */
+  default boolean prefersFileOutput() {
+    return false;
+  }
 }
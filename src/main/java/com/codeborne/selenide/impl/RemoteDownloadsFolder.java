@@ -0,0 +1,111 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.DownloadsFolder;
+import com.codeborne.selenide.files.DownloadedFile;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+
+/**
+ * Downloads folder of a remote browser (Selenoid, Moon, Selenium Grid etc.)
+ * <p>
+ * Remote servers don't tell files' modification times, so this folder keeps an index of files
+ * and diffs every new listing against the previous one:
+ * a file is considered "modified" at the moment when it first appeared in the listing.
+ * It allows {@link #filesNewerThan(long)} to return only files which appeared after the given moment.
+ * <p>
+ * If the listing is the same instance as the previous one (see {@link RemoteDownloadsClient#list}),
+ * it's not even compared.
+ */
+public abstract class RemoteDownloadsFolder implements DownloadsFolder {
+  private static final Logger log = LoggerFactory.getLogger(RemoteDownloadsFolder.class);
+
+  private final Map<String, Long> firstSeenAt = new LinkedHashMap<>();
+  @Nullable
+  private List<String> previousListing;
+  @Nullable
+  private Long lastChangeAt;
+
+  /**
+   * @return names of all files in the remote downloads folder
+   */
+  protected abstract List<String> listFileNames();
+
+  /**
+   * Delete given files from the remote downloads folder
+   */
+  protected abstract void deleteFiles(List<String> fileNames);
+
+  private synchronized Map<String, Long> refresh() {
+    List<String> listing = listFileNames();
+    if (listing == previousListing) {
+      return firstSeenAt;
+    }
+    previousListing = listing;
+
+    long now = currentTimeMillis();
+    Set<String> removed = new HashSet<>(firstSeenAt.keySet());
+    listing.forEach(removed::remove);
+    boolean changed = firstSeenAt.keySet().removeAll(removed);
+    for (String fileName : listing) {
+      changed |= firstSeenAt.putIfAbsent(fileName, now) == null;
+    }
+    if (changed) {
+      lastChangeAt = now;
+      log.debug("Files in {} changed: {}", this, firstSeenAt.keySet());
+    }
+    return firstSeenAt;
+  }
+
+  @Override
+  public synchronized List<File> files() {
+    return refresh().keySet().stream().map(name -> new File(name)).toList();
+  }
+
+  @Override
+  public synchronized List<DownloadedFile> filesNewerThan(long modifiedAfterTs) {
+    return refresh().entrySet().stream()
+      .filter(file -> file.getValue() >= modifiedAfterTs)
+      .map(file -> new DownloadedFile(new File(file.getKey()), emptyMap()))
+      .toList();
+  }
+
+  @Override
+  public synchronized Map<String, Long> modificationTimes() {
+    return new LinkedHashMap<>(refresh());
+  }
+
+  @Override
+  public synchronized Optional<Long> lastModificationTime() {
+    refresh();
+    return Optional.ofNullable(lastChangeAt);
+  }
+
+  @Override
+  public synchronized void cleanupBeforeDownload() {
+    List<String> fileNames = listFileNames();
+    if (!fileNames.isEmpty()) {
+      log.debug("Deleting {} downloaded files...", fileNames.size());
+      deleteFiles(fileNames);
+    }
+    firstSeenAt.clear();
+    previousListing = emptyList();
+    lastChangeAt = null;
+  }
+
+  @Override
+  public void deleteIfEmpty() {
+  }
+}
@@ -0,0 +1,101 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.PropertiesReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Settings of how screenshots and page sources are stored in reports folder.
+ * Can be set by system properties or in "selenide.properties" file.
+ */
+public class ReportsConfiguration {
+  private static final Logger log = LoggerFactory.getLogger(ReportsConfiguration.class);
+  private final PropertiesReader properties = new PropertiesReader("selenide.properties");
+
+  /**
+   * Format of saved screenshots: "png", "jpeg" (or "jpg") or "webp".
+   * Unknown format falls back to "png".
+   * NB! "webp" requires an ImageIO plugin (e.g. TwelveMonkeys) in classpath.
+   */
+  public ImageFormat screenshotFormat() {
+    String name = properties.getProperty("selenide.screenshots.format", "png");
+    return ImageFormat.of(name).orElseGet(() -> {
+      log.warn("Unknown screenshot format \"{}\", using PNG instead. Supported formats: png, jpeg (jpg), webp", name);
+      return ImageFormat.PNG;
+    });
+  }
+
+  /**
+   * PNG compression level from 0 (no compression) to 9 (max compression).
+   * By default (-1), PNG returned by webdriver is saved as-is, without re-encoding.
+   */
+  public int pngCompressionLevel() {
+    return properties.getInt("selenide.screenshots.png.compression", -1);
+  }
+
+  /**
+   * JPEG quality from 1 (lowest) to 100 (highest)
+   */
+  public int jpegQuality() {
+    return properties.getInt("selenide.screenshots.jpeg.quality", 90);
+  }
+
+  /**
+   * Whether page sources should be saved as "*.html.gz" files
+   */
+  public boolean gzipPageSource() {
+    return properties.getBoolean("selenide.pageSource.gzip", false);
+  }
+
+  /**
+   * Whether screenshot and page source can be reused if the page hasn't changed since the previous screenshot
+   * (e.g. several assertions failed in a row).
+   * <p>
+   * Disabled by default: the page state is detected by a heuristic (URL, DOM mutations, scroll position etc.)
+   * which may miss changes that don't affect the DOM (e.g. canvas or CSS animations).
+   */
+  public boolean reuseUnchangedScreenshots() {
+    return properties.getBoolean("selenide.screenshots.reuseUnchanged", false);
+  }
+
+  /**
+   * Whether screenshot and page source for a failed check should be taken lazily:
+   * only when the error message or screenshot is requested, or when the test is declared failed
+   * (by {@code ScreenShooterExtension} or TestNG {@code ScreenShooter}).
+   * <p>
+   * Saves time if errors are handled by your code (e.g. in retry helpers).
+   * NB! The browser must be still open when the error is reported.
+   */
+  public boolean deferredScreenshots() {
+    return properties.getBoolean("selenide.screenshots.deferred", false);
+  }
+
+  /**
+   * Max number of screenshots kept in the global history (0 means unlimited).
+   * NB! Only references to the screenshots are evicted from history, the files are not deleted.
+   */
+  public int historySize() {
+    return properties.getInt("selenide.screenshots.history.size", 1000);
+  }
+
+  /**
+   * Max number of screenshots kept in the history of one thread (0 means unlimited)
+   */
+  public int threadHistorySize() {
+    return properties.getInt("selenide.screenshots.history.threadSize", 100);
+  }
+
+  /**
+   * Max number of screenshots kept in the history of one context, usually a test (0 means unlimited)
+   */
+  public int contextHistorySize() {
+    return properties.getInt("selenide.screenshots.history.contextSize", 100);
+  }
+
+  /**
+   * Whether identical screenshots/page sources should be stored once (with hard links for duplicates)
+   */
+  public boolean deduplicate() {
+    return properties.getBoolean("selenide.reports.deduplicate", true);
+  }
+}
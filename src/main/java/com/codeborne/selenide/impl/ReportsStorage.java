@@ -0,0 +1,166 @@
+package com.codeborne.selenide.impl;
+
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static com.codeborne.selenide.impl.FileHelper.ensureParentFolderExists;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Content-addressed storage of screenshots and page sources.
+ * <p>
+ * Files are indexed by hash of their content.
+ * If the same content has already been saved, the new file is created as a hard link to the existing one
+ * (or as a copy, if file system doesn't support hard links). Thus, the file name (and its URL in reports) stays the same,
+ * but encoding and disk space are saved.
+ */
+public class ReportsStorage {
+  private static final Logger log = LoggerFactory.getLogger(ReportsStorage.class);
+  private static final int MAX_INDEX_SIZE = 1000;
+  private static final ReportsStorage instance = new ReportsStorage(new ReportsConfiguration().deduplicate());
+
+  public static ReportsStorage getInstance() {
+    return instance;
+  }
+
+  private final boolean deduplicate;
+  private final Map<String, File> filesByHash = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, File> eldest) {
+      return size() > MAX_INDEX_SIZE;
+    }
+  };
+
+  ReportsStorage(boolean deduplicate) {
+    this.deduplicate = deduplicate;
+  }
+
+  @CanIgnoreReturnValue
+  public File write(byte[] content, File targetFile) throws IOException {
+    return write(content, targetFile, UnaryOperator.identity());
+  }
+
+  /**
+   * @param content    original content (used for computing hash)
+   * @param targetFile file to write
+   * @param encoder    converts the original content to the bytes that are actually written to the file.
+   *                   It's not called if the same content has already been saved.
+   * @return the target file
+   */
+  @CanIgnoreReturnValue
+  public File write(byte[] content, File targetFile, UnaryOperator<byte[]> encoder) throws IOException {
+    ensureParentFolderExists(targetFile);
+    if (!deduplicate) {
+      Files.write(targetFile.toPath(), encoder.apply(content));
+      return targetFile;
+    }
+
+    String hash = sha256(content);
+    File existingFile = findExisting(hash);
+    if (existingFile != null && linkOrCopy(existingFile, targetFile)) {
+      return targetFile;
+    }
+    Files.write(targetFile.toPath(), encoder.apply(content));
+    register(hash, targetFile);
+    return targetFile;
+  }
+
+  /**
+   * Moves the given file (e.g. a big temporary screenshot) to the storage, without reading it into memory.
+   *
+   * @param sourceFile file to move. It doesn't exist after this call.
+   * @param targetFile target file
+   * @return the target file
+   */
+  @CanIgnoreReturnValue
+  public File move(File sourceFile, File targetFile) throws IOException {
+    ensureParentFolderExists(targetFile);
+    if (!deduplicate) {
+      Files.move(sourceFile.toPath(), targetFile.toPath(), REPLACE_EXISTING);
+      return targetFile;
+    }
+
+    String hash = sha256(sourceFile);
+    File existingFile = findExisting(hash);
+    if (existingFile != null && linkOrCopy(existingFile, targetFile)) {
+      Files.deleteIfExists(sourceFile.toPath());
+      return targetFile;
+    }
+    Files.move(sourceFile.toPath(), targetFile.toPath(), REPLACE_EXISTING);
+    register(hash, targetFile);
+    return targetFile;
+  }
+
+  @Nullable
+  private synchronized File findExisting(String hash) {
+    File file = filesByHash.get(hash);
+    if (file != null && !file.exists()) {
+      filesByHash.remove(hash);
+      return null;
+    }
+    return file;
+  }
+
+  private synchronized void register(String hash, File file) {
+    filesByHash.put(hash, file);
+  }
+
+  private boolean linkOrCopy(File existingFile, File targetFile) {
+    if (existingFile.getAbsoluteFile().equals(targetFile.getAbsoluteFile())) {
+      return true;
+    }
+    try {
+      Files.deleteIfExists(targetFile.toPath());
+      Files.createLink(targetFile.toPath(), existingFile.toPath());
+      log.debug("Saved {} as a link to identical {}", targetFile, existingFile);
+      return true;
+    }
+    catch (IOException | UnsupportedOperationException | SecurityException cannotLink) {
+      log.debug("Failed to create link {} -> {}: {}", targetFile, existingFile, cannotLink.toString());
+    }
+    try {
+      Files.copy(existingFile.toPath(), targetFile.toPath(), REPLACE_EXISTING);
+      return true;
+    }
+    catch (IOException cannotCopy) {
+      log.debug("Failed to copy {} -> {}: {}", existingFile, targetFile, cannotCopy.toString());
+      return false;
+    }
+  }
+
+  static String sha256(byte[] content) {
+    return HexFormat.of().formatHex(sha256().digest(content));
+  }
+
+  private static String sha256(File file) throws IOException {
+    MessageDigest digest = sha256();
+    try (InputStream in = new DigestInputStream(Files.newInputStream(file.toPath()), digest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not supported", e);
+    }
+  }
+}
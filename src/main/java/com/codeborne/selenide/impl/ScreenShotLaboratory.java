@@ -1,10 +1,10 @@
 package com.codeborne.selenide.impl;
 
 import com.codeborne.selenide.Config;
+import com.codeborne.selenide.ContextLocal;
 import com.codeborne.selenide.Driver;
 import com.codeborne.selenide.SelenideElement;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import org.apache.commons.io.FileUtils;
 import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.InvalidElementStateException;
 import org.openqa.selenium.OutputType;
@@ -21,30 +21,29 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.WeakReference;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
-import static com.codeborne.selenide.impl.FileHelper.ensureParentFolderExists;
+import static com.codeborne.selenide.ContextLocal.contextLocal;
 import static com.codeborne.selenide.impl.Plugins.inject;
 import static com.codeborne.selenide.impl.Screenshot.none;
 import static java.io.File.separatorChar;
-import static java.lang.ThreadLocal.withInitial;
 import static java.util.Collections.emptyList;
 import static java.util.Objects.requireNonNull;
-import static java.util.Objects.requireNonNullElse;
 import static java.util.Objects.requireNonNullElseGet;
 import static java.util.stream.Collectors.joining;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
 import static org.openqa.selenium.OutputType.BYTES;
 import static org.openqa.selenium.OutputType.FILE;
 
@@ -61,21 +60,41 @@ public class ScreenShotLaboratory {
   private final Photographer photographer;
   private final PageSourceExtractor extractor;
   private final Clock clock;
-  protected final List<Screenshot> allScreenshots = new ArrayList<>();
+  private final ImageEncoder encoder;
+  private final ReportsStorage storage;
+  private final PageEpoch pageEpoch;
+  private final boolean reuseUnchangedScreenshots;
+  private final int contextHistorySize;
+  protected final ScreenshotsHistory allScreenshots;
   protected AtomicLong screenshotCounter = new AtomicLong();
 
-  protected final ThreadLocal<String> currentContext = withInitial(() -> "");
-  protected final ThreadLocal<@Nullable List<Screenshot>> currentContextScreenshots = new ThreadLocal<>();
-  protected final ThreadLocal<List<Screenshot>> threadScreenshots = withInitial(ArrayList::new);
+  protected final ThreadLocal<String> currentContext = contextLocal(() -> "");
+  protected final ThreadLocal<@Nullable ScreenshotsHistory> currentContextScreenshots = new ContextLocal<>();
+  protected final ThreadLocal<ScreenshotsHistory> threadScreenshots;
+  private final ThreadLocal<@Nullable LastCapture> lastCapture = new ContextLocal<>();
 
   private ScreenShotLaboratory() {
-    this(inject(Photographer.class), inject(PageSourceExtractor.class), new Clock());
+    this(inject(Photographer.class), inject(PageSourceExtractor.class), new Clock(),
+      new ReportsConfiguration(), ReportsStorage.getInstance(), new PageEpoch());
   }
 
   ScreenShotLaboratory(Photographer photographer, PageSourceExtractor extractor, Clock clock) {
+    this(photographer, extractor, clock, new ReportsConfiguration(), new ReportsStorage(true), new PageEpoch());
+  }
+
+  ScreenShotLaboratory(Photographer photographer, PageSourceExtractor extractor, Clock clock,
+                       ReportsConfiguration config, ReportsStorage storage, PageEpoch pageEpoch) {
     this.photographer = photographer;
     this.extractor = extractor;
     this.clock = clock;
+    this.encoder = new ImageEncoder(config);
+    this.storage = storage;
+    this.pageEpoch = pageEpoch;
+    this.reuseUnchangedScreenshots = config.reuseUnchangedScreenshots();
+    this.contextHistorySize = config.contextHistorySize();
+    this.allScreenshots = new ScreenshotsHistory(config.historySize());
+    int threadHistorySize = config.threadHistorySize();
+    this.threadScreenshots = contextLocal(() -> new ScreenshotsHistory(threadHistorySize));
   }
 
   public Screenshot takeScreenShot(Driver driver, String className, String methodName) {
@@ -128,29 +147,34 @@ public class ScreenShotLaboratory {
     return screenshot;
   }
 
+  /**
+   * Takes screenshot of the element using native element capture of webdriver.
+   * The returned PNG is saved to file as-is, without decoding it to {@link BufferedImage}.
+   */
   public File takeScreenshot(Driver driver, WebElement element) {
+    byte[] screenshot = takeElementScreenshot(driver, element).orElseThrow(() -> new RuntimeException("Cannot take screenshot"));
     try {
-      BufferedImage destination = takeScreenshotAsImage(driver, element);
-      return writeToFile(driver, destination);
+      return writeToFile(driver, screenshot);
     }
-    catch (IOException e) {
+    catch (IOException | UncheckedIOException e) {
       throw new RuntimeException("Failed to take screenshot of " + element, e);
     }
   }
 
   public BufferedImage takeScreenshotAsImage(Driver driver, WebElement element) {
-    return takeElementScreenshotAsImage(driver, element).orElseThrow(() -> new RuntimeException("Cannot take screenshot"));
+    return takeElementScreenshot(driver, element)
+      .map(screenshot -> imageFromBytes(screenshot))
+      .orElseThrow(() -> new RuntimeException("Cannot take screenshot"));
   }
 
-  private Optional<BufferedImage> takeElementScreenshotAsImage(Driver driver, WebElement element) {
+  private Optional<byte[]> takeElementScreenshot(Driver driver, WebElement element) {
     if (!(driver.getWebDriver() instanceof TakesScreenshot)) {
       log.warn("Cannot take screenshot because browser does not support screenshots");
       return Optional.empty();
     }
 
     try {
-      byte[] screenshot = element.getScreenshotAs(BYTES);
-      return Optional.of(imageFromBytes(screenshot));
+      return Optional.of(element.getScreenshotAs(BYTES));
     }
     catch (InvalidElementStateException elementIsNotVisible) {
       log.error("Failed to take element screenshot: {}", elementIsNotVisible.toString());
@@ -174,38 +198,44 @@ public class ScreenShotLaboratory {
   @Nullable
   public File takeScreenshot(Driver driver, WebElement iframe, SelenideElement element) {
     try {
-      BufferedImage destination = takeScreenshotAsImage(driver, iframe, element);
-      if (destination != null) {
-        return writeToFile(driver, destination);
+      byte[] screenshot = takeElementScreenshot(driver, iframe, element);
+      if (screenshot != null) {
+        return writeToFile(driver, screenshot);
       }
     }
-    catch (IOException e) {
+    catch (IOException | UncheckedIOException e) {
       log.error("Failed to take screenshot of {} inside frame {}", element, iframe, e);
     }
     return null;
   }
 
-  private File writeToFile(Driver driver, BufferedImage destination) throws IOException {
-    File screenshotOfElement = new File(driver.config().reportsFolder(), generateScreenshotFileName() + ".png").getAbsoluteFile();
-    ensureParentFolderExists(screenshotOfElement);
-    ImageIO.write(destination, "png", screenshotOfElement);
-    return screenshotOfElement;
+  private File writeToFile(Driver driver, byte[] png) throws IOException {
+    File screenshotOfElement = imageFile(driver.config(), generateScreenshotFileName());
+    return storage.write(png, screenshotOfElement, encoder::encode);
+  }
+
+  private File imageFile(Config config, String fileName) {
+    return new File(config.reportsFolder(), fileName + "." + encoder.extension()).getAbsoluteFile();
   }
 
   @Nullable
   public BufferedImage takeScreenshotAsImage(Driver driver, WebElement iframe, SelenideElement element) {
+    byte[] screenshot = takeElementScreenshot(driver, iframe, element);
+    return screenshot == null ? null : imageFromBytes(screenshot);
+  }
+
+  private byte @Nullable [] takeElementScreenshot(Driver driver, WebElement iframe, SelenideElement element) {
     return ifWebDriverStarted(driver, webdriver ->
       ifReportsFolderNotNull(driver.config(), config ->
-        takeElementScreenshotAsImage(driver, iframe, element)
+        takeElementScreenshotInFrame(driver, iframe, element)
       ));
   }
 
-  @Nullable
-  private BufferedImage takeElementScreenshotAsImage(Driver driver, WebElement iframe, SelenideElement element) {
+  private byte @Nullable [] takeElementScreenshotInFrame(Driver driver, WebElement iframe, SelenideElement element) {
     driver.switchTo().frame(iframe);
     try {
       WebElement webElement = element.toWebElement();
-      return takeElementScreenshotAsImage(driver, webElement).orElse(null);
+      return takeElementScreenshot(driver, webElement).orElse(null);
     }
     finally {
       driver.switchTo().parentFrame();
@@ -228,39 +258,32 @@ public class ScreenShotLaboratory {
   }
 
   protected void addToHistory(Screenshot screenshot) {
-    List<Screenshot> contextScreenshots = currentContextScreenshots.get();
+    ScreenshotsHistory contextScreenshots = currentContextScreenshots.get();
     if (contextScreenshots != null) {
       contextScreenshots.add(screenshot);
     }
-    synchronized (allScreenshots) {
-      allScreenshots.add(screenshot);
-    }
+    allScreenshots.add(screenshot);
     threadScreenshots.get().add(screenshot);
   }
 
   @CanIgnoreReturnValue
   private File addToImageHistory(Config config, File imageFile) {
-    Screenshot screenshot = new Screenshot(imageFile, toUrl(config, imageFile), null);
-    List<Screenshot> contextScreenshots = currentContextScreenshots.get();
-    if (contextScreenshots != null) {
-      contextScreenshots.add(screenshot);
-    }
-    synchronized (allScreenshots) {
-      allScreenshots.add(screenshot);
-    }
-    threadScreenshots.get().add(screenshot);
+    addToHistory(new Screenshot(imageFile, toUrl(config, imageFile), null));
     return imageFile;
   }
 
   @Nullable
   protected File savePageImageToFile(Config config, String fileName, Driver driver) {
+    if (photographer.prefersFileOutput() && encoder.keepsOriginalPng()) {
+      return movePageImageToFile(config, fileName, driver);
+    }
     try {
       Optional<byte[]> srcFile = photographer.takeScreenshot(driver, BYTES);
       if (!srcFile.isPresent()) {
         log.info("Webdriver doesn't support screenshots");
         return null;
       }
-      File imageFile = new File(config.reportsFolder(), fileName + ".png").getAbsoluteFile();
+      File imageFile = imageFile(config, fileName);
       writeToFileSafely(srcFile.get(), imageFile);
       return imageFile;
     }
@@ -270,11 +293,40 @@ public class ScreenShotLaboratory {
     }
   }
 
-  private static void writeToFileSafely(byte[] srcFile, File imageFile) {
+  /**
+   * Big (e.g. full-size) screenshot is not read into memory, but just moved to the reports folder
+   */
+  @Nullable
+  private File movePageImageToFile(Config config, String fileName, Driver driver) {
+    Optional<File> srcFile;
     try {
-      FileUtils.writeByteArrayToFile(imageFile, srcFile);
+      srcFile = photographer.takeScreenshot(driver, FILE);
     }
-    catch (IOException e) {
+    catch (WebDriverException e) {
+      log.error("Failed to take screenshot to {}", fileName, e);
+      return null;
+    }
+    if (!srcFile.isPresent()) {
+      log.info("Webdriver doesn't support screenshots");
+      return null;
+    }
+    File imageFile = imageFile(config, fileName);
+    try {
+      storage.move(srcFile.get(), imageFile);
+      return imageFile;
+    }
+    catch (IOException | UncheckedIOException e) {
+      log.error("Failed to save screenshot to {}", imageFile, e);
+      deleteQuietly(srcFile.get());
+      return null;
+    }
+  }
+
+  private void writeToFileSafely(byte[] srcFile, File imageFile) {
+    try {
+      storage.write(srcFile, imageFile, encoder::encode);
+    }
+    catch (IOException | UncheckedIOException e) {
       log.error("Failed to save screenshot to {}", imageFile, e);
     }
   }
@@ -290,47 +342,43 @@ public class ScreenShotLaboratory {
 
   public void startContext(String context) {
     currentContext.set(context);
-    currentContextScreenshots.set(new ArrayList<>());
+    currentContextScreenshots.set(new ScreenshotsHistory(contextHistorySize));
   }
 
   @CanIgnoreReturnValue
   public List<Screenshot> finishContext() {
-    List<Screenshot> result = currentContextScreenshots.get();
+    ScreenshotsHistory result = currentContextScreenshots.get();
     currentContext.set("");
     currentContextScreenshots.remove();
-    return requireNonNull(result, "Current context is not started");
+    return requireNonNull(result, "Current context is not started").toList();
   }
 
   public List<File> getScreenshots() {
-    synchronized (allScreenshots) {
-      return allScreenshots.stream()
-        .map(screenshot -> screenshot.getImageFile())
-        .filter(image -> image != null)
-        .toList();
-    }
+    return allScreenshots.toList().stream()
+      .map(screenshot -> screenshot.getImageFile())
+      .filter(image -> image != null)
+      .toList();
   }
 
   public List<@Nullable File> getThreadScreenshots() {
-    List<Screenshot> screenshots = threadScreenshots.get();
-    return streamOf(screenshots)
+    return threadScreenshots().stream()
       .map(screenshot -> screenshot.getImageFile())
       .toList();
   }
 
   public List<Screenshot> threadScreenshots() {
-    return threadScreenshots.get();
+    return threadScreenshots.get().toList();
   }
 
   public List<@Nullable File> getContextScreenshots() {
-    List<Screenshot> screenshots = currentContextScreenshots.get();
-    return streamOf(screenshots)
+    return contextScreenshots().stream()
       .map(screenshot -> screenshot.getImageFile())
       .toList();
   }
 
   public List<Screenshot> contextScreenshots() {
-    List<Screenshot> screenshots = currentContextScreenshots.get();
-    return requireNonNullElse(screenshots, emptyList());
+    ScreenshotsHistory screenshots = currentContextScreenshots.get();
+    return screenshots == null ? emptyList() : screenshots.toList();
   }
 
   @Nullable
@@ -341,41 +389,82 @@ public class ScreenShotLaboratory {
 
   @Nullable
   public Screenshot lastScreenshot() {
-    synchronized (allScreenshots) {
-      return allScreenshots.isEmpty() ? null : allScreenshots.get(allScreenshots.size() - 1);
-    }
+    return allScreenshots.last();
   }
 
   public Optional<File> getLastThreadScreenshot() {
-    return lastOf(getThreadScreenshots());
+    return lastThreadScreenshot().map(screenshot -> screenshot.getImageFile());
   }
 
   public Optional<Screenshot> lastThreadScreenshot() {
-    return lastOf(threadScreenshots());
+    return Optional.ofNullable(threadScreenshots.get().last());
   }
 
   public Optional<File> getLastContextScreenshot() {
-    return lastOf(getContextScreenshots());
+    return lastContextScreenshot().map(screenshot -> screenshot.getImageFile());
   }
 
   public Optional<Screenshot> lastContextScreenshot() {
-    return lastOf(contextScreenshots());
-  }
-
-  private static <T> Optional<T> lastOf(@Nullable List<T> screenshots) {
-    return screenshots == null || screenshots.isEmpty()
-      ? Optional.empty()
-      : Optional.of(screenshots.get(screenshots.size() - 1));
+    ScreenshotsHistory screenshots = currentContextScreenshots.get();
+    return screenshots == null ? Optional.empty() : Optional.ofNullable(screenshots.last());
   }
 
   @CanIgnoreReturnValue
   public Screenshot takeScreenshot(Driver driver, boolean saveScreenshot, boolean savePageSource) {
     Screenshot screenshot = ifWebDriverStarted(driver, webDriver ->
       ifReportsFolderNotNull(driver.config(), config ->
-        takeScreenShot(config, driver, generateScreenshotFileName(), saveScreenshot, savePageSource)));
+        reuseOrTakeScreenShot(config, driver, webDriver, saveScreenshot, savePageSource)));
     return requireNonNullElseGet(screenshot, () -> none());
   }
 
+  /**
+   * @return cheap "version" of the current page state, or null if it cannot be detected
+   * (or is not needed because neither screenshots nor page sources are saved).
+   * Two equal values mean that the page (most likely) looks the same.
+   */
+  @Nullable
+  public String pageEpoch(Driver driver) {
+    if (!driver.hasWebDriverStarted()) return null;
+    Config config = driver.config();
+    return config.screenshots() || config.savePageSource() ? pageEpoch.read(driver) : null;
+  }
+
+  /**
+   * If page hasn't changed since the last screenshot (e.g. several assertions failed in a row),
+   * then the previous screenshot and page source are reused instead of taking new ones.
+   */
+  private Screenshot reuseOrTakeScreenShot(Config config, Driver driver, WebDriver webDriver,
+                                           boolean saveScreenshot, boolean savePageSource) {
+    if (!reuseUnchangedScreenshots || !saveScreenshot && !savePageSource) {
+      return takeScreenShot(config, driver, generateScreenshotFileName(), saveScreenshot, savePageSource);
+    }
+
+    String epoch = pageEpoch.read(driver);
+    LastCapture previous = lastCapture.get();
+    if (previous != null && previous.matches(webDriver, currentContext.get(), epoch, saveScreenshot, savePageSource)) {
+      log.debug("Page has not changed since the last screenshot, reusing {}", previous.screenshot());
+      addToHistory(previous.screenshot());
+      return previous.screenshot();
+    }
+
+    Screenshot screenshot = takeScreenShot(config, driver, generateScreenshotFileName(), saveScreenshot, savePageSource);
+    lastCapture.set(epoch == null ? null :
+      new LastCapture(new WeakReference<>(webDriver), currentContext.get(), epoch, saveScreenshot, savePageSource, screenshot));
+    return screenshot;
+  }
+
+  private record LastCapture(WeakReference<WebDriver> webDriver, String context, String epoch,
+                             boolean withScreenshot, boolean withPageSource, Screenshot screenshot) {
+    private boolean matches(WebDriver webDriver, String context, @Nullable String epoch,
+                            boolean saveScreenshot, boolean savePageSource) {
+      return this.webDriver.get() == webDriver &&
+        this.context.equals(context) &&
+        this.epoch.equals(epoch) &&
+        this.withScreenshot == saveScreenshot &&
+        this.withPageSource == savePageSource;
+    }
+  }
+
   @Nullable
   private String toUrl(Config config, @Nullable File file) {
     if (file == null) {
@@ -452,8 +541,4 @@ public class ScreenShotLaboratory {
     }
     return lambda.apply(config);
   }
-
-  private static <T> Stream<T> streamOf(@Nullable List<T> list) {
-    return list == null ? Stream.empty() : list.stream();
-  }
 }
@@ -0,0 +1,57 @@
+package com.codeborne.selenide.impl;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free history of screenshots which keeps only the last {@code maxSize} entries.
+ * The oldest entries are evicted when a new one is added.
+ * <p>
+ * Only the history (in memory) is bounded, the screenshot files are never deleted.
+ */
+class ScreenshotsHistory {
+  private final int maxSize;
+  private final ConcurrentLinkedDeque<Screenshot> screenshots = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger size = new AtomicInteger();
+
+  /**
+   * @param maxSize max number of screenshots to keep. Zero or negative value means "unlimited".
+   */
+  ScreenshotsHistory(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  void add(Screenshot screenshot) {
+    screenshots.addLast(screenshot);
+    if (size.incrementAndGet() > maxSize && maxSize > 0) {
+      evictOldest();
+    }
+  }
+
+  private void evictOldest() {
+    if (screenshots.pollFirst() != null) {
+      size.decrementAndGet();
+    }
+  }
+
+  @Nullable
+  Screenshot last() {
+    return screenshots.peekLast();
+  }
+
+  boolean isEmpty() {
+    return screenshots.isEmpty();
+  }
+
+  int size() {
+    return size.get();
+  }
+
+  List<Screenshot> toList() {
+    return new ArrayList<>(screenshots);
+  }
+}
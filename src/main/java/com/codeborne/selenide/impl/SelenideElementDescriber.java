@@ -14,6 +14,10 @@ public class SelenideElementDescriber implements ElementDescriber {
       if (element == null) {
         return "null";
       }
+      String description = Describe.fully(driver, element);
+      if (description != null) {
+        return description;
+      }
       return new Describe(driver, element)
         .appendAttributes()
         .isSelected(element)
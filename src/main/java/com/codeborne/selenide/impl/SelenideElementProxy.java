@@ -5,6 +5,7 @@ import com.codeborne.selenide.Driver;
 import com.codeborne.selenide.SelenideElement;
 import com.codeborne.selenide.Stopwatch;
 import com.codeborne.selenide.commands.Commands;
+import com.codeborne.selenide.drivercommands.BrowserHealth;
 import com.codeborne.selenide.ex.FileNotDownloadedError;
 import com.codeborne.selenide.ex.UIAssertionError;
 import com.codeborne.selenide.logevents.SelenideLog;
@@ -82,6 +83,9 @@ class SelenideElementProxy<T extends SelenideElement> implements InvocationHandl
     try {
       Object result = dispatchAndRetry(timeoutMs, config().pollingInterval(), proxy, method, args);
       SelenideLogger.commitStep(log, PASS);
+      if (driver().hasWebDriverStarted()) {
+        BrowserHealth.succeeded(driver().getWebDriver());
+      }
       return result;
     }
     catch (AssertionError error) {
@@ -90,6 +94,9 @@ class SelenideElementProxy<T extends SelenideElement> implements InvocationHandl
       return continueOrBreak(proxy, method, wrappedError);
     }
     catch (WebDriverException error) {
+      if (driver().hasWebDriverStarted()) {
+        BrowserHealth.failed(driver().getWebDriver(), error);
+      }
       Throwable wrappedError = UIAssertionError.wrap(driver(), error, timeoutMs);
       SelenideLogger.commitStep(log, wrappedError);
       return continueOrBreak(proxy, method, wrappedError);
@@ -8,6 +8,8 @@ import com.codeborne.selenide.ex.ConditionNotMetError;
 import com.codeborne.selenide.ex.UIAssertionError;
 import com.codeborne.selenide.logevents.SelenideLog;
 import com.codeborne.selenide.logevents.SelenideLogger;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,7 +44,9 @@ public class Waiter {
     SelenideLog log = SelenideLogger.beginStep(condition.describe(subject), condition.description());
     CheckResult result = null;
     Exception error = null;
+    BrowserEvents events = events(subject);
     for (long start = currentTimeMillis(); !isTimeoutExceeded(timeout, start); ) {
+      long navigations = events == null ? 0 : events.navigationsCount();
       try {
         result = condition.check(subject);
         if (result.verdict() == ACCEPT) {
@@ -54,7 +58,7 @@ public class Waiter {
         logger.info("Fail to check condition", e);
         error = e;
       }
-      sleep(pollingInterval);
+      pause(events, navigations, pollingInterval);
     }
 
     Error failure = UIAssertionError.wrap(driver, new ConditionNotMetError(condition, subject, result, error), timeout);
@@ -74,7 +78,9 @@ public class Waiter {
     SelenideLog log = SelenideLogger.beginStep(subject.toString(), condition.negativeDescription());
     CheckResult result = null;
     Exception error = null;
+    BrowserEvents events = events(subject);
     for (long start = currentTimeMillis(); !isTimeoutExceeded(timeout, start); ) {
+      long navigations = events == null ? 0 : events.navigationsCount();
       try {
         result = condition.check(subject);
         if (result.verdict() == REJECT) {
@@ -86,7 +92,7 @@ public class Waiter {
         logger.info("Fail to check condition", e);
         error = e;
       }
-      sleep(pollingInterval);
+      pause(events, navigations, pollingInterval);
     }
 
     Error failure = UIAssertionError.wrap(driver, new ConditionMetError(condition, subject, result, error), timeout);
@@ -94,6 +100,28 @@ public class Waiter {
     throw failure;
   }
 
+  /**
+   * If browser events are collected, the condition is checked again as soon as the page has navigated.
+   */
+  @Nullable
+  private BrowserEvents events(Object subject) {
+    return subject instanceof WebDriver webDriver ? BrowserEvents.of(webDriver) : null;
+  }
+
+  private void pause(@Nullable BrowserEvents events, long navigations, long pollingInterval) {
+    if (events == null) {
+      sleep(pollingInterval);
+      return;
+    }
+    try {
+      events.awaitNavigation(navigations, pollingInterval);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
   private boolean isTimeoutExceeded(long timeout, long start) {
     return currentTimeMillis() - start > timeout;
   }
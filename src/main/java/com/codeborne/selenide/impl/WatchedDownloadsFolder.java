@@ -0,0 +1,222 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.BrowserDownloadsFolder;
+import com.codeborne.selenide.DownloadsFolder;
+import com.codeborne.selenide.files.DownloadedFile;
+import com.codeborne.selenide.files.FileFilter;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.lang.System.currentTimeMillis;
+import static java.lang.Thread.sleep;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Downloads folder which wakes up the waiting thread using file system events (inotify on Linux).
+ * <p>
+ * Method {@link #await(long)} returns as soon as a file gets created or deleted in the folder
+ * (e.g. the temporary file gets renamed to the final name), but not later than the given timeout.
+ * <p>
+ * File system events are used only as a wake-up signal: all checks still read the folder on disk,
+ * because events may be delayed (e.g. JDK watch service on MacOS polls the folder every ~10 seconds)
+ * or lost. Thus, a missed event costs at most one polling interval.
+ * <p>
+ * If the folder is not local or the watch service is not available, {@link #await(long)} just sleeps.
+ */
+class WatchedDownloadsFolder implements DownloadsFolder, Closeable {
+  private static final Logger log = LoggerFactory.getLogger(WatchedDownloadsFolder.class);
+
+  private final DownloadsFolder folder;
+  @Nullable
+  private WatchService watchService;
+  @Nullable
+  private volatile Long lastEventAt;
+
+  WatchedDownloadsFolder(DownloadsFolder folder, @Nullable WatchService watchService) {
+    this.folder = folder;
+    this.watchService = watchService;
+  }
+
+  static WatchedDownloadsFolder watch(DownloadsFolder folder) {
+    if (folder instanceof BrowserDownloadsFolder localFolder) {
+      Path path = localFolder.getFolder().toPath();
+      try {
+        Files.createDirectories(path);
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        try {
+          path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+          return new WatchedDownloadsFolder(folder, watchService);
+        }
+        catch (IOException | RuntimeException e) {
+          watchService.close();
+          throw e;
+        }
+      }
+      catch (IOException | RuntimeException e) {
+        log.debug("Failed to watch folder {}, will poll it: {}", path, e.toString());
+      }
+    }
+    return new WatchedDownloadsFolder(folder, null);
+  }
+
+  boolean isWatching() {
+    return watchService != null;
+  }
+
+  /**
+   * Wait until a file gets created or deleted in the folder, but not longer than {@code timeoutMs}.
+   * <p>
+   * Modifications of existing files (e.g. every chunk written to a temporary file) don't end the wait:
+   * they only update {@link #lastModificationTime()}. Otherwise, the folder would be re-read after every chunk.
+   */
+  void await(long timeoutMs) {
+    long deadline = currentTimeMillis() + timeoutMs;
+    try {
+      for (long remaining = timeoutMs; remaining > 0; remaining = deadline - currentTimeMillis()) {
+        WatchService service = watchService;
+        if (service == null) {
+          pause(remaining);
+          return;
+        }
+        WatchKey key = service.poll(remaining, MILLISECONDS);
+        if (key == null) return;
+        if (processEvents(key)) {
+          drainEvents(service);
+          return;
+        }
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+    catch (ClosedWatchServiceException e) {
+      log.debug("Watch service for {} has been closed, will poll the folder", folder);
+      watchService = null;
+    }
+  }
+
+  private void drainEvents(WatchService service) {
+    for (WatchKey key = service.poll(); key != null; key = service.poll()) {
+      processEvents(key);
+    }
+  }
+
+  /**
+   * @return true if a file has been created or deleted (or events have been lost)
+   */
+  private boolean processEvents(WatchKey key) {
+    boolean filesChanged = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      lastEventAt = currentTimeMillis();
+      log.trace("{} {}", event.kind(), event.context());
+      if (event.kind() != ENTRY_MODIFY) {
+        filesChanged = true;
+      }
+    }
+    if (!key.reset()) {
+      log.debug("Folder {} is not accessible anymore, will poll it", folder);
+      close();
+      return true;
+    }
+    return filesChanged;
+  }
+
+  @Override
+  public boolean hasFiles(Set<String> extensions, FileFilter excludingFilter) {
+    return folder.hasFiles(extensions, excludingFilter);
+  }
+
+  /**
+   * @return the latest of the folder modification time (on disk) and the time of the last file system event
+   */
+  @Override
+  public Optional<Long> lastModificationTime() {
+    Optional<Long> modifiedAt = folder.lastModificationTime();
+    Long eventAt = lastEventAt;
+    if (eventAt == null) return modifiedAt;
+    return Optional.of(modifiedAt.map(time -> Math.max(time, eventAt)).orElse(eventAt));
+  }
+
+  @Override
+  public String filesAsString() {
+    return folder.filesAsString();
+  }
+
+  @Override
+  public List<File> files() {
+    return folder.files();
+  }
+
+  @Override
+  public List<DownloadedFile> filesNewerThan(long modifiedAfterTs) {
+    return folder.filesNewerThan(modifiedAfterTs);
+  }
+
+  @Override
+  public Map<String, Long> modificationTimes() {
+    return folder.modificationTimes();
+  }
+
+  @Override
+  public void cleanupBeforeDownload() {
+    folder.cleanupBeforeDownload();
+  }
+
+  @Override
+  public void deleteIfEmpty() {
+    folder.deleteIfEmpty();
+  }
+
+  @Override
+  public String getPath() {
+    return folder.getPath();
+  }
+
+  @Override
+  public void close() {
+    if (watchService != null) {
+      try {
+        watchService.close();
+      }
+      catch (IOException e) {
+        log.debug("Failed to close watch service for {}: {}", folder, e.toString());
+      }
+      watchService = null;
+    }
+  }
+
+  private static void pause(long milliseconds) {
+    try {
+      sleep(milliseconds);
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return folder.toString();
+  }
+}
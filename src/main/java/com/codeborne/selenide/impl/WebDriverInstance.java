@@ -52,4 +52,17 @@ public record WebDriverInstance(
   public void dispose() {
     closeDriverCommand.close(this);
   }
+
+  /**
+   * Proxy with a fixed port ({@link Config#proxyPort()}) is stopped immediately:
+   * otherwise the next webdriver (e.g. in the next test) cannot start its proxy on the same port.
+   * The browser can be closed later in background.
+   */
+  @Override
+  public void releaseUrgentResources() {
+    if (config.proxyEnabled() && config.proxyPort() != 0 && !config.holdBrowserOpen() && proxy != null) {
+      // NB! shutdown() can be called again by CloseDriverCommand
+      proxy.shutdown();
+    }
+  }
 }
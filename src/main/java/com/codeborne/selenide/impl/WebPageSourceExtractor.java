@@ -9,17 +9,31 @@ import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.zip.GZIPOutputStream;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.function.UnaryOperator.identity;
 
 public class WebPageSourceExtractor implements PageSourceExtractor {
   private static final Logger log = LoggerFactory.getLogger(WebPageSourceExtractor.class);
   private final Set<String> printedErrors = new ConcurrentSkipListSet<>();
+  private final ReportsStorage storage;
+  private final boolean gzip;
+
+  public WebPageSourceExtractor() {
+    this(ReportsStorage.getInstance(), new ReportsConfiguration().gzipPageSource());
+  }
+
+  protected WebPageSourceExtractor(ReportsStorage storage, boolean gzip) {
+    this.storage = storage;
+    this.gzip = gzip;
+  }
 
   @Override
   public File extract(Config config, WebDriver driver, String fileName) {
@@ -28,7 +42,7 @@ public class WebPageSourceExtractor implements PageSourceExtractor {
 
   @CanIgnoreReturnValue
   private File extract(Config config, WebDriver driver, String fileName, boolean retryIfAlert) {
-    File pageSource = createFile(config, driver, fileName);
+    File pageSource = gzipped(createFile(config, driver, fileName));
     try {
       String source = driver.getPageSource();
       if (source == null) {
@@ -63,15 +77,30 @@ public class WebPageSourceExtractor implements PageSourceExtractor {
     return new File(config.reportsFolder(), fileName + ".html").getAbsoluteFile();
   }
 
+  private File gzipped(File file) {
+    return gzip ? new File(file.getPath() + ".gz") : file;
+  }
+
   protected void writeToFile(String content, File targetFile) {
-    try (ByteArrayInputStream in = new ByteArrayInputStream(content.getBytes(UTF_8))) {
-      FileHelper.copyFile(in, targetFile);
+    try {
+      storage.write(content.getBytes(UTF_8), targetFile, gzip ? WebPageSourceExtractor::compress : identity());
     }
-    catch (IOException e) {
+    catch (IOException | UncheckedIOException e) {
       log.error("Failed to write file {}", targetFile.getAbsolutePath(), e);
     }
   }
 
+  private static byte[] compress(byte[] content) {
+    ByteArrayOutputStream result = new ByteArrayOutputStream(content.length / 4);
+    try (GZIPOutputStream out = new GZIPOutputStream(result)) {
+      out.write(content);
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException("Failed to gzip page source", e);
+    }
+    return result.toByteArray();
+  }
+
   protected synchronized void printOnce(String action, Throwable error) {
     if (!printedErrors.contains(action)) {
       log.error(error.getMessage(), error);
@@ -2,7 +2,11 @@ package com.codeborne.selenide.logevents;
 
 import org.jspecify.annotations.Nullable;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import static com.codeborne.selenide.logevents.LogEvent.EventStatus.IN_PROGRESS;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class SelenideLog implements LogEvent {
@@ -14,6 +18,7 @@ public class SelenideLog implements LogEvent {
   private EventStatus status = IN_PROGRESS;
   @Nullable
   private Throwable error;
+  private final Map<String, Long> phases = new LinkedHashMap<>();
 
   public SelenideLog(String element, String subject) {
     this.element = element;
@@ -66,6 +71,20 @@ public class SelenideLog implements LogEvent {
     this.error = error;
   }
 
+  /**
+   * Record duration of a phase of this step (e.g. "proxy" and "browser" phases of "webdriver create" step)
+   */
+  public synchronized void addPhase(String name, long durationMs) {
+    phases.put(name, durationMs);
+  }
+
+  /**
+   * @return durations (in milliseconds) of phases of this step, in the order they were recorded
+   */
+  public synchronized Map<String, Long> getPhases() {
+    return unmodifiableMap(new LinkedHashMap<>(phases));
+  }
+
   @Override
   public String toString() {
     return String.format("$(\"%s\") %s", element, subject);
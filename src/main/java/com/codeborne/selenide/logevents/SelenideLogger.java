@@ -1,5 +1,6 @@
 package com.codeborne.selenide.logevents;
 
+import com.codeborne.selenide.ContextLocal;
 import com.codeborne.selenide.logevents.LogEvent.EventStatus;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import org.jspecify.annotations.Nullable;
@@ -26,7 +27,7 @@ import static java.util.Objects.requireNonNullElse;
  */
 public class SelenideLogger {
   private static final Logger LOG = LoggerFactory.getLogger(SelenideLogger.class);
-  private static final ThreadLocal<@Nullable Map<String, LogEventListener>> listeners = new ThreadLocal<>();
+  private static final ThreadLocal<@Nullable Map<String, LogEventListener>> listeners = new ContextLocal<>();
   private static final Pattern REGEX_UPPER_CASE = Pattern.compile("([A-Z])");
   private static final Map<String, LogEventListener> NO_LISTENERS = emptyMap();
 
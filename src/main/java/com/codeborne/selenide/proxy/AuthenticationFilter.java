@@ -1,6 +1,5 @@
 package com.codeborne.selenide.proxy;
 
-import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.util.HttpMessageContents;
 import com.browserup.bup.util.HttpMessageInfo;
 import com.codeborne.selenide.AuthenticationType;
@@ -13,7 +12,7 @@ import org.jspecify.annotations.Nullable;
 import static com.codeborne.selenide.drivercommands.BasicAuthUtils.uriMatchesDomain;
 import static java.util.Objects.requireNonNull;
 
-public class AuthenticationFilter implements RequestFilter {
+public class AuthenticationFilter extends StreamingRequestFilter {
   @Nullable
   private AuthenticationType authenticationType;
 
@@ -9,9 +9,12 @@ import com.browserup.bup.filters.ResponseFilterAdapter;
 /**
  * By default, BrowserUpProxyServer doesn't allow requests/responses bugger than 2 MB.
  * We need this class to enable bigger sizes.
+ * <p>
+ * NB! Such filters make proxy aggregate every request/response in memory.
+ * Selenide own filters don't need it: see {@link StreamingRequestFilter}.
  */
 class BrowserUpProxyServerUnlimited extends BrowserUpProxyServer {
-  private static final int MAX_FILE_SIZE = Integer.MAX_VALUE; // 2 GB
+  static final int MAX_FILE_SIZE = Integer.MAX_VALUE; // 2 GB
 
   @Override
   public void addRequestFilter(RequestFilter filter) {
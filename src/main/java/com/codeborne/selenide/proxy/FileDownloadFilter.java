@@ -1,5 +1,6 @@
 package com.codeborne.selenide.proxy;
 
+import com.browserup.bup.filters.HttpsAwareFiltersAdapter;
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.util.HttpMessageContents;
@@ -9,32 +10,52 @@ import com.codeborne.selenide.files.DownloadedFile;
 import com.codeborne.selenide.impl.Downloader;
 import com.codeborne.selenide.impl.Downloads;
 import com.codeborne.selenide.impl.HttpHelper;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliDecoder;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
-import org.apache.commons.io.FileUtils;
+import io.netty.handler.codec.http.LastHttpContent;
 import org.jspecify.annotations.Nullable;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_ENCODING;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.IOUtils.closeQuietly;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
-public class FileDownloadFilter implements RequestFilter, ResponseFilter {
+public class FileDownloadFilter extends HttpFiltersSourceAdapter implements RequestFilter, ResponseFilter {
   private static final Logger log = LoggerFactory.getLogger(FileDownloadFilter.class);
 
   private final Config config;
   private final Downloader downloader;
 
   private final HttpHelper httpHelper = new HttpHelper();
-  private boolean active;
+  private volatile boolean active;
   private final Downloads downloads = new Downloads();
   private final List<Response> responses = new CopyOnWriteArrayList<>();
 
@@ -61,6 +82,13 @@ public class FileDownloadFilter implements RequestFilter, ResponseFilter {
     responses.clear();
   }
 
+  /**
+   * @return true if this filter is currently recording downloaded files
+   */
+  public boolean isActive() {
+    return active;
+  }
+
   /**
    * Deactivate this filter.
    * Starting from this moment, it will not record any responses.
@@ -69,41 +97,47 @@ public class FileDownloadFilter implements RequestFilter, ResponseFilter {
     active = false;
   }
 
+  /**
+   * Streaming variant of this filter: the response body is written to file part by part,
+   * while it's being received from the server. Thus, big files don't need to be kept in memory.
+   */
+  @Override
+  public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+    return new StreamingDownload(originalRequest, ctx);
+  }
+
+  /**
+   * Not used: the proxy calls {@link #filterRequest(HttpRequest, ChannelHandlerContext)} instead
+   * (see {@link SelenideProxyServer#addRequestFilter}).
+   */
   @Nullable
   @Override
   public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
-    if (active) {
-      request.headers().set("Accept-Encoding", "identity");
-    }
     return null;
   }
 
+  /**
+   * Not used: the proxy calls {@link #filterRequest(HttpRequest, ChannelHandlerContext)} instead
+   * (see {@link SelenideProxyServer#addResponseFilter}).
+   */
   @Override
   public void filterResponse(HttpResponse response, HttpMessageContents contents, HttpMessageInfo messageInfo) {
-    if (!active) return;
+  }
 
-    Response r = new Response(messageInfo.getUrl(),
+  private Response intercepted(String url, HttpResponse response, @Nullable String contentType) {
+    Response r = new Response(url,
       response.status().code(),
       response.status().reasonPhrase(),
       toMap(response.headers()),
-      contents.getContentType(),
-      contents.getTextContents()
+      contentType
     );
     responses.add(r);
     log.debug("Intercepted response #{}: {}", responses.size(), r);
+    return r;
+  }
 
-    if (response.status().code() < 200 || response.status().code() >= 300) return;
-
-    String fileName = getFileName(r);
-
-    File file = downloader.prepareTargetFile(config, fileName);
-    try {
-      FileUtils.writeByteArrayToFile(file, contents.getBinaryContents());
-      downloads.add(new DownloadedFile(file, r.headers));
-    }
-    catch (IOException e) {
-      log.error("Failed to save downloaded file to {} for url {}", file.getAbsolutePath(), messageInfo.getUrl(), e);
-    }
+  private static boolean isSuccessful(Response response) {
+    return response.code >= 200 && response.code < 300;
   }
 
   private Map<String, String> toMap(HttpHeaders headers) {
@@ -148,28 +182,201 @@ public class FileDownloadFilter implements RequestFilter, ResponseFilter {
     return sb.toString();
   }
 
+  /**
+   * Only metadata of the response: the content is not kept in memory.
+   */
   private static class Response {
     private final String url;
     private final int code;
     private final String reasonPhrase;
+    @Nullable
     private final String contentType;
     private final Map<String, String> headers;
-    private final String content;
+    private volatile long size;
 
     private Response(String url, int code, String reasonPhrase, Map<String, String> headers,
-                     String contentType, String content) {
+                     @Nullable String contentType) {
       this.url = url;
       this.code = code;
       this.reasonPhrase = reasonPhrase;
       this.headers = headers;
       this.contentType = contentType;
-      this.content = content;
     }
 
     @Override
     public String toString() {
       return url + " -> " + code + " \"" + reasonPhrase + "\" " + headers + " " +
-          contentType + " " + " (" + content.length() + " bytes)";
+          contentType + " " + " (" + size + " bytes)";
+    }
+  }
+
+  /**
+   * @return decoder of the given content encoding, or null if the content is not encoded
+   * @throws IllegalArgumentException if the content encoding is not supported
+   */
+  @Nullable
+  static EmbeddedChannel decoder(@Nullable String contentEncoding) {
+    String encoding = contentEncoding == null ? "identity" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+    return switch (encoding) {
+      case "", "identity" -> null;
+      case "gzip", "x-gzip" -> new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.GZIP));
+      case "deflate", "x-deflate" -> new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(ZlibWrapper.ZLIB_OR_NONE));
+      case "br" -> {
+        if (!Brotli.isAvailable()) throw new IllegalArgumentException("Brotli decoder is not available: " + Brotli.cause());
+        yield new EmbeddedChannel(new BrotliDecoder());
+      }
+      default -> throw new IllegalArgumentException("Unsupported Content-Encoding: " + contentEncoding);
+    };
+  }
+
+  /**
+   * Saves body of a successful response to file, decoding it if needed (see {@link #decoder(String)}).
+   * <p>
+   * If the download is not completed (server doesn't respond, connection is closed, the body cannot be decoded etc.),
+   * the partially written file is deleted.
+   */
+  private class StreamingDownload extends HttpsAwareFiltersAdapter {
+    private final ChannelFutureListener connectionClosed = future -> abort();
+    @Nullable
+    private Response response;
+    @Nullable
+    private File file;
+    @Nullable
+    private OutputStream output;
+    @Nullable
+    private EmbeddedChannel decoder;
+
+    private StreamingDownload(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+      super(originalRequest, ctx);
+    }
+
+    @Override
+    public synchronized HttpObject serverToProxyResponse(HttpObject httpObject) {
+      if (httpObject instanceof HttpResponse httpResponse && active) {
+        start(httpResponse);
+      }
+      if (httpObject instanceof HttpContent content && response != null) {
+        write(response, content.content());
+        if (content instanceof LastHttpContent && response != null) {
+          finish(response);
+        }
+      }
+      return httpObject;
+    }
+
+    @Override
+    public synchronized void serverToProxyResponseTimedOut() {
+      abort();
+    }
+
+    @Override
+    public synchronized void proxyToServerConnectionFailed() {
+      abort();
+    }
+
+    private void start(HttpResponse httpResponse) {
+      abort();
+      Response r = intercepted(getOriginalUrl(), httpResponse, httpResponse.headers().get(CONTENT_TYPE));
+      response = r;
+      if (!isSuccessful(r)) return;
+
+      String contentEncoding = httpResponse.headers().get(CONTENT_ENCODING);
+      try {
+        decoder = decoder(contentEncoding);
+      }
+      catch (IllegalArgumentException e) {
+        log.warn("Cannot save downloaded file from {}: {}", r.url, e.getMessage());
+        return;
+      }
+
+      File targetFile = downloader.prepareTargetFile(config, getFileName(r));
+      try {
+        output = new BufferedOutputStream(Files.newOutputStream(targetFile.toPath()));
+        file = targetFile;
+        Channel connection = ctx == null ? null : ctx.channel();
+        if (connection != null) {
+          connection.closeFuture().addListener(connectionClosed);
+        }
+      }
+      catch (IOException e) {
+        log.error("Failed to save downloaded file to {} for url {}", targetFile.getAbsolutePath(), r.url, e);
+      }
+    }
+
+    private void write(Response r, ByteBuf content) {
+      int length = content.readableBytes();
+      r.size += length;
+      if (output != null && length > 0) {
+        try {
+          if (decoder == null) {
+            content.getBytes(content.readerIndex(), output, length);
+          }
+          else {
+            decoder.writeInbound(content.retainedDuplicate());
+            writeDecoded(decoder, output);
+          }
+        }
+        catch (IOException | RuntimeException e) {
+          log.error("Failed to save downloaded file to {} for url {}", file, r.url, e);
+          abort();
+        }
+      }
+    }
+
+    private void writeDecoded(EmbeddedChannel decoder, OutputStream output) throws IOException {
+      for (ByteBuf decoded = decoder.readInbound(); decoded != null; decoded = decoder.readInbound()) {
+        try {
+          decoded.readBytes(output, decoded.readableBytes());
+        }
+        finally {
+          decoded.release();
+        }
+      }
+    }
+
+    private void finish(Response r) {
+      if (output != null && file != null) {
+        try {
+          if (decoder != null) {
+            decoder.finish();
+            writeDecoded(decoder, output);
+          }
+          output.close();
+          downloads.add(new DownloadedFile(file, r.headers));
+          log.debug("Saved {} bytes from {} to {}", r.size, r.url, file);
+        }
+        catch (IOException | RuntimeException e) {
+          log.error("Failed to save downloaded file to {} for url {}", file.getAbsolutePath(), r.url, e);
+          abort();
+          return;
+        }
+      }
+      forget();
+    }
+
+    private synchronized void abort() {
+      if (output != null) {
+        closeQuietly(output);
+      }
+      if (file != null) {
+        log.debug("Incomplete download {} deleted", file);
+        deleteQuietly(file);
+      }
+      forget();
+    }
+
+    private void forget() {
+      if (decoder != null) {
+        decoder.finishAndReleaseAll();
+      }
+      Channel connection = ctx == null ? null : ctx.channel();
+      if (connection != null && file != null) {
+        connection.closeFuture().removeListener(connectionClosed);
+      }
+      response = null;
+      output = null;
+      file = null;
+      decoder = null;
     }
   }
 }
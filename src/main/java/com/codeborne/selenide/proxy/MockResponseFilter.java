@@ -1,6 +1,5 @@
 package com.codeborne.selenide.proxy;
 
-import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.util.HttpMessageContents;
 import com.browserup.bup.util.HttpMessageInfo;
 import io.netty.buffer.ByteBuf;
@@ -15,8 +14,8 @@ import org.openqa.selenium.remote.http.HttpResponse;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import static io.netty.buffer.Unpooled.wrappedBuffer;
@@ -26,12 +25,21 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 /**
  * Selenide proxy filter allowing to mock any response
+ * <p>
+ * Request bodies are aggregated in memory only if some of the registered mocks needs them
+ * (see {@link RequestMatcher#needsBody()}). When such a mock is registered, connections opened without
+ * aggregation are closed, so that the mock gets request bodies also for keep-alive connections and CONNECT tunnels
+ * opened before.
+ * <p>
+ * Mocks are indexed by http method and url (see {@link RequestMatcherIndex}),
+ * so that hundreds of registered mocks don't slow down every request going through the proxy.
  */
-public class MockResponseFilter implements RequestFilter {
+public class MockResponseFilter extends StreamingRequestFilter {
   private static final int HTTP_STATUS_OK = 200;
   private static final byte[] EMPTY_RESPONSE = new byte[0];
 
-  private final Map<String, ResponseMock> mocks = new LinkedHashMap<>();
+  private final Map<String, ResponseMock> mocks = new ConcurrentHashMap<>();
+  private final RequestMatcherIndex<ResponseMock> index = new RequestMatcherIndex<>();
 
   /**
    * See {@link #mockBytes(String, RequestMatcher, Supplier)}
@@ -70,10 +78,14 @@ public class MockResponseFilter implements RequestFilter {
   }
 
   public void mockResponse(String name, RequestMatcher requestMatcher, Supplier<HttpResponse> mockedResponse) {
-    if (mocks.containsKey(name)) {
+    ResponseMock mock = new ResponseMock(name, mockedResponse);
+    if (mocks.putIfAbsent(name, mock) != null) {
       throw new IllegalArgumentException("Response filter already registered: " + name);
     }
-    mocks.put(name, new ResponseMock(name, requestMatcher, mockedResponse));
+    index.add(requestMatcher, mock);
+    if (requestMatcher.needsBody()) {
+      closeStreamingConnections();
+    }
   }
 
   /**
@@ -82,9 +94,11 @@ public class MockResponseFilter implements RequestFilter {
    * @param name the unique name under which the mock was registered.
    */
   public void reset(String name) {
-    if (mocks.remove(name) == null) {
+    ResponseMock mock = mocks.remove(name);
+    if (mock == null) {
       throw new IllegalArgumentException("Response filter was not registered: " + name);
     }
+    index.remove(mock);
   }
 
   /**
@@ -92,21 +106,25 @@ public class MockResponseFilter implements RequestFilter {
    */
   public void resetAll() {
     mocks.clear();
+    index.clear();
+  }
+
+  @Override
+  protected boolean needsRequestBody() {
+    return index.anyOtherMatcher(RequestMatcher::needsBody);
   }
 
   @Override
   public io.netty.handler.codec.http.@Nullable HttpResponse filterRequest(
     HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo
   ) {
-    for (ResponseMock mock : mocks.values()) {
-      if (mock.requestMatcher.match(request, contents, messageInfo)) {
-        return request.method().equals(OPTIONS) ?
-          mockOptionsRequest(request, mock) :
-          mockRequest(request, mock);
-      }
+    ResponseMock mock = index.find(request, contents, messageInfo);
+    if (mock == null) {
+      return null;
     }
-
-    return null;
+    return request.method().equals(OPTIONS) ?
+      mockOptionsRequest(request, mock) :
+      mockRequest(request, mock);
   }
 
   private DefaultFullHttpResponse mockOptionsRequest(HttpRequest request, ResponseMock mock) {
@@ -150,12 +168,10 @@ public class MockResponseFilter implements RequestFilter {
 
   private static final class ResponseMock {
     private final String name;
-    private final RequestMatcher requestMatcher;
     private final Supplier<HttpResponse> mockedResponse;
 
-    private ResponseMock(String name, RequestMatcher requestMatcher, Supplier<HttpResponse> mockedResponse) {
+    private ResponseMock(String name, Supplier<HttpResponse> mockedResponse) {
       this.name = name;
-      this.requestMatcher = requestMatcher;
       this.mockedResponse = mockedResponse;
     }
   }
@@ -0,0 +1,70 @@
+package com.codeborne.selenide.proxy;
+
+import com.codeborne.selenide.PropertiesReader;
+import org.jspecify.annotations.Nullable;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Additional settings of Selenide proxy.
+ * Can be set by system properties or in "selenide.properties" file.
+ */
+public class ProxyConfiguration {
+  private final PropertiesReader properties = new PropertiesReader("selenide.properties");
+
+  /**
+   * Whether proxy should cache static resources (scripts, styles, fonts, images) on disk
+   * and serve them to all browsers started in this JVM.
+   * Disabled by default.
+   *
+   * @see StaticAssetCacheFilter
+   */
+  public boolean staticCacheEnabled() {
+    return properties.getBoolean("selenide.proxy.cache.enabled", false);
+  }
+
+  /**
+   * Folder where cached static resources are stored.
+   * By default, a new temporary folder is created for every JVM.
+   *
+   * @return null if the folder is not configured
+   */
+  @Nullable
+  public File staticCacheFolder() {
+    String folder = properties.getProperty("selenide.proxy.cache.folder", "");
+    return folder.isBlank() ? null : new File(folder);
+  }
+
+  /**
+   * Max total size of cached resources (in bytes).
+   * When exceeded, the least recently used resources are evicted.
+   */
+  public long staticCacheMaxSize() {
+    return properties.getLong("selenide.proxy.cache.maxSize", 512L * 1024 * 1024);
+  }
+
+  /**
+   * Regular expression for urls of static resources.
+   * Responses with other urls are cached only if their content type is a script, style, font or image.
+   */
+  public String staticCacheUrlPattern() {
+    return properties.getProperty("selenide.proxy.cache.urlPattern",
+      ".+\\.(js|mjs|css|woff2?|ttf|otf|eot|png|jpe?g|gif|svg|ico|webp|avif)(\\?.*)?");
+  }
+
+  /**
+   * Comma-separated list of requests which should be blocked by proxy,
+   * e.g. "google-analytics.com,doubleclick.net,example.com/ads/".
+   * Empty by default.
+   *
+   * @see RequestBlockingFilter
+   */
+  public List<String> blockedUrls() {
+    return Stream.of(properties.getProperty("selenide.proxy.blockedUrls", "").split(","))
+      .map(String::trim)
+      .filter(url -> !url.isEmpty())
+      .toList();
+  }
+}
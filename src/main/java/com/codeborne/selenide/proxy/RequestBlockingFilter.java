@@ -0,0 +1,231 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpMethod.CONNECT;
+import static io.netty.handler.codec.http.HttpResponseStatus.valueOf;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ROOT;
+
+/**
+ * Selenide proxy filter which blocks requests to third-party services (analytics, chat widgets, ads etc.)
+ * that only slow down page loading in tests.
+ * <p>
+ * Blocked requests don't reach the server: proxy immediately returns an empty "204 No Content" response
+ * or a canned response given in {@link #block(String, int, String, String)}.
+ * <p>
+ * Rule is a host name optionally followed by a path prefix, e.g. "google-analytics.com" or "example.com/ads/".
+ * Host name matches itself and all its subdomains: "google-analytics.com" blocks "www.google-analytics.com" too.
+ * Rules are indexed by host name, so checking a request costs a few hash lookups
+ * (one per domain level of request host) regardless of the number of rules.
+ * <p>
+ * Initial rules are read from {@link ProxyConfiguration#blockedUrls()}.
+ */
+public class RequestBlockingFilter extends StreamingRequestFilter {
+  private static final int HTTP_STATUS_NO_CONTENT = 204;
+
+  private final List<String> initialRules;
+  private final Map<String, Rule> rules = new LinkedHashMap<>();
+  private volatile Map<String, List<Rule>> rulesByHost = Map.of();
+
+  public RequestBlockingFilter() {
+    this(new ProxyConfiguration().blockedUrls());
+  }
+
+  RequestBlockingFilter(List<String> blockedUrls) {
+    initialRules = List.copyOf(blockedUrls);
+    initialRules.forEach(this::block);
+  }
+
+  /**
+   * Block all requests matching the rule with an empty "204 No Content" response.
+   *
+   * @param rule host name optionally followed by path prefix, e.g. "doubleclick.net" or "example.com/tracking/"
+   */
+  public void block(String rule) {
+    block(rule, HTTP_STATUS_NO_CONTENT, null, "");
+  }
+
+  /**
+   * Block all requests matching the rule with given response
+   *
+   * @param rule        host name optionally followed by path prefix, e.g. "doubleclick.net" or "example.com/tracking/"
+   * @param status      http status of response
+   * @param contentType "Content-Type" header of response (can be null)
+   * @param body        response body
+   */
+  public synchronized void block(String rule, int status, @Nullable String contentType, String body) {
+    Rule parsed = Rule.parse(rule, status, contentType, body.getBytes(UTF_8));
+    if (rules.putIfAbsent(parsed.name, parsed) != null) {
+      throw new IllegalArgumentException("Blocking rule already registered: " + parsed.name);
+    }
+    reindex();
+  }
+
+  /**
+   * Stop blocking requests matching the rule
+   */
+  public synchronized void unblock(String rule) {
+    String name = Rule.normalize(rule);
+    if (rules.remove(name) == null) {
+      throw new IllegalArgumentException("Blocking rule was not registered: " + name);
+    }
+    reindex();
+  }
+
+  /**
+   * Remove all blocking rules
+   */
+  public synchronized void unblockAll() {
+    rules.clear();
+    reindex();
+  }
+
+  /**
+   * Remove rules added at runtime and restore the initial rules (given in {@link ProxyConfiguration#blockedUrls()}).
+   * Hits are reset too.
+   */
+  public synchronized void restoreInitialRules() {
+    rules.clear();
+    initialRules.forEach(this::block);
+  }
+
+  /**
+   * @return number of blocked requests for every rule (in order of registration)
+   */
+  public synchronized Map<String, Long> hits() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    rules.forEach((name, rule) -> result.put(name, rule.hits.sum()));
+    return result;
+  }
+
+  private void reindex() {
+    Map<String, List<Rule>> index = new HashMap<>();
+    for (Rule rule : rules.values()) {
+      index.computeIfAbsent(rule.host, host -> new ArrayList<>()).add(rule);
+    }
+    // the most specific (longest) path prefix wins
+    index.values().forEach(list -> list.sort(Comparator.comparingInt((Rule rule) -> rule.path.length()).reversed()));
+    rulesByHost = index;
+  }
+
+  @Nullable
+  @Override
+  public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+    Map<String, List<Rule>> index = rulesByHost;
+    if (index.isEmpty() || request.method().equals(CONNECT)) {
+      return null;
+    }
+    Rule rule = findRule(index, messageInfo.getUrl());
+    if (rule == null) {
+      return null;
+    }
+    rule.hits.increment();
+    return response(request, rule);
+  }
+
+  @Nullable
+  private static Rule findRule(Map<String, List<Rule>> index, String url) {
+    int hostStart = url.indexOf("://");
+    hostStart = hostStart < 0 ? 0 : hostStart + 3;
+    int hostEnd = hostStart;
+    while (hostEnd < url.length() && "/?#:".indexOf(url.charAt(hostEnd)) < 0) {
+      hostEnd++;
+    }
+    int pathStart = url.indexOf('/', hostEnd);
+    String host = url.substring(hostStart, hostEnd).toLowerCase(ROOT);
+    String path = pathStart < 0 ? "/" : url.substring(pathStart);
+
+    for (String domain = host; ; ) {
+      List<Rule> candidates = index.get(domain);
+      if (candidates != null) {
+        for (Rule rule : candidates) {
+          if (path.startsWith(rule.path)) {
+            return rule;
+          }
+        }
+      }
+      int dot = domain.indexOf('.');
+      if (dot < 0) {
+        return null;
+      }
+      domain = domain.substring(dot + 1);
+    }
+  }
+
+  private static DefaultFullHttpResponse response(HttpRequest request, Rule rule) {
+    HttpHeaders headers = new DefaultHttpHeaders()
+      .add("Content-Length", rule.body.length)
+      .add("Access-Control-Allow-Origin", "*")
+      .add("X-Blocked-By", rule.name);
+    if (rule.contentType != null) {
+      headers.add("Content-Type", rule.contentType);
+    }
+    return new DefaultFullHttpResponse(request.protocolVersion(), valueOf(rule.status), wrappedBuffer(rule.body),
+      headers, EmptyHttpHeaders.INSTANCE);
+  }
+
+  private static final class Rule {
+    private final String name;
+    private final String host;
+    private final String path;
+    private final int status;
+    @Nullable
+    private final String contentType;
+    private final byte[] body;
+    private final LongAdder hits = new LongAdder();
+
+    private Rule(String name, String host, String path, int status, @Nullable String contentType, byte[] body) {
+      this.name = name;
+      this.host = host;
+      this.path = path;
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+    }
+
+    static Rule parse(String rule, int status, @Nullable String contentType, byte[] body) {
+      String name = normalize(rule);
+      int slash = name.indexOf('/');
+      String host = slash < 0 ? name : name.substring(0, slash);
+      String path = slash < 0 ? "/" : name.substring(slash);
+      if (host.isEmpty()) {
+        throw new IllegalArgumentException("Blocking rule should start with host name: " + rule);
+      }
+      return new Rule(name, host, path, status, contentType, body);
+    }
+
+    /**
+     * "https://*.example.com/ads" -> "example.com/ads"
+     */
+    static String normalize(String rule) {
+      String result = rule.trim();
+      int scheme = result.indexOf("://");
+      if (scheme >= 0) {
+        result = result.substring(scheme + 3);
+      }
+      if (result.startsWith("*.")) {
+        result = result.substring(2);
+      }
+      int slash = result.indexOf('/');
+      return slash < 0 ? result.toLowerCase(ROOT) : result.substring(0, slash).toLowerCase(ROOT) + result.substring(slash);
+    }
+  }
+}
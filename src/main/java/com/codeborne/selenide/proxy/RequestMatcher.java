@@ -17,6 +17,14 @@ public interface RequestMatcher {
 
   boolean match(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo);
 
+  /**
+   * @return false if this matcher checks only request method, url and headers - but not the request body.
+   * Then the proxy doesn't need to aggregate request bodies in memory.
+   */
+  default boolean needsBody() {
+    return true;
+  }
+
   static boolean methodMatches(HttpRequest request, HttpMethod method) {
     return request.method().name().equalsIgnoreCase(method.name()) ||
       request.method().name().equalsIgnoreCase(HttpMethod.OPTIONS.name());
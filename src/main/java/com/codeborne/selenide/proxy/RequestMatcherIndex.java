@@ -0,0 +1,172 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import com.codeborne.selenide.proxy.RequestMatcher.HttpMethod;
+import com.codeborne.selenide.proxy.RequestMatchers.UrlMatcher;
+import io.netty.handler.codec.http.HttpRequest;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+import static java.util.Locale.ROOT;
+
+/**
+ * Finds the first (in order of registration) value whose {@link RequestMatcher} matches the request.
+ * <p>
+ * Matchers created by {@link RequestMatchers#urlEquals} and {@link RequestMatchers#urlStartsWith}
+ * are indexed by http method + url: exact urls in a hash map, prefixes in a trie.
+ * Thus, finding them costs O(url length) regardless of the number of registered matchers.
+ * Only other matchers (regex, custom predicates etc.) are checked one by one.
+ */
+final class RequestMatcherIndex<T> {
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+  private final Map<HttpMethod, Map<String, List<Entry<T>>>> exactUrls = new EnumMap<>(HttpMethod.class);
+  private final Map<HttpMethod, TrieNode<T>> urlPrefixes = new EnumMap<>(HttpMethod.class);
+  private final List<Entry<T>> others = new ArrayList<>();
+  private long sequence;
+
+  void add(RequestMatcher matcher, T value) {
+    lock.writeLock().lock();
+    try {
+      Entry<T> entry = new Entry<>(++sequence, matcher, value);
+      entries.put(value, entry);
+      entriesFor(entry).add(entry);
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(T value) {
+    lock.writeLock().lock();
+    try {
+      Entry<T> entry = entries.remove(value);
+      if (entry != null) {
+        entriesFor(entry).remove(entry);
+      }
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void clear() {
+    lock.writeLock().lock();
+    try {
+      entries.clear();
+      exactUrls.clear();
+      urlPrefixes.clear();
+      others.clear();
+    }
+    finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private List<Entry<T>> entriesFor(Entry<T> entry) {
+    if (entry.matcher() instanceof UrlMatcher urlMatcher) {
+      return urlMatcher.prefix() ?
+        urlPrefixes.computeIfAbsent(urlMatcher.method(), method -> new TrieNode<>()).node(urlMatcher.url()).entries :
+        exactUrls.computeIfAbsent(urlMatcher.method(), method -> new HashMap<>())
+          .computeIfAbsent(urlMatcher.url(), url -> new ArrayList<>());
+    }
+    return others;
+  }
+
+  /**
+   * @return true if any of non-indexed matchers satisfies the condition
+   */
+  boolean anyOtherMatcher(Predicate<RequestMatcher> condition) {
+    lock.readLock().lock();
+    try {
+      return others.stream().anyMatch(entry -> condition.test(entry.matcher()));
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Nullable
+  T find(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+    lock.readLock().lock();
+    try {
+      Entry<T> found = findIndexed(request, messageInfo.getUrl());
+      for (Entry<T> entry : others) {
+        if (found != null && entry.sequence() > found.sequence()) break;
+        if (entry.matcher().match(request, contents, messageInfo)) return entry.value();
+      }
+      return found == null ? null : found.value();
+    }
+    finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  @Nullable
+  private Entry<T> findIndexed(HttpRequest request, String url) {
+    Entry<T> found = null;
+    for (HttpMethod method : matchingMethods(request)) {
+      Map<String, List<Entry<T>>> exact = exactUrls.get(method);
+      if (exact != null) {
+        found = first(found, exact.get(url));
+      }
+      TrieNode<T> node = urlPrefixes.get(method);
+      for (int i = 0; node != null; i++) {
+        found = first(found, node.entries);
+        node = i < url.length() ? node.children.get(url.charAt(i)) : null;
+      }
+    }
+    return found;
+  }
+
+  /**
+   * See {@link RequestMatcher#methodMatches}: OPTIONS request matches any method.
+   */
+  private static Set<HttpMethod> matchingMethods(HttpRequest request) {
+    String name = request.method().name().toUpperCase(ROOT);
+    if (name.equals(HttpMethod.OPTIONS.name())) {
+      return EnumSet.allOf(HttpMethod.class);
+    }
+    try {
+      return EnumSet.of(HttpMethod.valueOf(name));
+    }
+    catch (IllegalArgumentException unsupportedMethod) {
+      return EnumSet.noneOf(HttpMethod.class);
+    }
+  }
+
+  @Nullable
+  private static <T> Entry<T> first(@Nullable Entry<T> found, @Nullable List<Entry<T>> candidates) {
+    if (candidates == null || candidates.isEmpty()) return found;
+    Entry<T> candidate = candidates.get(0);
+    return found == null || candidate.sequence() < found.sequence() ? candidate : found;
+  }
+
+  private record Entry<T>(long sequence, RequestMatcher matcher, T value) {
+  }
+
+  private static final class TrieNode<T> {
+    private final Map<Character, TrieNode<T>> children = new HashMap<>();
+    private final List<Entry<T>> entries = new ArrayList<>();
+
+    private TrieNode<T> node(String prefix) {
+      TrieNode<T> node = this;
+      for (int i = 0; i < prefix.length(); i++) {
+        node = node.children.computeIfAbsent(prefix.charAt(i), c -> new TrieNode<>());
+      }
+      return node;
+    }
+  }
+}
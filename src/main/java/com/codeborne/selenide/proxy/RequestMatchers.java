@@ -1,6 +1,9 @@
 package com.codeborne.selenide.proxy;
 
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
 import com.codeborne.selenide.proxy.RequestMatcher.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
 
 import java.util.function.Function;
 import java.util.regex.Pattern;
@@ -9,11 +12,11 @@ import static com.codeborne.selenide.proxy.RequestMatcher.methodMatches;
 
 public class RequestMatchers {
   public static RequestMatcher urlEquals(HttpMethod method, String url) {
-    return urlMatcher(method, requestUrl -> requestUrl.equals(url));
+    return new UrlMatcher(method, url, false);
   }
 
   public static RequestMatcher urlStartsWith(HttpMethod method, String url) {
-    return urlMatcher(method, requestUrl -> requestUrl.startsWith(url));
+    return new UrlMatcher(method, url, true);
   }
 
   public static RequestMatcher urlEndsWith(HttpMethod method, String url) {
@@ -33,8 +36,35 @@ public class RequestMatchers {
   }
 
   public static RequestMatcher urlMatcher(HttpMethod method, Function<String, Boolean> urlMatches) {
-    return (request, contents, messageInfo) ->
-      methodMatches(request, method) &&
-        urlMatches.apply(messageInfo.getUrl());
+    return new RequestMatcher() {
+      @Override
+      public boolean match(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+        return methodMatches(request, method) &&
+          urlMatches.apply(messageInfo.getUrl());
+      }
+
+      @Override
+      public boolean needsBody() {
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Matches request method and url (exact or prefix).
+   * Unlike other matchers, it can be indexed by {@link RequestMatcherIndex}.
+   */
+  record UrlMatcher(HttpMethod method, String url, boolean prefix) implements RequestMatcher {
+    @Override
+    public boolean match(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+      String requestUrl = messageInfo.getUrl();
+      return methodMatches(request, method) &&
+        (prefix ? requestUrl.startsWith(url) : requestUrl.equals(url));
+    }
+
+    @Override
+    public boolean needsBody() {
+      return false;
+    }
   }
 }
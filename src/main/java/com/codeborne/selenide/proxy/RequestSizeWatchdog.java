@@ -1,15 +1,28 @@
 package com.codeborne.selenide.proxy;
 
+import com.browserup.bup.filters.HttpsAwareFiltersAdapter;
 import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.util.HttpMessageContents;
 import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
 import org.jspecify.annotations.Nullable;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class RequestSizeWatchdog implements RequestFilter {
+/**
+ * Warns about too large requests.
+ * <p>
+ * Works as a streaming filter (see {@link SelenideProxyServer#addRequestFilter}): it only counts the request size,
+ * so it doesn't need the whole request body in memory.
+ */
+public class RequestSizeWatchdog extends HttpFiltersSourceAdapter implements RequestFilter {
   private static final Logger log = LoggerFactory.getLogger(RequestSizeWatchdog.class);
 
   int threshold = 2 * 1024 * 1024; // 2 MB
@@ -19,8 +32,29 @@ public class RequestSizeWatchdog implements RequestFilter {
   public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
     if (contents.getBinaryContents().length > threshold) {
       log.warn("Too large request {}: {} bytes", messageInfo.getUrl(), contents.getBinaryContents().length);
-      log.trace("Request content: {}", contents.getTextContents());
     }
     return null;
   }
+
+  @Override
+  public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+    return new HttpsAwareFiltersAdapter(originalRequest, ctx) {
+      private long size;
+
+      @Nullable
+      @Override
+      public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+        if (httpObject instanceof HttpContent content) {
+          size += content.content().readableBytes();
+          if (content instanceof LastHttpContent) {
+            if (size > threshold) {
+              log.warn("Too large request {}: {} bytes", getOriginalUrl(), size);
+            }
+            size = 0;
+          }
+        }
+        return null;
+      }
+    };
+  }
 }
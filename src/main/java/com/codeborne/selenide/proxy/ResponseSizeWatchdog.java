@@ -1,13 +1,27 @@
 package com.codeborne.selenide.proxy;
 
+import com.browserup.bup.filters.HttpsAwareFiltersAdapter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.browserup.bup.util.HttpMessageContents;
 import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ResponseSizeWatchdog implements ResponseFilter {
+/**
+ * Warns about too large responses.
+ * <p>
+ * Works as a streaming filter (see {@link SelenideProxyServer#addResponseFilter}): it only counts the response size,
+ * so it doesn't need the whole response body in memory.
+ */
+public class ResponseSizeWatchdog extends HttpFiltersSourceAdapter implements ResponseFilter {
   private static final Logger log = LoggerFactory.getLogger(ResponseSizeWatchdog.class);
 
   private final int threshold = 4 * 1024 * 1024; // 4 MB
@@ -16,7 +30,27 @@ public class ResponseSizeWatchdog implements ResponseFilter {
   public void filterResponse(HttpResponse response, HttpMessageContents contents, HttpMessageInfo messageInfo) {
     if (contents.getBinaryContents().length > threshold) {
       log.warn("Too large response {}: {} bytes", messageInfo.getUrl(), contents.getBinaryContents().length);
-      log.trace("Response content: {}", contents.getTextContents());
     }
   }
+
+  @Override
+  public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+    return new HttpsAwareFiltersAdapter(originalRequest, ctx) {
+      private long size;
+
+      @Override
+      public HttpObject serverToProxyResponse(HttpObject httpObject) {
+        if (httpObject instanceof HttpContent content) {
+          size += content.content().readableBytes();
+          if (content instanceof LastHttpContent) {
+            if (size > threshold) {
+              log.warn("Too large response {}: {} bytes", getOriginalUrl(), size);
+            }
+            size = 0;
+          }
+        }
+        return httpObject;
+      }
+    };
+  }
 }
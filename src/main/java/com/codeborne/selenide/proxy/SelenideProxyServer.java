@@ -6,6 +6,7 @@ import com.browserup.bup.filters.RequestFilter;
 import com.browserup.bup.filters.ResponseFilter;
 import com.codeborne.selenide.Config;
 import org.jspecify.annotations.Nullable;
+import org.littleshoot.proxy.HttpFiltersSource;
 import org.openqa.selenium.Proxy;
 import org.openqa.selenium.net.DefaultNetworkInterfaceProvider;
 import org.openqa.selenium.net.NetworkInterface;
@@ -16,13 +17,16 @@ import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import static com.browserup.bup.client.ClientUtil.getConnectableAddress;
 import static java.lang.Integer.parseInt;
+import static java.util.Collections.newSetFromMap;
 import static java.util.Objects.requireNonNull;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
@@ -44,6 +48,9 @@ public class SelenideProxyServer {
   private final BrowserUpProxy proxy;
   private final Map<String, RequestFilter> requestFilters = new HashMap<>();
   private final Map<String, ResponseFilter> responseFilters = new HashMap<>();
+  private final Set<HttpFiltersSource> streamingFilters = newSetFromMap(new IdentityHashMap<>());
+  private Set<String> builtInRequestFilters = Set.of();
+  private Set<String> builtInResponseFilters = Set.of();
   private int port;
 
   /**
@@ -78,7 +85,9 @@ public class SelenideProxyServer {
   /**
    * Start the server
    * <p>
-   * It automatically adds one response filter "download" that can intercept downloaded files.
+   * It automatically adds one response filter "download" that can intercept downloaded files,
+   * and request filter "requestBlocker" that blocks requests configured by {@link ProxyConfiguration#blockedUrls()}.
+   * If enabled by {@link ProxyConfiguration#staticCacheEnabled()}, it also adds filter "staticAssetCache".
    */
   public void start() {
     proxy.setTrustAllServers(true);
@@ -93,22 +102,42 @@ public class SelenideProxyServer {
     FileDownloadFilter downloadFilter = new FileDownloadFilter(config);
 
     addRequestFilter("mockResponse", new MockResponseFilter());
+    addRequestFilter("requestBlocker", new RequestBlockingFilter());
     addRequestFilter("authentication", new AuthenticationFilter());
     addRequestFilter("requestSizeWatchdog", new RequestSizeWatchdog());
     addResponseFilter("responseSizeWatchdog", new ResponseSizeWatchdog());
     addRequestFilter("download", downloadFilter);
     addResponseFilter("download", downloadFilter);
+    if (new ProxyConfiguration().staticCacheEnabled()) {
+      StaticAssetCacheFilter cacheFilter = new StaticAssetCacheFilter(downloadFilter::isActive);
+      addRequestFilter("staticAssetCache", cacheFilter);
+      addResponseFilter("staticAssetCache", cacheFilter);
+    }
+    builtInRequestFilters = Set.copyOf(requestFilters.keySet());
+    builtInResponseFilters = Set.copyOf(responseFilters.keySet());
 
     proxy.start(config.proxyPort());
     port = proxy.getPort();
   }
 
+  /**
+   * @return true if request or response filters have been added after the server start (e.g. by a test).
+   * Such filters cannot be removed from the proxy.
+   */
+  public boolean hasCustomFilters() {
+    return !builtInRequestFilters.containsAll(requestFilters.keySet()) ||
+           !builtInResponseFilters.containsAll(responseFilters.keySet());
+  }
+
   public boolean isStarted() {
     return proxy.isStarted();
   }
 
   /**
    * Add a custom request filter which allows to track/modify all requests from browser to server
+   * <p>
+   * If the filter is also a {@link HttpFiltersSource}, it's registered as a streaming filter:
+   * it receives messages part by part, and their bodies are not aggregated in memory.
    *
    * @param name          unique name of filter
    * @param requestFilter the filter
@@ -119,13 +148,21 @@ public class SelenideProxyServer {
       throw new IllegalArgumentException("Duplicate request filter: " + name);
     }
     if (currentFilter == null) {
-      proxy.addRequestFilter(requestFilter);
+      if (requestFilter instanceof HttpFiltersSource streamingFilter) {
+        addStreamingFilter(streamingFilter);
+      }
+      else {
+        proxy.addRequestFilter(requestFilter);
+      }
       requestFilters.put(name, requestFilter);
     }
   }
 
   /**
    * Add a custom response filter which allows to track/modify all server responses to browser
+   * <p>
+   * If the filter is also a {@link HttpFiltersSource}, it's registered as a streaming filter:
+   * it receives messages part by part, and their bodies are not aggregated in memory.
    *
    * @param name           unique name of filter
    * @param responseFilter the filter
@@ -136,11 +173,25 @@ public class SelenideProxyServer {
       throw new IllegalArgumentException("Duplicate response filter: " + name);
     }
     if (currentFilter == null) {
-      proxy.addResponseFilter(responseFilter);
+      if (responseFilter instanceof HttpFiltersSource streamingFilter) {
+        addStreamingFilter(streamingFilter);
+      }
+      else {
+        proxy.addResponseFilter(responseFilter);
+      }
       responseFilters.put(name, responseFilter);
     }
   }
 
+  /**
+   * The same filter can be both request and response filter, but must be registered in proxy only once.
+   */
+  private void addStreamingFilter(HttpFiltersSource streamingFilter) {
+    if (streamingFilters.add(streamingFilter)) {
+      proxy.addLastHttpFilterFactory(streamingFilter);
+    }
+  }
+
   static InetSocketAddress getProxyAddress(Proxy proxy) {
     String httpProxy = proxy.getHttpProxy();
     String host = REGEX_HOST_NAME.matcher(httpProxy).replaceFirst("$1");
@@ -188,6 +239,13 @@ public class SelenideProxyServer {
    * Stop the server
    */
   public void shutdown() {
+    RequestBlockingFilter requestBlocker = requestFilter("requestBlocker");
+    if (requestBlocker != null && log.isInfoEnabled()) {
+      Map<String, Long> hits = requestBlocker.hits();
+      if (hits.values().stream().anyMatch(count -> count > 0)) {
+        log.info("Blocked requests: {}", hits);
+      }
+    }
     if (proxy.isStarted()) {
       try {
         proxy.stop();
@@ -234,4 +292,8 @@ public class SelenideProxyServer {
   public MockResponseFilter responseMocker() {
     return requireNonNull(requestFilter("mockResponse"));
   }
+
+  public RequestBlockingFilter requestBlocker() {
+    return requireNonNull(requestFilter("requestBlocker"));
+  }
 }
@@ -0,0 +1,225 @@
+package com.codeborne.selenide.proxy;
+
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.currentTimeMillis;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+
+/**
+ * JVM-wide disk storage of static resources (scripts, styles, fonts, images) cached by {@link StaticAssetCacheFilter}.
+ * <p>
+ * Content of resources is stored in files, only their headers are kept in memory.
+ * Total size of stored resources is bounded: the least recently used resources are evicted.
+ * <p>
+ * The cache deletes only files which it has created itself, so the folder can be shared with other JVMs
+ * (e.g. forked test processes). By default, every JVM uses its own temporary folder.
+ */
+public class StaticAssetCache {
+  private static final Logger log = LoggerFactory.getLogger(StaticAssetCache.class);
+  /**
+   * Cached resource is read into memory when it's served from cache, so big resources are not cached.
+   */
+  private static final long MAX_ASSET_SIZE = 16L * 1024 * 1024;
+
+  @Nullable
+  private static StaticAssetCache instance;
+
+  /**
+   * @return the cache shared by all proxies (and thus all browsers) in this JVM
+   */
+  public static synchronized StaticAssetCache getInstance() {
+    if (instance == null) {
+      ProxyConfiguration configuration = new ProxyConfiguration();
+      StaticAssetCache cache = new StaticAssetCache(configuration.staticCacheFolder(), configuration.staticCacheMaxSize());
+      Runtime.getRuntime().addShutdownHook(new Thread(cache::dispose, "selenide-proxy-cache-cleanup"));
+      instance = cache;
+    }
+    return instance;
+  }
+
+  private final File folder;
+  private final boolean temporaryFolder;
+  private final long maxSize;
+  private final Map<String, Asset> assets = new LinkedHashMap<>(16, 0.75f, true);
+  private long size;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * @param folder where to store resources, or null to create a new temporary folder
+   */
+  StaticAssetCache(@Nullable File folder, long maxSize) {
+    this.folder = folder != null ? folder : createTemporaryFolder();
+    this.temporaryFolder = folder == null;
+    this.maxSize = maxSize;
+  }
+
+  private static File createTemporaryFolder() {
+    try {
+      return Files.createTempDirectory("selenide-proxy-cache").toFile();
+    }
+    catch (IOException e) {
+      throw new IllegalStateException("Failed to create folder for proxy cache", e);
+    }
+  }
+
+  /**
+   * @return the cached resource (fresh or stale), or null if it's not cached (yet)
+   */
+  @Nullable
+  synchronized Asset get(String url) {
+    Asset asset = assets.get(url);
+    if (asset == null || !asset.file().exists()) {
+      if (asset != null) remove(url);
+      return null;
+    }
+    return asset;
+  }
+
+  /**
+   * Register that a resource was served from cache
+   */
+  void hit() {
+    hits.incrementAndGet();
+  }
+
+  /**
+   * Register that a cacheable resource was not found in cache and will be downloaded from server
+   */
+  void missed() {
+    misses.incrementAndGet();
+  }
+
+  /**
+   * @return a new temporary file where the resource content should be written before {@link #put(String, File, Map)}
+   */
+  File newTemporaryFile() throws IOException {
+    Files.createDirectories(folder.toPath());
+    return Files.createTempFile(folder.toPath(), "asset", ".tmp").toFile();
+  }
+
+  /**
+   * Maximum size of one resource. Bigger resources are not cached.
+   */
+  long maxAssetSize() {
+    return Math.min(maxSize / 4, MAX_ASSET_SIZE);
+  }
+
+  /**
+   * @param content   file with the resource content created by {@link #newTemporaryFile()}. The cache takes it over.
+   * @param headers   http headers that should be returned with the cached resource
+   * @param expiresAt time until which the resource can be served without revalidation
+   */
+  void put(String url, File content, Map<String, String> headers, long expiresAt) {
+    long length = content.length();
+    if (length > maxAssetSize()) {
+      deleteQuietly(content);
+      return;
+    }
+    synchronized (this) {
+      Asset previous = assets.put(url, new Asset(content, length, headers, expiresAt));
+      if (previous != null) {
+        size -= previous.size();
+        deleteQuietly(previous.file());
+      }
+      size += length;
+      evictIfNeeded();
+    }
+    log.debug("Cached {} ({} bytes)", url, length);
+  }
+
+  /**
+   * Server has confirmed that the cached resource is still valid ("304 Not Modified")
+   *
+   * @param headers   new http headers (e.g. "Cache-Control", "Expires", "ETag") to replace the cached ones
+   * @param expiresAt new time until which the resource can be served without revalidation
+   */
+  synchronized void refresh(String url, Map<String, String> headers, long expiresAt) {
+    Asset asset = assets.get(url);
+    if (asset != null) {
+      Map<String, String> updatedHeaders = new LinkedHashMap<>(asset.headers());
+      updatedHeaders.keySet().removeIf(name -> headers.keySet().stream().anyMatch(name::equalsIgnoreCase));
+      updatedHeaders.putAll(headers);
+      assets.put(url, new Asset(asset.file(), asset.size(), updatedHeaders, expiresAt));
+      log.debug("Revalidated {}", url);
+    }
+  }
+
+  private void evictIfNeeded() {
+    Iterator<Map.Entry<String, Asset>> eldest = assets.entrySet().iterator();
+    while (size > maxSize && eldest.hasNext()) {
+      Map.Entry<String, Asset> entry = eldest.next();
+      eldest.remove();
+      size -= entry.getValue().size();
+      deleteQuietly(entry.getValue().file());
+      evictions.incrementAndGet();
+      log.debug("Evicted {} from cache", entry.getKey());
+    }
+  }
+
+  private void remove(String url) {
+    Asset asset = assets.remove(url);
+    if (asset != null) {
+      size -= asset.size();
+      deleteQuietly(asset.file());
+    }
+  }
+
+  /**
+   * Remove all cached resources
+   */
+  public synchronized void clear() {
+    assets.values().forEach(asset -> deleteQuietly(asset.file()));
+    assets.clear();
+    size = 0;
+  }
+
+  /**
+   * Remove all cached resources and the temporary folder (if the cache has created it)
+   */
+  synchronized void dispose() {
+    clear();
+    if (temporaryFolder) {
+      deleteQuietly(folder);
+    }
+  }
+
+  public synchronized Stats stats() {
+    return new Stats(hits.get(), misses.get(), evictions.get(), assets.size(), size);
+  }
+
+  record Asset(File file, long size, Map<String, String> headers, long expiresAt) {
+    boolean isFresh() {
+      return currentTimeMillis() < expiresAt;
+    }
+
+    @Nullable
+    String header(String name) {
+      return headers.entrySet().stream()
+        .filter(header -> header.getKey().equalsIgnoreCase(name))
+        .map(Map.Entry::getValue)
+        .findFirst().orElse(null);
+    }
+  }
+
+  /**
+   * @param hits      number of requests served from cache
+   * @param misses    number of requests for cacheable resources which were not found in cache
+   * @param evictions number of resources evicted due to size limit
+   * @param count     number of currently cached resources
+   * @param size      total size (in bytes) of currently cached resources
+   */
+  public record Stats(long hits, long misses, long evictions, int count, long size) {
+  }
+}
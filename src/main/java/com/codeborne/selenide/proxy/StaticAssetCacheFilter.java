@@ -0,0 +1,402 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.filters.HttpsAwareFiltersAdapter;
+import com.browserup.bup.filters.RequestFilter;
+import com.browserup.bup.filters.ResponseFilter;
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import com.codeborne.selenide.proxy.StaticAssetCache.Asset;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.DateFormatter;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.jspecify.annotations.Nullable;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpHeaderNames.AUTHORIZATION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CACHE_CONTROL;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_DISPOSITION;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
+import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpHeaderNames.ETAG;
+import static io.netty.handler.codec.http.HttpHeaderNames.EXPIRES;
+import static io.netty.handler.codec.http.HttpHeaderNames.IF_MODIFIED_SINCE;
+import static io.netty.handler.codec.http.HttpHeaderNames.IF_NONE_MATCH;
+import static io.netty.handler.codec.http.HttpHeaderNames.LAST_MODIFIED;
+import static io.netty.handler.codec.http.HttpHeaderNames.SET_COOKIE;
+import static io.netty.handler.codec.http.HttpHeaderNames.VARY;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static java.lang.System.currentTimeMillis;
+import static java.util.Locale.ROOT;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.apache.commons.io.IOUtils.closeQuietly;
+
+/**
+ * Proxy filter which caches static resources (scripts, styles, fonts, images) in {@link StaticAssetCache}
+ * and serves them from the cache to all browsers.
+ * <p>
+ * Every new browser starts with an empty http cache, so without this filter every test
+ * downloads the same big scripts, fonts and images from the server again.
+ * <p>
+ * A response is cached if
+ * <ul>
+ *   <li>it's a successful (200) response to a GET request without "Authorization" header,</li>
+ *   <li>its url matches {@link ProxyConfiguration#staticCacheUrlPattern()} or its content type is a script, style, font or image,</li>
+ *   <li>its "Cache-Control" header doesn't forbid caching ("no-store", "private"),</li>
+ *   <li>it's fresh for some time ("Cache-Control: max-age" or "Expires"), or can be revalidated ("ETag" or "Last-Modified"),</li>
+ *   <li>it doesn't set cookies and doesn't vary by anything except "Accept-Encoding",</li>
+ *   <li>it's not an attachment ("Content-Disposition: attachment").</li>
+ * </ul>
+ * A fresh resource is served from cache. A stale one (or with "Cache-Control: no-cache") is revalidated
+ * with "If-None-Match" / "If-Modified-Since" request: if the server responds "304 Not Modified", the cached
+ * resource is returned to the browser, otherwise the new response replaces it in cache.
+ * <p>
+ * The cache is bypassed (nothing is served from cache, revalidated or cached) while the "bypass" condition is true -
+ * e.g. while {@link FileDownloadFilter} intercepts downloaded files: it needs to see the real server response.
+ * <p>
+ * Response body is written to disk part by part, it's not aggregated in memory.
+ * Disabled by default, see {@link ProxyConfiguration#staticCacheEnabled()}.
+ */
+public class StaticAssetCacheFilter extends HttpFiltersSourceAdapter implements RequestFilter, ResponseFilter {
+  private static final Logger log = LoggerFactory.getLogger(StaticAssetCacheFilter.class);
+  private static final Set<String> FORBIDDING_DIRECTIVES = Set.of("no-store", "private");
+  private static final Set<String> NOT_CACHED_HEADERS = Set.of("transfer-encoding", "connection", "keep-alive", "date", "age");
+  private static final Set<String> REVALIDATED_HEADERS = Set.of("cache-control", "expires", "etag", "last-modified");
+
+  private final StaticAssetCache cache;
+  private final Pattern urlPattern;
+  private final BooleanSupplier bypass;
+
+  public StaticAssetCacheFilter() {
+    this(() -> false);
+  }
+
+  /**
+   * @param bypass while it returns true, requests go to the server as if there was no cache
+   */
+  public StaticAssetCacheFilter(BooleanSupplier bypass) {
+    this(StaticAssetCache.getInstance(), Pattern.compile(new ProxyConfiguration().staticCacheUrlPattern()), bypass);
+  }
+
+  StaticAssetCacheFilter(StaticAssetCache cache, Pattern urlPattern) {
+    this(cache, urlPattern, () -> false);
+  }
+
+  StaticAssetCacheFilter(StaticAssetCache cache, Pattern urlPattern, BooleanSupplier bypass) {
+    this.cache = cache;
+    this.urlPattern = urlPattern;
+    this.bypass = bypass;
+  }
+
+  public StaticAssetCache.Stats stats() {
+    return cache.stats();
+  }
+
+  @Nullable
+  @Override
+  public HttpResponse filterRequest(HttpRequest request, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+    return null;
+  }
+
+  @Override
+  public void filterResponse(HttpResponse response, HttpMessageContents contents, HttpMessageInfo messageInfo) {
+  }
+
+  @Override
+  public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+    return new CachingFilter(originalRequest, ctx);
+  }
+
+  boolean isCacheableRequest(HttpRequest request) {
+    return request.method().equals(GET) && !request.headers().contains(AUTHORIZATION);
+  }
+
+  boolean isCacheableResponse(String url, HttpResponse response) {
+    if (!response.status().equals(OK)) return false;
+    HttpHeaders headers = response.headers();
+    if (headers.contains(SET_COOKIE)) return false;
+    if (headers.get(CONTENT_DISPOSITION, "").toLowerCase(ROOT).trim().startsWith("attachment")) return false;
+
+    String vary = headers.get(VARY);
+    if (vary != null && !vary.trim().equalsIgnoreCase("accept-encoding")) return false;
+
+    String cacheControl = headers.get(CACHE_CONTROL, "").toLowerCase(ROOT);
+    for (String directive : cacheControl.split(",")) {
+      if (FORBIDDING_DIRECTIVES.contains(directive.trim())) return false;
+    }
+    long now = currentTimeMillis();
+    if (expiresAt(headers, now) <= now && !headers.contains(ETAG) && !headers.contains(LAST_MODIFIED)) return false;
+
+    return urlPattern.matcher(url).matches() || isStaticContentType(headers.get(CONTENT_TYPE));
+  }
+
+  /**
+   * @return time until which the response can be used without revalidation
+   * (based on "Cache-Control: max-age / s-maxage / no-cache" and "Expires" headers)
+   */
+  static long expiresAt(HttpHeaders headers, long now) {
+    String cacheControl = headers.get(CACHE_CONTROL, "").toLowerCase(ROOT);
+    for (String value : cacheControl.split(",")) {
+      String directive = value.trim();
+      if (directive.equals("no-cache")) return now;
+      if (directive.startsWith("max-age=") || directive.startsWith("s-maxage=")) {
+        try {
+          return now + 1000 * Long.parseLong(directive.substring(directive.indexOf('=') + 1).replace("\"", ""));
+        }
+        catch (NumberFormatException e) {
+          return now;
+        }
+      }
+    }
+    String expires = headers.get(EXPIRES);
+    Date expiresDate = expires == null ? null : DateFormatter.parseHttpDate(expires);
+    return expiresDate == null ? now : expiresDate.getTime();
+  }
+
+  private static boolean isStaticContentType(@Nullable String contentType) {
+    if (contentType == null) return false;
+    String type = contentType.toLowerCase(ROOT);
+    return type.startsWith("text/css") || type.contains("javascript") ||
+      type.startsWith("font/") || type.startsWith("image/");
+  }
+
+  private static Map<String, String> headersToCache(HttpHeaders headers) {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (Map.Entry<String, String> header : headers) {
+      if (!NOT_CACHED_HEADERS.contains(header.getKey().toLowerCase(ROOT))) {
+        result.put(header.getKey(), header.getValue());
+      }
+    }
+    return result;
+  }
+
+  private static Map<String, String> revalidatedHeaders(HttpHeaders headers) {
+    Map<String, String> result = new LinkedHashMap<>();
+    for (Map.Entry<String, String> header : headers) {
+      if (REVALIDATED_HEADERS.contains(header.getKey().toLowerCase(ROOT))) {
+        result.put(header.getKey(), header.getValue());
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Add "If-None-Match" / "If-Modified-Since" headers, unless the browser has already sent its own ones
+   *
+   * @return true if the request has been turned into a revalidation of the cached resource
+   */
+  private static boolean addValidators(HttpRequest request, Asset asset) {
+    HttpHeaders headers = request.headers();
+    if (headers.contains(IF_NONE_MATCH) || headers.contains(IF_MODIFIED_SINCE)) return false;
+
+    String etag = asset.header(ETAG.toString());
+    String lastModified = asset.header(LAST_MODIFIED.toString());
+    if (etag != null) headers.set(IF_NONE_MATCH, etag);
+    if (lastModified != null) headers.set(IF_MODIFIED_SINCE, lastModified);
+    return etag != null || lastModified != null;
+  }
+
+  @Nullable
+  private static ByteBuf readContent(Asset asset) {
+    try {
+      return wrappedBuffer(Files.readAllBytes(asset.file().toPath()));
+    }
+    catch (IOException e) {
+      log.debug("Failed to read cached {}: {}", asset.file(), e.toString());
+      return null;
+    }
+  }
+
+  private static HttpHeaders cachedHeaders(Asset asset, int contentLength) {
+    HttpHeaders headers = new DefaultHttpHeaders();
+    asset.headers().forEach(headers::add);
+    headers.set(CONTENT_LENGTH, contentLength);
+    headers.set("X-Selenide-Cache", "HIT");
+    return headers;
+  }
+
+  private class CachingFilter extends HttpsAwareFiltersAdapter {
+    @Nullable
+    private String url;
+    @Nullable
+    private Asset revalidated;
+    @Nullable
+    private ByteBuf revalidatedContent;
+    @Nullable
+    private File file;
+    @Nullable
+    private OutputStream output;
+    private long size;
+    private long expiresAt;
+    private Map<String, String> headers = Map.of();
+
+    private CachingFilter(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+      super(originalRequest, ctx);
+    }
+
+    @Nullable
+    @Override
+    public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+      if (httpObject instanceof HttpRequest request && !bypass.getAsBoolean() && isCacheableRequest(request)) {
+        String requestUrl = getFullUrl(request);
+        Asset asset = cache.get(requestUrl);
+        if (asset != null && asset.isFresh()) {
+          ByteBuf content = readContent(asset);
+          if (content != null) {
+            cache.hit();
+            log.debug("Served {} from cache", requestUrl);
+            return new DefaultFullHttpResponse(request.protocolVersion(), OK, content,
+              cachedHeaders(asset, content.readableBytes()), EmptyHttpHeaders.INSTANCE);
+          }
+        }
+        else if (asset != null && addValidators(request, asset)) {
+          log.debug("Revalidate cached {}", requestUrl);
+          revalidated = asset;
+        }
+        url = requestUrl;
+      }
+      return null;
+    }
+
+    @Override
+    public HttpObject serverToProxyResponse(HttpObject httpObject) {
+      if (httpObject instanceof HttpResponse response && url != null) {
+        if (revalidated != null && response.status().equals(NOT_MODIFIED)) {
+          return notModified(url, revalidated, response);
+        }
+        start(url, response);
+      }
+      if (httpObject instanceof LastHttpContent && revalidatedContent != null) {
+        ByteBuf content = revalidatedContent;
+        revalidatedContent = null;
+        return new DefaultLastHttpContent(content);
+      }
+      if (httpObject instanceof HttpContent content && output != null) {
+        write(output, content.content());
+        if (content instanceof LastHttpContent) {
+          finish();
+        }
+      }
+      return httpObject;
+    }
+
+    /**
+     * Server has confirmed that the cached resource is still valid, so return it to the browser
+     * (which didn't ask for revalidation and expects a full response)
+     */
+    private HttpObject notModified(String requestUrl, Asset asset, HttpResponse response) {
+      url = null;
+      revalidated = null;
+      cache.refresh(requestUrl, revalidatedHeaders(response.headers()), expiresAt(response.headers(), currentTimeMillis()));
+      Asset refreshed = cache.get(requestUrl);
+      Asset cached = refreshed != null ? refreshed : asset;
+      ByteBuf content = readContent(cached);
+      if (content == null) {
+        log.warn("Failed to read revalidated {} from cache", requestUrl);
+        return response;
+      }
+      cache.hit();
+      HttpHeaders responseHeaders = cachedHeaders(cached, content.readableBytes());
+      if (response instanceof FullHttpResponse) {
+        return new DefaultFullHttpResponse(response.protocolVersion(), OK, content, responseHeaders, EmptyHttpHeaders.INSTANCE);
+      }
+      revalidatedContent = content;
+      return new DefaultHttpResponse(response.protocolVersion(), OK, responseHeaders);
+    }
+
+    @Override
+    public void serverToProxyResponseTimedOut() {
+      abort();
+    }
+
+    private void start(String requestUrl, HttpResponse response) {
+      revalidated = null;
+      if (!isCacheableResponse(requestUrl, response)) {
+        url = null;
+        return;
+      }
+      cache.missed();
+      try {
+        file = cache.newTemporaryFile();
+        output = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+        headers = headersToCache(response.headers());
+        expiresAt = expiresAt(response.headers(), currentTimeMillis());
+      }
+      catch (IOException e) {
+        log.warn("Failed to create cache file for {}: {}", requestUrl, e.toString());
+        abort();
+      }
+    }
+
+    private void write(OutputStream out, ByteBuf content) {
+      int length = content.readableBytes();
+      size += length;
+      if (size > cache.maxAssetSize()) {
+        abort();
+        return;
+      }
+      try {
+        content.getBytes(content.readerIndex(), out, length);
+      }
+      catch (IOException e) {
+        log.warn("Failed to write cache file {}: {}", file, e.toString());
+        abort();
+      }
+    }
+
+    private void finish() {
+      try {
+        if (output != null) output.close();
+        if (url != null && file != null) cache.put(url, file, headers, expiresAt);
+      }
+      catch (IOException e) {
+        log.warn("Failed to write cache file {}: {}", file, e.toString());
+        deleteQuietly(file);
+      }
+      output = null;
+      file = null;
+      url = null;
+    }
+
+    private void abort() {
+      if (revalidatedContent != null) {
+        revalidatedContent.release();
+        revalidatedContent = null;
+      }
+      closeQuietly(output);
+      deleteQuietly(file);
+      output = null;
+      file = null;
+      url = null;
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.filters.HttpsAwareFiltersAdapter;
+import com.browserup.bup.filters.RequestFilter;
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.EmptyHttpHeaders;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
+import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import org.jspecify.annotations.Nullable;
+import org.littleshoot.proxy.HttpFilters;
+import org.littleshoot.proxy.HttpFiltersSourceAdapter;
+
+import static com.codeborne.selenide.proxy.BrowserUpProxyServerUnlimited.MAX_FILE_SIZE;
+import static io.netty.buffer.Unpooled.EMPTY_BUFFER;
+import static io.netty.handler.codec.http.HttpMethod.CONNECT;
+import static java.lang.Boolean.TRUE;
+
+/**
+ * Request filter which is called as soon as request headers are received.
+ * <p>
+ * Unlike a plain {@link RequestFilter}, it doesn't force proxy to aggregate every request body in memory.
+ * Only if {@link #needsRequestBody()} returns true, the proxy aggregates requests, and the filter gets full request body.
+ * Otherwise, the filter gets request with empty body.
+ * <p>
+ * NB! The proxy decides whether to aggregate request bodies when a connection is opened.
+ * When the filter starts needing request bodies, it should call {@link #closeStreamingConnections()}:
+ * it closes idle connections (including CONNECT tunnels) which have been opened without aggregation,
+ * and the browser re-opens them. Connections with a request in progress are not interrupted:
+ * their current response gets header "Connection: close", so the browser closes them after the response.
+ */
+public abstract class StreamingRequestFilter extends HttpFiltersSourceAdapter implements RequestFilter {
+  private static final AttributeKey<Boolean> REQUEST_IN_PROGRESS = AttributeKey.valueOf("selenide.requestInProgress");
+  private static final AttributeKey<Boolean> CLOSE_AFTER_RESPONSE = AttributeKey.valueOf("selenide.closeAfterResponse");
+
+  private final ChannelGroup streamingConnections = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+
+  /**
+   * @return true if this filter currently needs request body (e.g. to check it or to modify it).
+   * NB! It's checked when a new connection is opened, not for every request.
+   */
+  protected boolean needsRequestBody() {
+    return false;
+  }
+
+  @Override
+  public int getMaximumRequestBufferSizeInBytes() {
+    return needsRequestBody() ? MAX_FILE_SIZE : 0;
+  }
+
+  /**
+   * Close connections which don't aggregate request bodies.
+   * Connections with a request in progress are closed after the response.
+   */
+  protected void closeStreamingConnections() {
+    for (Channel connection : streamingConnections) {
+      if (TRUE.equals(connection.attr(REQUEST_IN_PROGRESS).get())) {
+        connection.attr(CLOSE_AFTER_RESPONSE).set(true);
+      }
+      else {
+        connection.close();
+      }
+    }
+  }
+
+  int streamingConnectionsCount() {
+    return streamingConnections.size();
+  }
+
+  @Override
+  public HttpFilters filterRequest(HttpRequest originalRequest, ChannelHandlerContext ctx) {
+    if (!(originalRequest instanceof FullHttpRequest)) {
+      streamingConnections.add(ctx.channel());
+    }
+    return new HttpsAwareFiltersAdapter(originalRequest, ctx) {
+      @Nullable
+      @Override
+      public HttpResponse clientToProxyRequest(HttpObject httpObject) {
+        if (httpObject instanceof HttpRequest request) {
+          if (!CONNECT.equals(request.method())) {
+            ctx.channel().attr(REQUEST_IN_PROGRESS).set(true);
+          }
+          HttpMessageContents contents = new HttpMessageContents(withBody(request));
+          HttpMessageInfo messageInfo = new HttpMessageInfo(originalRequest, ctx, isHttps(), getFullUrl(request), getOriginalUrl());
+          return StreamingRequestFilter.this.filterRequest(request, contents, messageInfo);
+        }
+        return null;
+      }
+
+      @Override
+      public HttpObject proxyToClientResponse(HttpObject httpObject) {
+        Channel connection = ctx.channel();
+        if (httpObject instanceof HttpResponse response && TRUE.equals(connection.attr(CLOSE_AFTER_RESPONSE).get())) {
+          HttpUtil.setKeepAlive(response, false);
+        }
+        if (httpObject instanceof LastHttpContent) {
+          connection.attr(REQUEST_IN_PROGRESS).set(false);
+        }
+        return httpObject;
+      }
+    };
+  }
+
+  private static FullHttpRequest withBody(HttpRequest request) {
+    return request instanceof FullHttpRequest fullRequest ? fullRequest :
+      new DefaultFullHttpRequest(request.protocolVersion(), request.method(), request.uri(), EMPTY_BUFFER,
+        request.headers(), EmptyHttpHeaders.INSTANCE);
+  }
+}
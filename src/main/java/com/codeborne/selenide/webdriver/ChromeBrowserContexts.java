@@ -0,0 +1,201 @@
+package com.codeborne.selenide.webdriver;
+
+import com.codeborne.selenide.PropertiesReader;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Runs many isolated browser sessions inside one Chrome process.
+ * <p>
+ * Instead of launching a new Chrome for every webdriver, the first webdriver launches a "host" Chrome.
+ * Every webdriver then gets its own CDP browser context (like an incognito profile: separate cookies,
+ * local storage and cache) with a tab in it, and a lightweight chromedriver session attached to that tab.
+ * Thus, parallel threads share one Chrome process, but don't see each other's cookies.
+ * <p>
+ * Every webdriver sees only the tabs of its own context ({@code getWindowHandles()} is filtered by browser context).
+ * <p>
+ * Limitations:
+ * <ul>
+ *   <li>all webdrivers must have the same Chrome settings (headless, arguments, binary etc.):
+ *   the host Chrome is launched with settings of the first webdriver,</li>
+ *   <li>browser size and position are shared by all contexts,</li>
+ *   <li>local Chrome only (not remote).</li>
+ * </ul>
+ * Disabled by default. Can be enabled by system property or setting "selenide.chrome.browserContexts=true"
+ * in "selenide.properties".
+ */
+class ChromeBrowserContexts {
+  private static final Logger log = LoggerFactory.getLogger(ChromeBrowserContexts.class);
+  private static final ChromeBrowserContexts instance = new ChromeBrowserContexts();
+
+  static ChromeBrowserContexts instance() {
+    return instance;
+  }
+
+  static boolean enabled() {
+    return new PropertiesReader("selenide.properties").getBoolean("selenide.chrome.browserContexts", false);
+  }
+
+  @Nullable
+  private ChromeDriver host;
+  @Nullable
+  private String debuggerAddress;
+  @Nullable
+  private Object hostSettings;
+  private boolean shutdownHookRegistered;
+
+  /**
+   * @param hostLauncher    launches the host Chrome if it's not launched yet (or has died)
+   * @param settings        settings of this webdriver which cannot differ from settings of the host Chrome
+   *                        (headless, arguments, binary etc.)
+   * @param proxy           proxy for this context (e.g. Selenide proxy of this webdriver)
+   * @param downloadsFolder folder for files downloaded in this context
+   * @throws IllegalStateException if the host Chrome has been launched with other settings
+   */
+  synchronized BrowserContext create(Supplier<ChromeDriver> hostLauncher, Object settings,
+                                     @Nullable Proxy proxy, @Nullable File downloadsFolder) {
+    ChromeDriver browser = host(hostLauncher, settings);
+
+    Map<String, Object> contextParams = new HashMap<>();
+    contextParams.put("disposeOnDetach", false);
+    if (proxy != null && proxy.getHttpProxy() != null) {
+      contextParams.put("proxyServer", proxy.getHttpProxy());
+      if (proxy.getNoProxy() != null) {
+        contextParams.put("proxyBypassList", proxy.getNoProxy());
+      }
+    }
+    String contextId = (String) browser.executeCdpCommand("Target.createBrowserContext", contextParams).get("browserContextId");
+    String targetId = (String) browser.executeCdpCommand("Target.createTarget",
+      Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+
+    if (downloadsFolder != null) {
+      browser.executeCdpCommand("Browser.setDownloadBehavior", Map.of(
+        "behavior", "allow",
+        "downloadPath", downloadsFolder.getAbsolutePath(),
+        "browserContextId", contextId,
+        "eventsEnabled", true
+      ));
+    }
+    log.debug("Created browser context {} with tab {}", contextId, targetId);
+    return new BrowserContext(contextId, targetId, requireNonNull(debuggerAddress));
+  }
+
+  /**
+   * Closes all tabs of the context and deletes its cookies, storage and cache
+   */
+  synchronized void dispose(BrowserContext context) {
+    if (host == null) return;
+    try {
+      host.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", context.id()));
+      log.debug("Disposed browser context {}", context.id());
+    }
+    catch (WebDriverException e) {
+      log.warn("Failed to dispose browser context {}: {}", context.id(), e.toString());
+    }
+  }
+
+  /**
+   * @return ids of targets (tabs) of the given browser context. Chromedriver uses them as window handles.
+   */
+  static Set<String> targetsOf(ChromeDriver browser, String contextId) {
+    List<?> targets = (List<?>) browser.executeCdpCommand("Target.getTargets", Map.of()).get("targetInfos");
+    Set<String> result = new LinkedHashSet<>();
+    if (targets != null) {
+      for (Object target : targets) {
+        Map<?, ?> targetInfo = (Map<?, ?>) target;
+        if (contextId.equals(targetInfo.get("browserContextId"))) {
+          result.add(String.valueOf(targetInfo.get("targetId")));
+        }
+      }
+    }
+    return result;
+  }
+
+  private ChromeDriver host(Supplier<ChromeDriver> hostLauncher, Object settings) {
+    if (host != null && !isAlive(host)) {
+      log.info("Host Chrome is not running anymore, let's launch a new one");
+      quitSafely(host);
+      host = null;
+    }
+    if (host == null) {
+      ChromeDriver browser = hostLauncher.get();
+      debuggerAddress = debuggerAddress(browser);
+      host = browser;
+      hostSettings = settings;
+      registerShutdownHook();
+      log.info("Launched host Chrome for browser contexts: {}", debuggerAddress);
+    }
+    else if (!Objects.equals(hostSettings, settings)) {
+      throw new IllegalStateException("Cannot create a browser context with settings " + settings +
+        " because the shared Chrome has been launched with other settings: " + hostSettings +
+        ". Either use the same settings for all browsers, or disable \"selenide.chrome.browserContexts\".");
+    }
+    return host;
+  }
+
+  private void registerShutdownHook() {
+    if (!shutdownHookRegistered) {
+      Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "selenide-chrome-host-shutdown"));
+      shutdownHookRegistered = true;
+    }
+  }
+
+  private synchronized void shutdown() {
+    if (host != null) {
+      quitSafely(host);
+      host = null;
+    }
+  }
+
+  private static String debuggerAddress(ChromeDriver browser) {
+    Map<?, ?> chromeOptions = (Map<?, ?>) browser.getCapabilities().getCapability("goog:chromeOptions");
+    Object address = chromeOptions == null ? null : chromeOptions.get("debuggerAddress");
+    if (address == null) {
+      quitSafely(browser);
+      throw new IllegalStateException("Chrome didn't report its debugger address: " + browser.getCapabilities());
+    }
+    return address.toString();
+  }
+
+  private static boolean isAlive(ChromeDriver browser) {
+    try {
+      browser.getWindowHandles();
+      return true;
+    }
+    catch (WebDriverException e) {
+      return false;
+    }
+  }
+
+  private static void quitSafely(ChromeDriver browser) {
+    try {
+      browser.quit();
+    }
+    catch (WebDriverException e) {
+      log.debug("Failed to close host Chrome: {}", e.toString());
+    }
+  }
+
+  /**
+   * @param id              CDP browser context id
+   * @param targetId        id of the tab created in this context (chromedriver uses it as window handle)
+   * @param debuggerAddress address of the host Chrome to attach chromedriver to
+   */
+  record BrowserContext(String id, String targetId, String debuggerAddress) {
+  }
+}
@@ -2,6 +2,7 @@ package com.codeborne.selenide.webdriver;
 
 import com.codeborne.selenide.Browser;
 import com.codeborne.selenide.Config;
+import com.codeborne.selenide.webdriver.ChromeBrowserContexts.BrowserContext;
 import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.Proxy;
@@ -13,10 +14,19 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+import static org.openqa.selenium.remote.CapabilityType.PAGE_LOAD_STRATEGY;
+import static org.openqa.selenium.remote.CapabilityType.PROXY;
+import static org.openqa.selenium.remote.CapabilityType.UNHANDLED_PROMPT_BEHAVIOUR;
 
 public class ChromeDriverFactory extends AbstractChromiumDriverFactory {
   private static final Logger log = LoggerFactory.getLogger(ChromeDriverFactory.class);
@@ -25,11 +35,82 @@ public class ChromeDriverFactory extends AbstractChromiumDriverFactory {
   public WebDriver create(Config config, Browser browser, @Nullable Proxy proxy, @Nullable File browserDownloadsFolder) {
     ChromeOptions chromeOptions = createCapabilities(config, browser, proxy, browserDownloadsFolder);
     log.debug("Chrome options: {}", chromeOptions);
-    return new ChromeDriver(buildService(config), chromeOptions);
+    if (ChromeBrowserContexts.enabled()) {
+      return createInBrowserContext(config, chromeOptions, proxy, browserDownloadsFolder);
+    }
+    return SharedDriverServices.instance().startSession(buildService(config), service -> new ChromeDriver(service, chromeOptions));
+  }
+
+  /**
+   * Instead of launching a new Chrome, create a new browser context in a shared Chrome
+   * and attach a new chromedriver session to it.
+   *
+   * @see ChromeBrowserContexts
+   */
+  private WebDriver createInBrowserContext(Config config, ChromeOptions chromeOptions,
+                                           @Nullable Proxy proxy, @Nullable File browserDownloadsFolder) {
+    ChromeBrowserContexts contexts = ChromeBrowserContexts.instance();
+    BrowserContext context = contexts.create(() -> launchHost(config, chromeOptions), hostSettings(config),
+      proxy, browserDownloadsFolder);
+
+    ChromeOptions attachOptions = new ChromeOptions();
+    attachOptions.setExperimentalOption("debuggerAddress", context.debuggerAddress());
+    attachOptions.setCapability(PAGE_LOAD_STRATEGY, chromeOptions.getCapability(PAGE_LOAD_STRATEGY));
+    attachOptions.setCapability(UNHANDLED_PROMPT_BEHAVIOUR, chromeOptions.getCapability(UNHANDLED_PROMPT_BEHAVIOUR));
+    try {
+      ChromeDriver driver = SharedDriverServices.instance().startSession(buildService(config),
+        service -> new BrowserContextChromeDriver(service, attachOptions, context));
+      driver.switchTo().window(context.targetId());
+      return driver;
+    }
+    catch (RuntimeException e) {
+      contexts.dispose(context);
+      throw e;
+    }
+  }
+
+  /**
+   * Settings which are applied to the whole (shared) Chrome, not to a single browser context
+   */
+  private List<Object> hostSettings(Config config) {
+    return List.of(
+      config.headless(), config.browserBinary(), Objects.toString(config.browserSize()),
+      Objects.toString(config.browserPosition()), Objects.toString(config.browserVersion()),
+      config.browserCapabilities().asMap(),
+      System.getProperty("chromeoptions.args", ""), System.getProperty("chromeoptions.prefs", ""),
+      System.getProperty("chromeoptions.mobileEmulation", "")
+    );
+  }
+
+  private ChromeDriver launchHost(Config config, ChromeOptions chromeOptions) {
+    // every browser context gets its own proxy
+    chromeOptions.setCapability(PROXY, (Object) null);
+    return SharedDriverServices.instance().startSession(buildService(config), service -> new ChromeDriver(service, chromeOptions));
   }
 
   protected ChromeDriverService buildService(Config config) {
-    return withLog(config, new ChromeDriverService.Builder());
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (!services.canShare(config)) {
+      return withLog(config, new ChromeDriverService.Builder());
+    }
+    return services.acquire(serviceKey(config), Integer.MAX_VALUE, () -> (SharedChromeDriverService) new SharedChromeDriverService.Builder().build());
+  }
+
+  @Override
+  public void startDriverService(Config config, Browser browser) {
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (services.canShare(config)) {
+      ChromeOptions options = new ChromeOptions();
+      if (isNotEmpty(config.browserBinary())) {
+        options.setBinary(config.browserBinary());
+      }
+      services.prestart(serviceKey(config), Integer.MAX_VALUE, () -> (SharedChromeDriverService) new SharedChromeDriverService.Builder().build(),
+        service -> SharedDriverServices.start(service, options));
+    }
+  }
+
+  private static String serviceKey(Config config) {
+    return SharedDriverServices.key("chrome", "webdriver.chrome.driver", config);
   }
 
   @Override
@@ -86,4 +167,82 @@ public class ChromeDriverFactory extends AbstractChromiumDriverFactory {
     String mobileEmulation = System.getProperty("chromeoptions.mobileEmulation", "");
     return parsePreferencesFromString(mobileEmulation);
   }
+
+  private static class BrowserContextChromeDriver extends ChromeDriver {
+    private final BrowserContext context;
+
+    private BrowserContextChromeDriver(ChromeDriverService service, ChromeOptions options, BrowserContext context) {
+      super(service, options);
+      this.context = context;
+    }
+
+    /**
+     * Chromedriver attached to the shared Chrome sees tabs of all browser contexts. Let's hide tabs of other contexts.
+     */
+    @Override
+    public Set<String> getWindowHandles() {
+      Set<String> ownTargets = ChromeBrowserContexts.targetsOf(this, context.id());
+      Set<String> handles = new LinkedHashSet<>(super.getWindowHandles());
+      handles.retainAll(ownTargets);
+      return handles;
+    }
+
+    /**
+     * Chromedriver attached to a running Chrome doesn't close it on quit, so we only need to dispose our context
+     */
+    @Override
+    public void quit() {
+      try {
+        super.quit();
+      }
+      finally {
+        ChromeBrowserContexts.instance().dispose(context);
+      }
+    }
+  }
+
+  private static class SharedChromeDriverService extends ChromeDriverService implements SharedDriverServices.SharedService {
+    private volatile boolean started;
+
+    private SharedChromeDriverService(@Nullable File executable, int port, Duration timeout,
+                                      List<String> args, Map<String, String> environment) throws IOException {
+      super(executable, port, timeout, args, environment);
+    }
+
+    @Override
+    public void start() throws IOException {
+      super.start();
+      started = true;
+    }
+
+    @Override
+    public boolean hasStarted() {
+      return started;
+    }
+
+    @Override
+    public void stop() {
+      SharedDriverServices.instance().release(this);
+    }
+
+    @Override
+    public void shutdown() {
+      super.stop();
+    }
+
+    private static class Builder extends ChromeDriverService.Builder {
+      @Override
+      protected ChromeDriverService createDriverService(@Nullable File exe, int port, Duration timeout,
+                                                        List<String> args, Map<String, String> environment) {
+        try {
+          ChromeDriverService service = new SharedChromeDriverService(exe, port, timeout, args, environment);
+          service.sendOutputTo(getLogOutput());
+          return service;
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
 }
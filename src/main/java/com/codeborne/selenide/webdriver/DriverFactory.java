@@ -14,4 +14,11 @@ public interface DriverFactory {
                                          @Nullable Proxy proxy, @Nullable File browserDownloadsFolder);
 
   WebDriver create(Config config, Browser browser, @Nullable Proxy proxy, @Nullable File browserDownloadsFolder);
+
+  /**
+   * Start the local webdriver service (e.g. chromedriver process) in advance, so that {@link #create} doesn't wait for it.
+   * Called in a background thread before {@link #create}. Should not fail.
+   */
+  default void startDriverService(Config config, Browser browser) {
+  }
 }
@@ -12,7 +12,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.openqa.selenium.remote.CapabilityType.ACCEPT_INSECURE_CERTS;
@@ -23,12 +27,32 @@ public class EdgeDriverFactory extends AbstractChromiumDriverFactory {
   @Override
   public WebDriver create(Config config, Browser browser, @Nullable Proxy proxy, @Nullable File browserDownloadsFolder) {
     EdgeOptions options = createCapabilities(config, browser, proxy, browserDownloadsFolder);
-    EdgeDriverService driverService = createDriverService(config);
-    return new EdgeDriver(driverService, options);
+    return SharedDriverServices.instance().startSession(createDriverService(config), service -> new EdgeDriver(service, options));
   }
 
   private EdgeDriverService createDriverService(Config config) {
-    return withLog(config, new EdgeDriverService.Builder());
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (!services.canShare(config)) {
+      return withLog(config, new EdgeDriverService.Builder());
+    }
+    return services.acquire(serviceKey(config), Integer.MAX_VALUE, () -> (SharedEdgeDriverService) new SharedEdgeDriverService.Builder().build());
+  }
+
+  @Override
+  public void startDriverService(Config config, Browser browser) {
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (services.canShare(config)) {
+      EdgeOptions options = new EdgeOptions();
+      if (isNotEmpty(config.browserBinary())) {
+        options.setBinary(config.browserBinary());
+      }
+      services.prestart(serviceKey(config), Integer.MAX_VALUE, () -> (SharedEdgeDriverService) new SharedEdgeDriverService.Builder().build(),
+        service -> SharedDriverServices.start(service, options));
+    }
+  }
+
+  private static String serviceKey(Config config) {
+    return SharedDriverServices.key("edge", "webdriver.edge.driver", config);
   }
 
   @Override
@@ -57,4 +81,49 @@ public class EdgeDriverFactory extends AbstractChromiumDriverFactory {
   protected List<String> createEdgeArguments(Config config) {
     return createChromiumArguments(config, System.getProperty("edgeoptions.args"));
   }
+
+  private static class SharedEdgeDriverService extends EdgeDriverService implements SharedDriverServices.SharedService {
+    private volatile boolean started;
+
+    private SharedEdgeDriverService(@Nullable File executable, int port, Duration timeout,
+                                    List<String> args, Map<String, String> environment) throws IOException {
+      super(executable, port, timeout, args, environment);
+    }
+
+    @Override
+    public void start() throws IOException {
+      super.start();
+      started = true;
+    }
+
+    @Override
+    public boolean hasStarted() {
+      return started;
+    }
+
+    @Override
+    public void stop() {
+      SharedDriverServices.instance().release(this);
+    }
+
+    @Override
+    public void shutdown() {
+      super.stop();
+    }
+
+    private static class Builder extends EdgeDriverService.Builder {
+      @Override
+      protected EdgeDriverService createDriverService(@Nullable File exe, int port, Duration timeout,
+                                                      List<String> args, Map<String, String> environment) {
+        try {
+          EdgeDriverService service = new SharedEdgeDriverService(exe, port, timeout, args, environment);
+          service.sendOutputTo(getLogOutput());
+          return service;
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
 }
@@ -15,8 +15,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -34,7 +37,8 @@ public class FirefoxDriverFactory extends AbstractDriverFactory {
     SessionNotCreatedException failure = null;
     for (int retries = 0; retries < 5; retries++) {
       try {
-        return new FirefoxDriver(createDriverService(config), createCapabilities(config, browser, proxy, browserDownloadsFolder));
+        return SharedDriverServices.instance().startSession(createDriverService(config),
+          service -> new FirefoxDriver(service, createCapabilities(config, browser, proxy, browserDownloadsFolder)));
       }
       catch (SessionNotCreatedException probablyPortAlreadyUsed) {
         log.error("Failed to start firefox", probablyPortAlreadyUsed);
@@ -44,8 +48,33 @@ public class FirefoxDriverFactory extends AbstractDriverFactory {
     throw failure;
   }
 
+  /**
+   * NB! Geckodriver serves only one session at a time,
+   * so the same geckodriver process is reused only after the previous browser is closed.
+   */
   protected GeckoDriverService createDriverService(Config config) {
-    return withLog(config, new GeckoDriverService.Builder());
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (!services.canShare(config)) {
+      return withLog(config, new GeckoDriverService.Builder());
+    }
+    return services.acquire(serviceKey(config), 1, () -> (SharedGeckoDriverService) new SharedGeckoDriverService.Builder().build());
+  }
+
+  @Override
+  public void startDriverService(Config config, Browser browser) {
+    SharedDriverServices services = SharedDriverServices.instance();
+    if (services.canShare(config)) {
+      FirefoxOptions options = new FirefoxOptions();
+      if (isNotEmpty(config.browserBinary())) {
+        options.setBinary(config.browserBinary());
+      }
+      services.prestart(serviceKey(config), 1, () -> (SharedGeckoDriverService) new SharedGeckoDriverService.Builder().build(),
+        service -> SharedDriverServices.start(service, options));
+    }
+  }
+
+  private static String serviceKey(Config config) {
+    return SharedDriverServices.key("firefox", "webdriver.gecko.driver", config);
   }
 
   @Override
@@ -165,4 +194,49 @@ public class FirefoxDriverFactory extends AbstractDriverFactory {
       }
     }
   }
+
+  private static class SharedGeckoDriverService extends GeckoDriverService implements SharedDriverServices.SharedService {
+    private volatile boolean started;
+
+    private SharedGeckoDriverService(@Nullable File executable, int port, Duration timeout,
+                                     List<String> args, Map<String, String> environment) throws IOException {
+      super(executable, port, timeout, args, environment);
+    }
+
+    @Override
+    public void start() throws IOException {
+      super.start();
+      started = true;
+    }
+
+    @Override
+    public boolean hasStarted() {
+      return started;
+    }
+
+    @Override
+    public void stop() {
+      SharedDriverServices.instance().release(this);
+    }
+
+    @Override
+    public void shutdown() {
+      super.stop();
+    }
+
+    private static class Builder extends GeckoDriverService.Builder {
+      @Override
+      protected GeckoDriverService createDriverService(@Nullable File exe, int port, Duration timeout,
+                                                       List<String> args, Map<String, String> environment) {
+        try {
+          GeckoDriverService service = new SharedGeckoDriverService(exe, port, timeout, args, environment);
+          service.sendOutputTo(getLogOutput());
+          return service;
+        }
+        catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    }
+  }
 }
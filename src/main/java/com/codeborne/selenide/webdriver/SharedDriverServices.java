@@ -0,0 +1,288 @@
+package com.codeborne.selenide.webdriver;
+
+import com.codeborne.selenide.Config;
+import com.codeborne.selenide.PropertiesReader;
+import org.jspecify.annotations.Nullable;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.lang.System.currentTimeMillis;
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * JVM-wide registry of running webdriver services (chromedriver, msedgedriver, geckodriver processes).
+ * <p>
+ * Without it, every new browser starts a new webdriver process (which costs resolving the binary,
+ * spawning the process and waiting for its port). With it, a new browser reuses an already running service:
+ * <ul>
+ *   <li>chromedriver and msedgedriver serve any number of sessions simultaneously,</li>
+ *   <li>geckodriver serves only one session at a time, but can be reused by the next session.</li>
+ * </ul>
+ * Services are keyed by their type and the driver binary, and are stopped on JVM exit
+ * (or when found dead by the next {@link #acquire}, even if some sessions are still counted for them).
+ * <p>
+ * Can be disabled by system property or setting "selenide.webdriver.shareService=false" in "selenide.properties".
+ */
+class SharedDriverServices {
+  private static final Logger log = LoggerFactory.getLogger(SharedDriverServices.class);
+  private static final SharedDriverServices instance = new SharedDriverServices();
+  private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+  static SharedDriverServices instance() {
+    return instance;
+  }
+
+  /**
+   * A driver service which doesn't stop on {@code stop()}, but {@link #release returns itself} to the registry.
+   */
+  interface SharedService {
+    boolean isRunning();
+
+    /**
+     * @return false if the service has not been started yet (i.e. it's just created for a new session)
+     */
+    boolean hasStarted();
+
+    /**
+     * Really stop the service
+     */
+    void shutdown();
+  }
+
+  private final Map<String, List<Entry>> services = new HashMap<>();
+  private final ThreadLocal<@Nullable StartingSession> startingSession = new ThreadLocal<>();
+  private boolean shutdownHookRegistered;
+
+  /**
+   * Services are not shared if webdriver logs are enabled (every browser writes its own log file),
+   * or specific browser version is requested (Selenium Manager may need to download the browser and the driver).
+   */
+  boolean canShare(Config config) {
+    return !config.webdriverLogsEnabled() && isBlank(config.browserVersion()) &&
+      new PropertiesReader("selenide.properties").getBoolean("selenide.webdriver.shareService", true);
+  }
+
+  /**
+   * Services are shared only between browsers with the same driver binary and the same browser binary:
+   * driver found by Selenium Manager depends on the browser version.
+   *
+   * @return key of a shared service, e.g. "chrome:/usr/bin/chromedriver:/opt/chrome-beta/chrome"
+   */
+  static String key(String browser, String driverProperty, Config config) {
+    return browser + ":" + System.getProperty(driverProperty, "") + ":" + config.browserBinary();
+  }
+
+  /**
+   * @param key         type of service and binaries, see {@link #key(String, String, Config)}
+   * @param maxSessions how many sessions the service can serve simultaneously
+   * @param factory     creates a new (not started) service
+   * @return a service which is either running, or will be started by the new session
+   */
+  synchronized <T extends SharedService> T acquire(String key, int maxSessions, Supplier<T> factory) {
+    List<Entry> entries = services.computeIfAbsent(key, k -> new ArrayList<>());
+    for (Iterator<Entry> it = entries.iterator(); it.hasNext(); ) {
+      Entry entry = it.next();
+      if (entry.service.hasStarted() && !entry.service.isRunning()) {
+        log.info("Webdriver service {} is not running anymore [sessions: {}]", key, entry.sessions);
+        it.remove();
+        entry.service.shutdown();
+      }
+      else if (entry.sessions < maxSessions) {
+        entry.sessions++;
+        log.debug("Reuse webdriver service {} [sessions: {}]", key, entry.sessions);
+        return cast(entry.service);
+      }
+    }
+
+    T service = factory.get();
+    entries.add(new Entry(service));
+    registerShutdownHook();
+    log.debug("Created webdriver service {} [services: {}]", key, entries.size());
+    return service;
+  }
+
+  /**
+   * Start a new service in advance (e.g. while proxy server is starting), so that the next session doesn't wait for it.
+   * Does nothing if there is already a service which can serve one more session.
+   * Doesn't fail: if the service cannot be started, the next session will try to start its own service.
+   *
+   * @param starter resolves the driver binary and starts the service (see {@link #start(DriverService, Capabilities)})
+   */
+  <T extends SharedService> void prestart(String key, int maxSessions, Supplier<T> factory, Consumer<T> starter) {
+    T service;
+    synchronized (this) {
+      List<Entry> entries = services.computeIfAbsent(key, k -> new ArrayList<>());
+      boolean hasFreeService = entries.stream().anyMatch(entry ->
+        entry.sessions < maxSessions && (!entry.service.hasStarted() || entry.service.isRunning()));
+      if (hasFreeService) return;
+
+      service = factory.get();
+      entries.add(new Entry(service, 0));
+      registerShutdownHook();
+    }
+
+    long start = currentTimeMillis();
+    try {
+      starter.accept(service);
+      log.debug("Started webdriver service {} in advance in {} ms", key, currentTimeMillis() - start);
+    }
+    catch (RuntimeException e) {
+      log.warn("Failed to start webdriver service {} in advance: {}", key, e.toString());
+      removeUnused(key, service);
+    }
+  }
+
+  static void start(DriverService service, Capabilities options) {
+    try {
+      service.setExecutable(new DriverFinder(service, options).getDriverPath());
+      service.start();
+    }
+    catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private synchronized void removeUnused(String key, SharedService service) {
+    List<Entry> entries = services.get(key);
+    if (entries != null && entries.removeIf(entry -> entry.service == service && entry.sessions == 0)) {
+      service.shutdown();
+    }
+  }
+
+  /**
+   * Start a new webdriver session using the given service.
+   * If the session fails to start, the service is stopped (or released, if it's shared) exactly once -
+   * even if webdriver has already stopped it.
+   */
+  <S extends DriverService, D extends WebDriver> D startSession(S service, Function<S, D> sessionFactory) {
+    if (!(service instanceof SharedService sharedService)) {
+      try {
+        return sessionFactory.apply(service);
+      }
+      catch (RuntimeException e) {
+        service.stop();
+        throw e;
+      }
+    }
+
+    StartingSession session = new StartingSession(sharedService);
+    startingSession.set(session);
+    try {
+      return sessionFactory.apply(service);
+    }
+    catch (RuntimeException e) {
+      release(sharedService);
+      throw e;
+    }
+    finally {
+      startingSession.remove();
+    }
+  }
+
+  /**
+   * Called when the session is closed (or failed to start)
+   */
+  synchronized void release(SharedService service) {
+    StartingSession session = startingSession.get();
+    if (session != null && session.service == service) {
+      if (session.released) return;
+      session.released = true;
+    }
+    for (List<Entry> entries : services.values()) {
+      for (Entry entry : entries) {
+        if (entry.service == service) {
+          entry.sessions = Math.max(0, entry.sessions - 1);
+          return;
+        }
+      }
+    }
+    service.shutdown();
+  }
+
+  synchronized int sessions(SharedService service) {
+    return services.values().stream().flatMap(List::stream)
+      .filter(entry -> entry.service == service)
+      .mapToInt(entry -> entry.sessions)
+      .sum();
+  }
+
+  synchronized int size() {
+    return services.values().stream().mapToInt(List::size).sum();
+  }
+
+  synchronized void shutdownAll() {
+    services.values().forEach(entries -> entries.forEach(entry -> entry.service.shutdown()));
+    services.clear();
+  }
+
+  private void registerShutdownHook() {
+    if (!shutdownHookRegistered) {
+      Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownOnExit, "selenide-driver-services-shutdown"));
+      shutdownHookRegistered = true;
+    }
+  }
+
+  /**
+   * Other shutdown hooks may still be closing browsers: give them a chance to end their sessions.
+   */
+  private void shutdownOnExit() {
+    long deadline = currentTimeMillis() + SHUTDOWN_TIMEOUT_MS;
+    while (hasActiveSessions() && currentTimeMillis() < deadline) {
+      try {
+        Thread.sleep(50);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    shutdownAll();
+  }
+
+  private synchronized boolean hasActiveSessions() {
+    return services.values().stream().flatMap(List::stream).anyMatch(entry -> entry.sessions > 0);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T cast(Object value) {
+    return (T) value;
+  }
+
+  private static final class StartingSession {
+    private final SharedService service;
+    private boolean released;
+
+    private StartingSession(SharedService service) {
+      this.service = service;
+    }
+  }
+
+  private static final class Entry {
+    private final SharedService service;
+    private int sessions;
+
+    private Entry(SharedService service) {
+      this(service, 1);
+    }
+
+    private Entry(SharedService service, int sessions) {
+      this.service = service;
+      this.sessions = sessions;
+    }
+  }
+}
@@ -67,6 +67,18 @@ public class WebDriverFactory {
     return webdriver;
   }
 
+  /**
+   * Start the local webdriver service (e.g. chromedriver) in advance, while other things are being prepared
+   * (see {@link DriverFactory#startDriverService}). Does nothing for remote browsers.
+   */
+  public void startDriverService(Config config) {
+    if (config.remote() != null) {
+      return;
+    }
+    Browser browser = new Browser(config.browser(), config.headless());
+    findFactory(browser).startDriverService(config, browser);
+  }
+
   private boolean needBrowserResize(WebDriver webdriver) {
     String browserName = "";
     if (webdriver instanceof HasCapabilities hasCapabilities) {
@@ -0,0 +1,10 @@
+(function(element) {
+  const attributes = import 'get-element-attributes.js';
+  const isDisplayed = (import 'org/openqa/selenium/remote/isDisplayed.js');
+
+  const displayed = !!isDisplayed(element);
+  const selected = !!(element.selected || ((element.type === 'checkbox' || element.type === 'radio') && element.checked));
+  const text = displayed ? (element.innerText || '').trim() : '';
+
+  return {tagName: element.tagName.toLowerCase(), attributes, selected, displayed, text};
+})(arguments[0])
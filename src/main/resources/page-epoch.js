@@ -0,0 +1,17 @@
+(function() {
+  if (!window.__selenideEpoch) {
+    const epoch = {id: Math.random().toString(36).substring(2), changes: 0};
+    const increment = () => epoch.changes++;
+    new MutationObserver(increment).observe(document, {
+      subtree: true, childList: true, attributes: true, characterData: true
+    });
+    document.addEventListener('input', increment, true);
+    document.addEventListener('change', increment, true);
+    window.__selenideEpoch = epoch;
+  }
+  const epoch = window.__selenideEpoch;
+  return [
+    epoch.id, epoch.changes, location.href,
+    window.scrollX, window.scrollY, window.innerWidth, window.innerHeight
+  ].join(':');
+})()
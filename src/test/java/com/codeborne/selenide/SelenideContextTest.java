@@ -0,0 +1,92 @@
+package com.codeborne.selenide;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.codeborne.selenide.ContextLocal.contextLocal;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class SelenideContextTest {
+  private final ThreadLocal<String> value = contextLocal(() -> "initial");
+
+  @Test
+  void outsideOfContext_worksAsThreadLocal() throws Exception {
+    value.set("main thread");
+
+    assertThat(value.get()).isEqualTo("main thread");
+    assertThat(inAnotherThread(value::get)).isEqualTo("initial");
+    assertThat(SelenideContext.current()).isNull();
+  }
+
+  @Test
+  void insideOfContext_keepsValueInContext() {
+    SelenideContext context = SelenideContext.create();
+    value.set("main thread");
+
+    context.run(() -> {
+      assertThat(value.get()).isEqualTo("initial");
+      value.set("context");
+    });
+
+    assertThat(value.get()).isEqualTo("main thread");
+    assertThat(context.call(value::get)).isEqualTo("context");
+  }
+
+  @Test
+  void contextCanMoveBetweenThreads() throws Exception {
+    SelenideContext context = SelenideContext.create();
+
+    inAnotherThread(() -> context.call(() -> {
+      value.set("set in thread 1");
+      return true;
+    }));
+
+    assertThat(inAnotherThread(() -> context.call(value::get))).isEqualTo("set in thread 1");
+  }
+
+  @Test
+  void nestedContexts() {
+    SelenideContext outer = SelenideContext.create();
+    SelenideContext inner = SelenideContext.create();
+
+    outer.run(() -> {
+      value.set("outer");
+      inner.run(() -> {
+        assertThat(SelenideContext.current()).isSameAs(inner);
+        assertThat(value.get()).isEqualTo("initial");
+      });
+      assertThat(SelenideContext.current()).isSameAs(outer);
+      assertThat(value.get()).isEqualTo("outer");
+    });
+    assertThat(SelenideContext.current()).isNull();
+  }
+
+  @Test
+  void close_runsCloseActionsInsideOfContext_andForgetsState() {
+    SelenideContext context = SelenideContext.create();
+    String[] closedWith = new String[1];
+    context.run(() -> {
+      value.set("context");
+      context.onClose(this, () -> closedWith[0] = value.get());
+      context.onClose(this, () -> closedWith[0] = "registered twice");
+    });
+
+    context.close();
+
+    assertThat(closedWith[0]).isEqualTo("context");
+    assertThat(context.call(value::get)).isEqualTo("initial");
+  }
+
+  private static <T> T inAnotherThread(Callable<T> task) throws Exception {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      return executor.submit(task).get();
+    }
+    finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package com.codeborne.selenide;
+
+import com.codeborne.selenide.impl.BrowserEvents;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.util.List;
+import java.util.logging.Level;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class WebDriverLogsTest {
+  private final ChromeDriver webDriver = mock(ChromeDriver.class, RETURNS_DEEP_STUBS);
+  private final Driver driver = mock();
+  private final WebDriverLogs logs = new WebDriverLogs(driver);
+
+  @Test
+  void readsBrowserLogsFromBrowserEvents_inTrackedTab() {
+    subscribeToEventsInTab("tab-1");
+    when(webDriver.getWindowHandle()).thenReturn("tab-1");
+
+    assertThat(logs.logs("browser")).isEmpty();
+    verify(webDriver, never()).manage();
+  }
+
+  @Test
+  void readsBrowserLogsUsingWebdriverApi_inOtherTabs() {
+    subscribeToEventsInTab("tab-1");
+    when(webDriver.getWindowHandle()).thenReturn("tab-2");
+    when(webDriver.manage().logs().get("browser")).thenReturn(new LogEntries(List.of(
+      new LogEntry(Level.SEVERE, 0, "Uncaught Error: boom")
+    )));
+
+    assertThat(logs.logs("browser")).hasSize(1);
+    assertThat(logs.logs("browser").get(0)).contains("Uncaught Error: boom");
+  }
+
+  private void subscribeToEventsInTab(String windowHandle) {
+    when(driver.getWebDriver()).thenReturn(webDriver);
+    when(webDriver.getCapabilities().getBrowserName()).thenReturn("chrome");
+    when(webDriver.getWindowHandle()).thenReturn(windowHandle);
+    assertThat(BrowserEvents.subscribe(webDriver)).isNotNull();
+  }
+}
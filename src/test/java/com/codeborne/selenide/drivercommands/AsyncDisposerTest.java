@@ -0,0 +1,125 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.impl.Disposable;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static java.lang.Thread.currentThread;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+final class AsyncDisposerTest {
+  @Test
+  void disposesInCurrentThread_ifDisabled() {
+    AsyncDisposer disposer = new AsyncDisposer(0, 10, 1000);
+    Thread caller = currentThread();
+    Thread[] disposedIn = new Thread[1];
+
+    disposer.dispose(() -> disposedIn[0] = currentThread());
+
+    assertThat(disposer.isEnabled()).isFalse();
+    assertThat(disposedIn[0]).isSameAs(caller);
+    assertThat(disposer.completed()).isEqualTo(1);
+  }
+
+  @Test
+  void disposesInBackground() throws InterruptedException {
+    AsyncDisposer disposer = new AsyncDisposer(1, 10, 1000);
+    CountDownLatch quitStarted = new CountDownLatch(1);
+    CountDownLatch browserClosed = new CountDownLatch(1);
+
+    disposer.dispose(() -> {
+      quitStarted.countDown();
+      await(browserClosed);
+    });
+
+    quitStarted.await();
+    assertThat(disposer.pending()).isEqualTo(1);
+
+    browserClosed.countDown();
+    assertThat(disposer.flush(1000)).isTrue();
+    assertThat(disposer.pending()).isEqualTo(0);
+    assertThat(disposer.completed()).isEqualTo(1);
+  }
+
+  @Test
+  void disposesInCurrentThread_ifQueueIsFull() {
+    AsyncDisposer disposer = new AsyncDisposer(1, 1, 1000);
+    CountDownLatch browserClosed = new CountDownLatch(1);
+    Thread caller = currentThread();
+    Thread[] disposedIn = new Thread[1];
+
+    disposer.dispose(() -> await(browserClosed));
+    disposer.dispose(() -> await(browserClosed));
+    disposer.dispose(() -> disposedIn[0] = currentThread());
+
+    assertThat(disposedIn[0]).isSameAs(caller);
+    browserClosed.countDown();
+    assertThat(disposer.flush(1000)).isTrue();
+    assertThat(disposer.completed()).isEqualTo(3);
+  }
+
+  @Test
+  void releasesUrgentResourcesInCurrentThread() {
+    AsyncDisposer disposer = new AsyncDisposer(1, 10, 1000);
+    CountDownLatch browserClosed = new CountDownLatch(1);
+    Thread caller = currentThread();
+    Thread[] releasedIn = new Thread[1];
+
+    disposer.dispose(new Disposable() {
+      @Override
+      public void dispose() {
+        await(browserClosed);
+      }
+
+      @Override
+      public void releaseUrgentResources() {
+        releasedIn[0] = currentThread();
+      }
+    });
+
+    assertThat(releasedIn[0]).isSameAs(caller);
+    assertThat(disposer.pending()).isEqualTo(1);
+    browserClosed.countDown();
+    assertThat(disposer.flush(1000)).isTrue();
+  }
+
+  @Test
+  void flushGivesUpAfterTimeout() {
+    AsyncDisposer disposer = new AsyncDisposer(1, 10, 1000);
+    CountDownLatch browserClosed = new CountDownLatch(1);
+    disposer.dispose(() -> await(browserClosed));
+
+    assertThat(disposer.flush(100)).isFalse();
+
+    browserClosed.countDown();
+    assertThat(disposer.flush(1000)).isTrue();
+  }
+
+  @Test
+  void countsFailures() {
+    AsyncDisposer disposer = new AsyncDisposer(1, 10, 1000);
+    Disposable browser = mock();
+    doThrow(new IllegalStateException("proxy failed to stop")).when(browser).dispose();
+
+    disposer.dispose(browser);
+
+    verify(browser, timeout(1000)).dispose();
+    assertThat(disposer.flush(1000)).isTrue();
+    assertThat(disposer.failed()).isEqualTo(1);
+    assertThat(disposer.completed()).isEqualTo(0);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    }
+    catch (InterruptedException e) {
+      currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.Config;
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.impl.WebDriverInstance;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.lang.Thread.currentThread;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class BrowserPoolTest {
+  private final List<WebDriver> launched = new CopyOnWriteArrayList<>();
+  private final BrowserHealthChecker healthChecker = mock();
+  private final ResetBrowserStateCommand resetCommand = mock();
+  private final Config config = new SelenideConfig().browser("chrome");
+
+  @Test
+  void disabledByDefault() {
+    BrowserPool pool = new BrowserPool(0, 10, 1000, this::launch, healthChecker, resetCommand);
+    pool.warmUp(config);
+
+    assertThat(pool.isEnabled()).isFalse();
+    assertThat(pool.lease(config)).isNull();
+    assertThat(launched).isEmpty();
+  }
+
+  @Test
+  void leasesBrowserLaunchedInBackground() {
+    BrowserPool pool = pool(1, 10);
+    pool.warmUp(config);
+
+    WebDriverInstance browser = pool.lease(config);
+
+    assertThat(browser).isNotNull();
+    assertThat(browser.webDriver()).isSameAs(launched.get(0));
+    assertThat(browser.threadId()).isEqualTo(currentThread().getId());
+    verify(healthChecker).isBrowserStillOpen(browser.webDriver());
+  }
+
+  @Test
+  void resetsReleasedBrowserAndGivesItToNextTest() {
+    BrowserPool pool = pool(1, 10);
+    WebDriverInstance browser = pool.lease(config);
+    assertThat(browser).isNotNull();
+
+    assertThat(pool.release(browser)).isTrue();
+    WebDriverInstance nextBrowser = pool.lease(config);
+
+    verify(resetCommand).reset(any());
+    verify(browser.webDriver(), never()).quit();
+    assertThat(nextBrowser).isNotNull();
+    assertThat(launched).contains(nextBrowser.webDriver());
+  }
+
+  @Test
+  void closesBrowserAfterMaxUses() {
+    BrowserPool pool = pool(1, 1);
+    WebDriverInstance browser = pool.lease(config);
+    assertThat(browser).isNotNull();
+
+    assertThat(pool.release(browser)).isTrue();
+
+    verify(browser.webDriver(), timeout(1000)).quit();
+    verify(resetCommand, never()).reset(any());
+  }
+
+  @Test
+  void closesBrowserWhichCannotBeReset() {
+    BrowserPool pool = pool(1, 10);
+    WebDriverInstance browser = pool.lease(config);
+    assertThat(browser).isNotNull();
+    doThrow(new IllegalStateException("window is gone")).when(resetCommand).reset(any());
+
+    pool.release(browser);
+
+    verify(browser.webDriver(), timeout(1000)).quit();
+  }
+
+  @Test
+  void doesNotLeaseBrowserLaunchedWithOtherSettings() {
+    BrowserPool pool = pool(1, 10);
+    pool.warmUp(config);
+    Config headless = new SelenideConfig().browser("chrome").headless(true);
+
+    WebDriverInstance browser = pool.lease(headless);
+
+    assertThat(browser).isNotNull();
+    assertThat(browser.config()).isSameAs(headless);
+    verify(launched.get(0), timeout(1000)).quit();
+  }
+
+  @Test
+  void doesNotPoolBrowsersWhichCannotBeFullyReset() {
+    BrowserPool pool = pool(1, 10);
+    Config firefox = new SelenideConfig().browser("firefox");
+    Config remoteChrome = new SelenideConfig().browser("chrome").remote("http://localhost:4444/wd/hub");
+
+    pool.warmUp(firefox);
+    assertThat(pool.lease(firefox)).isNull();
+    assertThat(pool.lease(remoteChrome)).isNull();
+    assertThat(launched).isEmpty();
+  }
+
+  @Test
+  void doesNotAcceptForeignBrowsers() {
+    BrowserPool pool = pool(1, 10);
+    WebDriverInstance foreign = new WebDriverInstance(config, mock(), null, null);
+
+    assertThat(pool.release(foreign)).isFalse();
+  }
+
+  @Test
+  void returnsNullIfBrowserCannotBeLaunched() {
+    BrowserPool pool = new BrowserPool(1, 10, 1000, c -> {
+      throw new IllegalStateException("no chrome");
+    }, healthChecker, resetCommand);
+
+    assertThat(pool.lease(config)).isNull();
+  }
+
+  private BrowserPool pool(int size, int maxUses) {
+    when(healthChecker.isBrowserStillOpen(any())).thenReturn(true);
+    return new BrowserPool(size, maxUses, 5000, this::launch, healthChecker, resetCommand);
+  }
+
+  private WebDriverInstance launch(Config config) {
+    WebDriver webDriver = mock();
+    launched.add(webDriver);
+    return new WebDriverInstance(config, webDriver, null, null);
+  }
+}
@@ -0,0 +1,115 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.impl.DummyFileNamer;
+import com.codeborne.selenide.impl.WebDriverInstance;
+import com.codeborne.selenide.logevents.LogEvent;
+import com.codeborne.selenide.logevents.LogEventListener;
+import com.codeborne.selenide.logevents.SelenideLog;
+import com.codeborne.selenide.logevents.SelenideLogger;
+import com.codeborne.selenide.webdriver.WebDriverFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openqa.selenium.SessionNotCreatedException;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static com.codeborne.selenide.logevents.LogEvent.EventStatus.FAIL;
+import static com.codeborne.selenide.logevents.LogEvent.EventStatus.PASS;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class CreateDriverCommandTest {
+  private final CreateDriverCommand command = new CreateDriverCommand(new DummyFileNamer("123_456_78"));
+  private final WebDriverFactory factory = mock();
+  private final SelenideConfig config = new SelenideConfig().downloadsFolder("build/down").proxyEnabled(true);
+  private final List<LogEvent> events = new CopyOnWriteArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    SelenideLogger.addListener("create-driver-test", new LogEventListener() {
+      @Override
+      public void afterEvent(LogEvent currentLog) {
+        events.add(currentLog);
+      }
+
+      @Override
+      public void beforeEvent(LogEvent currentLog) {
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    SelenideLogger.removeListener("create-driver-test");
+  }
+
+  @Test
+  void recordsDurationOfEveryPhase() {
+    when(factory.createWebDriver(any(), any(), any())).thenReturn(mock());
+
+    WebDriverInstance driver = command.createDriver(config, factory, null, emptyList());
+    try {
+      assertThat(events).hasSize(1);
+      SelenideLog log = (SelenideLog) events.get(0);
+      assertThat(log.getStatus()).isEqualTo(PASS);
+      assertThat(log.getPhases()).containsOnlyKeys("proxy", "driverService", "downloadsFolder", "browser", "listeners");
+    }
+    finally {
+      driver.dispose();
+      WebdriversRegistry.unregister(driver);
+    }
+  }
+
+  @Test
+  void recordsPhasesOfFailedStartup() {
+    when(factory.createWebDriver(any(), any(), any())).thenThrow(new SessionNotCreatedException("chrome not found"));
+
+    assertThatThrownBy(() -> command.createDriver(config, factory, null, emptyList()))
+      .isInstanceOf(SessionNotCreatedException.class);
+
+    SelenideLog log = (SelenideLog) events.get(0);
+    assertThat(log.getStatus()).isEqualTo(FAIL);
+    assertThat(log.getPhases()).containsOnlyKeys("proxy", "driverService", "downloadsFolder", "browser");
+  }
+
+  @Test
+  void startsDriverServiceBeforeBrowser() {
+    when(factory.createWebDriver(any(), any(), any())).thenReturn(mock());
+
+    WebDriverInstance driver = command.createDriver(config, factory, null, emptyList());
+    try {
+      InOrder inOrder = inOrder(factory);
+      inOrder.verify(factory).startDriverService(config);
+      inOrder.verify(factory).createWebDriver(any(), any(), any());
+    }
+    finally {
+      driver.dispose();
+      WebdriversRegistry.unregister(driver);
+    }
+  }
+
+  @Test
+  void browserStartsEvenIfDriverServiceCouldNotBeStartedInAdvance() {
+    doThrow(new IllegalStateException("chromedriver not found")).when(factory).startDriverService(config);
+    when(factory.createWebDriver(any(), any(), any())).thenReturn(mock());
+
+    WebDriverInstance driver = command.createDriver(config, factory, null, emptyList());
+    try {
+      assertThat(((SelenideLog) events.get(0)).getStatus()).isEqualTo(PASS);
+    }
+    finally {
+      driver.dispose();
+      WebdriversRegistry.unregister(driver);
+    }
+  }
+}
@@ -10,6 +10,7 @@ import com.codeborne.selenide.proxy.SelenideProxyServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
+import org.openqa.selenium.NoSuchSessionException;
 import org.openqa.selenium.WebDriver;
 
 import static com.codeborne.selenide.AuthenticationType.BASIC;
@@ -20,6 +21,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
@@ -146,6 +148,37 @@ final class NavigatorTest {
       .setAuthentication(eq(BASIC), refEq(new BasicAuthCredentials("some.eu", "basic-auth-login", "basic-auth-password")));
   }
 
+  @Test
+  void open_remembersThatBrowserIsAlive() {
+    navigator.open(selenideDriver, "https://some.com/login");
+
+    assertThat(BrowserHealth.status(driver, 60_000)).isEqualTo(BrowserHealth.Status.ALIVE);
+  }
+
+  @Test
+  void open_checksBrowserAgain_ifItHasBeenClosedMeanwhile() {
+    WebDriver newDriver = mock();
+    WebDriver.Navigation newNavigation = mock();
+    doReturn(newNavigation).when(newDriver).navigate();
+    doThrow(new NoSuchSessionException("browser has been closed")).when(navigation).to("https://some.com/login");
+    doReturn(driver, newDriver).when(selenideDriver).getAndCheckWebDriver();
+
+    navigator.open(selenideDriver, "https://some.com/login");
+
+    verify(newNavigation).to("https://some.com/login");
+    assertThat(BrowserHealth.status(driver, 60_000)).isEqualTo(BrowserHealth.Status.DEAD);
+  }
+
+  @Test
+  void open_doesNotReopenClosedBrowser_if_reopenBrowserOnFail_isFalse() {
+    config.reopenBrowserOnFail(false);
+    doThrow(new NoSuchSessionException("browser has been closed")).when(navigation).to("https://some.com/login");
+
+    assertThatThrownBy(() -> navigator.open(selenideDriver, "https://some.com/login"))
+      .isInstanceOf(NoSuchSessionException.class);
+    verify(selenideDriver).getAndCheckWebDriver();
+  }
+
   @Test
   void startsProxyServer_evenIfProxyIsNotEnabled_butFileDownloadModeIsProxy() {
     config.proxyEnabled(false);
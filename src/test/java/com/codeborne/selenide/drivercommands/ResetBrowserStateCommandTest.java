@@ -0,0 +1,110 @@
+package com.codeborne.selenide.drivercommands;
+
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.impl.BrowserEvents;
+import com.codeborne.selenide.impl.WebDriverInstance;
+import com.codeborne.selenide.proxy.SelenideProxyServer;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class ResetBrowserStateCommandTest {
+  private final ResetBrowserStateCommand command = new ResetBrowserStateCommand();
+
+  @Test
+  void clearsDataOfAllVisitedOriginsAndLeavesSingleBlankTab() {
+    ChromeDriver webDriver = mock(ChromeDriver.class, RETURNS_DEEP_STUBS);
+    when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("tab-1", "tab-2")));
+    when(webDriver.executeCdpCommand("Page.getNavigationHistory", Map.of())).thenReturn(Map.of("entries", List.of(
+      Map.of("url", "about:blank"),
+      Map.of("url", "https://selenide.org/documentation.html"),
+      Map.of("url", "http://localhost:8080/login?user=bob")
+    )));
+
+    command.reset(new WebDriverInstance(new SelenideConfig(), webDriver, null, null));
+
+    verify(webDriver.switchTo().window("tab-2")).close();
+    verify(webDriver.switchTo().window("tab-1"), never()).close();
+    verify(webDriver.switchTo().window("tab-1")).get("about:blank");
+    verify(webDriver).executeCdpCommand("Page.resetNavigationHistory", Map.of());
+    verify(webDriver).executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "https://selenide.org", "storageTypes", "all"));
+    verify(webDriver).executeCdpCommand("Storage.clearDataForOrigin", Map.of("origin", "http://localhost:8080", "storageTypes", "all"));
+    verify(webDriver).executeCdpCommand("DOMStorage.clear",
+      Map.of("storageId", Map.of("securityOrigin", "https://selenide.org", "isLocalStorage", false)));
+    verify(webDriver).executeCdpCommand("Storage.clearCookies", Map.of());
+    verify(webDriver).executeCdpCommand("Network.clearBrowserCache", Map.of());
+    verify(webDriver).executeCdpCommand("Browser.resetPermissions", Map.of());
+  }
+
+  @Test
+  void keepsTabWhichBrowserEventsAreAttachedTo() {
+    ChromeDriver webDriver = mock(ChromeDriver.class, RETURNS_DEEP_STUBS);
+    when(webDriver.getCapabilities().getBrowserName()).thenReturn("chrome");
+    when(webDriver.getWindowHandle()).thenReturn("tab-2");
+    assertThat(BrowserEvents.subscribe(webDriver)).isNotNull();
+    when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("tab-1", "tab-2", "tab-3")));
+    when(webDriver.executeCdpCommand("Page.getNavigationHistory", Map.of())).thenReturn(Map.of());
+
+    command.reset(new WebDriverInstance(new SelenideConfig(), webDriver, null, null));
+
+    verify(webDriver.switchTo().window("tab-1")).close();
+    verify(webDriver.switchTo().window("tab-3")).close();
+    verify(webDriver.switchTo().window("tab-2"), never()).close();
+    verify(webDriver.switchTo().window("tab-2")).get("about:blank");
+  }
+
+  @Test
+  void cannotResetBrowserWithCustomProxyFilters() {
+    ChromeDriver webDriver = mock(ChromeDriver.class, RETURNS_DEEP_STUBS);
+    SelenideProxyServer proxy = mock();
+    when(proxy.hasCustomFilters()).thenReturn(true);
+
+    assertThatThrownBy(() -> command.reset(new WebDriverInstance(new SelenideConfig().proxyEnabled(true), webDriver, proxy, null)))
+      .isInstanceOf(WebDriverException.class)
+      .hasMessageStartingWith("Cannot reset browser with custom proxy filters");
+    verify(webDriver, never()).getWindowHandles();
+  }
+
+  @Test
+  void restoresProxyState() {
+    ChromeDriver webDriver = mock(ChromeDriver.class, RETURNS_DEEP_STUBS);
+    when(webDriver.getWindowHandles()).thenReturn(new LinkedHashSet<>(List.of("tab-1")));
+    when(webDriver.executeCdpCommand("Page.getNavigationHistory", Map.of())).thenReturn(Map.of());
+    SelenideProxyServer proxy = mock(SelenideProxyServer.class, RETURNS_DEEP_STUBS);
+
+    command.reset(new WebDriverInstance(new SelenideConfig().proxyEnabled(true), webDriver, proxy, null));
+
+    verify(proxy.responseMocker()).resetAll();
+    verify(proxy.requestBlocker()).restoreInitialRules();
+  }
+
+  @Test
+  void cannotResetBrowserWithoutCdp() {
+    WebDriver webDriver = mock();
+
+    assertThatThrownBy(() -> command.reset(new WebDriverInstance(new SelenideConfig(), webDriver, null, null)))
+      .isInstanceOf(WebDriverException.class)
+      .hasMessageStartingWith("Cannot reset browser without CDP support");
+  }
+
+  @Test
+  void origin() {
+    assertThat(ResetBrowserStateCommand.origin("https://selenide.org/quick-start.html#faq")).hasValue("https://selenide.org");
+    assertThat(ResetBrowserStateCommand.origin("http://127.0.0.1:9090/")).hasValue("http://127.0.0.1:9090");
+    assertThat(ResetBrowserStateCommand.origin("about:blank")).isEmpty();
+    assertThat(ResetBrowserStateCommand.origin("data:text/html,<b>hi</b>")).isEmpty();
+  }
+}
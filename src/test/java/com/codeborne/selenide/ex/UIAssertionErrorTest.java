@@ -1,10 +1,35 @@
 package com.codeborne.selenide.ex;
 
+import com.codeborne.selenide.Driver;
+import com.codeborne.selenide.SelenideConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 final class UIAssertionErrorTest {
+  private final Driver driver = mock();
+
+  @BeforeEach
+  void setUp() {
+    when(driver.config()).thenReturn(new SelenideConfig());
+    UIAssertionError.discardDeferredScreenshots();
+  }
+
+  @AfterEach
+  void tearDown() {
+    UIAssertionError.discardDeferredScreenshots();
+  }
+
   @Test
   void errorMessage() {
     UIAssertionError uiAssertionError = new UIAssertionError("Some it happened", new Throwable("Error message"));
@@ -12,4 +37,71 @@ final class UIAssertionErrorTest {
     assertThat(uiAssertionError).hasMessage(String.format("Some it happened%n" +
       "Caused by: java.lang.Throwable: Error message"));
   }
+
+  @Test
+  void deferredErrorTakesScreenshotOnlyWhenMessageIsRequested() {
+    UIAssertionError error = UIAssertionError.wrapThrowable(driver, new AssertionError("oops"), 4000, true);
+
+    verify(driver, never()).config();
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(1);
+
+    assertThat(error.getMessage()).contains("Timeout: 4 s.");
+    verify(driver).config();
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(0);
+  }
+
+  @Test
+  void capturesDeferredScreenshotsWhenTestHasFailed() {
+    UIAssertionError error1 = UIAssertionError.wrapThrowable(driver, new AssertionError("oops 1"), 4000, true);
+    UIAssertionError error2 = UIAssertionError.wrapThrowable(driver, new AssertionError("oops 2"), 4000, true);
+
+    UIAssertionError.captureDeferredScreenshots();
+
+    verify(driver, times(2)).config();
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(0);
+    error1.getMessage();
+    error2.getScreenshot();
+    verify(driver, times(2)).config();
+  }
+
+  @Test
+  void discardsDeferredScreenshotsWhenTestHasPassed() {
+    UIAssertionError.wrapThrowable(driver, new AssertionError("oops"), 4000, true);
+
+    UIAssertionError.discardDeferredScreenshots();
+    UIAssertionError.captureDeferredScreenshots();
+
+    verify(driver, never()).config();
+  }
+
+  @Test
+  void errorReportedInAnotherThread_isRemovedFromPendingErrorsOfItsOwnThread() throws Exception {
+    UIAssertionError error = UIAssertionError.wrapThrowable(driver, new AssertionError("oops"), 4000, true);
+
+    CompletableFuture.runAsync(error::getMessage).get(5, SECONDS);
+
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(0);
+    verify(driver).config();
+  }
+
+  @Test
+  void keepsLimitedNumberOfDeferredErrors() {
+    UIAssertionError first = UIAssertionError.wrapThrowable(driver, new AssertionError("first"), 4000, true);
+    for (int i = 0; i < 100; i++) {
+      UIAssertionError.wrapThrowable(driver, new AssertionError("oops " + i), 4000, true);
+    }
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(100);
+
+    first.getMessage();
+
+    verify(driver, never()).config();
+  }
+
+  @Test
+  void notDeferredErrorTakesScreenshotImmediately() {
+    UIAssertionError.wrapThrowable(driver, new AssertionError("oops"), 4000, false);
+
+    verify(driver).config();
+    assertThat(UIAssertionError.deferredErrorsCount()).isEqualTo(0);
+  }
 }
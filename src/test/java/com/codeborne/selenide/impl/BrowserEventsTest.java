@@ -0,0 +1,200 @@
+package com.codeborne.selenide.impl;
+
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.devtools.v133.network.model.LoadingFailed;
+import org.openqa.selenium.devtools.v133.network.model.LoadingFinished;
+import org.openqa.selenium.devtools.v133.network.model.Request;
+import org.openqa.selenium.devtools.v133.network.model.RequestId;
+import org.openqa.selenium.devtools.v133.network.model.RequestWillBeSent;
+import org.openqa.selenium.devtools.v133.page.model.Frame;
+import org.openqa.selenium.devtools.v133.page.model.FrameId;
+import org.openqa.selenium.devtools.v133.page.model.FrameNavigated;
+import org.openqa.selenium.devtools.v133.page.model.NavigatedWithinDocument;
+import org.openqa.selenium.devtools.v133.runtime.model.ConsoleAPICalled;
+import org.openqa.selenium.devtools.v133.runtime.model.ExceptionDetails;
+import org.openqa.selenium.devtools.v133.runtime.model.ExceptionThrown;
+import org.openqa.selenium.devtools.v133.runtime.model.RemoteObject;
+import org.openqa.selenium.logging.LogEntry;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class BrowserEventsTest {
+  private final BrowserEvents events = new BrowserEvents(3, null);
+
+  @Test
+  void collectsConsoleMessagesAndErrors() {
+    events.onConsoleApiCalled(console(ConsoleAPICalled.Type.LOG, "Hello", 42));
+    events.onConsoleApiCalled(console(ConsoleAPICalled.Type.ERROR, "Boom"));
+    events.onExceptionThrown(exception("TypeError: x is undefined"));
+
+    List<LogEntry> logs = events.takeLogs();
+
+    assertThat(logs).extracting(LogEntry::getMessage).containsExactly("Hello 42", "Boom", "TypeError: x is undefined");
+    assertThat(logs).extracting(LogEntry::getLevel).containsExactly(Level.INFO, Level.SEVERE, Level.SEVERE);
+    assertThat(events.takeLogs()).as("logs are forgotten after reading").isEmpty();
+  }
+
+  @Test
+  void keepsOnlyLastEvents() {
+    for (int i = 1; i <= 5; i++) {
+      events.onConsoleApiCalled(console(ConsoleAPICalled.Type.LOG, "message " + i));
+    }
+
+    assertThat(events.takeLogs()).extracting(LogEntry::getMessage).containsExactly("message 3", "message 4", "message 5");
+  }
+
+  @Test
+  void tracksNavigationsOfMainFrame() {
+    events.onFrameNavigated(navigated("main", null, "https://selenide.org/"));
+    events.onFrameNavigated(navigated("iframe", "main", "https://selenide.org/ads.html"));
+    events.onNavigatedWithinDocument(navigatedWithinDocument("main", "https://selenide.org/#faq"));
+    events.onNavigatedWithinDocument(navigatedWithinDocument("iframe", "https://selenide.org/ads.html#1"));
+
+    assertThat(events.navigations()).containsExactly("https://selenide.org/", "https://selenide.org/#faq");
+    assertThat(events.navigationsCount()).isEqualTo(2);
+  }
+
+  @Test
+  void wakesUpWaitingThreadOnNavigation() throws Exception {
+    long seen = events.navigationsCount();
+    CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> {
+      try {
+        events.awaitNavigation(seen, 10_000);
+      }
+      catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+
+    events.onFrameNavigated(navigated("main", null, "https://selenide.org/"));
+
+    waiting.get(5, SECONDS);
+  }
+
+  @Test
+  void awaitsNavigationNotLongerThanTimeout() throws InterruptedException {
+    long start = System.currentTimeMillis();
+    events.awaitNavigation(events.navigationsCount(), 50);
+    assertThat(System.currentTimeMillis() - start).isBetween(50L, 5000L);
+  }
+
+  @Test
+  void tracksPendingRequests() {
+    events.onRequestWillBeSent(request("1", "https://selenide.org/"));
+    events.onRequestWillBeSent(request("2", "https://selenide.org/logo.png"));
+    events.onRequestWillBeSent(request("3", "https://selenide.org/api"));
+    assertThat(events.pendingRequests()).hasSize(3);
+
+    events.onLoadingFinished(finished("1"));
+    events.onLoadingFailed(failed("3"));
+    assertThat(events.pendingRequests()).containsExactly("https://selenide.org/logo.png");
+  }
+
+  @Test
+  void countsRequestsWhichDidNotFitIntoCapacity() {
+    for (int i = 1; i <= 5; i++) {
+      events.onRequestWillBeSent(request(String.valueOf(i), "https://selenide.org/api/" + i));
+    }
+    events.onLoadingFinished(finished("1"));
+
+    assertThat(events.pendingRequests()).hasSize(2);
+    assertThat(events.untrackedRequests()).isEqualTo(2);
+  }
+
+  @Test
+  void forgetsRequestsOfPreviousPageOnNavigation() {
+    for (int i = 1; i <= 5; i++) {
+      events.onRequestWillBeSent(request(String.valueOf(i), "https://selenide.org/api/" + i));
+    }
+    events.onFrameNavigated(navigated("iframe", "main", "https://selenide.org/ads.html"));
+    assertThat(events.pendingRequests()).hasSize(3);
+
+    events.onFrameNavigated(navigated("main", null, "https://selenide.org/"));
+
+    assertThat(events.pendingRequests()).isEmpty();
+    assertThat(events.untrackedRequests()).isZero();
+  }
+
+  @Test
+  void clearsAllEvents() {
+    events.onConsoleApiCalled(console(ConsoleAPICalled.Type.LOG, "Hello"));
+    events.onFrameNavigated(navigated("main", null, "https://selenide.org/"));
+    events.onRequestWillBeSent(request("1", "https://selenide.org/"));
+
+    events.clear();
+
+    assertThat(events.takeLogs()).isEmpty();
+    assertThat(events.navigations()).isEmpty();
+    assertThat(events.pendingRequests()).isEmpty();
+  }
+
+  private ConsoleAPICalled console(ConsoleAPICalled.Type type, Object... args) {
+    List<RemoteObject> remoteObjects = Arrays.stream(args).map(arg -> {
+      RemoteObject remoteObject = mock();
+      when(remoteObject.getValue()).thenReturn(Optional.of(arg));
+      return remoteObject;
+    }).toList();
+    ConsoleAPICalled event = mock();
+    when(event.getType()).thenReturn(type);
+    when(event.getArgs()).thenReturn(remoteObjects);
+    return event;
+  }
+
+  private ExceptionThrown exception(String description) {
+    RemoteObject exception = mock();
+    when(exception.getDescription()).thenReturn(Optional.of(description));
+    ExceptionDetails details = mock();
+    when(details.getException()).thenReturn(Optional.of(exception));
+    ExceptionThrown event = mock();
+    when(event.getExceptionDetails()).thenReturn(details);
+    return event;
+  }
+
+  private FrameNavigated navigated(String frameId, @Nullable String parentId, String url) {
+    Frame frame = mock();
+    when(frame.getId()).thenReturn(new FrameId(frameId));
+    when(frame.getParentId()).thenReturn(Optional.ofNullable(parentId).map(FrameId::new));
+    when(frame.getUrl()).thenReturn(url);
+    FrameNavigated event = mock();
+    when(event.getFrame()).thenReturn(frame);
+    return event;
+  }
+
+  private NavigatedWithinDocument navigatedWithinDocument(String frameId, String url) {
+    NavigatedWithinDocument event = mock();
+    when(event.getFrameId()).thenReturn(new FrameId(frameId));
+    when(event.getUrl()).thenReturn(url);
+    return event;
+  }
+
+  private RequestWillBeSent request(String requestId, String url) {
+    Request request = mock();
+    when(request.getUrl()).thenReturn(url);
+    RequestWillBeSent event = mock();
+    when(event.getRequestId()).thenReturn(new RequestId(requestId));
+    when(event.getRequest()).thenReturn(request);
+    return event;
+  }
+
+  private LoadingFinished finished(String requestId) {
+    LoadingFinished event = mock();
+    when(event.getRequestId()).thenReturn(new RequestId(requestId));
+    return event;
+  }
+
+  private LoadingFailed failed(String requestId) {
+    LoadingFailed event = mock();
+    when(event.getRequestId()).thenReturn(new RequestId(requestId));
+    return event;
+  }
+}
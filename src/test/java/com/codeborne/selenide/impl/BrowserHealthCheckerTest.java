@@ -1,5 +1,6 @@
 package com.codeborne.selenide.impl;
 
+import com.codeborne.selenide.drivercommands.BrowserHealth;
 import com.codeborne.selenide.drivercommands.BrowserHealthChecker;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.NoSuchSessionException;
@@ -12,6 +13,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 final class BrowserHealthCheckerTest {
   private final WebDriver webdriver = mock();
@@ -51,4 +54,46 @@ final class BrowserHealthCheckerTest {
 
     assertThat(checker.isBrowserStillOpen(webdriver)).isTrue();
   }
+
+  @Test
+  void doesNotCallBrowser_ifRecentCommandHasSucceeded() {
+    BrowserHealth.succeeded(webdriver);
+
+    assertThat(checker.isBrowserStillOpen(webdriver)).isTrue();
+    verify(webdriver, never()).getTitle();
+  }
+
+  @Test
+  void doesNotCallBrowser_ifRecentCommandHasFoundThatSessionIsClosed() {
+    BrowserHealth.failed(webdriver, new NoSuchSessionException("oops"));
+
+    assertThat(checker.isBrowserStillOpen(webdriver)).isFalse();
+    verify(webdriver, never()).getTitle();
+  }
+
+  @Test
+  void callsBrowser_ifRecentCommandHasFoundThatWindowIsClosed() {
+    BrowserHealth.succeeded(webdriver);
+    BrowserHealth.failed(webdriver, new NoSuchWindowException("oops"));
+    doReturn("blah").when(webdriver).getTitle();
+
+    assertThat(checker.isBrowserStillOpen(webdriver)).isTrue();
+    verify(webdriver).getTitle();
+  }
+
+  @Test
+  void successfulCommandProvesBrowserIsAlive_onlyDuringTtl() {
+    BrowserHealth.succeeded(webdriver);
+
+    assertThat(BrowserHealth.status(webdriver, 60_000)).isEqualTo(BrowserHealth.Status.ALIVE);
+    assertThat(BrowserHealth.status(webdriver, 0)).isEqualTo(BrowserHealth.Status.UNKNOWN);
+  }
+
+  @Test
+  void closedBrowserCannotBecomeAliveAgain() {
+    BrowserHealth.failed(webdriver, new UnreachableBrowserException("oops"));
+    BrowserHealth.succeeded(webdriver);
+
+    assertThat(BrowserHealth.status(webdriver, 60_000)).isEqualTo(BrowserHealth.Status.DEAD);
+  }
 }
@@ -0,0 +1,90 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.SharedDownloadsFolder;
+import com.codeborne.selenide.ex.FileNotDownloadedError;
+import com.codeborne.selenide.files.FileFilters;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.devtools.SessionID;
+import org.openqa.selenium.devtools.v133.browser.model.DownloadProgress;
+import org.openqa.selenium.devtools.v133.browser.model.DownloadWillBegin;
+
+import java.io.File;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openqa.selenium.devtools.v133.browser.model.DownloadProgress.State.CANCELED;
+import static org.openqa.selenium.devtools.v133.browser.model.DownloadProgress.State.COMPLETED;
+import static org.openqa.selenium.devtools.v133.browser.model.DownloadProgress.State.INPROGRESS;
+
+final class CdpDownloadTrackerTest {
+  private final SharedDownloadsFolder folder = new SharedDownloadsFolder("build/downloads/cdp");
+  private final CdpDownloadTracker tracker = new CdpDownloadTracker(new SessionID("session-1"));
+
+  @Test
+  void completesFutureWhenMatchingDownloadIsCompleted() throws Exception {
+    try (CdpDownloadTracker.Expectation expectation = tracker.expect(folder, FileFilters.withExtension("pdf"), 1000)) {
+      tracker.onDownloadWillBegin(willBegin("guid-1", "report.txt"));
+      tracker.onDownloadWillBegin(willBegin("guid-2", "report.pdf"));
+      tracker.onDownloadProgress(progress("guid-1", INPROGRESS));
+      tracker.onDownloadProgress(progress("guid-2", INPROGRESS));
+      assertThat(expectation.file()).isNotDone();
+
+      tracker.onDownloadProgress(progress("guid-1", COMPLETED));
+      assertThat(expectation.file()).as("file doesn't match the filter").isNotDone();
+
+      tracker.onDownloadProgress(progress("guid-2", COMPLETED));
+      assertThat(expectation.file().get()).isEqualTo(new File(folder.getPath(), "report.pdf"));
+    }
+  }
+
+  @Test
+  void ignoresDownloadsStartedBeforeTheExpectation() {
+    tracker.onDownloadWillBegin(willBegin("guid-old", "old.pdf"));
+
+    try (CdpDownloadTracker.Expectation expectation = tracker.expect(folder, FileFilters.none(), 1000)) {
+      tracker.onDownloadProgress(progress("guid-old", COMPLETED));
+      assertThat(expectation.file()).isNotDone();
+    }
+  }
+
+  @Test
+  void failsWhenAllExpectedDownloadsAreCanceled() {
+    try (CdpDownloadTracker.Expectation expectation = tracker.expect(folder, FileFilters.none(), 1000)) {
+      tracker.onDownloadWillBegin(willBegin("guid-1", "report.pdf"));
+      tracker.onDownloadProgress(progress("guid-1", CANCELED));
+
+      assertThatThrownBy(() -> expectation.file().get())
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(FileNotDownloadedError.class);
+    }
+  }
+
+  @Test
+  void forgetsFinishedDownloads() {
+    try (CdpDownloadTracker.Expectation expectation = tracker.expect(folder, FileFilters.none(), 1000)) {
+      tracker.onDownloadWillBegin(willBegin("guid-1", "report.pdf"));
+      tracker.onDownloadProgress(progress("guid-1", COMPLETED));
+      assertThat(expectation.file()).isDone();
+    }
+    assertThat(tracker.size()).isEqualTo(0);
+  }
+
+  private DownloadWillBegin willBegin(String guid, String fileName) {
+    DownloadWillBegin event = mock();
+    when(event.getGuid()).thenReturn(guid);
+    when(event.getSuggestedFilename()).thenReturn(fileName);
+    return event;
+  }
+
+  private DownloadProgress progress(String guid, DownloadProgress.State state) {
+    DownloadProgress event = mock();
+    when(event.getGuid()).thenReturn(guid);
+    when(event.getState()).thenReturn(state);
+    when(event.getReceivedBytes()).thenReturn(1);
+    when(event.getTotalBytes()).thenReturn(2);
+    return event;
+  }
+}
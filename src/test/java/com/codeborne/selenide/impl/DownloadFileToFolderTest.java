@@ -15,6 +15,9 @@ import org.openqa.selenium.WebElement;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.WatchService;
+import java.util.concurrent.CompletableFuture;
 
 import static com.codeborne.selenide.files.DownloadActions.click;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -58,6 +61,30 @@ final class DownloadFileToFolderTest {
     assertThat(readFileToString(downloadedFile, UTF_8)).isEqualTo("Hello Bingo-Bongo");
   }
 
+  @Test
+  void findsNewFileEvenIfWatchServiceSendsNoEvents() throws Exception {
+    try (WatchService silentWatchService = FileSystems.getDefault().newWatchService();
+         WatchedDownloadsFolder folder = new WatchedDownloadsFolder(downloadsFolder, silentWatchService)) {
+      long clickMoment = System.currentTimeMillis();
+      CompletableFuture<Void> download = CompletableFuture.runAsync(() -> {
+        try {
+          Thread.sleep(300);
+          writeStringToFile(downloadsFolder.file("report.pdf"), "Hello", UTF_8);
+        }
+        catch (InterruptedException | IOException e) {
+          throw new RuntimeException(e);
+        }
+      });
+
+      long start = System.currentTimeMillis();
+      command.waitForNewFiles(driver, FileFilters.withExtension("pdf"), folder, clickMoment, 10_000, 5_000, 100);
+
+      assertThat(System.currentTimeMillis() - start).isLessThan(5_000);
+      assertThat(folder.filesNewerThan(clickMoment)).hasSize(1);
+      download.get();
+    }
+  }
+
   @Test
   void filesHasNotBeenUpdatedForMs() {
     assertThat(command.filesHasNotBeenUpdatedForMs(1111111114000L, 1111111114998L, 1111111114998L)).isEqualTo(0);
@@ -3,6 +3,7 @@ package com.codeborne.selenide.impl;
 import com.codeborne.selenide.Config;
 import com.codeborne.selenide.Driver;
 import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.files.FileFilters;
 import com.codeborne.selenide.impl.DownloadFileWithHttpRequest.Resource;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.cookie.BasicCookieStore;
@@ -18,6 +19,7 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashSet;
+import java.util.List;
 
 import static com.codeborne.selenide.impl.DownloadFileWithHttpRequest.parseUrl;
 import static java.util.Collections.singletonList;
@@ -91,6 +93,25 @@ final class DownloadFileWithHttpRequestTest {
     assertThat(bs.getCookies().get(0).getValue()).isEqualTo("123456789");
   }
 
+  @Test
+  void doesNotReadBrowserWhenDownloadingEmptyListOfFiles() {
+    Driver driver = mock();
+
+    assertThat(download.download(driver, List.of(), 1000, FileFilters.none(), 4)).isEmpty();
+
+    verifyNoMoreInteractions(driver);
+  }
+
+  @Test
+  void addsUserAgentAndCredentials() {
+    HttpGet httpGet = mock();
+
+    download.addHttpHeaders(httpGet, "This is Firefox, baby", "admin:secret");
+
+    verify(httpGet).setHeader("User-Agent", "This is Firefox, baby");
+    verify(httpGet).setHeader("Authorization", "Basic YWRtaW46c2VjcmV0");
+  }
+
   @Test
   void getFileName_fromHttpHeader() {
     Header header = new BasicHeader("Content-Disposition", "Content-Disposition=attachment; filename=image.jpeg");
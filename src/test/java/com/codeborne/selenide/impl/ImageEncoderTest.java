@@ -0,0 +1,60 @@
+package com.codeborne.selenide.impl;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static com.codeborne.selenide.impl.ImageFormat.JPEG;
+import static com.codeborne.selenide.impl.ImageFormat.PNG;
+import static com.codeborne.selenide.impl.ImageFormat.WEBP;
+import static java.awt.image.BufferedImage.TYPE_INT_ARGB;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ImageEncoderTest {
+  private final BufferedImage image = new BufferedImage(20, 10, TYPE_INT_ARGB);
+
+  @Test
+  void savesPngAsIs_byDefault() {
+    ImageEncoder encoder = new ImageEncoder(PNG, -1, 90);
+    byte[] png = "some png source".getBytes(UTF_8);
+
+    assertThat(encoder.extension()).isEqualTo("png");
+    assertThat(encoder.encode(png)).isSameAs(png);
+  }
+
+  @Test
+  void canReEncodePngWithGivenCompressionLevel() throws IOException {
+    ImageEncoder encoder = new ImageEncoder(PNG, 9, 90);
+
+    BufferedImage result = decode(encoder.encode(new ImageEncoder(PNG, 0, 90).encode(image)));
+
+    assertThat(result.getWidth()).isEqualTo(20);
+    assertThat(result.getHeight()).isEqualTo(10);
+  }
+
+  @Test
+  void canEncodeToJpeg() throws IOException {
+    ImageEncoder encoder = new ImageEncoder(JPEG, -1, 75);
+
+    BufferedImage result = decode(encoder.encode(image));
+
+    assertThat(encoder.extension()).isEqualTo("jpg");
+    assertThat(result.getWidth()).isEqualTo(20);
+    assertThat(result.getHeight()).isEqualTo(10);
+  }
+
+  @Test
+  void fallsBackToPng_ifWebpWriterIsNotInClasspath() {
+    ImageEncoder encoder = new ImageEncoder(WEBP, -1, 90);
+
+    assertThat(encoder.extension()).isEqualTo(ImageEncoder.canWrite(WEBP) ? "webp" : "png");
+  }
+
+  private static BufferedImage decode(byte[] bytes) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(bytes));
+  }
+}
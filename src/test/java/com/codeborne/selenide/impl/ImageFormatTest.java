@@ -0,0 +1,25 @@
+package com.codeborne.selenide.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static com.codeborne.selenide.impl.ImageFormat.JPEG;
+import static com.codeborne.selenide.impl.ImageFormat.PNG;
+import static com.codeborne.selenide.impl.ImageFormat.WEBP;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ImageFormatTest {
+  @Test
+  void findsFormatByNameOrExtension() {
+    assertThat(ImageFormat.of("png")).hasValue(PNG);
+    assertThat(ImageFormat.of("jpeg")).hasValue(JPEG);
+    assertThat(ImageFormat.of("jpg")).hasValue(JPEG);
+    assertThat(ImageFormat.of(" JPG ")).hasValue(JPEG);
+    assertThat(ImageFormat.of("WebP")).hasValue(WEBP);
+  }
+
+  @Test
+  void unknownFormat() {
+    assertThat(ImageFormat.of("gif")).isEmpty();
+    assertThat(ImageFormat.of("")).isEmpty();
+  }
+}
@@ -33,4 +33,14 @@ class JavaScriptTest {
       })(arguments[0])
       """);
   }
+
+  @Test
+  void describeElementReusesAttributesScriptAndWebdriverAtom() {
+    String js = new JavaScript("describe-element.js").content();
+
+    assertThat(js)
+      .contains(new FileContent("get-element-attributes.js").content())
+      .contains(new FileContent("org/openqa/selenium/remote/isDisplayed.js").content())
+      .doesNotContain("import '");
+  }
 }
@@ -0,0 +1,67 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.files.DownloadedFile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.System.currentTimeMillis;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class RemoteDownloadsFolderTest {
+  private final FakeRemoteFolder folder = new FakeRemoteFolder();
+
+  @Test
+  void returnsOnlyFilesAppearedAfterGivenMoment() throws InterruptedException {
+    folder.listing = List.of("old.txt");
+    assertThat(folder.files()).hasSize(1);
+    Thread.sleep(5);
+    long clickMoment = currentTimeMillis();
+
+    folder.listing = List.of("old.txt", "report.pdf");
+    assertThat(folder.filesNewerThan(clickMoment)).map(DownloadedFile::getFile).map(f -> f.getName())
+      .containsExactly("report.pdf");
+    assertThat(folder.lastModificationTime()).get().matches(time -> time >= clickMoment);
+  }
+
+  @Test
+  void forgetsDeletedFiles() {
+    folder.listing = List.of("report.pdf", "report.pdf.crdownload");
+    assertThat(folder.filesAsString()).isEqualTo("[report.pdf, report.pdf.crdownload]");
+
+    folder.listing = List.of("report.pdf");
+    assertThat(folder.filesAsString()).isEqualTo("[report.pdf]");
+    assertThat(folder.modificationTimes()).containsOnlyKeys("report.pdf");
+  }
+
+  @Test
+  void deletesAllFilesBeforeDownload() {
+    folder.listing = List.of("old.txt", "older.txt");
+    folder.cleanupBeforeDownload();
+
+    assertThat(folder.deleted).containsExactly("old.txt", "older.txt");
+    assertThat(folder.lastModificationTime()).isEmpty();
+  }
+
+  private static class FakeRemoteFolder extends RemoteDownloadsFolder {
+    private List<String> listing = List.of();
+    private final List<String> deleted = new ArrayList<>();
+
+    @Override
+    protected List<String> listFileNames() {
+      return listing;
+    }
+
+    @Override
+    protected void deleteFiles(List<String> fileNames) {
+      deleted.addAll(fileNames);
+      listing = List.of();
+    }
+
+    @Override
+    public String getPath() {
+      return "/remote";
+    }
+  }
+}
@@ -0,0 +1,97 @@
+package com.codeborne.selenide.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ReportsStorageTest {
+  private final AtomicInteger encoded = new AtomicInteger();
+
+  @Test
+  void savesIdenticalContentOnce(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(true);
+
+    File first = storage.write(bytes("<html>1</html>"), new File(folder, "first.html"), this::encode);
+    File second = storage.write(bytes("<html>1</html>"), new File(folder, "second.html"), this::encode);
+
+    assertThat(first).hasName("first.html").hasContent("encoded <html>1</html>");
+    assertThat(second).hasName("second.html").hasContent("encoded <html>1</html>");
+    assertThat(encoded.get()).isEqualTo(1);
+  }
+
+  @Test
+  void savesDifferentContentToDifferentFiles(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(true);
+
+    File first = storage.write(bytes("<html>1</html>"), new File(folder, "first.html"), this::encode);
+    File second = storage.write(bytes("<html>2</html>"), new File(folder, "second.html"), this::encode);
+
+    assertThat(first).hasContent("encoded <html>1</html>");
+    assertThat(second).hasContent("encoded <html>2</html>");
+    assertThat(encoded.get()).isEqualTo(2);
+  }
+
+  @Test
+  void savesContentAgain_ifOriginalFileHasBeenDeleted(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(true);
+    File first = storage.write(bytes("<html>1</html>"), new File(folder, "first.html"), this::encode);
+    assertThat(first.delete()).isTrue();
+
+    File second = storage.write(bytes("<html>1</html>"), new File(folder, "second.html"), this::encode);
+
+    assertThat(second).hasContent("encoded <html>1</html>");
+    assertThat(encoded.get()).isEqualTo(2);
+  }
+
+  @Test
+  void movesFileWithoutReadingItIntoMemory(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(true);
+    File source = new File(folder, "screenshot.tmp");
+    Files.writeString(source.toPath(), "png 1");
+
+    File target = storage.move(source, new File(folder, "reports/first.png"));
+
+    assertThat(target).hasName("first.png").hasContent("png 1");
+    assertThat(source).doesNotExist();
+  }
+
+  @Test
+  void movedFileIsDeduplicated(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(true);
+    File first = storage.write(bytes("png 1"), new File(folder, "first.png"), this::encode);
+    File source = new File(folder, "screenshot.tmp");
+    Files.writeString(source.toPath(), "png 1");
+
+    File second = storage.move(source, new File(folder, "second.png"));
+
+    assertThat(second).hasContent(Files.readString(first.toPath()));
+    assertThat(source).doesNotExist();
+  }
+
+  @Test
+  void canDisableDeduplication(@TempDir File folder) throws IOException {
+    ReportsStorage storage = new ReportsStorage(false);
+
+    storage.write(bytes("<html>1</html>"), new File(folder, "first.html"), this::encode);
+    File second = storage.write(bytes("<html>1</html>"), new File(folder, "second.html"), this::encode);
+
+    assertThat(second).hasContent("encoded <html>1</html>");
+    assertThat(encoded.get()).isEqualTo(2);
+  }
+
+  private byte[] encode(byte[] content) {
+    encoded.incrementAndGet();
+    return bytes("encoded " + new String(content, UTF_8));
+  }
+
+  private static byte[] bytes(String content) {
+    return content.getBytes(UTF_8);
+  }
+}
@@ -7,6 +7,7 @@ import com.codeborne.selenide.SelenideConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.stubbing.Answer;
+import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 
 import java.io.File;
@@ -19,13 +20,17 @@ import static java.io.File.separatorChar;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.openqa.selenium.OutputType.BYTES;
+import static org.openqa.selenium.OutputType.FILE;
 
 final class ScreenShotLaboratoryTest {
   private final String dir = System.getProperty("user.dir");
@@ -419,7 +424,121 @@ final class ScreenShotLaboratoryTest {
   }
 
   @Test
+  void keepsOnlyLimitedNumberOfScreenshotsInHistory() {
+    ReportsConfiguration reportsConfig = spy(new ReportsConfiguration());
+    doReturn(2).when(reportsConfig).historySize();
+    doReturn(2).when(reportsConfig).threadHistorySize();
+    doReturn(2).when(reportsConfig).contextHistorySize();
+    ScreenShotLaboratory screenshots = new ScreenShotLaboratory(photographer, extractor, clock,
+      reportsConfig, new ReportsStorage(true), new PageEpoch());
+    screenshots.startContext("ui/MyTest/test_some_method/");
+    screenshots.takeScreenshot(driver, true, false);
+    screenshots.takeScreenshot(driver, true, false);
+    Screenshot last = screenshots.takeScreenshot(driver, true, false);
+
+    assertThat(screenshots.getScreenshots()).hasSize(2);
+    assertThat(screenshots.threadScreenshots()).hasSize(2);
+    assertThat(screenshots.contextScreenshots()).hasSize(2);
+    assertThat(screenshots.lastScreenshot()).isSameAs(last);
+    assertThat(screenshots.lastThreadScreenshot()).containsSame(last);
+    assertThat(screenshots.lastContextScreenshot()).containsSame(last);
+    assertThat(screenshots.finishContext()).hasSize(2);
+  }
+
+  @Test
+  void doesNotReuseScreenshots_byDefault() {
+    when(webDriver.executeScript(anyString())).thenReturn("page1:42");
+
+    Screenshot screenshot1 = screenshots.takeScreenshot(driver, true, true);
+    Screenshot screenshot2 = screenshots.takeScreenshot(driver, true, true);
+
+    assertThat(screenshot2).isNotSameAs(screenshot1);
+    verify(photographer, times(2)).takeScreenshot(any(), eq(BYTES));
+    verify(webDriver, never()).executeScript(anyString());
+  }
+
+  @Test
+  void reusesPreviousScreenshot_ifPageHasNotChanged() {
+    ScreenShotLaboratory screenshots = reusingUnchangedScreenshots();
+    when(webDriver.executeScript(anyString())).thenReturn("page1:42");
+
+    Screenshot screenshot1 = screenshots.takeScreenshot(driver, true, true);
+    Screenshot screenshot2 = screenshots.takeScreenshot(driver, true, true);
+
+    assertThat(screenshot2).isSameAs(screenshot1);
+    assertThat(screenshots.threadScreenshots()).hasSize(2);
+    verify(photographer, times(1)).takeScreenshot(any(), eq(BYTES));
+    verify(extractor, times(1)).extract(any(), any(), any());
+  }
+
+  @Test
+  void takesNewScreenshot_ifPageHasChanged() {
+    ScreenShotLaboratory screenshots = reusingUnchangedScreenshots();
+    when(webDriver.executeScript(anyString())).thenReturn("page1:42", "page1:43");
+
+    Screenshot screenshot1 = screenshots.takeScreenshot(driver, true, true);
+    Screenshot screenshot2 = screenshots.takeScreenshot(driver, true, true);
+
+    assertThat(screenshot2).isNotSameAs(screenshot1);
+    verify(photographer, times(2)).takeScreenshot(any(), eq(BYTES));
+  }
+
+  @Test
+  void takesNewScreenshot_ifPageEpochIsUnknown() {
+    ScreenShotLaboratory screenshots = reusingUnchangedScreenshots();
+    when(webDriver.executeScript(anyString())).thenReturn(null);
+
+    Screenshot screenshot1 = screenshots.takeScreenshot(driver, true, true);
+    Screenshot screenshot2 = screenshots.takeScreenshot(driver, true, true);
+
+    assertThat(screenshot2).isNotSameAs(screenshot1);
+    verify(photographer, times(2)).takeScreenshot(any(), eq(BYTES));
+  }
+
+  @Test
+  void doesNotReadPageEpoch_ifNeitherScreenshotNorPageSourceIsSaved() {
+    ScreenShotLaboratory screenshots = reusingUnchangedScreenshots();
+    config.screenshots(false);
+
+    screenshots.takeScreenshot(driver, false, false);
+
+    assertThat(screenshots.pageEpoch(driver)).isNull();
+    verify(webDriver, never()).executeScript(anyString());
+  }
+
+  private ScreenShotLaboratory reusingUnchangedScreenshots() {
+    ReportsConfiguration reportsConfig = spy(new ReportsConfiguration());
+    doReturn(true).when(reportsConfig).reuseUnchangedScreenshots();
+    return new ScreenShotLaboratory(photographer, extractor, clock, reportsConfig, new ReportsStorage(true), new PageEpoch());
+  }
+
+  @Test
+  void movesScreenshotFile_ifPhotographerCreatesFileAnyway() throws IOException {
+    File tempFile = File.createTempFile("screenshot", ".png");
+    Files.writeString(tempFile.toPath(), "big png source");
+    when(photographer.prefersFileOutput()).thenReturn(true);
+    when(photographer.takeScreenshot(any(), eq(FILE))).thenReturn(Optional.of(tempFile));
+
+    Screenshot screenshot = screenshots.takeScreenshot(driver, true, false);
+
+    assertThat(screenshot.getImageFile()).isNotNull();
+    assertThat(Files.readString(screenshot.getImageFile().toPath())).isEqualTo("big png source");
+    assertThat(tempFile).doesNotExist();
+    verify(photographer, never()).takeScreenshot(any(), eq(BYTES));
+  }
 
+  @Test
+  void savesElementScreenshotWithoutDecodingIt() throws IOException {
+    WebElement element = mock();
+    when(element.getScreenshotAs(BYTES)).thenReturn("element png source".getBytes(UTF_8));
+
+    File screenshot = screenshots.takeScreenshot(driver, element);
+
+    assertThat(screenshot).hasName(String.format("%s.0.png", ts));
+    assertThat(Files.readString(screenshot.toPath())).isEqualTo("element png source");
+  }
+
+  @Test
   void printHtmlPath_if_savePageSourceIsEnabled() {
     config.savePageSource(false);
     config.reportsUrl("http://ci.mycompany.com/job/666/artifact/");
@@ -0,0 +1,49 @@
+package com.codeborne.selenide.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class ScreenshotsHistoryTest {
+  private final Screenshot first = screenshot("first.png");
+  private final Screenshot second = screenshot("second.png");
+  private final Screenshot third = screenshot("third.png");
+
+  @Test
+  void emptyHistory() {
+    ScreenshotsHistory history = new ScreenshotsHistory(2);
+
+    assertThat(history.isEmpty()).isTrue();
+    assertThat(history.last()).isNull();
+    assertThat(history.toList()).isEmpty();
+  }
+
+  @Test
+  void evictsOldestScreenshots_whenMaxSizeIsExceeded() {
+    ScreenshotsHistory history = new ScreenshotsHistory(2);
+    history.add(first);
+    history.add(second);
+    history.add(third);
+
+    assertThat(history.size()).isEqualTo(2);
+    assertThat(history.last()).isSameAs(third);
+    assertThat(history.toList()).containsExactly(second, third);
+  }
+
+  @Test
+  void zeroMaxSizeMeansUnlimited() {
+    ScreenshotsHistory history = new ScreenshotsHistory(0);
+    history.add(first);
+    history.add(second);
+    history.add(third);
+
+    assertThat(history.size()).isEqualTo(3);
+    assertThat(history.toList()).containsExactly(first, second, third);
+  }
+
+  private static Screenshot screenshot(String fileName) {
+    return new Screenshot(new File(fileName), fileName, null);
+  }
+}
@@ -10,15 +10,20 @@ import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.UnsupportedCommandException;
 import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
 
 import java.util.Collection;
+import java.util.Map;
 
 import static com.codeborne.selenide.Condition.visible;
 import static com.codeborne.selenide.Mocks.mockWebElement;
 import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 final class SelenideElementDescriberTest {
@@ -156,6 +161,25 @@ final class SelenideElementDescriberTest {
       "<h1 name=\"fname\" displayed:WebDriverException: isDisplayed might fail on stolen element>Hello yo</h1>");
   }
 
+  @Test
+  void describesElementWithSingleJavascriptCall() {
+    ChromeDriver webDriver = mock();
+    when(driver.supportsJavascript()).thenReturn(true);
+    when(driver.getWebDriver()).thenReturn(webDriver);
+    when(webDriver.executeScript(anyString(), any())).thenReturn(Map.of(
+      "tagName", "input",
+      "attributes", Map.of("type", "checkbox", "id", "agree", "readonly", ""),
+      "selected", true,
+      "displayed", false,
+      "text", ""
+    ));
+    WebElement element = mock();
+
+    assertThat(describe.fully(driver, element))
+      .isEqualTo("<input id=\"agree\" readonly type=\"checkbox\" selected:true displayed:false></input>");
+    verifyNoInteractions(element);
+  }
+
   @Test
   void fully_onNullCollection() {
     assertThat(describe.fully(driver, (Collection<WebElement>) null)).isEqualTo("[not loaded yet...]");
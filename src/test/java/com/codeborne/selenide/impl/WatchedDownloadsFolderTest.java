@@ -0,0 +1,98 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.DownloadsFolder;
+import com.codeborne.selenide.SharedDownloadsFolder;
+import com.codeborne.selenide.files.FileFilters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class WatchedDownloadsFolderTest {
+  private static final Set<String> TEMPORARY_FILES = Set.of("crdownload");
+  private final SharedDownloadsFolder folder = new SharedDownloadsFolder("build/downloads/" + randomUUID());
+  private final WatchedDownloadsFolder watchedFolder = WatchedDownloadsFolder.watch(folder);
+
+  @AfterEach
+  void tearDown() {
+    watchedFolder.close();
+  }
+
+  @Test
+  void tracksTemporaryFilesUsingFileSystemEvents() throws IOException {
+    assertThat(watchedFolder.isWatching()).isTrue();
+    assertThat(watchedFolder.hasFiles(TEMPORARY_FILES, FileFilters.none())).isFalse();
+
+    File temporaryFile = folder.file("report.pdf.crdownload");
+    writeStringToFile(temporaryFile, "Hello", UTF_8);
+    awaitUntil(() -> watchedFolder.hasFiles(TEMPORARY_FILES, FileFilters.none()));
+    assertThat(watchedFolder.lastModificationTime()).isPresent();
+
+    assertThat(temporaryFile.renameTo(folder.file("report.pdf"))).isTrue();
+    awaitUntil(() -> !watchedFolder.hasFiles(TEMPORARY_FILES, FileFilters.none()));
+    assertThat(watchedFolder.filesAsString()).isEqualTo("[report.pdf]");
+  }
+
+  @Test
+  void modificationsOfFilesDoNotEndTheWait() throws IOException {
+    File temporaryFile = folder.file("report.pdf.crdownload");
+    writeStringToFile(temporaryFile, "Hello", UTF_8);
+    watchedFolder.await(1000);
+
+    writeStringToFile(temporaryFile, ", world", UTF_8, true);
+    long start = System.currentTimeMillis();
+    watchedFolder.await(300);
+
+    assertThat(System.currentTimeMillis() - start).as("waits until timeout").isGreaterThanOrEqualTo(300);
+    assertThat(watchedFolder.lastModificationTime()).isPresent();
+  }
+
+  @Test
+  void readsFolderOnDiskEvenIfWatchServiceSendsNoEvents() throws IOException {
+    try (WatchService silentWatchService = FileSystems.getDefault().newWatchService();
+         WatchedDownloadsFolder silentFolder = new WatchedDownloadsFolder(folder, silentWatchService)) {
+      writeStringToFile(folder.file("report.pdf.crdownload"), "Hello", UTF_8);
+
+      assertThat(silentFolder.hasFiles(TEMPORARY_FILES, FileFilters.none())).isTrue();
+      assertThat(silentFolder.lastModificationTime()).isPresent();
+      assertThat(silentFolder.filesAsString()).contains("report.pdf.crdownload");
+
+      long start = System.currentTimeMillis();
+      silentFolder.await(100);
+      assertThat(System.currentTimeMillis() - start).as("waits not longer than polling interval").isLessThan(5000);
+    }
+  }
+
+  @Test
+  void fallsBackToPollingForNonLocalFolders() {
+    DownloadsFolder remoteFolder = mock();
+    when(remoteFolder.hasFiles(TEMPORARY_FILES, FileFilters.none())).thenReturn(true);
+
+    try (WatchedDownloadsFolder polledFolder = WatchedDownloadsFolder.watch(remoteFolder)) {
+      assertThat(polledFolder.isWatching()).isFalse();
+      assertThat(polledFolder.hasFiles(TEMPORARY_FILES, FileFilters.none())).isTrue();
+      verify(remoteFolder).hasFiles(TEMPORARY_FILES, FileFilters.none());
+    }
+  }
+
+  private void awaitUntil(BooleanSupplier condition) {
+    // Some file systems (e.g. on MacOS) deliver events with a delay of several seconds
+    for (long start = System.currentTimeMillis(); System.currentTimeMillis() - start < 15_000; watchedFolder.await(100)) {
+      if (condition.getAsBoolean()) return;
+    }
+    assertThat(condition.getAsBoolean()).isTrue();
+  }
+}
@@ -0,0 +1,44 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.proxy.SelenideProxyServer;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+final class WebDriverInstanceTest {
+  private final WebDriver webDriver = mock();
+  private final SelenideProxyServer proxy = mock();
+
+  @Test
+  void stopsProxyWithFixedPortImmediately() {
+    SelenideConfig config = new SelenideConfig().proxyEnabled(true).proxyPort(18080);
+
+    new WebDriverInstance(config, webDriver, proxy, null).releaseUrgentResources();
+
+    verify(proxy).shutdown();
+    verifyNoInteractions(webDriver);
+  }
+
+  @Test
+  void proxyWithRandomPortCanBeStoppedLater() {
+    SelenideConfig config = new SelenideConfig().proxyEnabled(true).proxyPort(0);
+
+    new WebDriverInstance(config, webDriver, proxy, null).releaseUrgentResources();
+
+    verify(proxy, never()).shutdown();
+  }
+
+  @Test
+  void doesNotStopProxy_ifBrowserShouldStayOpen() {
+    SelenideConfig config = new SelenideConfig().proxyEnabled(true).proxyPort(18080).holdBrowserOpen(true);
+
+    new WebDriverInstance(config, webDriver, proxy, null).releaseUrgentResources();
+
+    verify(proxy, never()).shutdown();
+  }
+}
@@ -1,27 +1,37 @@
 package com.codeborne.selenide.proxy;
 
-import com.browserup.bup.util.HttpMessageContents;
-import com.browserup.bup.util.HttpMessageInfo;
 import com.codeborne.selenide.SelenideConfig;
 import com.codeborne.selenide.impl.Downloader;
 import com.codeborne.selenide.impl.DummyRandomizer;
-import io.netty.handler.codec.http.DefaultHttpHeaders;
-import io.netty.handler.codec.http.HttpHeaders;
-import io.netty.handler.codec.http.HttpMessage;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
 import io.netty.handler.codec.http.HttpRequest;
-import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.littleshoot.proxy.HttpFilters;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.zip.GZIPOutputStream;
 
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.apache.commons.io.FileUtils.deleteDirectory;
 import static org.apache.commons.io.FileUtils.readFileToByteArray;
 import static org.apache.commons.io.FileUtils.readFileToString;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -30,91 +40,73 @@ final class FileDownloadFilterTest {
   private final FileDownloadFilter filter = new FileDownloadFilter(
     new SelenideConfig().downloadsFolder("build/downloads"), new Downloader(new DummyRandomizer("random-text"))
   );
-  private final HttpRequest request = mock();
-  private final HttpResponse response = mock();
-  private final HttpMessageContents contents = mock();
-  private final HttpMessageInfo messageInfo = mock();
+  private final EmbeddedChannel connection = new EmbeddedChannel();
 
   @BeforeEach
   void setUp() throws IOException {
-    DefaultHttpHeaders headers = new DefaultHttpHeaders();
-    headers.add("hkey-01", "hvalue-01");
-    when(response.headers()).thenReturn(headers);
-
-    when(contents.getContentType()).thenReturn("app/json");
-    when(contents.getTextContents()).thenReturn("my-text");
     File directory = new File("build/downloads/random-text").getAbsoluteFile();
     deleteDirectory(directory);
   }
 
   @Test
-  void requestFilter_doesNothingIfNotActivated() {
-    filter.deactivate();
-    filter.filterRequest(request, contents, messageInfo);
-
-    verifyNoMoreInteractions(request);
-    verifyNoMoreInteractions(contents);
-    verifyNoMoreInteractions(messageInfo);
-  }
-
-  @Test
-  void requestFilter_addsRequestHeader_toDisableContentEncoding() {
-    mockHeaders(request).add("Accept-encoding", "br, gzip");;
+  void doesNotModifyRequests() {
+    HttpRequest request = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/files/report.pdf");
+    request.headers().add("Accept-Encoding", "gzip, deflate, br");
     filter.activate();
 
-    filter.filterRequest(request, contents, messageInfo);
+    streaming(request).clientToProxyRequest(request);
 
-    assertThat(request.headers().get("accept-encoding")).isEqualTo("identity");
+    assertThat(request.headers().get("Accept-Encoding")).isEqualTo("gzip, deflate, br");
   }
 
   @Test
-  void responseFilter_doesNothingIfNotActivated() {
+  void doesNothingIfNotActivated() {
     filter.deactivate();
-    filter.filterResponse(response, contents, messageInfo);
+    DefaultHttpResponse response = mock();
+
+    streaming("http://localhost/files/report.pdf").serverToProxyResponse(response);
 
     verifyNoMoreInteractions(response);
-    verifyNoMoreInteractions(contents);
-    verifyNoMoreInteractions(messageInfo);
+    assertThat(filter.responsesAsString()).isEqualTo("0 responses:\n");
   }
 
   @Test
   void doesNotInterceptResponsesWithCodeBelow200() {
     filter.activate();
-    mockStatusCode(199, "below 200");
-    filter.filterResponse(response, contents, messageInfo);
-
-    assertThat(filter.responsesAsString())
-      .isEqualTo("1 responses:\n  #1  null -> 199 \"below 200\" {hkey-01=hvalue-01} app/json  (7 bytes)\n");
-  }
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
 
-  private void mockStatusCode(int code, String reason) {
-    when(response.status()).thenReturn(new HttpResponseStatus(code, reason));
-  }
+    streaming.serverToProxyResponse(response(new HttpResponseStatus(199, "below 200")));
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("my-text".getBytes(UTF_8))));
 
-  private void mockUrl(String url) {
-    when(messageInfo.getUrl()).thenReturn(url);
+    assertThat(filter.downloads().size()).isEqualTo(0);
+    assertThat(filter.responsesAsString()).isEqualTo(
+      "1 responses:\n  #1  http://localhost/files/report.pdf -> 199 \"below 200\" {hkey-01=hvalue-01} null  (7 bytes)\n");
   }
 
   @Test
   void doesNotInterceptResponsesWithCodeAbove300() {
     filter.activate();
-    mockStatusCode(300, "300 or above");
-    filter.filterResponse(response, contents, messageInfo);
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
 
-    assertThat(filter.responsesAsString())
-      .isEqualTo("1 responses:\n  #1  null -> 300 \"300 or above\" {hkey-01=hvalue-01} app/json  (7 bytes)\n");
+    streaming.serverToProxyResponse(response(new HttpResponseStatus(300, "300 or above")));
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("my-text".getBytes(UTF_8))));
+
+    assertThat(filter.downloads().size()).isEqualTo(0);
+    assertThat(filter.responsesAsString()).isEqualTo(
+      "1 responses:\n  #1  http://localhost/files/report.pdf -> 300 \"300 or above\" {hkey-01=hvalue-01} null  (7 bytes)\n");
   }
 
   @Test
-  void interceptsHttpResponse() throws IOException {
+  void usesNameFromContentDispositionHeader() throws IOException {
     filter.activate();
-    mockStatusCode(200, "200=success");
-    mockHeaders(response).add("content-disposition", "attachement; filename=report.pdf");
-    when(contents.getBinaryContents()).thenReturn(new byte[]{1, 2, 3, 4, 5});
+    HttpFilters streaming = streaming("http://localhost/download?id=42");
+    DefaultHttpResponse response = response(OK);
+    response.headers().add("content-disposition", "attachement; filename=report.pdf");
 
-    filter.filterResponse(response, contents, messageInfo);
-    assertThat(filter.downloads().size()).isEqualTo(1);
+    streaming.serverToProxyResponse(response);
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer(new byte[]{1, 2, 3, 4, 5})));
 
+    assertThat(filter.downloads().size()).isEqualTo(1);
     File file = filter.downloads().files().get(0).getFile();
     File expectedFile = new File("build/downloads/random-text/report.pdf");
     assertThat(file.getName()).isEqualTo("report.pdf");
@@ -125,25 +117,154 @@ final class FileDownloadFilterTest {
   @Test
   void usesNameFromURL_ifResponseHasNoContentDispositionHeader() throws IOException {
     filter.activate();
-    mockStatusCode(200, "200=success");
-    mockHeaders(response);
-    mockUrl("/foo/bar/cv.pdf?42");
-    when(contents.getBinaryContents()).thenReturn("HELLO".getBytes(UTF_8));
+    HttpFilters streaming = streaming("http://localhost/foo/bar/cv.pdf?42");
 
-    filter.filterResponse(response, contents, messageInfo);
+    streaming.serverToProxyResponse(new DefaultHttpResponse(HTTP_1_1, OK));
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("HELLO".getBytes(UTF_8))));
 
     assertThat(filter.responsesAsString())
-      .isEqualTo("1 responses:\n  #1  /foo/bar/cv.pdf?42 -> 200 \"200=success\" {} app/json  (7 bytes)\n");
+      .isEqualTo("1 responses:\n  #1  http://localhost/foo/bar/cv.pdf?42 -> 200 \"OK\" {} null  (5 bytes)\n");
     File file = filter.downloads().files().get(0).getFile();
-    File expectedFile = new File("build/downloads/random-text/cv.pdf");
     assertThat(file.getName()).isEqualTo("cv.pdf");
-    assertThat(file.getPath()).endsWith(expectedFile.getPath());
     assertThat(readFileToString(file, UTF_8)).isEqualTo("HELLO");
   }
 
-  private HttpHeaders mockHeaders(HttpMessage message) {
-    HttpHeaders headers = new DefaultHttpHeaders();
-    when(message.headers()).thenReturn(headers);
-    return headers;
+  @Test
+  void streamsResponseBodyToFile() throws IOException {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
+    DefaultHttpResponse httpResponse = new DefaultHttpResponse(HTTP_1_1, OK);
+    httpResponse.headers().add("Content-Type", "application/pdf");
+
+    streaming.serverToProxyResponse(httpResponse);
+    streaming.serverToProxyResponse(new DefaultHttpContent(wrappedBuffer("Hello, ".getBytes(UTF_8))));
+    assertThat(filter.downloads().size()).as("download is not completed yet").isEqualTo(0);
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("WinRar!".getBytes(UTF_8))));
+
+    assertThat(filter.downloads().size()).isEqualTo(1);
+    File file = filter.downloads().files().get(0).getFile();
+    assertThat(file.getName()).isEqualTo("report.pdf");
+    assertThat(readFileToString(file, UTF_8)).isEqualTo("Hello, WinRar!");
+    assertThat(filter.responsesAsString()).endsWith("application/pdf  (14 bytes)\n");
+  }
+
+  @Test
+  void decodesCompressedResponseBody() throws IOException {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.txt");
+    DefaultHttpResponse httpResponse = new DefaultHttpResponse(HTTP_1_1, OK);
+    httpResponse.headers().add("Content-Encoding", "gzip");
+    byte[] gzipped = gzip("Hello, WinRar!");
+
+    streaming.serverToProxyResponse(httpResponse);
+    streaming.serverToProxyResponse(new DefaultHttpContent(wrappedBuffer(Arrays.copyOfRange(gzipped, 0, 10))));
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer(Arrays.copyOfRange(gzipped, 10, gzipped.length))));
+
+    File file = filter.downloads().files().get(0).getFile();
+    assertThat(readFileToString(file, UTF_8)).isEqualTo("Hello, WinRar!");
+  }
+
+  @Test
+  void doesNotSaveResponseBodyWithUnsupportedContentEncoding() {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.txt");
+    DefaultHttpResponse httpResponse = new DefaultHttpResponse(HTTP_1_1, OK);
+    httpResponse.headers().add("Content-Encoding", "compress");
+
+    streaming.serverToProxyResponse(httpResponse);
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("?!?".getBytes(UTF_8))));
+
+    assertThat(filter.downloads().size()).isEqualTo(0);
+    assertThat(filter.responsesAsString()).startsWith("1 responses:").endsWith("(3 bytes)\n");
+    assertThat(new File("build/downloads/random-text/report.txt")).doesNotExist();
+  }
+
+  @Test
+  void deletesInvalidCompressedResponseBody() {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.txt");
+    DefaultHttpResponse httpResponse = new DefaultHttpResponse(HTTP_1_1, OK);
+    httpResponse.headers().add("Content-Encoding", "gzip");
+
+    streaming.serverToProxyResponse(httpResponse);
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("not a gzip".getBytes(UTF_8))));
+
+    assertThat(filter.downloads().size()).isEqualTo(0);
+    assertThat(new File("build/downloads/random-text/report.txt")).doesNotExist();
+  }
+
+  @Test
+  void deletesPartialFile_ifConnectionIsClosed() {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
+
+    streaming.serverToProxyResponse(new DefaultHttpResponse(HTTP_1_1, OK));
+    streaming.serverToProxyResponse(new DefaultHttpContent(wrappedBuffer("Hello, ".getBytes(UTF_8))));
+    assertThat(new File("build/downloads/random-text/report.pdf")).exists();
+    connection.close();
+
+    assertThat(new File("build/downloads/random-text/report.pdf")).doesNotExist();
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("WinRar!".getBytes(UTF_8))));
+    assertThat(filter.downloads().size()).isEqualTo(0);
+  }
+
+  @Test
+  void deletesPartialFile_ifConnectionToServerFailed() {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
+
+    streaming.serverToProxyResponse(new DefaultHttpResponse(HTTP_1_1, OK));
+    streaming.serverToProxyResponse(new DefaultHttpContent(wrappedBuffer("Hello, ".getBytes(UTF_8))));
+    streaming.proxyToServerConnectionFailed();
+
+    assertThat(new File("build/downloads/random-text/report.pdf")).doesNotExist();
+    assertThat(filter.downloads().size()).isEqualTo(0);
+  }
+
+  @Test
+  void keepsOnlyMetadataOfUnsuccessfulResponses() {
+    filter.activate();
+    HttpFilters streaming = streaming("http://localhost/files/report.pdf");
+
+    streaming.serverToProxyResponse(new DefaultHttpResponse(HTTP_1_1, NOT_FOUND));
+    streaming.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("Not found".getBytes(UTF_8))));
+
+    assertThat(filter.downloads().size()).isEqualTo(0);
+    assertThat(filter.responsesAsString()).startsWith("1 responses:").endsWith("(9 bytes)\n");
+  }
+
+  @Test
+  void contentDecoder() {
+    assertThat(FileDownloadFilter.decoder(null)).isNull();
+    assertThat(FileDownloadFilter.decoder("identity")).isNull();
+    assertThat(FileDownloadFilter.decoder("GZIP")).isNotNull();
+    assertThat(FileDownloadFilter.decoder("deflate")).isNotNull();
+    assertThatThrownBy(() -> FileDownloadFilter.decoder("gzip, compress"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Unsupported Content-Encoding: gzip, compress");
+  }
+
+  private HttpFilters streaming(String url) {
+    return streaming(new DefaultHttpRequest(HTTP_1_1, GET, url));
+  }
+
+  private HttpFilters streaming(HttpRequest request) {
+    ChannelHandlerContext ctx = mock();
+    when(ctx.channel()).thenReturn(connection);
+    return filter.filterRequest(request, ctx);
+  }
+
+  private DefaultHttpResponse response(HttpResponseStatus status) {
+    DefaultHttpResponse response = new DefaultHttpResponse(HTTP_1_1, status);
+    response.headers().add("hkey-01", "hvalue-01");
+    return response;
+  }
+
+  private static byte[] gzip(String text) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(text.getBytes(UTF_8));
+    }
+    return bytes.toByteArray();
   }
 }
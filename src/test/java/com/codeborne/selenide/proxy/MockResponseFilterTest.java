@@ -0,0 +1,101 @@
+package com.codeborne.selenide.proxy;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultFullHttpRequest;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.junit.jupiter.api.Test;
+import org.littleshoot.proxy.HttpFilters;
+
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class MockResponseFilterTest {
+  @Test
+  void aggregatesRequestsOnlyIfSomeMockNeedsRequestBody() {
+    MockResponseFilter filter = new MockResponseFilter();
+    assertThat(filter.getMaximumRequestBufferSizeInBytes()).isEqualTo(0);
+
+    filter.mockText("login", RequestMatchers.urlEndsWith(RequestMatcher.HttpMethod.POST, "/login"), () -> "ok");
+    assertThat(filter.getMaximumRequestBufferSizeInBytes()).isEqualTo(0);
+
+    filter.mockText("search", (request, contents, messageInfo) -> contents.getTextContents().contains("q="), () -> "ok");
+    assertThat(filter.getMaximumRequestBufferSizeInBytes()).isGreaterThan(0);
+
+    filter.reset("search");
+    assertThat(filter.getMaximumRequestBufferSizeInBytes()).isEqualTo(0);
+  }
+
+  @Test
+  void closesStreamingConnectionsWhenMockNeedingRequestBodyIsRegistered() {
+    MockResponseFilter filter = new MockResponseFilter();
+    EmbeddedChannel streamingConnection = new EmbeddedChannel();
+    filter.filterRequest(new DefaultHttpRequest(HTTP_1_1, GET, "/index.html"), context(streamingConnection));
+
+    filter.mockText("login", RequestMatchers.urlEndsWith(RequestMatcher.HttpMethod.POST, "/login"), () -> "ok");
+    assertThat(streamingConnection.isOpen()).isTrue();
+
+    filter.mockText("search", (request, contents, messageInfo) -> contents.getTextContents().contains("q="), () -> "ok");
+    assertThat(streamingConnection.isOpen()).as("browser should re-open connection with aggregation").isFalse();
+    assertThat(filter.streamingConnectionsCount()).isEqualTo(0);
+    assertThat(filter.getMaximumRequestBufferSizeInBytes()).isGreaterThan(0);
+  }
+
+  @Test
+  void closesStreamingConnectionWithRequestInProgressAfterResponse() {
+    MockResponseFilter filter = new MockResponseFilter();
+    EmbeddedChannel busyConnection = new EmbeddedChannel();
+    DefaultHttpRequest request = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/report.pdf");
+    HttpFilters filters = filter.filterRequest(request, context(busyConnection));
+    filters.clientToProxyRequest(request);
+
+    filter.mockText("search", (r, contents, messageInfo) -> contents.getTextContents().contains("q="), () -> "ok");
+    assertThat(busyConnection.isOpen()).as("request in progress should not be interrupted").isTrue();
+
+    HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+    filters.proxyToClientResponse(response);
+    filters.proxyToClientResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+    assertThat(response.headers().get("Connection")).isEqualTo("close");
+  }
+
+  @Test
+  void closesStreamingConnectionWhoseResponseIsComplete() {
+    MockResponseFilter filter = new MockResponseFilter();
+    EmbeddedChannel connection = new EmbeddedChannel();
+    DefaultHttpRequest request = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/index.html");
+    HttpFilters filters = filter.filterRequest(request, context(connection));
+    filters.clientToProxyRequest(request);
+    filters.proxyToClientResponse(new DefaultFullHttpResponse(HTTP_1_1, OK));
+
+    filter.mockText("search", (r, contents, messageInfo) -> contents.getTextContents().contains("q="), () -> "ok");
+
+    assertThat(connection.isOpen()).isFalse();
+  }
+
+  @Test
+  void doesNotCloseAggregatingConnections() {
+    MockResponseFilter filter = new MockResponseFilter();
+    filter.mockText("search", (request, contents, messageInfo) -> contents.getTextContents().contains("q="), () -> "ok");
+    EmbeddedChannel aggregatingConnection = new EmbeddedChannel();
+    filter.filterRequest(new DefaultFullHttpRequest(HTTP_1_1, POST, "/search"), context(aggregatingConnection));
+
+    filter.mockText("suggest", (request, contents, messageInfo) -> contents.getTextContents().contains("s="), () -> "ok");
+
+    assertThat(aggregatingConnection.isOpen()).isTrue();
+  }
+
+  private static ChannelHandlerContext context(EmbeddedChannel channel) {
+    ChannelHandlerContext ctx = mock();
+    when(ctx.channel()).thenReturn(channel);
+    return ctx;
+  }
+}
@@ -0,0 +1,116 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.util.HttpMessageContents;
+import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpResponse;
+import org.jspecify.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.netty.handler.codec.http.HttpMethod.CONNECT;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class RequestBlockingFilterTest {
+  private final RequestBlockingFilter filter = new RequestBlockingFilter(List.of("google-analytics.com", "https://*.Example.com/ads/"));
+
+  @Test
+  void blocksHostAndItsSubdomainsWithEmptyResponse() {
+    HttpResponse response = request(GET, "https://www.google-analytics.com/analytics.js?v=2");
+    assertThat(response).isNotNull();
+    assertThat(response.status().code()).isEqualTo(204);
+    assertThat(response.headers().get("Content-Length")).isEqualTo("0");
+    assertThat(response.headers().get("X-Blocked-By")).isEqualTo("google-analytics.com");
+
+    assertThat(request(POST, "http://google-analytics.com:8080/collect")).isNotNull();
+    assertThat(request(GET, "https://not-google-analytics.com/analytics.js")).isNull();
+    assertThat(request(GET, "https://google-analytics.com.evil.org/analytics.js")).isNull();
+  }
+
+  @Test
+  void blocksByPathPrefix() {
+    assertThat(request(GET, "https://example.com/ads/banner.png")).isNotNull();
+    assertThat(request(GET, "https://cdn.example.com/ads/banner.png")).isNotNull();
+    assertThat(request(GET, "https://example.com/adsense")).isNull();
+    assertThat(request(GET, "https://example.com/")).isNull();
+    assertThat(request(GET, "https://example.com")).isNull();
+  }
+
+  @Test
+  void moreSpecificPathWins() {
+    filter.block("example.com/ads/script.js", 200, "application/javascript", "window.ads = [];");
+
+    FullHttpResponse response = (FullHttpResponse) request(GET, "https://example.com/ads/script.js");
+    assertThat(response).isNotNull();
+    assertThat(response.status().code()).isEqualTo(200);
+    assertThat(response.headers().get("Content-Type")).isEqualTo("application/javascript");
+    assertThat(response.content().toString(UTF_8)).isEqualTo("window.ads = [];");
+    assertThat(request(GET, "https://example.com/ads/other.js").status().code()).isEqualTo(204);
+  }
+
+  @Test
+  void countsHitsPerRule() {
+    request(GET, "https://www.google-analytics.com/analytics.js");
+    request(GET, "https://www.google-analytics.com/collect");
+    request(GET, "https://example.com/ads/1.png");
+    request(GET, "https://example.com/index.html");
+
+    assertThat(filter.hits()).isEqualTo(Map.of("google-analytics.com", 2L, "example.com/ads/", 1L));
+  }
+
+  @Test
+  void doesNotBlockConnectRequests() {
+    assertThat(request(CONNECT, "www.google-analytics.com:443")).isNull();
+  }
+
+  @Test
+  void canUnblock() {
+    filter.unblock("google-analytics.com");
+    assertThat(request(GET, "https://www.google-analytics.com/analytics.js")).isNull();
+    assertThatThrownBy(() -> filter.unblock("google-analytics.com"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Blocking rule was not registered: google-analytics.com");
+
+    filter.unblockAll();
+    assertThat(request(GET, "https://example.com/ads/1.png")).isNull();
+    assertThat(filter.hits()).isEmpty();
+  }
+
+  @Test
+  void canRestoreInitialRules() {
+    filter.unblock("google-analytics.com");
+    filter.block("doubleclick.net");
+    request(GET, "https://example.com/ads/1.png");
+
+    filter.restoreInitialRules();
+
+    assertThat(filter.hits()).isEqualTo(Map.of("google-analytics.com", 0L, "example.com/ads/", 0L));
+    assertThat(request(GET, "https://www.google-analytics.com/analytics.js")).isNotNull();
+    assertThat(request(GET, "https://doubleclick.net/ad.js")).isNull();
+  }
+
+  @Test
+  void ruleCanBeRegisteredOnlyOnce() {
+    assertThatThrownBy(() -> filter.block("*.google-analytics.com"))
+      .isInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Blocking rule already registered: google-analytics.com");
+  }
+
+  @Nullable
+  private HttpResponse request(HttpMethod method, String url) {
+    HttpMessageInfo info = mock();
+    when(info.getUrl()).thenReturn(url);
+    return filter.filterRequest(new DefaultHttpRequest(HTTP_1_1, method, url), mock(HttpMessageContents.class), info);
+  }
+}
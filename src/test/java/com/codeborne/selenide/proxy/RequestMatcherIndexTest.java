@@ -0,0 +1,79 @@
+package com.codeborne.selenide.proxy;
+
+import com.browserup.bup.util.HttpMessageInfo;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpRequest;
+import org.junit.jupiter.api.Test;
+
+import static com.codeborne.selenide.proxy.RequestMatchers.urlContains;
+import static com.codeborne.selenide.proxy.RequestMatchers.urlEquals;
+import static com.codeborne.selenide.proxy.RequestMatchers.urlStartsWith;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.HEAD;
+import static io.netty.handler.codec.http.HttpMethod.OPTIONS;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class RequestMatcherIndexTest {
+  private final RequestMatcherIndex<String> index = new RequestMatcherIndex<>();
+
+  @Test
+  void findsExactUrlsAndPrefixes() {
+    index.add(urlEquals(RequestMatcher.HttpMethod.GET, "https://selenide.org/login"), "login");
+    index.add(urlStartsWith(RequestMatcher.HttpMethod.GET, "https://selenide.org/api/"), "api");
+    index.add(urlStartsWith(RequestMatcher.HttpMethod.GET, "https://selenide.org/api/users"), "users");
+    index.add(urlEquals(RequestMatcher.HttpMethod.POST, "https://selenide.org/login"), "post login");
+
+    assertThat(find(GET, "https://selenide.org/login")).isEqualTo("login");
+    assertThat(find(POST, "https://selenide.org/login")).isEqualTo("post login");
+    assertThat(find(GET, "https://selenide.org/login?next=/")).isNull();
+    assertThat(find(GET, "https://selenide.org/api/users/123")).isEqualTo("api");
+    assertThat(find(GET, "https://selenide.org/api")).isNull();
+    assertThat(find(HEAD, "https://selenide.org/login")).isNull();
+  }
+
+  @Test
+  void returnsFirstRegisteredMatch() {
+    index.add(urlContains(RequestMatcher.HttpMethod.GET, "/users"), "contains");
+    index.add(urlStartsWith(RequestMatcher.HttpMethod.GET, "https://selenide.org/"), "prefix");
+    index.add(urlEquals(RequestMatcher.HttpMethod.GET, "https://selenide.org/users"), "exact");
+    index.add(urlContains(RequestMatcher.HttpMethod.GET, "/login"), "contains login");
+
+    assertThat(find(GET, "https://selenide.org/users")).isEqualTo("contains");
+    assertThat(find(GET, "https://selenide.org/login")).isEqualTo("prefix");
+    assertThat(find(GET, "https://codeborne.com/login")).isEqualTo("contains login");
+
+    index.remove("contains");
+    index.remove("prefix");
+    assertThat(find(GET, "https://selenide.org/users")).isEqualTo("exact");
+  }
+
+  @Test
+  void optionsRequestMatchesAnyMethod() {
+    index.add(urlEquals(RequestMatcher.HttpMethod.POST, "https://selenide.org/login"), "login");
+    index.add(urlStartsWith(RequestMatcher.HttpMethod.PUT, "https://selenide.org/users/"), "users");
+
+    assertThat(find(OPTIONS, "https://selenide.org/login")).isEqualTo("login");
+    assertThat(find(OPTIONS, "https://selenide.org/users/123")).isEqualTo("users");
+  }
+
+  @Test
+  void clear() {
+    index.add(urlEquals(RequestMatcher.HttpMethod.GET, "https://selenide.org"), "home");
+    index.add(urlContains(RequestMatcher.HttpMethod.GET, "selenide"), "any");
+    index.clear();
+
+    assertThat(find(GET, "https://selenide.org")).isNull();
+    assertThat(index.anyOtherMatcher(matcher -> true)).isFalse();
+  }
+
+  private String find(HttpMethod method, String url) {
+    HttpRequest request = mock();
+    when(request.method()).thenReturn(method);
+    HttpMessageInfo info = mock();
+    when(info.getUrl()).thenReturn(url);
+    return index.find(request, null, info);
+  }
+}
@@ -16,6 +16,16 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 class RequestMatchersTest {
+  @Test
+  void urlMatchersDoNotNeedRequestBody() {
+    assertThat(RequestMatchers.urlEquals(RequestMatcher.HttpMethod.GET, "https://codeborne.com").needsBody()).isFalse();
+    assertThat(RequestMatchers.urlMatches(RequestMatcher.HttpMethod.POST, ".*/login").needsBody()).isFalse();
+
+    RequestMatcher customMatcher = (request, contents, messageInfo) -> contents.getTextContents().contains("login");
+    assertThat(customMatcher.needsBody()).isTrue();
+  }
+
+
   @Test
   void urlEqualsTo() {
     RequestMatcher matcher = RequestMatchers.urlEquals(RequestMatcher.HttpMethod.GET, "https://codeborne.com");
@@ -1,6 +1,7 @@
 package com.codeborne.selenide.proxy;
 
 import com.browserup.bup.BrowserUpProxyServer;
+import com.browserup.bup.filters.RequestFilter;
 import com.codeborne.selenide.Config;
 import org.junit.jupiter.api.Test;
 import org.openqa.selenium.Proxy;
@@ -36,6 +37,31 @@ final class SelenideProxyServerTest {
     assertThat(requestFilter).isSameAs(filter);
   }
 
+  @Test
+  void registersStreamingFiltersOnlyOnce() {
+    proxyServer.start();
+
+    FileDownloadFilter filter = proxyServer.responseFilter("download");
+    verify(bmp).addLastHttpFilterFactory(filter);
+    verify(bmp, never()).addResponseFilter(filter);
+    verify(bmp, never()).addRequestFilter(filter);
+    verify(bmp).addLastHttpFilterFactory(proxyServer.responseMocker());
+    verify(bmp, never()).addRequestFilter(any());
+    verify(bmp, never()).addResponseFilter(any());
+  }
+
+  @Test
+  void detectsFiltersAddedAfterStart() {
+    proxyServer.start();
+    assertThat(proxyServer.hasCustomFilters()).isFalse();
+
+    proxyServer.addResponseFilter("download", proxyServer.responseFilter("download"));
+    assertThat(proxyServer.hasCustomFilters()).isFalse();
+
+    proxyServer.addRequestFilter("my-filter", mock(RequestFilter.class));
+    assertThat(proxyServer.hasCustomFilters()).isTrue();
+  }
+
   @Test
   void canChainProxyServersWithNoProxySettings() {
     Proxy proxy = new Proxy();
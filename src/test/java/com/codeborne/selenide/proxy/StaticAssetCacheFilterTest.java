@@ -0,0 +1,234 @@
+package com.codeborne.selenide.proxy;
+
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.impl.Downloader;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.DefaultHttpRequest;
+import io.netty.handler.codec.http.DefaultHttpResponse;
+import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.FullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaders;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.HttpObject;
+import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.junit.jupiter.api.Test;
+import org.littleshoot.proxy.HttpFilters;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static io.netty.handler.codec.http.HttpMethod.GET;
+import static io.netty.handler.codec.http.HttpMethod.POST;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_FOUND;
+import static io.netty.handler.codec.http.HttpResponseStatus.NOT_MODIFIED;
+import static io.netty.handler.codec.http.HttpResponseStatus.OK;
+import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class StaticAssetCacheFilterTest {
+  private final StaticAssetCache cache = new StaticAssetCache(new File("build/proxy-cache/" + randomUUID()), 1000);
+  private final StaticAssetCacheFilter filter = new StaticAssetCacheFilter(cache, Pattern.compile(".+\\.js"));
+  private HttpFilters filters;
+
+  @Test
+  void servesCachedResourceToNextRequests() {
+    assertThat(request(GET, "http://localhost/app.js")).isNull();
+    respond(response("application/javascript", "max-age=600"), "alert(", "'hi')");
+
+    HttpResponse cached = request(GET, "http://localhost/app.js");
+    assertThat(cached).isInstanceOf(FullHttpResponse.class);
+    assertThat(cached.headers().get("Content-Type")).isEqualTo("application/javascript");
+    assertThat(cached.headers().get("Content-Length")).isEqualTo("11");
+    assertThat(cached.headers().get("X-Selenide-Cache")).isEqualTo("HIT");
+    assertThat(cached.headers().contains("Transfer-Encoding")).isFalse();
+    assertThat(((FullHttpResponse) cached).content().toString(UTF_8)).isEqualTo("alert('hi')");
+    assertThat(cache.stats()).isEqualTo(new StaticAssetCache.Stats(1, 1, 0, 1, 11));
+  }
+
+  @Test
+  void doesNotCacheResponsesForbiddenToCache() {
+    request(GET, "http://localhost/app.js");
+    respond(response("application/javascript", "no-store"), "alert('hi')");
+    request(GET, "http://localhost/logo.png");
+    respond(new DefaultHttpResponse(HTTP_1_1, NOT_FOUND), "not found");
+    request(GET, "http://localhost/index.html");
+    respond(response("text/html", ""), "<html/>");
+    request(POST, "http://localhost/search.js");
+    respond(response("application/javascript", ""), "alert('hi')");
+
+    assertThat(cache.stats().count()).isZero();
+    assertThat(request(GET, "http://localhost/app.js")).isNull();
+  }
+
+  @Test
+  void cachesResourcesByContentType() {
+    request(GET, "http://localhost/logo?size=big");
+    respond(response("image/png", "max-age=600"), "PNG");
+    assertThat(request(GET, "http://localhost/logo?size=big")).isNotNull();
+  }
+
+  @Test
+  void doesNotCacheTooBigResources() {
+    request(GET, "http://localhost/vendor.js");
+    respond(response("application/javascript", ""), "x".repeat(200), "x".repeat(200));
+
+    assertThat(cache.stats().count()).isZero();
+    assertThat(cache.stats().size()).isZero();
+  }
+
+  @Test
+  void doesNotCacheResourcesWhichCanBeNeitherReusedNorRevalidated() {
+    request(GET, "http://localhost/app.js");
+    respond(response("application/javascript", ""), "alert('hi')");
+
+    assertThat(cache.stats().count()).isZero();
+  }
+
+  @Test
+  void returnsCachedResourceIfServerSaysItIsNotModified() {
+    request(GET, "http://localhost/app.js");
+    HttpResponse response = response("application/javascript", "no-cache");
+    response.headers().add("ETag", "\"v1\"");
+    respond(response, "alert('hi')");
+
+    DefaultHttpRequest revalidation = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/app.js");
+    assertThat(request(revalidation)).as("stale resource should be revalidated").isNull();
+    assertThat(revalidation.headers().get("If-None-Match")).isEqualTo("\"v1\"");
+
+    HttpObject notModified = filters.serverToProxyResponse(new DefaultHttpResponse(HTTP_1_1, NOT_MODIFIED));
+    HttpObject content = filters.serverToProxyResponse(LastHttpContent.EMPTY_LAST_CONTENT);
+
+    assertThat(((HttpResponse) notModified).status()).isEqualTo(OK);
+    assertThat(((HttpResponse) notModified).headers().get("Content-Length")).isEqualTo("11");
+    assertThat(((HttpResponse) notModified).headers().get("X-Selenide-Cache")).isEqualTo("HIT");
+    assertThat(((LastHttpContent) content).content().toString(UTF_8)).isEqualTo("alert('hi')");
+  }
+
+  @Test
+  void replacesStaleResourceIfServerReturnsNewVersion() {
+    request(GET, "http://localhost/app.js");
+    HttpResponse response = response("application/javascript", "max-age=0");
+    response.headers().add("ETag", "\"v1\"");
+    respond(response, "alert('v1')");
+
+    assertThat(request(GET, "http://localhost/app.js")).isNull();
+    HttpResponse newVersion = response("application/javascript", "max-age=600");
+    newVersion.headers().add("ETag", "\"v2\"");
+    respond(newVersion, "alert('v2')");
+
+    HttpResponse cached = request(GET, "http://localhost/app.js");
+    assertThat(((FullHttpResponse) cached).content().toString(UTF_8)).isEqualTo("alert('v2')");
+    assertThat(cache.stats().count()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotTouchConditionalRequestsOfBrowser() {
+    request(GET, "http://localhost/app.js");
+    HttpResponse response = response("application/javascript", "no-cache");
+    response.headers().add("ETag", "\"v1\"");
+    respond(response, "alert('hi')");
+
+    DefaultHttpRequest conditional = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/app.js");
+    conditional.headers().add("If-None-Match", "\"v0\"");
+    assertThat(request(conditional)).isNull();
+    DefaultHttpResponse notModified = new DefaultHttpResponse(HTTP_1_1, NOT_MODIFIED);
+
+    assertThat(filters.serverToProxyResponse(notModified)).isSameAs(notModified);
+    assertThat(conditional.headers().get("If-None-Match")).isEqualTo("\"v0\"");
+  }
+
+  @Test
+  void doesNotCacheAttachments() {
+    request(GET, "http://localhost/logo.png");
+    HttpResponse response = response("image/png", "max-age=600");
+    response.headers().add("Content-Disposition", "attachment; filename=logo.png");
+    respond(response, "PNG");
+
+    assertThat(cache.stats().count()).isZero();
+  }
+
+  @Test
+  void downloadsCachedImageThroughProxy() throws IOException {
+    FileDownloadFilter downloadFilter = new FileDownloadFilter(
+      new SelenideConfig().downloadsFolder("build/downloads/" + randomUUID()), new Downloader());
+    StaticAssetCacheFilter cacheFilter = new StaticAssetCacheFilter(cache, Pattern.compile(".+\\.js"), downloadFilter::isActive);
+    HttpFilters caching = cacheFilter.filterRequest(new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/logo.png"), mock());
+    caching.clientToProxyRequest(new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/logo.png"));
+    caching.serverToProxyResponse(response("image/png", "max-age=600"));
+    caching.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer("PNG v1".getBytes(UTF_8))));
+    assertThat(cache.stats().count()).isEqualTo(1);
+
+    downloadFilter.activate();
+    DefaultHttpRequest request = new DefaultHttpRequest(HTTP_1_1, GET, "http://localhost/logo.png");
+    caching = cacheFilter.filterRequest(request, mock());
+    ChannelHandlerContext ctx = mock();
+    when(ctx.channel()).thenReturn(new EmbeddedChannel());
+    HttpFilters downloading = downloadFilter.filterRequest(request, ctx);
+    assertThat(caching.clientToProxyRequest(request)).as("cached image should not be served during download").isNull();
+    assertThat(request.headers().contains("If-None-Match")).isFalse();
+    assertThat(request.headers().contains("If-Modified-Since")).isFalse();
+
+    HttpResponse response = response("image/png", "max-age=600");
+    HttpObject content = new DefaultLastHttpContent(wrappedBuffer("PNG v2".getBytes(UTF_8)));
+    caching.serverToProxyResponse(downloading.serverToProxyResponse(response));
+    caching.serverToProxyResponse(downloading.serverToProxyResponse(content));
+
+    assertThat(downloadFilter.downloads().size()).isEqualTo(1);
+    File downloaded = downloadFilter.downloads().files().get(0).getFile();
+    assertThat(downloaded.getName()).isEqualTo("logo.png");
+    assertThat(readFileToString(downloaded, UTF_8)).isEqualTo("PNG v2");
+  }
+
+  @Test
+  void calculatesExpirationTime() {
+    long now = 1_700_000_000_000L;
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("Cache-Control", "public, max-age=600"), now)).isEqualTo(now + 600_000);
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("Cache-Control", "s-maxage=60"), now)).isEqualTo(now + 60_000);
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("Cache-Control", "no-cache, max-age=600"), now)).isEqualTo(now);
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("Expires", "Wed, 21 Oct 2015 07:28:00 GMT"), now)).isEqualTo(1445412480000L);
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("Expires", "0"), now)).isEqualTo(now);
+    assertThat(StaticAssetCacheFilter.expiresAt(headers("ETag", "\"v1\""), now)).isEqualTo(now);
+  }
+
+  private static HttpHeaders headers(String name, String value) {
+    return new DefaultHttpHeaders().add(name, value);
+  }
+
+  private HttpResponse request(HttpMethod method, String url) {
+    return request(new DefaultHttpRequest(HTTP_1_1, method, url));
+  }
+
+  private HttpResponse request(DefaultHttpRequest request) {
+    filters = filter.filterRequest(request, mock(ChannelHandlerContext.class));
+    return filters.clientToProxyRequest(request);
+  }
+
+  private void respond(HttpResponse response, String... chunks) {
+    filters.serverToProxyResponse(response);
+    for (int i = 0; i < chunks.length - 1; i++) {
+      filters.serverToProxyResponse(new DefaultHttpContent(wrappedBuffer(chunks[i].getBytes(UTF_8))));
+    }
+    filters.serverToProxyResponse(new DefaultLastHttpContent(wrappedBuffer(chunks[chunks.length - 1].getBytes(UTF_8))));
+  }
+
+  private static HttpResponse response(String contentType, String cacheControl) {
+    DefaultHttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+    response.headers().add("Content-Type", contentType);
+    response.headers().add("Transfer-Encoding", "chunked");
+    if (!cacheControl.isEmpty()) {
+      response.headers().add("Cache-Control", cacheControl);
+    }
+    return response;
+  }
+}
@@ -0,0 +1,101 @@
+package com.codeborne.selenide.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.UUID.randomUUID;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class StaticAssetCacheTest {
+  private final StaticAssetCache cache = new StaticAssetCache(new File("build/proxy-cache/" + randomUUID()), 100);
+
+  @Test
+  void evictsLeastRecentlyUsedResources() throws IOException {
+    put("http://localhost/app.js", 20);
+    put("http://localhost/app.css", 20);
+    put("http://localhost/logo.png", 20);
+    assertThat(cache.get("http://localhost/app.js")).isNotNull();
+
+    put("http://localhost/font.woff2", 25);
+    put("http://localhost/icon.svg", 25);
+
+    assertThat(cache.get("http://localhost/app.css")).isNull();
+    assertThat(cache.get("http://localhost/logo.png")).isNull();
+    assertThat(cache.get("http://localhost/app.js")).isNotNull();
+    assertThat(cache.stats().evictions()).isEqualTo(2);
+    assertThat(cache.stats().size()).isEqualTo(70);
+  }
+
+  @Test
+  void replacesResourceWithTheSameUrl() throws IOException {
+    put("http://localhost/app.js", 20);
+    put("http://localhost/app.js", 10);
+
+    StaticAssetCache.Asset asset = cache.get("http://localhost/app.js");
+    assertThat(asset).isNotNull();
+    assertThat(asset.size()).isEqualTo(10);
+    assertThat(asset.file()).hasSize(10);
+    assertThat(cache.stats().size()).isEqualTo(10);
+  }
+
+  @Test
+  void clear() throws IOException {
+    put("http://localhost/app.js", 20);
+    cache.clear();
+    assertThat(cache.get("http://localhost/app.js")).isNull();
+    assertThat(cache.stats().count()).isZero();
+  }
+
+  @Test
+  void deletesOnlyFilesCreatedByItself() throws IOException {
+    File folder = new File("build/proxy-cache/" + randomUUID());
+    File foreignFile = new File(folder, "other-jvm.tmp");
+    writeStringToFile(foreignFile, "cached by another JVM", UTF_8);
+
+    StaticAssetCache sharedCache = new StaticAssetCache(folder, 100);
+    File content = sharedCache.newTemporaryFile();
+    writeStringToFile(content, "x".repeat(20), UTF_8);
+    sharedCache.put("http://localhost/app.js", content, Map.of(), Long.MAX_VALUE);
+    sharedCache.dispose();
+
+    assertThat(content).doesNotExist();
+    assertThat(foreignFile).exists();
+  }
+
+  @Test
+  void usesOwnTemporaryFolderByDefault() throws IOException {
+    StaticAssetCache first = new StaticAssetCache(null, 100);
+    StaticAssetCache second = new StaticAssetCache(null, 100);
+    File firstFile = first.newTemporaryFile();
+
+    assertThat(firstFile.getParentFile()).isNotEqualTo(second.newTemporaryFile().getParentFile());
+    first.dispose();
+    second.dispose();
+    assertThat(firstFile.getParentFile()).doesNotExist();
+  }
+
+  @Test
+  void refreshesRevalidatedResource() throws IOException {
+    put("http://localhost/app.js", 20);
+
+    cache.refresh("http://localhost/app.js", Map.of("content-type", "text/javascript", "ETag", "\"v2\""), Long.MAX_VALUE);
+
+    StaticAssetCache.Asset asset = cache.get("http://localhost/app.js");
+    assertThat(asset).isNotNull();
+    assertThat(asset.isFresh()).isTrue();
+    assertThat(asset.headers()).containsOnlyKeys("content-type", "ETag");
+    assertThat(asset.header("etag")).isEqualTo("\"v2\"");
+    assertThat(asset.file()).hasSize(20);
+  }
+
+  private void put(String url, int size) throws IOException {
+    File content = cache.newTemporaryFile();
+    writeStringToFile(content, "x".repeat(size), UTF_8);
+    cache.put(url, content, Map.of("Content-Type", "text/plain"), 0);
+  }
+}
@@ -0,0 +1,157 @@
+package com.codeborne.selenide.webdriver;
+
+import com.codeborne.selenide.webdriver.ChromeBrowserContexts.BrowserContext;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.Proxy;
+import org.openqa.selenium.chrome.ChromeDriver;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+final class ChromeBrowserContextsTest {
+  private static final List<Object> SETTINGS = List.of(true, "1024x768");
+  private final ChromeBrowserContexts contexts = new ChromeBrowserContexts();
+  private final AtomicInteger launches = new AtomicInteger();
+
+  @Test
+  void createsBrowserContextWithTabInHostChrome() {
+    ChromeDriver host = host("localhost:9222");
+
+    BrowserContext context = contexts.create(() -> launch(host), SETTINGS, null, null);
+
+    assertThat(context).isEqualTo(new BrowserContext("context-1", "tab-1", "localhost:9222"));
+    verify(host).executeCdpCommand("Target.createBrowserContext", Map.of("disposeOnDetach", false));
+    verify(host).executeCdpCommand("Target.createTarget", Map.of("url", "about:blank", "browserContextId", "context-1"));
+    verify(host, never()).executeCdpCommand(eq("Browser.setDownloadBehavior"), anyMap());
+  }
+
+  @Test
+  void reusesHostChromeForNextContexts() {
+    ChromeDriver host = host("localhost:9222");
+
+    contexts.create(() -> launch(host), SETTINGS, null, null);
+    contexts.create(() -> launch(host), SETTINGS, null, null);
+
+    assertThat(launches.get()).isEqualTo(1);
+  }
+
+  @Test
+  void relaunchesHostChromeIfItHasDied() {
+    ChromeDriver deadHost = host("localhost:9222");
+    ChromeDriver newHost = host("localhost:9333");
+    contexts.create(() -> launch(deadHost), SETTINGS, null, null);
+    when(deadHost.getWindowHandles()).thenThrow(new NoSuchSessionException("chrome not reachable"));
+
+    BrowserContext context = contexts.create(() -> launch(newHost), SETTINGS, null, null);
+
+    assertThat(context.debuggerAddress()).isEqualTo("localhost:9333");
+    assertThat(launches.get()).isEqualTo(2);
+    verify(deadHost).quit();
+  }
+
+  @Test
+  void failsIfNextContextNeedsOtherChromeSettings() {
+    ChromeDriver host = host("localhost:9222");
+    contexts.create(() -> launch(host), SETTINGS, null, null);
+
+    assertThatThrownBy(() -> contexts.create(() -> launch(host), List.of(false, "1024x768"), null, null))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageContaining("the shared Chrome has been launched with other settings: [true, 1024x768]");
+    assertThat(launches.get()).isEqualTo(1);
+  }
+
+  @Test
+  void relaunchedHostChromeGetsSettingsOfNextContext() {
+    ChromeDriver deadHost = host("localhost:9222");
+    ChromeDriver newHost = host("localhost:9333");
+    contexts.create(() -> launch(deadHost), SETTINGS, null, null);
+    when(deadHost.getWindowHandles()).thenThrow(new NoSuchSessionException("chrome not reachable"));
+
+    contexts.create(() -> launch(newHost), List.of(false, "800x600"), null, null);
+    contexts.create(() -> launch(newHost), List.of(false, "800x600"), null, null);
+
+    assertThat(launches.get()).isEqualTo(2);
+  }
+
+  @Test
+  void findsTabsOfGivenBrowserContext() {
+    ChromeDriver browser = mock();
+    when(browser.executeCdpCommand("Target.getTargets", Map.of())).thenReturn(Map.of("targetInfos", List.of(
+      Map.of("targetId", "tab-1", "type", "page", "browserContextId", "context-1"),
+      Map.of("targetId", "tab-2", "type", "page", "browserContextId", "context-2"),
+      Map.of("targetId", "tab-3", "type", "page", "browserContextId", "context-1")
+    )));
+
+    assertThat(ChromeBrowserContexts.targetsOf(browser, "context-1")).containsExactly("tab-1", "tab-3");
+    assertThat(ChromeBrowserContexts.targetsOf(browser, "context-3")).isEmpty();
+  }
+
+  @Test
+  void everyContextGetsOwnProxyAndDownloadsFolder() {
+    ChromeDriver host = host("localhost:9222");
+    Proxy proxy = new Proxy().setHttpProxy("127.0.0.1:18080").setNoProxy("<-loopback>");
+    File downloadsFolder = new File("build/downloads/123");
+
+    contexts.create(() -> launch(host), SETTINGS, proxy, downloadsFolder);
+
+    verify(host).executeCdpCommand("Target.createBrowserContext", Map.of(
+      "disposeOnDetach", false, "proxyServer", "127.0.0.1:18080", "proxyBypassList", "<-loopback>"));
+    verify(host).executeCdpCommand("Browser.setDownloadBehavior", Map.of(
+      "behavior", "allow",
+      "downloadPath", downloadsFolder.getAbsolutePath(),
+      "browserContextId", "context-1",
+      "eventsEnabled", true
+    ));
+  }
+
+  @Test
+  void disposesBrowserContext() {
+    ChromeDriver host = host("localhost:9222");
+    BrowserContext context = contexts.create(() -> launch(host), SETTINGS, null, null);
+
+    contexts.dispose(context);
+
+    verify(host).executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", "context-1"));
+    verify(host, never()).quit();
+  }
+
+  @Test
+  void failsIfHostChromeDoesNotReportDebuggerAddress() {
+    ChromeDriver host = mock();
+    Capabilities capabilities = mock();
+    when(host.getCapabilities()).thenReturn(capabilities);
+
+    assertThatThrownBy(() -> contexts.create(() -> launch(host), SETTINGS, null, null))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageStartingWith("Chrome didn't report its debugger address");
+    verify(host).quit();
+  }
+
+  private ChromeDriver launch(ChromeDriver host) {
+    launches.incrementAndGet();
+    return host;
+  }
+
+  private static ChromeDriver host(String debuggerAddress) {
+    ChromeDriver host = mock();
+    Capabilities capabilities = mock();
+    when(capabilities.getCapability("goog:chromeOptions")).thenReturn(Map.of("debuggerAddress", debuggerAddress));
+    when(host.getCapabilities()).thenReturn(capabilities);
+    when(host.executeCdpCommand(eq("Target.createBrowserContext"), anyMap())).thenReturn(Map.of("browserContextId", "context-1"));
+    when(host.executeCdpCommand(eq("Target.createTarget"), anyMap())).thenReturn(Map.of("targetId", "tab-1"));
+    return host;
+  }
+}
@@ -0,0 +1,234 @@
+package com.codeborne.selenide.webdriver;
+
+import com.codeborne.selenide.SelenideConfig;
+import com.codeborne.selenide.webdriver.SharedDriverServices.SharedService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+final class SharedDriverServicesTest {
+  private final SharedDriverServices services = new SharedDriverServices();
+
+  @AfterEach
+  void tearDown() {
+    services.shutdownAll();
+  }
+
+  @Test
+  void reusesRunningServiceForSimultaneousSessions() {
+    FakeService first = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    FakeService second = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+
+    assertThat(second).isSameAs(first);
+    assertThat(services.size()).isEqualTo(1);
+  }
+
+  @Test
+  void reusesSingleSessionServiceOnlyAfterPreviousSessionIsClosed() {
+    FakeService first = services.acquire("firefox:", 1, FakeService::new);
+    FakeService second = services.acquire("firefox:", 1, FakeService::new);
+    assertThat(second).isNotSameAs(first);
+
+    services.release(first);
+    assertThat(services.<FakeService>acquire("firefox:", 1, FakeService::new)).isSameAs(first);
+    assertThat(services.size()).isEqualTo(2);
+  }
+
+  @Test
+  void servicesAreKeyedByDriverBinary() {
+    FakeService first = services.acquire("chrome:/opt/chromedriver-120", Integer.MAX_VALUE, FakeService::new);
+    FakeService second = services.acquire("chrome:/opt/chromedriver-121", Integer.MAX_VALUE, FakeService::new);
+
+    assertThat(second).isNotSameAs(first);
+  }
+
+  @Test
+  void replacesDeadService() {
+    FakeService first = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    services.release(first);
+    first.running = false;
+
+    FakeService second = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(first.shutdown).isTrue();
+    assertThat(services.size()).isEqualTo(1);
+  }
+
+  @Test
+  void replacesDeadServiceEvenIfSessionsAreStillCounted() {
+    FakeService first = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    first.running = false;
+
+    FakeService second = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+
+    assertThat(second).isNotSameAs(first);
+    assertThat(first.shutdown).isTrue();
+    assertThat(services.size()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotReplaceServiceWhichIsNotStartedYet() {
+    FakeService first = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    first.started = false;
+    first.running = false;
+
+    assertThat(services.<FakeService>acquire("chrome:", Integer.MAX_VALUE, FakeService::new)).isSameAs(first);
+  }
+
+  @Test
+  void releasesServiceOnlyOnceIfSessionFailsToStart() {
+    DriverService service = mock(DriverService.class, withSettings().extraInterfaces(SharedService.class));
+    SharedService sharedService = (SharedService) service;
+    when(sharedService.hasStarted()).thenReturn(true);
+    when(sharedService.isRunning()).thenReturn(true);
+    services.acquire("chrome:", Integer.MAX_VALUE, () -> sharedService);
+    services.acquire("chrome:", Integer.MAX_VALUE, () -> sharedService);
+
+    assertThatThrownBy(() -> services.startSession(service, s -> {
+      // webdriver stops the service if it fails to create a session
+      services.release(sharedService);
+      throw new SessionNotCreatedException("chrome failed to start");
+    })).isInstanceOf(SessionNotCreatedException.class);
+
+    assertThat(services.sessions(sharedService)).as("the other session is still active").isEqualTo(1);
+  }
+
+  @Test
+  void releasesServiceIfSessionFailsToStart() {
+    DriverService service = mock(DriverService.class, withSettings().extraInterfaces(SharedService.class));
+    SharedService sharedService = (SharedService) service;
+    services.acquire("chrome:", Integer.MAX_VALUE, () -> sharedService);
+
+    assertThatThrownBy(() -> services.startSession(service, s -> {
+      throw new IllegalArgumentException("invalid options");
+    })).isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(services.sessions(sharedService)).isEqualTo(0);
+  }
+
+  @Test
+  void stopsNotSharedServiceIfSessionFailsToStart() {
+    DriverService service = mock();
+
+    assertThatThrownBy(() -> services.startSession(service, s -> {
+      throw new IllegalArgumentException("invalid options");
+    })).isInstanceOf(IllegalArgumentException.class);
+
+    verify(service).stop();
+  }
+
+  @Test
+  void doesNotStopServiceWhenSessionIsClosed() {
+    FakeService service = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    services.release(service);
+
+    assertThat(service.shutdown).isFalse();
+    services.shutdownAll();
+    assertThat(service.shutdown).isTrue();
+  }
+
+  @Test
+  void stopsUnknownService() {
+    FakeService service = new FakeService();
+    services.release(service);
+    assertThat(service.shutdown).isTrue();
+  }
+
+  @Test
+  void nextSessionReusesServiceStartedInAdvance() {
+    List<FakeService> startedServices = new ArrayList<>();
+    services.prestart("chrome:", Integer.MAX_VALUE, FakeService::new, startedServices::add);
+
+    assertThat(startedServices).hasSize(1);
+    assertThat(services.sessions(startedServices.get(0))).isEqualTo(0);
+    assertThat(services.<FakeService>acquire("chrome:", Integer.MAX_VALUE, FakeService::new)).isSameAs(startedServices.get(0));
+    assertThat(services.size()).isEqualTo(1);
+  }
+
+  @Test
+  void doesNotStartServiceInAdvanceIfThereIsFreeService() {
+    FakeService running = services.acquire("chrome:", Integer.MAX_VALUE, FakeService::new);
+    List<FakeService> startedServices = new ArrayList<>();
+
+    services.prestart("chrome:", Integer.MAX_VALUE, FakeService::new, startedServices::add);
+
+    assertThat(startedServices).isEmpty();
+    assertThat(services.<FakeService>acquire("chrome:", Integer.MAX_VALUE, FakeService::new)).isSameAs(running);
+  }
+
+  @Test
+  void startsServiceInAdvanceIfSingleSessionServiceIsBusy() {
+    FakeService busy = services.acquire("firefox:", 1, FakeService::new);
+    List<FakeService> startedServices = new ArrayList<>();
+
+    services.prestart("firefox:", 1, FakeService::new, startedServices::add);
+
+    assertThat(startedServices).hasSize(1).doesNotContain(busy);
+    assertThat(services.<FakeService>acquire("firefox:", 1, FakeService::new)).isSameAs(startedServices.get(0));
+  }
+
+  @Test
+  void forgetsServiceWhichFailedToStartInAdvance() {
+    FakeService service = new FakeService();
+
+    services.prestart("chrome:", Integer.MAX_VALUE, () -> service, s -> {
+      throw new IllegalStateException("chromedriver not found");
+    });
+
+    assertThat(service.shutdown).isTrue();
+    assertThat(services.size()).isEqualTo(0);
+  }
+
+  @Test
+  void sharesServiceOnlyForTheSameDriverAndBrowserBinaries() {
+    String chrome = SharedDriverServices.key("chrome", "selenide.test.driver", new SelenideConfig());
+    String chromeBeta = SharedDriverServices.key("chrome", "selenide.test.driver", new SelenideConfig().browserBinary("/opt/chrome-beta/chrome"));
+    String edge = SharedDriverServices.key("edge", "selenide.test.driver", new SelenideConfig());
+
+    assertThat(chrome).isEqualTo(SharedDriverServices.key("chrome", "selenide.test.driver", new SelenideConfig()));
+    assertThat(chromeBeta).isEqualTo("chrome::/opt/chrome-beta/chrome");
+    assertThat(chromeBeta).isNotEqualTo(chrome);
+    assertThat(edge).isNotEqualTo(chrome);
+  }
+
+  @Test
+  void doesNotShareServiceIfEveryBrowserNeedsOwnLogOrBrowserVersion() {
+    assertThat(services.canShare(new SelenideConfig())).isTrue();
+    assertThat(services.canShare(new SelenideConfig().webdriverLogsEnabled(true))).isFalse();
+    assertThat(services.canShare(new SelenideConfig().browserVersion("120"))).isFalse();
+  }
+
+  private static class FakeService implements SharedService {
+    private boolean started = true;
+    private boolean running = true;
+    private boolean shutdown;
+
+    @Override
+    public boolean isRunning() {
+      return running;
+    }
+
+    @Override
+    public boolean hasStarted() {
+      return started;
+    }
+
+    @Override
+    public void shutdown() {
+      shutdown = true;
+      running = false;
+    }
+  }
+}
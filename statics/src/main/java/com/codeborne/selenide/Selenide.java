@@ -881,6 +881,29 @@ public class Selenide {
     return getSelenideDriver().download(new URI(url), timeoutMs);
   }
 
+  /**
+   * @see #download(List, long)
+   * Download fails if default timeout (Configuration.timeout) is exceeded
+   */
+  public static List<File> download(List<String> urls) {
+    return getSelenideDriver().download(urls);
+  }
+
+  /**
+   * Download multiple files using direct links.
+   * Files are downloaded concurrently (up to 8 files at the same time), reusing connections to the same host.
+   * Cookies and "User-Agent" header are copied from currently opened browser, like in {@link #download(String, long)}.
+   *
+   * @param urls      either relative or absolute urls
+   *                  NB! URLs must be properly encoded.
+   * @param timeoutMs specific timeout in ms (for every file)
+   * @return downloaded files (in the same order as {@code urls}) in folder `Configuration.downloadsFolder`
+   * @throws FileNotDownloadedError if failed to download any of the files
+   */
+  public static List<File> download(List<String> urls, long timeoutMs) {
+    return getSelenideDriver().download(urls, timeoutMs);
+  }
+
   /**
    * Access browser's local storage.
    * Allows setting, getting, removing items as well as getting the size and clear the storage.
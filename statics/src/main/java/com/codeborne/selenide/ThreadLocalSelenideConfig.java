@@ -3,11 +3,11 @@ package com.codeborne.selenide;
 import org.jspecify.annotations.Nullable;
 import org.openqa.selenium.MutableCapabilities;
 
-import static java.lang.ThreadLocal.withInitial;
+import static com.codeborne.selenide.ContextLocal.contextLocal;
 
 final class ThreadLocalSelenideConfig implements Config {
   private static final StaticConfig staticConfig = new StaticConfig();
-  private static final ThreadLocal<Config> config = withInitial(() -> staticConfig);
+  private static final ThreadLocal<Config> config = contextLocal(() -> staticConfig);
 
   void set(Config perThreadConfig) {
     ThreadLocalSelenideConfig.config.set(perThreadConfig);
@@ -141,6 +141,16 @@ public class WebDriverRunner {
     webdriverContainer.closeWebDriver();
   }
 
+  /**
+   * Start launching browsers in background, so that the next tests don't wait for a browser start.
+   * Does nothing unless browser pool is enabled by property "selenide.browserPool.size".
+   *
+   * @see com.codeborne.selenide.drivercommands.BrowserPool
+   */
+  public static void warmUpBrowserPool() {
+    webdriverContainer.warmUpBrowserPool();
+  }
+
   /**
    * @return true if instance of Selenium WebDriver is started in current thread
    */
@@ -1,6 +1,8 @@
 package com.codeborne.selenide;
 
+import com.codeborne.selenide.drivercommands.AsyncDisposer;
 import com.codeborne.selenide.drivercommands.BrowserHealthChecker;
+import com.codeborne.selenide.drivercommands.BrowserPool;
 import com.codeborne.selenide.drivercommands.CreateDriverCommand;
 import com.codeborne.selenide.drivercommands.WebdriversRegistry;
 import com.codeborne.selenide.impl.DeadThreadsWatchdog;
@@ -17,13 +19,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.codeborne.selenide.Selenide.executeJavaScript;
 import static java.lang.Thread.currentThread;
@@ -33,18 +32,21 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
   private static final Logger log = LoggerFactory.getLogger(WebDriverThreadLocalContainer.class);
 
   private final List<WebDriverListener> listeners = new ArrayList<>();
-  final Collection<Thread> allWebDriverThreads = new ConcurrentLinkedQueue<>();
   final Map<Long, WebDriverInstance> threadWebDriver = new ConcurrentHashMap<>(4);
+  private final ContextLocal<@Nullable WebDriverInstance> contextWebDriver = new ContextLocal<>();
 
   @Nullable
   private Proxy userProvidedProxy;
 
   private final ThreadLocalSelenideConfig config = new ThreadLocalSelenideConfig();
   private final BrowserHealthChecker browserHealthChecker;
+  private final BrowserPool browserPool;
   private final WebDriverFactory factory = new WebDriverFactory();
   private final CreateDriverCommand createDriverCommand = new CreateDriverCommand();
+  private final AsyncDisposer disposer = AsyncDisposer.instance();
   private final Object lock = new Object();
-  private final AtomicBoolean deadThreadsWatchdogStarted = new AtomicBoolean(false);
+  @Nullable
+  private volatile DeadThreadsWatchdog deadThreadsWatchdog;
 
   public WebDriverThreadLocalContainer() {
     this(new BrowserHealthChecker());
@@ -52,6 +54,7 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
 
   WebDriverThreadLocalContainer(BrowserHealthChecker browserHealthChecker) {
     this.browserHealthChecker = browserHealthChecker;
+    this.browserPool = new BrowserPool(this::createDriver);
   }
 
   @Override
@@ -90,10 +93,20 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
     setWebDriver(new WebDriverInstance(config, webDriver, selenideProxy, browserDownloadsFolder));
   }
 
+  /**
+   * Bind webdriver to the current {@link SelenideContext} (if any) or to the current thread.
+   */
   @CanIgnoreReturnValue
   private long setWebDriver(WebDriverInstance webDriverInstance) {
     long threadId = currentThread().getId();
-    threadWebDriver.put(threadId, webDriverInstance);
+    SelenideContext context = SelenideContext.current();
+    if (context != null) {
+      contextWebDriver.set(webDriverInstance);
+      context.onClose(this, this::closeWebDriver);
+    }
+    else {
+      threadWebDriver.put(threadId, webDriverInstance);
+    }
     return threadId;
   }
 
@@ -101,7 +114,12 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
    * Remove links to webdriver/proxy, but DON'T CLOSE the webdriver/proxy itself.
    */
   private void resetWebDriver() {
-    threadWebDriver.remove(currentThread().getId());
+    if (SelenideContext.current() != null) {
+      contextWebDriver.remove();
+    }
+    else {
+      threadWebDriver.remove(currentThread().getId());
+    }
   }
 
   @Override
@@ -157,22 +175,48 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
   }
 
   private Optional<WebDriverInstance> getCurrentThreadDriver() {
-    return Optional.ofNullable(threadWebDriver.get(currentThread().getId()));
+    return SelenideContext.current() != null ?
+      Optional.ofNullable(contextWebDriver.get()) :
+      Optional.ofNullable(threadWebDriver.get(currentThread().getId()));
   }
 
   private WebDriverInstance createAndRegisterDriver() {
-    WebDriverInstance driver = createDriver();
+    WebDriverInstance driver = leaseOrCreateDriver();
     long threadId = setWebDriver(driver);
 
     if (config.holdBrowserOpen()) {
       log.info("Browser will stay open due to holdBrowserOpen=true: {} -> {}", threadId, driver.webDriver());
     }
+    else if (SelenideContext.current() != null) {
+      log.debug("Browser will be closed with its context: {} -> {}", threadId, driver.webDriver());
+    }
     else {
       markForAutoClose(currentThread());
     }
     return driver;
   }
 
+  private WebDriverInstance leaseOrCreateDriver() {
+    if (canUseBrowserPool()) {
+      WebDriverInstance pooled = browserPool.lease(config.unwrap());
+      if (pooled != null) {
+        return pooled;
+      }
+    }
+    return createDriver();
+  }
+
+  private boolean canUseBrowserPool() {
+    return browserPool.isEnabled() && userProvidedProxy == null && !config.holdBrowserOpen();
+  }
+
+  @Override
+  public void warmUpBrowserPool() {
+    if (canUseBrowserPool()) {
+      browserPool.warmUp(config.unwrap());
+    }
+  }
+
   private WebDriverInstance createDriver() {
     return createDriver(config.unwrap());
   }
@@ -193,17 +237,31 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
 
   /**
    * Remove links to webdriver/proxy AND close the webdriver and proxy
+   * (or return them to the browser pool if they were taken from it).
+   * <p>
+   * If async disposal is enabled, webdriver and proxy are closed in background.
+   *
+   * @see AsyncDisposer
    */
   @Override
   public void closeWebDriver() {
-    long threadId = currentThread().getId();
-    WebDriverInstance driver = threadWebDriver.get(threadId);
+    WebDriverInstance driver = getCurrentThreadDriver().orElse(null);
+    resetWebDriver();
+
     if (driver != null) {
-      driver.dispose();
-      WebdriversRegistry.unregister(driver);
+      closeOrReturnToPool(driver);
     }
+    DeadThreadsWatchdog watchdog = deadThreadsWatchdog;
+    if (watchdog != null) {
+      watchdog.closeWebdriversOfDeadThreads();
+    }
+  }
 
-    resetWebDriver();
+  private void closeOrReturnToPool(WebDriverInstance driver) {
+    if (!browserPool.release(driver)) {
+      WebdriversRegistry.unregister(driver);
+      disposer.dispose(driver);
+    }
   }
 
   @Override
@@ -234,7 +292,8 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
       using(newBrowser, lambda);
     }
     finally {
-      newBrowser.dispose();
+      WebdriversRegistry.unregister(newBrowser);
+      disposer.dispose(newBrowser);
     }
   }
 
@@ -245,7 +304,8 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
       using(newBrowser, lambda);
     }
     finally {
-      newBrowser.dispose();
+      WebdriversRegistry.unregister(newBrowser);
+      disposer.dispose(newBrowser);
     }
   }
 
@@ -274,19 +334,25 @@ public class WebDriverThreadLocalContainer implements WebDriverContainer {
   }
 
   boolean isDeadThreadsWatchdogStarted() {
-    return deadThreadsWatchdogStarted.get();
+    return deadThreadsWatchdog != null;
   }
 
-  private void markForAutoClose(Thread thread) {
-    allWebDriverThreads.add(thread);
+  int watchedThreadsCount() {
+    DeadThreadsWatchdog watchdog = deadThreadsWatchdog;
+    return watchdog == null ? 0 : watchdog.size();
+  }
 
-    if (!isDeadThreadsWatchdogStarted()) {
+  private void markForAutoClose(Thread thread) {
+    DeadThreadsWatchdog watchdog = deadThreadsWatchdog;
+    if (watchdog == null) {
       synchronized (lock) {
-        if (!isDeadThreadsWatchdogStarted()) {
-          new DeadThreadsWatchdog(allWebDriverThreads, threadWebDriver).start();
-          deadThreadsWatchdogStarted.set(true);
+        watchdog = deadThreadsWatchdog;
+        if (watchdog == null) {
+          watchdog = new DeadThreadsWatchdog(threadWebDriver, this::closeOrReturnToPool);
+          deadThreadsWatchdog = watchdog;
         }
       }
     }
+    watchdog.watch(thread);
   }
 }
@@ -1,60 +1,101 @@
 package com.codeborne.selenide.impl;
 
+import com.codeborne.selenide.drivercommands.AsyncDisposer;
 import com.codeborne.selenide.drivercommands.WebdriversRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Collection;
+import java.lang.ref.Cleaner;
+import java.lang.ref.WeakReference;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
-public class DeadThreadsWatchdog extends Thread {
+import static com.codeborne.selenide.impl.Lazy.lazyEvaluated;
+
+/**
+ * Closes webdrivers of threads which have finished without closing their webdriver.
+ * <p>
+ * Every thread with a webdriver is registered in a {@link Cleaner}: when the finished thread is garbage-collected,
+ * its webdriver is closed. There is no periodic polling of threads: while threads are running, it costs nothing.
+ * <p>
+ * Besides, explicit cleanup points (e.g. {@code Selenide.closeWebDriver()} called by JUnit/TestNG extensions)
+ * call {@link #closeWebdriversOfDeadThreads()}, so that webdrivers of finished threads don't wait for the next GC.
+ * Method {@link #watch(Thread)} doesn't scan other threads: registering a thread costs O(1).
+ */
+public class DeadThreadsWatchdog {
   private static final Logger log = LoggerFactory.getLogger(DeadThreadsWatchdog.class);
+  private static final Lazy<Cleaner> cleaner = lazyEvaluated(() -> Cleaner.create(runnable -> {
+    Thread thread = new Thread(runnable, "Dead threads watchdog");
+    thread.setDaemon(true);
+    return thread;
+  }));
 
-  private final Collection<Thread> allWebDriverThreads;
   private final Map<Long, WebDriverInstance> driverPerThread;
+  private final Consumer<WebDriverInstance> closer;
+  private final Map<Long, WatchedThread> watchedThreads = new ConcurrentHashMap<>();
+
+  public DeadThreadsWatchdog(Map<Long, WebDriverInstance> driverPerThread) {
+    this(driverPerThread, AsyncDisposer.instance());
+  }
 
-  public DeadThreadsWatchdog(Collection<Thread> allWebDriverThreads,
-                      Map<Long, WebDriverInstance> driverPerThread) {
-    this.allWebDriverThreads = allWebDriverThreads;
+  public DeadThreadsWatchdog(Map<Long, WebDriverInstance> driverPerThread, AsyncDisposer disposer) {
+    this(driverPerThread, driver -> {
+      WebdriversRegistry.unregister(driver);
+      disposer.dispose(driver);
+    });
+  }
+
+  /**
+   * @param closer closes the webdriver of a dead thread (or returns it to the browser pool)
+   */
+  public DeadThreadsWatchdog(Map<Long, WebDriverInstance> driverPerThread, Consumer<WebDriverInstance> closer) {
     this.driverPerThread = driverPerThread;
-    setDaemon(true);
-    setName("Dead threads watchdog");
+    this.closer = closer;
   }
 
-  @Override
-  public void run() {
-    while (true) {
-      closeUnusedWebdrivers();
-      try {
-        Thread.sleep(50);
-      }
-      catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-        break;
-      }
-    }
+  /**
+   * Close the webdriver of given thread when the thread is finished
+   */
+  public void watch(Thread thread) {
+    long threadId = thread.getId();
+    // NB! The cleanup action must not reference the thread, otherwise it will never be garbage-collected
+    watchedThreads.computeIfAbsent(threadId, id ->
+      new WatchedThread(new WeakReference<>(thread), cleaner.get().register(thread, () -> closeWebDriver(id))));
   }
 
-  private void closeUnusedWebdrivers() {
-    for (Thread thread : allWebDriverThreads) {
-      if (!thread.isAlive()) {
-        closeWebDriver(thread);
+  /**
+   * Close webdrivers of watched threads which have already finished (without waiting for GC)
+   */
+  public void closeWebdriversOfDeadThreads() {
+    for (WatchedThread watched : watchedThreads.values()) {
+      Thread thread = watched.thread().get();
+      if (thread == null || !thread.isAlive()) {
+        watched.cleanable().clean();
       }
     }
   }
 
-  private void closeWebDriver(Thread thread) {
-    allWebDriverThreads.remove(thread);
-    WebDriverInstance driver = driverPerThread.remove(thread.getId());
+  /**
+   * @return number of threads which are still running (or not garbage-collected yet)
+   */
+  public int size() {
+    return watchedThreads.size();
+  }
+
+  private void closeWebDriver(long threadId) {
+    watchedThreads.remove(threadId);
+    WebDriverInstance driver = driverPerThread.remove(threadId);
 
     if (driver == null) {
-      log.info("No webdriver found for thread: {} - nothing to close", thread.getId());
+      log.debug("No webdriver found for thread: {} - nothing to close", threadId);
       return;
     }
 
-    log.info("Thread {} is dead. Let's close its webdriver {}.", thread.getId(), driver.webDriver());
-    driver.dispose();
-    WebdriversRegistry.unregister(driver);
+    log.info("Thread {} is dead. Let's close its webdriver {}.", threadId, driver.webDriver());
+    closer.accept(driver);
   }
-}
 
+  private record WatchedThread(WeakReference<Thread> thread, Cleaner.Cleanable cleanable) {
+  }
+}
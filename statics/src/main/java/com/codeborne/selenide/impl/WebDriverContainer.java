@@ -30,6 +30,14 @@ public interface WebDriverContainer {
   void closeWebDriver();
   boolean hasWebDriverStarted();
 
+  /**
+   * Start launching browsers in background, if browser pool is enabled
+   *
+   * @see com.codeborne.selenide.drivercommands.BrowserPool
+   */
+  default void warmUpBrowserPool() {
+  }
+
   void using(WebDriver driver, @Nullable SelenideProxyServer proxy, @Nullable DownloadsFolder downloadsFolder, Runnable lambda);
   void inNewBrowser(Runnable lambda);
   void inNewBrowser(Config config, Runnable lambda);
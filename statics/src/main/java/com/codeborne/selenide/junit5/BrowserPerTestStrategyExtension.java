@@ -1,9 +1,11 @@
 package com.codeborne.selenide.junit5;
 
 import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 
 import static com.codeborne.selenide.Selenide.closeWebDriver;
+import static com.codeborne.selenide.WebDriverRunner.warmUpBrowserPool;
 
 /**
  * By using this extension browser will be automatically closed after each test.
@@ -16,10 +18,17 @@ import static com.codeborne.selenide.Selenide.closeWebDriver;
  * <br>
  * {@code @RegisterExtension static BrowserPerTestStrategyExtension browserPerTestStrategy = new BrowserPerTestStrategyExtension();}
  * <br>
+ * If browser pool is enabled (see {@link com.codeborne.selenide.drivercommands.BrowserPoolConfiguration}),
+ * browsers are launched in background before the tests, and returned to the pool after each test instead of closing.
  *
  * @author simple-elf
  */
-public class BrowserPerTestStrategyExtension implements AfterEachCallback {
+public class BrowserPerTestStrategyExtension implements BeforeAllCallback, AfterEachCallback {
+  @Override
+  public void beforeAll(ExtensionContext context) {
+    warmUpBrowserPool();
+  }
+
   @Override
   public void afterEach(final ExtensionContext context) {
     closeWebDriver();
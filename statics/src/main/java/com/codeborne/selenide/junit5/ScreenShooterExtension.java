@@ -102,6 +102,13 @@ public class ScreenShooterExtension implements BeforeEachCallback, AfterTestExec
 
   @Override
   public void afterTestExecution(final ExtensionContext context) {
+    if (context.getExecutionException().isPresent()) {
+      UIAssertionError.captureDeferredScreenshots();
+    }
+    else {
+      UIAssertionError.discardDeferredScreenshots();
+    }
+
     if (captureSuccessfulTests) {
       log.info(Screenshots.saveScreenshotAndPageSource());
     } else {
@@ -7,7 +7,11 @@ import org.junit.jupiter.api.Test;
 import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 
+import java.util.concurrent.ExecutorService;
+
 import static com.codeborne.selenide.Selenide.closeWebDriver;
+import static java.lang.Thread.currentThread;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.mock;
@@ -69,14 +73,27 @@ final class WebDriverThreadLocalContainerTest {
     assertThat(container.hasWebDriverStarted()).isFalse();
   }
 
+  @Test
+  void closesBrowsersOfFinishedThreads_whenClosingBrowser() throws InterruptedException {
+    Thread thread = new Thread(container::getAndCheckWebDriver);
+    thread.start();
+    thread.join();
+    assertThat(container.threadWebDriver).containsKey(thread.getId());
+
+    container.closeWebDriver();
+
+    assertThat(container.threadWebDriver).doesNotContainKey(thread.getId());
+    assertThat(container.watchedThreadsCount()).isEqualTo(0);
+  }
+
   @Test
   void holdsAllBrowsers_toAutomaticallyCloseThem() {
     WebDriver webDriver = container.getAndCheckWebDriver();
 
     assertThat(webDriver).isNotNull();
-    assertThat(container.allWebDriverThreads).hasSize(1);
+    assertThat(container.watchedThreadsCount()).isEqualTo(1);
     assertThat(container.threadWebDriver).hasSize(1);
-    assertThat(container.threadWebDriver.get(container.allWebDriverThreads.iterator().next().getId()).webDriver()).isSameAs(webDriver);
+    assertThat(container.threadWebDriver.get(currentThread().getId()).webDriver()).isSameAs(webDriver);
     assertThat(container.isDeadThreadsWatchdogStarted()).isTrue();
   }
 
@@ -88,7 +105,7 @@ final class WebDriverThreadLocalContainerTest {
     WebDriver webDriver = container.getAndCheckWebDriver();
 
     assertThat(webDriver).isNotNull();
-    assertThat(container.allWebDriverThreads).hasSize(0);
+    assertThat(container.watchedThreadsCount()).isEqualTo(0);
     assertThat(container.isDeadThreadsWatchdogStarted()).isFalse();
   }
 
@@ -112,9 +129,9 @@ final class WebDriverThreadLocalContainerTest {
     assertThat(webDriver).isNotNull();
     assertThat(webDriver).isNotEqualTo(oldDriver);
     verify(oldDriver).quit();
-    assertThat(container.allWebDriverThreads).hasSize(2);
+    assertThat(container.watchedThreadsCount()).isEqualTo(1);
     assertThat(container.threadWebDriver).hasSize(1);
-    assertThat(container.threadWebDriver.get(container.allWebDriverThreads.iterator().next().getId()).webDriver()).isSameAs(webDriver);
+    assertThat(container.threadWebDriver.get(currentThread().getId()).webDriver()).isSameAs(webDriver);
     assertThat(container.isDeadThreadsWatchdogStarted()).isTrue();
   }
 
@@ -129,11 +146,33 @@ final class WebDriverThreadLocalContainerTest {
       .hasMessageContaining("has been closed meanwhile")
       .hasMessageContaining("cannot create a new webdriver because reopenBrowserOnFail=false");
     verify(oldDriver).quit();
-    assertThat(container.allWebDriverThreads).hasSize(1);
+    assertThat(container.watchedThreadsCount()).isEqualTo(1);
     assertThat(container.threadWebDriver).hasSize(0);
     assertThat(container.isDeadThreadsWatchdogStarted()).isTrue();
   }
 
+  @Test
+  void bindsWebdriverToSelenideContext_insteadOfThread() throws Exception {
+    SelenideContext context = SelenideContext.create();
+
+    WebDriver webDriver = context.call(container::getAndCheckWebDriver);
+
+    assertThat(container.hasWebDriverStarted()).isFalse();
+    assertThat(container.threadWebDriver).isEmpty();
+    assertThat(container.watchedThreadsCount()).isEqualTo(0);
+    ExecutorService executor = newSingleThreadExecutor();
+    try {
+      assertThat(executor.submit(() -> context.call(container::getWebDriver)).get()).isSameAs(webDriver);
+    }
+    finally {
+      executor.shutdown();
+    }
+
+    context.close();
+    verify(webDriver).quit();
+    assertThat(context.call(container::hasWebDriverStarted)).isFalse();
+  }
+
   private static class DummyProvider implements WebDriverProvider {
     @Override
     public WebDriver createDriver(Capabilities capabilities) {
@@ -0,0 +1,86 @@
+package com.codeborne.selenide.impl;
+
+import com.codeborne.selenide.SelenideConfig;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+final class DeadThreadsWatchdogTest {
+  private final Map<Long, WebDriverInstance> driverPerThread = new ConcurrentHashMap<>();
+  private final List<WebDriverInstance> closedDrivers = new CopyOnWriteArrayList<>();
+  private final DeadThreadsWatchdog watchdog = new DeadThreadsWatchdog(driverPerThread, closedDrivers::add);
+
+  @Test
+  void watchingThreadDoesNotCheckOtherThreads() throws InterruptedException {
+    WebDriverInstance driver = driver();
+    Thread finishedThread = runInThreadWithWebdriver(driver);
+
+    watchdog.watch(Thread.currentThread());
+
+    assertThat(closedDrivers).isEmpty();
+    assertThat(driverPerThread).containsKey(finishedThread.getId());
+    assertThat(watchdog.size()).isEqualTo(2);
+  }
+
+  @Test
+  void closesWebdriversOfFinishedThreads() throws InterruptedException {
+    WebDriverInstance driver1 = driver();
+    WebDriverInstance driver2 = driver();
+    Thread thread1 = runInThreadWithWebdriver(driver1);
+    Thread thread2 = runInThreadWithWebdriver(driver2);
+
+    watchdog.closeWebdriversOfDeadThreads();
+    watchdog.closeWebdriversOfDeadThreads();
+
+    assertThat(closedDrivers).containsExactlyInAnyOrder(driver1, driver2);
+    assertThat(driverPerThread).isEmpty();
+    assertThat(watchdog.size()).isEqualTo(0);
+    assertThat(thread1.isAlive()).isFalse();
+    assertThat(thread2.isAlive()).isFalse();
+  }
+
+  @Test
+  void doesNotCloseWebdriverOfRunningThread() {
+    WebDriverInstance driver = driver();
+    driverPerThread.put(Thread.currentThread().getId(), driver);
+    watchdog.watch(Thread.currentThread());
+
+    watchdog.closeWebdriversOfDeadThreads();
+
+    assertThat(closedDrivers).isEmpty();
+    assertThat(driverPerThread).containsValue(driver);
+    assertThat(watchdog.size()).isEqualTo(1);
+  }
+
+  @Test
+  void watchesEveryThreadOnlyOnce() {
+    driverPerThread.put(Thread.currentThread().getId(), driver());
+
+    watchdog.watch(Thread.currentThread());
+    watchdog.watch(Thread.currentThread());
+
+    assertThat(watchdog.size()).isEqualTo(1);
+    assertThat(closedDrivers).isEmpty();
+  }
+
+  private WebDriverInstance driver() {
+    return new WebDriverInstance(new SelenideConfig(), mock(WebDriver.class), null, null);
+  }
+
+  private Thread runInThreadWithWebdriver(WebDriverInstance driver) throws InterruptedException {
+    Thread thread = new Thread(() -> {
+      driverPerThread.put(Thread.currentThread().getId(), driver);
+      watchdog.watch(Thread.currentThread());
+    });
+    thread.start();
+    thread.join();
+    return thread;
+  }
+}
@@ -0,0 +1,42 @@
+package com.codeborne.selenide.junit5;
+
+import com.codeborne.selenide.ex.UIAssertionError;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.MockedStatic;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.when;
+
+final class ScreenShooterExtensionTest {
+  private final ScreenShooterExtension extension = new ScreenShooterExtension();
+  private final ExtensionContext context = mock();
+
+  @Test
+  void capturesDeferredScreenshotsIfTestHasFailed() {
+    when(context.getExecutionException()).thenReturn(Optional.of(new UIAssertionError("oops", null, null)));
+
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      extension.afterTestExecution(context);
+
+      errors.verify(UIAssertionError::captureDeferredScreenshots);
+      errors.verify(UIAssertionError::discardDeferredScreenshots, never());
+    }
+  }
+
+  @Test
+  void discardsDeferredScreenshotsIfTestHasPassed() {
+    when(context.getExecutionException()).thenReturn(Optional.empty());
+
+    try (MockedStatic<UIAssertionError> errors = mockStatic(UIAssertionError.class)) {
+      extension.afterTestExecution(context);
+
+      errors.verify(UIAssertionError::discardDeferredScreenshots);
+      errors.verify(UIAssertionError::captureDeferredScreenshots, never());
+    }
+  }
+}
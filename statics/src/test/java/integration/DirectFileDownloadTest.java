@@ -8,6 +8,7 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 
 import static com.codeborne.selenide.Selenide.download;
 import static java.nio.charset.StandardCharsets.UTF_8;
@@ -43,4 +44,19 @@ final class DirectFileDownloadTest extends IntegrationTest {
     assertThat(file.getName()).isEqualTo("hello_world.txt");
     assertThat(readFileToString(file, UTF_8)).isEqualTo("Hello, WinRar!");
   }
+
+  @Test
+  void downloadMultipleFilesConcurrently() throws IOException {
+    Configuration.timeout = 4000;
+    List<File> files = download(List.of(
+      "/files/hello_world.txt?pause=500",
+      "/files/minimal.pdf",
+      "/files/hello_world.txt"
+    ));
+    assertThat(files).extracting(File::getName)
+      .containsExactly("hello_world.txt", "minimal.pdf", "hello_world.txt");
+    assertThat(readFileToString(files.get(0), UTF_8)).isEqualTo("Hello, WinRar!");
+    assertThat(readFileToString(files.get(2), UTF_8)).isEqualTo("Hello, WinRar!");
+    assertThat(files.get(2)).isNotEqualTo(files.get(0));
+  }
 }